@@ -5,6 +5,7 @@ import com.pubnub.api.crypto.CryptoModule;
 import com.pubnub.api.enums.PNHeartbeatNotificationOptions;
 import com.pubnub.api.enums.PNLogVerbosity;
 import com.pubnub.api.enums.PNReconnectionPolicy;
+import com.pubnub.api.json.JsonCodec;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
@@ -22,6 +23,10 @@ import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.X509ExtendedTrustManager;
 import java.net.Proxy;
 import java.net.ProxySelector;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static com.pubnub.api.builder.PubNubErrorBuilder.PNERROBJ_UUID_NULL_OR_EMPTY;
 
@@ -39,6 +44,19 @@ public class PNConfiguration {
     private static final int CONNECT_TIMEOUT = 5;
     private static final int FILE_MESSAGE_PUBLISH_RETRY_LIMIT = 5;
     private static final int MAXIMUM_RECONNECTION_RETRIES_DEFAULT = -1; // infinite
+    private static final int MAXIMUM_CONCURRENCY_LIMIT = 10;
+    private static final int MAXIMUM_QUEUED_REQUESTS = 100;
+    private static final int PUBLISH_RATE_LIMIT_QUEUE_SIZE = 100;
+    private static final int PUBLISH_RATE_LIMIT_MAX_WAIT = 5000;
+    private static final int REQUEST_COMPRESSION_THRESHOLD = 1024;
+    private static final int MESSAGE_COMPRESSION_THRESHOLD = 1024;
+    private static final double REQUEST_HEDGING_PERCENTILE = 0.95;
+    private static final double REQUEST_HEDGING_BUDGET = 0.1;
+    private static final int RETRY_BASE_DELAY = 200;
+    private static final int RETRY_MAXIMUM_DELAY = 10000;
+    private static final double RETRY_BUDGET = 0.1;
+    private static final int CIRCUIT_BREAKER_COOLDOWN = 30000;
+    private static final int CLOCK_SYNC_INTERVAL = 600;
 
     @Getter
     private SSLSocketFactory sslSocketFactory;
@@ -69,6 +87,14 @@ public class PNConfiguration {
      * origin using this parameter.
      */
     private String origin;
+
+    /**
+     * Further origins requests can be routed to. When set, every request goes to the origin with the best latency
+     * and error rate observed so far, and a request which cannot connect is retried right away on another origin.
+     */
+    @NotNull
+    private List<String> alternativeOrigins;
+
     private int subscribeTimeout;
 
 
@@ -227,6 +253,152 @@ public class PNConfiguration {
     @Setter
     private HttpLoggingInterceptor httpLoggingInterceptor;
 
+    /**
+     * Set to true to bound in-flight non-subscribe requests per endpoint family (publish, history, presence,
+     * objects, ...) with a limit which adapts to observed latency and 429/5xx responses.
+     */
+    private boolean adaptiveConcurrencyLimiting;
+
+    /**
+     * Upper bound of the adaptive in-flight limit of a single endpoint family.
+     * Keep it within {@link #maximumConnections} so the families do not share the dispatcher queue again.
+     */
+    private int maximumConcurrencyLimit;
+
+    /**
+     * How many requests of a single endpoint family can wait for a free slot before new ones are rejected.
+     */
+    private int maximumQueuedRequests;
+
+    /**
+     * Maximum number of publishes and signals per second sent by this client, 0 disables the keyset wide limit.
+     */
+    private double publishRateLimit;
+
+    /**
+     * Maximum number of publishes and signals per second for specific channels.
+     */
+    @NotNull
+    private Map<String, Double> channelPublishRateLimits;
+
+    /**
+     * How many rate limited publishes can wait for a token before new ones are rejected.
+     */
+    private int publishRateLimitQueueSize;
+
+    /**
+     * In milliseconds, the longest time a rate limited publish can wait for a token before it is rejected.
+     */
+    private int publishRateLimitMaxWait;
+
+    /**
+     * Set to true to gzip non-subscribe request bodies (POST publishes, objects and grant token calls) which are at
+     * least {@link #requestCompressionThreshold} bytes long. Signatures are still calculated over the plain body.
+     */
+    private boolean requestCompression;
+
+    /**
+     * In bytes, the smallest request body which is compressed when {@link #requestCompression} is enabled.
+     */
+    private int requestCompressionThreshold;
+
+    /**
+     * Set to true to publish messages whose JSON is at least {@link #messageCompressionThreshold} bytes long deflated,
+     * in a {@code pn_deflate} envelope, before they are encrypted, and to inflate received envelopes. Without it,
+     * received messages are delivered as they are, like older SDKs do, so messages which happen to have the shape of
+     * an envelope are never rewritten.
+     */
+    private boolean messageCompression;
+
+    /**
+     * In bytes, the smallest message JSON which is compressed when {@link #messageCompression} is enabled.
+     */
+    private int messageCompressionThreshold;
+
+    /**
+     * Set to true to hedge idempotent reads (history, presence, objects and message action reads, ...): when no
+     * response arrived within {@link #requestHedgingPercentile} of the operation's recent latencies, an identical
+     * request is sent and whichever answers first is used.
+     */
+    private boolean requestHedging;
+
+    /**
+     * Percentile, between 0 and 1, of an operation's recent latencies after which a hedge request is sent.
+     */
+    private double requestHedgingPercentile;
+
+    /**
+     * Hedge requests allowed as a fraction of hedged operations, e.g. 0.1 sends at most one extra request for every
+     * ten reads.
+     */
+    private double requestHedgingBudget;
+
+    /**
+     * Set to true to record how long every network phase (dispatcher queue, DNS, connect, TLS, server, download) of
+     * each request took, and whether a pooled connection was reused. See {@link PubNub#getNetworkMetrics()}.
+     */
+    private boolean networkMetrics;
+
+    /**
+     * Set to true to run the threads the SDK owns (the OkHttp dispatchers, which also run async file uploads and
+     * retries, and the subscribe consumer) on virtual threads. Only has an effect on JDK 21 or newer, older runtimes
+     * keep using platform threads.
+     */
+    private boolean virtualThreads;
+
+    /**
+     * How many times publishes, signals, objects calls and history reads are retried after a transient failure (a
+     * timeout, a failed connection, a 5xx or a 429 response), waiting a decorrelated jitter backoff between attempts.
+     * 0 disables automatic retries.
+     */
+    private int automaticRetries;
+
+    /**
+     * In milliseconds, the shortest wait before an automatic retry.
+     */
+    private int retryBaseDelay;
+
+    /**
+     * In milliseconds, the longest wait before an automatic retry.
+     */
+    private int retryMaximumDelay;
+
+    /**
+     * Automatic retries allowed as a fraction of the retried operations of the client, e.g. 0.1 sends at most one
+     * retry for every ten operations, so retries cannot multiply the traffic of an unhealthy service. A burst of ten
+     * retries is available from the start.
+     */
+    private double retryBudget;
+
+    /**
+     * Consecutive transient failures of an endpoint family (publish, objects, history) after which its requests fail
+     * fast with {@link com.pubnub.api.builder.PubNubErrorBuilder#PNERR_CIRCUIT_OPEN} until
+     * {@link #circuitBreakerCooldown} has passed and a trial request succeeded. 0 disables circuit breaking.
+     */
+    private int circuitBreakerThreshold;
+
+    /**
+     * In milliseconds, how long an endpoint family fails fast once its circuit breaker opened.
+     */
+    private int circuitBreakerCooldown;
+
+    /**
+     * Set to true to estimate the offset of the local clock from the server clock with the time endpoint, in the
+     * background, and use server time for request signatures and file urls. See {@link PubNub#serverNow()}.
+     */
+    private boolean clockSync;
+
+    /**
+     * In seconds, how often the clock offset is estimated again when {@link #clockSync} is enabled.
+     */
+    private int clockSyncInterval;
+
+    /**
+     * Codec for responses, request bodies, messages, metadata and state, to use another JSON library than Gson.
+     * If not set, Gson is used.
+     */
+    private JsonCodec jsonCodec;
+
     /**
      * if set, the SDK will alert once the number of messages arrived in one call equal to the threshold
      */
@@ -294,6 +466,31 @@ public class PNConfiguration {
         useRandomInitializationVector = true;
         fileMessagePublishRetryLimit = FILE_MESSAGE_PUBLISH_RETRY_LIMIT;
         managePresenceListManually = false;
+        adaptiveConcurrencyLimiting = false;
+        maximumConcurrencyLimit = MAXIMUM_CONCURRENCY_LIMIT;
+        maximumQueuedRequests = MAXIMUM_QUEUED_REQUESTS;
+        publishRateLimit = 0;
+        channelPublishRateLimits = new HashMap<>();
+        publishRateLimitQueueSize = PUBLISH_RATE_LIMIT_QUEUE_SIZE;
+        publishRateLimitMaxWait = PUBLISH_RATE_LIMIT_MAX_WAIT;
+        requestCompression = false;
+        alternativeOrigins = new ArrayList<>();
+        requestHedging = false;
+        requestHedgingPercentile = REQUEST_HEDGING_PERCENTILE;
+        requestHedgingBudget = REQUEST_HEDGING_BUDGET;
+        networkMetrics = false;
+        virtualThreads = false;
+        automaticRetries = 0;
+        retryBaseDelay = RETRY_BASE_DELAY;
+        retryMaximumDelay = RETRY_MAXIMUM_DELAY;
+        retryBudget = RETRY_BUDGET;
+        circuitBreakerThreshold = 0;
+        circuitBreakerCooldown = CIRCUIT_BREAKER_COOLDOWN;
+        clockSync = false;
+        clockSyncInterval = CLOCK_SYNC_INTERVAL;
+        requestCompressionThreshold = REQUEST_COMPRESSION_THRESHOLD;
+        messageCompression = false;
+        messageCompressionThreshold = MESSAGE_COMPRESSION_THRESHOLD;
     }
 
     /**
@@ -50,17 +50,23 @@ import com.pubnub.api.endpoints.presence.GetState;
 import com.pubnub.api.endpoints.presence.HereNow;
 import com.pubnub.api.endpoints.presence.SetState;
 import com.pubnub.api.endpoints.presence.WhereNow;
+import com.pubnub.api.endpoints.pubsub.PreparedPublish;
 import com.pubnub.api.endpoints.pubsub.Publish;
 import com.pubnub.api.endpoints.pubsub.Signal;
 import com.pubnub.api.endpoints.push.AddChannelsToPush;
 import com.pubnub.api.endpoints.push.ListPushProvisions;
 import com.pubnub.api.endpoints.push.RemoveAllPushChannelsForDevice;
 import com.pubnub.api.endpoints.push.RemoveChannelsFromPush;
+import com.pubnub.api.endpoints.remoteaction.BatchRemoteAction;
+import com.pubnub.api.endpoints.remoteaction.RemoteAction;
 import com.pubnub.api.managers.BasePathManager;
+import com.pubnub.api.managers.ClockSyncManager;
 import com.pubnub.api.managers.DelayedReconnectionManager;
 import com.pubnub.api.managers.DuplicationManager;
 import com.pubnub.api.managers.ListenerManager;
 import com.pubnub.api.managers.MapperManager;
+import com.pubnub.api.managers.MessageCompressionManager;
+import com.pubnub.api.managers.PayloadDecoderManager;
 import com.pubnub.api.managers.PublishSequenceManager;
 import com.pubnub.api.managers.ReconnectionManager;
 import com.pubnub.api.managers.RetrofitManager;
@@ -69,13 +75,18 @@ import com.pubnub.api.managers.SubscriptionManager;
 import com.pubnub.api.managers.TelemetryManager;
 import com.pubnub.api.managers.token_manager.TokenManager;
 import com.pubnub.api.managers.token_manager.TokenParser;
+import com.pubnub.api.models.consumer.PNClockSyncStatistics;
+import com.pubnub.api.models.consumer.PNMessageCompressionStatistics;
+import com.pubnub.api.models.consumer.PNNetworkMetrics;
+import com.pubnub.api.models.consumer.PNPublishRateLimitStatistics;
+import com.pubnub.api.models.consumer.PNRequestCompressionStatistics;
 import com.pubnub.api.models.consumer.access_manager.v3.PNToken;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.InputStream;
-import java.util.Date;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -88,6 +99,18 @@ public class PubNub {
     @Getter
     private @NotNull MapperManager mapper;
 
+    /**
+     * Decoders turning received message payloads into application types.
+     */
+    @Getter
+    private final @NotNull PayloadDecoderManager payloadDecoderManager;
+
+    /**
+     * Compresses published messages and inflates received ones, see {@link PNConfiguration#isMessageCompression()}.
+     */
+    @Getter
+    private final @NotNull MessageCompressionManager messageCompressionManager;
+
     private String instanceId;
 
     private SubscriptionManager subscriptionManager;
@@ -100,6 +123,8 @@ public class PubNub {
 
     private RetrofitManager retrofitManager;
 
+    private final ClockSyncManager clockSyncManager;
+
     private final TokenParser tokenParser;
 
     private static final int TIMESTAMP_DIVIDER = 1000;
@@ -117,15 +142,19 @@ public class PubNub {
 
     public PubNub(@NotNull PNConfiguration initialConfig) {
         this.configuration = initialConfig;
-        this.mapper = new MapperManager();
-        this.telemetryManager = new TelemetryManager();
+        this.mapper = new MapperManager(initialConfig.getJsonCodec());
+        this.payloadDecoderManager = new PayloadDecoderManager(this.mapper);
+        this.messageCompressionManager = new MessageCompressionManager(initialConfig, this.mapper);
         this.basePathManager = new BasePathManager(initialConfig);
         this.listenerManager = new ListenerManager(this);
-        this.retrofitManager = new RetrofitManager(this);
+        this.retrofitManager = new RetrofitManager(this, this.basePathManager);
+        this.telemetryManager = new TelemetryManager(this.retrofitManager.getSchedulerManager());
         this.stateManager = new StateManager(this.configuration);
         this.tokenManager = new TokenManager();
-        final ReconnectionManager reconnectionManager = new ReconnectionManager(this);
-        final DelayedReconnectionManager delayedReconnectionManager = new DelayedReconnectionManager(this);
+        final ReconnectionManager reconnectionManager = new ReconnectionManager(this,
+                this.retrofitManager.getSchedulerManager());
+        final DelayedReconnectionManager delayedReconnectionManager = new DelayedReconnectionManager(this,
+                this.retrofitManager.getSchedulerManager());
         final DuplicationManager duplicationManager = new DuplicationManager(this.configuration);
         this.subscriptionManager = new SubscriptionManager(this,
                 retrofitManager,
@@ -137,8 +166,11 @@ public class PubNub {
                 duplicationManager,
                 tokenManager);
         this.publishSequenceManager = new PublishSequenceManager(MAX_SEQUENCE);
+        this.clockSyncManager = new ClockSyncManager(this, this.retrofitManager.getSchedulerManager());
         this.tokenParser = new TokenParser();
         instanceId = UUID.randomUUID().toString();
+        // last, the first sync is sent right away and signs its request with the fields above
+        this.clockSyncManager.start();
     }
 
     /**
@@ -212,6 +244,17 @@ public class PubNub {
         return new HereNow(this, this.telemetryManager, this.retrofitManager, this.tokenManager);
     }
 
+    /**
+     * Runs independent actions, such as endpoints, through their async path with a bounded number of them in flight.
+     *
+     * @param actions actions to run; results are reported in the same order.
+     */
+    @NotNull
+    public <Output> BatchRemoteAction<Output> batch(
+            @NotNull Collection<? extends RemoteAction<? extends Output>> actions) {
+        return new BatchRemoteAction<>(actions);
+    }
+
     @NotNull
     public Time time() {
         return new Time(this, this.telemetryManager, this.retrofitManager, this.tokenManager);
@@ -276,6 +319,17 @@ public class PubNub {
         return new Publish(this, publishSequenceManager, this.telemetryManager, this.retrofitManager, this.tokenManager);
     }
 
+    /**
+     * Prepares publishing to a channel which is published to continuously: the channel, keys and options are
+     * validated and encoded once and every message sent through {@link PreparedPublish#message(Object)} only has to
+     * be serialized.
+     */
+    @NotNull
+    public PreparedPublish.Builder preparePublish() {
+        return new PreparedPublish.Builder(this, publishSequenceManager, this.telemetryManager, this.retrofitManager,
+                this.tokenManager);
+    }
+
     @NotNull
     public Signal signal() {
         return new Signal(this, this.telemetryManager, this.retrofitManager, this.tokenManager);
@@ -547,8 +601,19 @@ public class PubNub {
         return cryptoModule.encryptStream(inputStream);
     }
 
+    /**
+     * @return in seconds, server time used for request signatures.
+     */
     public int getTimestamp() {
-        return (int) ((new Date().getTime()) / TIMESTAMP_DIVIDER);
+        return (int) (serverNow() / TIMESTAMP_DIVIDER);
+    }
+
+    /**
+     * @return in milliseconds since the epoch, server time as estimated with {@link PNConfiguration#isClockSync()},
+     * or the local time when clock sync is disabled or has not completed yet.
+     */
+    public long serverNow() {
+        return clockSyncManager.currentTimeMillis();
     }
 
     /**
@@ -588,6 +653,7 @@ public class PubNub {
      */
     public void destroy() {
         try {
+            clockSyncManager.stop();
             subscriptionManager.destroy(false);
             retrofitManager.destroy(false);
         } catch (Exception error) {
@@ -600,6 +666,7 @@ public class PubNub {
      */
     public void forceDestroy() {
         try {
+            clockSyncManager.stop();
             subscriptionManager.destroy(true);
             retrofitManager.destroy(true);
             telemetryManager.stopCleanUpTimer();
@@ -648,4 +715,47 @@ public class PubNub {
     public void setToken(String token) {
         tokenManager.setToken(token);
     }
+
+    /**
+     * @return counters of the client side publish rate limiter.
+     */
+    @NotNull
+    public PNPublishRateLimitStatistics getPublishRateLimitStatistics() {
+        return retrofitManager.getPublishRateLimitManager().getStatistics();
+    }
+
+    /**
+     * @return how many messages were published compressed, their size before and after compression and how many
+     * compressed messages were received.
+     */
+    @NotNull
+    public PNMessageCompressionStatistics getMessageCompressionStatistics() {
+        return messageCompressionManager.getStatistics();
+    }
+
+    /**
+     * @return how many request bodies were compressed and their size before and after compression.
+     */
+    @NotNull
+    public PNRequestCompressionStatistics getRequestCompressionStatistics() {
+        return retrofitManager.getRequestCompressionInterceptor().getStatistics();
+    }
+
+    /**
+     * @return network phase timings and connection reuse per operation, recorded when
+     * {@link PNConfiguration#isNetworkMetrics()} is set.
+     */
+    @NotNull
+    public PNNetworkMetrics getNetworkMetrics() {
+        return retrofitManager.getNetworkMetricsManager().getMetrics();
+    }
+
+    /**
+     * @return estimated offset of the local clock from the server clock and its drift, see
+     * {@link PNConfiguration#isClockSync()}.
+     */
+    @NotNull
+    public PNClockSyncStatistics getClockSyncStatistics() {
+        return clockSyncManager.getStatistics();
+    }
 }
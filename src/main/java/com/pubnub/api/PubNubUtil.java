@@ -1,28 +1,29 @@
 package com.pubnub.api;
 
 import com.pubnub.api.builder.PubNubErrorBuilder;
+import com.pubnub.api.utils.UrlEncodingWriter;
 import com.pubnub.api.vendor.Base64;
 import lombok.extern.java.Log;
 import okhttp3.HttpUrl;
 import okhttp3.Request;
-import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
-import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
 
 import static com.pubnub.api.vendor.FileEncryptionUtil.BUFFER_SIZE_BYTES;
 
@@ -30,6 +31,12 @@ import static com.pubnub.api.vendor.FileEncryptionUtil.BUFFER_SIZE_BYTES;
 public class PubNubUtil {
 
     private static final String CHARSET = "UTF-8";
+    private static final String HMAC_SHA_256 = "HmacSHA256";
+    private static final char ASCII_LIMIT = 0x80;
+    private static final int HEX_DIGIT_BITS = 4;
+    private static final int HEX_DIGIT_MASK = 0x0F;
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final ThreadLocal<SigningContext> SIGNING_CONTEXT = ThreadLocal.withInitial(SigningContext::new);
     public static final String SIGNATURE_QUERY_PARAM_NAME = "signature";
     public static final String TIMESTAMP_QUERY_PARAM_NAME = "timestamp";
     public static final String AUTH_QUERY_PARAM_NAME = "auth";
@@ -66,21 +73,9 @@ public class PubNubUtil {
      * @return , encoded string
      */
     public static String pamEncode(String stringToEncode) {
-        /* !'()*~ */
-
-        String encoded = urlEncode(stringToEncode);
-        if (encoded != null) {
-            encoded = encoded
-                    .replace("*", "%2A")
-                    .replace("!", "%21")
-                    .replace("'", "%27")
-                    .replace("(", "%28")
-                    .replace(")", "%29")
-                    .replace("[", "%5B")
-                    .replace("]", "%5D")
-                    .replace("~", "%7E");
-        }
-        return encoded;
+        StringBuilder builder = new StringBuilder(stringToEncode.length());
+        appendPamEncoded(builder, stringToEncode);
+        return builder.toString();
     }
 
     /**
@@ -90,11 +85,7 @@ public class PubNubUtil {
      * @return , encoded string
      */
     public static String urlEncode(String stringToEncode) {
-        try {
-            return URLEncoder.encode(stringToEncode, CHARSET).replace("+", "%20");
-        } catch (UnsupportedEncodingException e) {
-            return null;
-        }
+        return UrlEncodingWriter.encode(stringToEncode);
     }
 
     /**
@@ -112,55 +103,14 @@ public class PubNubUtil {
     }
 
     public static String preparePamArguments(Map<String, String> pamArgs) {
-        Set<String> pamKeys = new TreeSet<>(pamArgs.keySet());
-        String stringifiedArguments = "";
-        int i = 0;
-
-        for (String pamKey : pamKeys) {
-            if (i != 0) {
-                stringifiedArguments = stringifiedArguments.concat("&");
-            }
-
-            stringifiedArguments =
-                    stringifiedArguments.concat(pamKey).concat("=").concat(pamEncode(pamArgs.get(pamKey)));
-
-            i += 1;
-        }
-
-        return stringifiedArguments;
+        StringBuilder builder = new StringBuilder();
+        appendPamArguments(builder, pamArgs);
+        return builder.toString();
     }
 
     public static String signSHA256(String key, String data) throws PubNubException, UnsupportedEncodingException {
-        Mac sha256HMAC;
-        byte[] hmacData;
-        SecretKeySpec secretKey = new SecretKeySpec(key.getBytes(CHARSET), "HmacSHA256");
-
-        try {
-            sha256HMAC = Mac.getInstance("HmacSHA256");
-        } catch (NoSuchAlgorithmException e) {
-            throw PubNubException.builder()
-                    .pubnubError(PubNubErrorBuilder.PNERROBJ_CRYPTO_ERROR)
-                    .errormsg(e.getMessage())
-                    .cause(e)
-                    .build();
-        }
-
-        try {
-            sha256HMAC.init(secretKey);
-        } catch (InvalidKeyException e) {
-            throw PubNubException.builder()
-                    .pubnubError(PubNubErrorBuilder.PNERROBJ_CRYPTO_ERROR)
-                    .errormsg(e.getMessage())
-                    .cause(e)
-                    .build();
-        }
-
-        hmacData = sha256HMAC.doFinal(data.getBytes(CHARSET));
-
-        return new String(Base64.encode(hmacData, 0), CHARSET)
-                .replace('+', '-')
-                .replace('/', '_')
-                .replace("\n", "");
+        Mac sha256HMAC = SIGNING_CONTEXT.get().mac(key);
+        return encodeSignature(sha256HMAC.doFinal(data.getBytes(CHARSET)));
     }
 
     public static String replaceLast(String string, String toReplace, String replacement) {
@@ -199,54 +149,171 @@ public class PubNubUtil {
                                            String method,
                                            String requestBody,
                                            int timestamp) {
-        boolean isV2Signature;
-
-        StringBuilder signatureBuilder = new StringBuilder();
-
         queryParams.put(TIMESTAMP_QUERY_PARAM_NAME, String.valueOf(timestamp));
-        String encodedQueryString = PubNubUtil.preparePamArguments(queryParams);
 
-        isV2Signature = !(requestURL.startsWith("/publish") && method.equalsIgnoreCase("post"));
+        boolean isV2Signature = isV2Signature(requestURL, method);
+        SigningContext context = SIGNING_CONTEXT.get();
+        StringBuilder signatureBuilder = context.builder(configuration, requestURL, method, isV2Signature);
+        appendPamArguments(signatureBuilder, queryParams);
+        if (isV2Signature) {
+            signatureBuilder.append('\n').append(requestBody);
+        }
 
-        if (!isV2Signature) {
-            signatureBuilder.append(configuration.getSubscribeKey()).append("\n");
-            signatureBuilder.append(configuration.getPublishKey()).append("\n");
-            signatureBuilder.append(requestURL).append("\n");
-            signatureBuilder.append(encodedQueryString);
-        } else {
-            signatureBuilder.append(method.toUpperCase()).append("\n");
-            signatureBuilder.append(configuration.getPublishKey()).append("\n");
-            signatureBuilder.append(requestURL).append("\n");
-            signatureBuilder.append(encodedQueryString).append("\n");
-            signatureBuilder.append(requestBody);
+        try {
+            Mac sha256HMAC = context.mac(configuration.getSecretKey());
+            return finishSignature(sha256HMAC.doFinal(signatureBuilder.toString().getBytes(CHARSET)), isV2Signature);
+        } catch (PubNubException | UnsupportedEncodingException e) {
+            log.warning("signature failed on SignatureInterceptor: " + e.toString());
+        }
+        return "";
+    }
+
+    private static String generateSignature(PNConfiguration configuration, Request request, int timestamp) {
+        HttpUrl url = request.url();
+        String requestURL = url.encodedPath();
+        boolean isV2Signature = isV2Signature(requestURL, request.method());
+
+        SigningContext context = SIGNING_CONTEXT.get();
+        StringBuilder signatureBuilder = context.builder(configuration, requestURL, request.method(), isV2Signature);
+        appendPamArguments(signatureBuilder, url, String.valueOf(timestamp));
+        if (isV2Signature) {
+            signatureBuilder.append('\n');
         }
 
-        String signature = "";
         try {
-            signature = PubNubUtil.signSHA256(configuration.getSecretKey(), signatureBuilder.toString());
-            if (isV2Signature) {
-                signature = removeTrailingEqualSigns(signature);
-                signature = "v2.".concat(signature);
+            Mac sha256HMAC = context.mac(configuration.getSecretKey());
+            sha256HMAC.update(signatureBuilder.toString().getBytes(CHARSET));
+            if (isV2Signature && request.body() != null) {
+                // stream the body straight into the MAC instead of copying it into a String first
+                BufferedSink sink = Okio.buffer(Okio.sink(new MacOutputStream(sha256HMAC)));
+                request.body().writeTo(sink);
+                sink.flush();
             }
-        } catch (PubNubException | UnsupportedEncodingException e) {
+            return finishSignature(sha256HMAC.doFinal(), isV2Signature);
+        } catch (PubNubException | IOException e) {
             log.warning("signature failed on SignatureInterceptor: " + e.toString());
         }
+        return "";
+    }
 
+    private static boolean isV2Signature(String requestURL, String method) {
+        return !(requestURL.startsWith("/publish") && method.equalsIgnoreCase("post"));
+    }
+
+    private static String finishSignature(byte[] hmacData, boolean isV2Signature) throws UnsupportedEncodingException {
+        String signature = encodeSignature(hmacData);
+        if (isV2Signature) {
+            signature = "v2.".concat(removeTrailingEqualSigns(signature));
+        }
         return signature;
     }
 
-    private static String generateSignature(PNConfiguration configuration, Request request, int timestamp) {
-        Map<String, String> queryParams = new HashMap<>();
-        for (String queryKey : request.url().queryParameterNames()) {
-            queryParams.put(queryKey, request.url().queryParameter(queryKey));
+    private static String encodeSignature(byte[] hmacData) throws UnsupportedEncodingException {
+        return new String(Base64.encode(hmacData, Base64.NO_WRAP | Base64.URL_SAFE), CHARSET);
+    }
+
+    /**
+     * Appends the arguments sorted by name as {@code name=value} pairs joined with {@code &}.
+     */
+    private static void appendPamArguments(StringBuilder builder, Map<String, String> pamArgs) {
+        String[] pamKeys = pamArgs.keySet().toArray(new String[0]);
+        Arrays.sort(pamKeys);
+        for (int i = 0; i < pamKeys.length; i++) {
+            if (i != 0) {
+                builder.append('&');
+            }
+            builder.append(pamKeys[i]).append('=');
+            appendPamEncoded(builder, pamArgs.get(pamKeys[i]));
+        }
+    }
+
+    /**
+     * Same as {@link #appendPamArguments(StringBuilder, Map)} for the query of the url plus the timestamp, without
+     * copying the query into a map first. For repeated names only the first value counts.
+     */
+    private static void appendPamArguments(StringBuilder builder, HttpUrl url, String timestamp) {
+        int size = url.querySize();
+        int[] order = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            String name = url.queryParameterName(i);
+            if (TIMESTAMP_QUERY_PARAM_NAME.equals(name)) {
+                continue;
+            }
+            // insertion sort; the handful of query parameters a request carries is already almost sorted
+            int position = count;
+            boolean duplicate = false;
+            while (position > 0) {
+                int comparison = name.compareTo(url.queryParameterName(order[position - 1]));
+                if (comparison >= 0) {
+                    duplicate = comparison == 0;
+                    break;
+                }
+                position--;
+            }
+            if (duplicate) {
+                continue;
+            }
+            System.arraycopy(order, position, order, position + 1, count - position);
+            order[position] = i;
+            count++;
+        }
+
+        boolean timestampAppended = false;
+        for (int i = 0; i < count; i++) {
+            String name = url.queryParameterName(order[i]);
+            if (!timestampAppended && TIMESTAMP_QUERY_PARAM_NAME.compareTo(name) < 0) {
+                appendPamArgument(builder, TIMESTAMP_QUERY_PARAM_NAME, timestamp, i == 0);
+                timestampAppended = true;
+            }
+            appendPamArgument(builder, name, url.queryParameterValue(order[i]), i == 0 && !timestampAppended);
+        }
+        if (!timestampAppended) {
+            appendPamArgument(builder, TIMESTAMP_QUERY_PARAM_NAME, timestamp, count == 0);
+        }
+    }
+
+    private static void appendPamArgument(StringBuilder builder, String name, String value, boolean first) {
+        if (!first) {
+            builder.append('&');
         }
-        return generateSignature(configuration,
-                request.url().encodedPath(),
-                queryParams,
-                request.method(),
-                requestBodyToString(request),
-                timestamp);
+        builder.append(name).append('=');
+        if (value != null) {
+            appendPamEncoded(builder, value);
+        }
+    }
 
+    /**
+     * Percent encodes the UTF-8 bytes of everything but {@code A-Z a-z 0-9 - _ .} in a single pass.
+     */
+    private static void appendPamEncoded(StringBuilder builder, String value) {
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            char c = value.charAt(i);
+            if (c < ASCII_LIMIT) {
+                if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                        || c == '-' || c == '_' || c == '.') {
+                    builder.append(c);
+                } else {
+                    appendPercentEncoded(builder, c);
+                }
+                i++;
+            } else {
+                int end = i + 1;
+                while (end < length && value.charAt(end) >= ASCII_LIMIT) {
+                    end++;
+                }
+                for (byte b : value.substring(i, end).getBytes(StandardCharsets.UTF_8)) {
+                    appendPercentEncoded(builder, Byte.toUnsignedInt(b));
+                }
+                i = end;
+            }
+        }
+    }
+
+    private static void appendPercentEncoded(StringBuilder builder, int b) {
+        builder.append('%').append(HEX_DIGITS[b >>> HEX_DIGIT_BITS]).append(HEX_DIGITS[b & HEX_DIGIT_MASK]);
     }
 
     public static String removeTrailingEqualSigns(String signature) {
@@ -258,20 +325,6 @@ public class PubNubUtil {
         return cleanSignature;
     }
 
-    private static String requestBodyToString(final Request request) {
-        if (request.body() == null) {
-            return "";
-        }
-        try {
-            Buffer buffer = new Buffer();
-            request.body().writeTo(buffer);
-            return buffer.readUtf8();
-        } catch (final IOException e) {
-            e.printStackTrace();
-        }
-        return "";
-    }
-
     public static byte[] readBytes(final InputStream inputStream) throws IOException {
         try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
             int read;
@@ -295,4 +348,73 @@ public class PubNubUtil {
             throw PubNubRuntimeException.builder().pubnubError(error).build();
         }
     }
+
+    /**
+     * Per thread signing state: an initialised {@link Mac} for the last used secret key and a reusable builder for
+     * the string to sign.
+     */
+    private static final class SigningContext {
+        private static final int INITIAL_CAPACITY = 512;
+        private static final int MAXIMUM_RETAINED_CAPACITY = 16 * 1024;
+
+        private StringBuilder builder = new StringBuilder(INITIAL_CAPACITY);
+        private Mac mac;
+        private String macKey;
+
+        private StringBuilder builder(PNConfiguration configuration,
+                                      String requestURL,
+                                      String method,
+                                      boolean isV2Signature) {
+            if (builder.capacity() > MAXIMUM_RETAINED_CAPACITY) {
+                builder = new StringBuilder(INITIAL_CAPACITY);
+            }
+            builder.setLength(0);
+            if (isV2Signature) {
+                builder.append(method.toUpperCase()).append('\n');
+            } else {
+                builder.append(configuration.getSubscribeKey()).append('\n');
+            }
+            builder.append(configuration.getPublishKey()).append('\n');
+            builder.append(requestURL).append('\n');
+            return builder;
+        }
+
+        private Mac mac(String key) throws PubNubException {
+            if (mac != null && key.equals(macKey)) {
+                mac.reset();
+                return mac;
+            }
+            try {
+                Mac sha256HMAC = Mac.getInstance(HMAC_SHA_256);
+                sha256HMAC.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), HMAC_SHA_256));
+                mac = sha256HMAC;
+                macKey = key;
+                return sha256HMAC;
+            } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+                throw PubNubException.builder()
+                        .pubnubError(PubNubErrorBuilder.PNERROBJ_CRYPTO_ERROR)
+                        .errormsg(e.getMessage())
+                        .cause(e)
+                        .build();
+            }
+        }
+    }
+
+    private static final class MacOutputStream extends OutputStream {
+        private final Mac mac;
+
+        private MacOutputStream(Mac mac) {
+            this.mac = mac;
+        }
+
+        @Override
+        public void write(int b) {
+            mac.update((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            mac.update(b, off, len);
+        }
+    }
 }
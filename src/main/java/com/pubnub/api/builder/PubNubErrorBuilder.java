@@ -380,6 +380,26 @@ public final class PubNubErrorBuilder {
      */
     public static final int PNERR_CRYPTO_IS_CONFIGURED_BUT_MESSAGE_IS_NOT_ENCRYPTED = 174;
 
+    /**
+     * Too many requests are waiting for a free slot of the endpoint family.
+     */
+    public static final int PNERR_REQUEST_QUEUE_FULL = 175;
+
+    /**
+     * Publish rate limit exceeded and the publish could not be queued.
+     */
+    public static final int PNERR_PUBLISH_RATE_LIMIT_EXCEEDED = 176;
+
+    /**
+     * The endpoint family failed repeatedly and its requests fail fast until the circuit breaker closes again.
+     */
+    public static final int PNERR_CIRCUIT_OPEN = 177;
+
+    /**
+     * The pre-serialized message is not valid JSON.
+     */
+    public static final int PNERR_INVALID_RAW_JSON = 178;
+
     // Error Objects
     public static final PubNubError PNERROBJ_TIMEOUT = PubNubError.builder()
             .errorCode(PNERR_TIMEOUT)
@@ -759,6 +779,26 @@ public final class PubNubErrorBuilder {
             .message("Message decryption failed using the current crypto configuration.")
             .build();
 
+    public static final PubNubError PNERROBJ_REQUEST_QUEUE_FULL = PubNubError.builder()
+            .errorCode(PNERR_REQUEST_QUEUE_FULL)
+            .message("Too many requests are waiting to be sent for this endpoint.")
+            .build();
+
+    public static final PubNubError PNERROBJ_PUBLISH_RATE_LIMIT_EXCEEDED = PubNubError.builder()
+            .errorCode(PNERR_PUBLISH_RATE_LIMIT_EXCEEDED)
+            .message("Publish rate limit exceeded and the publish queue is full.")
+            .build();
+
+    public static final PubNubError PNERROBJ_CIRCUIT_OPEN = PubNubError.builder()
+            .errorCode(PNERR_CIRCUIT_OPEN)
+            .message("Requests of this endpoint failed repeatedly and are not sent until the service recovers.")
+            .build();
+
+    public static final PubNubError PNERROBJ_INVALID_RAW_JSON = PubNubError.builder()
+            .errorCode(PNERR_INVALID_RAW_JSON)
+            .message("The raw JSON message is not valid JSON.")
+            .build();
+
     private PubNubErrorBuilder() {
 
     }
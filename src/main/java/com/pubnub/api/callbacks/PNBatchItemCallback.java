@@ -0,0 +1,17 @@
+package com.pubnub.api.callbacks;
+
+import com.pubnub.api.models.consumer.PNStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Receives the outcome of every action of a batch as soon as it completes.
+ */
+public interface PNBatchItemCallback<X> {
+    /**
+     * @param index  position of the action in the batch.
+     * @param result result of the action, {@code null} if it failed.
+     * @param status status of the action.
+     */
+    void onItem(int index, @Nullable X result, @NotNull PNStatus status);
+}
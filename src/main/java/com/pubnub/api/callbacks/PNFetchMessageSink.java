@@ -0,0 +1,18 @@
+package com.pubnub.api.callbacks;
+
+import com.pubnub.api.models.consumer.history.PNFetchMessageItem;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Receives the messages of a {@link com.pubnub.api.endpoints.FetchMessagesStream} one at a time, as they are read from
+ * the response, on the thread reading it.
+ */
+public interface PNFetchMessageSink {
+
+    /**
+     * @param channel channel the message was published on.
+     * @param item    the message, decrypted and decoded like the items of a
+     *                {@link com.pubnub.api.models.consumer.history.PNFetchMessagesResult}.
+     */
+    void onMessage(@NotNull String channel, @NotNull PNFetchMessageItem item);
+}
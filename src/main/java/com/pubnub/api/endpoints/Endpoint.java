@@ -5,13 +5,19 @@ import com.google.gson.JsonElement;
 import com.pubnub.api.PubNub;
 import com.pubnub.api.PubNubException;
 import com.pubnub.api.PubNubUtil;
+import com.pubnub.api.UserId;
 import com.pubnub.api.builder.PubNubErrorBuilder;
 import com.pubnub.api.callbacks.PNCallback;
 import com.pubnub.api.endpoints.remoteaction.RemoteAction;
 import com.pubnub.api.enums.PNOperationType;
 import com.pubnub.api.enums.PNStatusCategory;
+import com.pubnub.api.managers.BaseParamsManager;
+import com.pubnub.api.managers.ConcurrencyLimitManager;
+import com.pubnub.api.managers.HedgingManager;
 import com.pubnub.api.managers.MapperManager;
+import com.pubnub.api.managers.PublishRateLimitManager;
 import com.pubnub.api.managers.RetrofitManager;
+import com.pubnub.api.managers.RetryManager;
 import com.pubnub.api.managers.TelemetryManager;
 import com.pubnub.api.managers.token_manager.TokenManager;
 import com.pubnub.api.models.consumer.PNErrorData;
@@ -38,16 +44,19 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Log
 public abstract class Endpoint<Input, Output> implements RemoteAction<Output> {
 
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
     @Getter(AccessLevel.PROTECTED)
     private PubNub pubnub;
     @Getter(AccessLevel.PROTECTED)
     private RetrofitManager retrofit;
 
-    @Getter(AccessLevel.NONE)
+    @Getter(AccessLevel.PACKAGE)
     private TelemetryManager telemetryManager;
 
     @Getter(AccessLevel.NONE)
@@ -60,6 +69,22 @@ public abstract class Endpoint<Input, Output> implements RemoteAction<Output> {
     @Accessors(chain = true, fluent = true)
     private Map<String, String> queryParam;
 
+    /**
+     * User id sent with this request instead of the configured one, so one client can act on behalf of many users.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.PUBLIC)
+    @Accessors(chain = true, fluent = true)
+    private UserId userId;
+
+    /**
+     * Auth token sent with this request instead of the configured auth key or token.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.PUBLIC)
+    @Accessors(chain = true, fluent = true)
+    private String authToken;
+
     /**
      * If the endpoint failed to execute and we do not want to alert the user, flip this to true
      * This operation is handy if we internally cancelled the endpoint.
@@ -69,6 +94,7 @@ public abstract class Endpoint<Input, Output> implements RemoteAction<Output> {
 
     private MapperManager mapper;
 
+    @Getter(AccessLevel.PACKAGE)
     private final TokenManager tokenManager;
 
     public Endpoint(PubNub pubnubInstance,
@@ -87,20 +113,40 @@ public abstract class Endpoint<Input, Output> implements RemoteAction<Output> {
     @Nullable
     public Output sync() throws PubNubException {
         this.validateParams();
+        checkCircuitBreaker();
 
-        call = doWork(createBaseParams());
+        call = retried(hedged(measured(doWork(createBaseParams()))));
         Response<Input> serverResponse;
         Output response;
 
+        final PublishRateLimitManager rateLimiter = getPublishRateLimiter();
+        if (rateLimiter != null) {
+            long delay = rateLimiter.reserve(getAffectedChannels().get(0));
+            if (delay > 0) {
+                rateLimiter.await(delay);
+            }
+        }
+
+        final ConcurrencyLimitManager concurrencyLimiter = getConcurrencyLimiter();
+        if (concurrencyLimiter != null) {
+            concurrencyLimiter.acquire(getOperationType());
+        }
+        final long startedAt = System.nanoTime();
+
         try {
             serverResponse = call.execute();
+            releaseConcurrencySlot(concurrencyLimiter, startedAt, serverResponse.code(), null);
         } catch (IOException e) {
+            releaseConcurrencySlot(concurrencyLimiter, startedAt, 0, e);
             throw PubNubException.builder()
                     .pubnubError(PubNubErrorBuilder.PNERROBJ_PARSING_ERROR)
                     .errormsg(e.toString())
                     .affectedCall(call)
                     .cause(e)
                     .build();
+        } catch (RuntimeException e) {
+            releaseConcurrencySlot(concurrencyLimiter, startedAt, 0, e);
+            throw e;
         }
 
         if (isError(serverResponse)) {
@@ -134,15 +180,19 @@ public abstract class Endpoint<Input, Output> implements RemoteAction<Output> {
 
         try {
             this.validateParams();
-            call = doWork(createBaseParams());
+            checkCircuitBreaker();
+            call = retried(hedged(measured(doWork(createBaseParams()))));
         } catch (PubNubException pubnubException) {
+            boolean circuitOpen = pubnubException.getPubnubError() == PubNubErrorBuilder.PNERROBJ_CIRCUIT_OPEN;
             callback.onResponse(null,
-                    createStatusResponse(PNStatusCategory.PNBadRequestCategory, null, pubnubException,
-                            null, null));
+                    createStatusResponse(circuitOpen
+                                    ? PNStatusCategory.PNNetworkIssuesCategory
+                                    : PNStatusCategory.PNBadRequestCategory,
+                            null, pubnubException, null, null));
             return;
         }
 
-        call.enqueue(new retrofit2.Callback<Input>() {
+        final retrofit2.Callback<Input> responseCallback = new retrofit2.Callback<Input>() {
 
             @Override
             public void onResponse(Call<Input> performedCall, Response<Input> response) {
@@ -267,7 +317,149 @@ public abstract class Endpoint<Input, Output> implements RemoteAction<Output> {
                                 null, null));
 
             }
-        });
+        };
+
+        enqueue(call, responseCallback, callback);
+    }
+
+    private void enqueue(final Call<Input> limitedCall,
+                         final retrofit2.Callback<Input> responseCallback,
+                         final PNCallback<Output> callback) {
+        final PublishRateLimitManager rateLimiter = getPublishRateLimiter();
+        if (rateLimiter != null) {
+            final long delay;
+            try {
+                delay = rateLimiter.reserve(getAffectedChannels().get(0));
+            } catch (PubNubException pubnubException) {
+                callback.onResponse(null,
+                        createStatusResponse(PNStatusCategory.PNRateLimitExceededCategory, null, pubnubException,
+                                null, null));
+                return;
+            }
+            if (delay > 0) {
+                rateLimiter.schedule(delay, new Runnable() {
+                    @Override
+                    public void run() {
+                        enqueueWithinConcurrencyLimit(limitedCall, responseCallback, callback);
+                    }
+                });
+                return;
+            }
+        }
+        enqueueWithinConcurrencyLimit(limitedCall, responseCallback, callback);
+    }
+
+    private void enqueueWithinConcurrencyLimit(final Call<Input> limitedCall,
+                                               final retrofit2.Callback<Input> responseCallback,
+                                               final PNCallback<Output> callback) {
+        final ConcurrencyLimitManager concurrencyLimiter = getConcurrencyLimiter();
+        if (concurrencyLimiter == null) {
+            limitedCall.enqueue(responseCallback);
+            return;
+        }
+
+        try {
+            concurrencyLimiter.execute(getOperationType(), new Runnable() {
+                @Override
+                public void run() {
+                    final long startedAt = System.nanoTime();
+                    try {
+                        limitedCall.enqueue(new retrofit2.Callback<Input>() {
+                            @Override
+                            public void onResponse(Call<Input> performedCall, Response<Input> response) {
+                                releaseConcurrencySlot(concurrencyLimiter, startedAt, response.code(), null);
+                                responseCallback.onResponse(performedCall, response);
+                            }
+
+                            @Override
+                            public void onFailure(Call<Input> performedCall, Throwable throwable) {
+                                releaseConcurrencySlot(concurrencyLimiter, startedAt, 0, throwable);
+                                responseCallback.onFailure(performedCall, throwable);
+                            }
+                        });
+                    } catch (RuntimeException e) {
+                        // the call failed before it was enqueued, so neither callback releases the slot
+                        releaseConcurrencySlot(concurrencyLimiter, startedAt, 0, e);
+                        throw e;
+                    }
+                }
+            });
+        } catch (PubNubException pubnubException) {
+            callback.onResponse(null,
+                    createStatusResponse(PNStatusCategory.PNRateLimitExceededCategory, null, pubnubException,
+                            null, null));
+        }
+    }
+
+    private Call<Input> measured(Call<Input> work) {
+        if (work != null && retrofit != null && retrofit.getNetworkMetricsManager() != null
+                && pubnub.getConfiguration().isNetworkMetrics()) {
+            return new MeasuredCall<>(work, retrofit.getNetworkMetricsManager(), getOperationType());
+        }
+        return work;
+    }
+
+    private Call<Input> hedged(Call<Input> work) {
+        HedgingManager hedgingManager = retrofit != null ? retrofit.getHedgingManager() : null;
+        if (work == null || hedgingManager == null || !hedgingManager.isHedged(getOperationType())) {
+            return work;
+        }
+        return new HedgedCall<>(work, hedgingManager, getOperationType());
+    }
+
+    private Call<Input> retried(Call<Input> work) {
+        RetryManager retryManager = retrofit != null ? retrofit.getRetryManager() : null;
+        if (work == null || retryManager == null || !retryManager.isManaged(getOperationType())) {
+            return work;
+        }
+        return new RetryingCall<>(work, retryManager, retrofit.getSchedulerManager(), getOperationType());
+    }
+
+    /**
+     * Fails fast while the circuit breaker of the endpoint's family is open.
+     */
+    private void checkCircuitBreaker() throws PubNubException {
+        RetryManager retryManager = retrofit != null ? retrofit.getRetryManager() : null;
+        if (retryManager != null && !retryManager.allowRequest(getOperationType())) {
+            throw PubNubException.builder().pubnubError(PubNubErrorBuilder.PNERROBJ_CIRCUIT_OPEN).build();
+        }
+    }
+
+    @Nullable
+    private PublishRateLimitManager getPublishRateLimiter() {
+        if (retrofit == null || retrofit.getPublishRateLimitManager() == null) {
+            return null;
+        }
+        PublishRateLimitManager rateLimiter = retrofit.getPublishRateLimitManager();
+        return rateLimiter.isLimited(getOperationType(), getAffectedChannels()) ? rateLimiter : null;
+    }
+
+    @Nullable
+    private ConcurrencyLimitManager getConcurrencyLimiter() {
+        if (retrofit == null || retrofit.getConcurrencyLimitManager() == null) {
+            return null;
+        }
+        ConcurrencyLimitManager concurrencyLimiter = retrofit.getConcurrencyLimitManager();
+        return concurrencyLimiter.isLimited(getOperationType()) ? concurrencyLimiter : null;
+    }
+
+    private void releaseConcurrencySlot(@Nullable ConcurrencyLimitManager concurrencyLimiter,
+                                        long startedAt,
+                                        int statusCode,
+                                        @Nullable Throwable failure) {
+        if (concurrencyLimiter == null) {
+            return;
+        }
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        if (failure == null) {
+            boolean overloaded = statusCode == HTTP_TOO_MANY_REQUESTS
+                    || statusCode >= HttpURLConnection.HTTP_INTERNAL_ERROR;
+            concurrencyLimiter.release(getOperationType(), latency, overloaded);
+        } else if (failure instanceof SocketTimeoutException) {
+            concurrencyLimiter.release(getOperationType(), latency, true);
+        } else {
+            concurrencyLimiter.release(getOperationType());
+        }
     }
 
     private PubNubException createPubNubException(Response<Input> response,
@@ -304,10 +496,6 @@ public abstract class Endpoint<Input, Output> implements RemoteAction<Output> {
      */
     @Override
     public void silentCancel() {
-        if (call == null) {
-            System.out.println("CALL IS NULL!");
-            System.exit(-1);
-        }
         if (call != null && !call.isCanceled()) {
             this.silenceFailures = true;
             call.cancel();
@@ -334,11 +522,9 @@ public abstract class Endpoint<Input, Output> implements RemoteAction<Output> {
 
         if (response != null) {
             pnStatus.statusCode(response.code());
-            pnStatus.tlsEnabled(response.raw().request().url().isHttps());
-            pnStatus.origin(response.raw().request().url().host());
-            pnStatus.uuid(response.raw().request().url().queryParameter("uuid"));
-            pnStatus.authKey(response.raw().request().url().queryParameter(PubNubUtil.AUTH_QUERY_PARAM_NAME));
+            // tls, origin, uuid and auth key are only read from the request url if asked for
             pnStatus.clientRequest(response.raw().request());
+            pnStatus.requestDetailsPending(true);
         }
 
         pnStatus.operation(getOperationType());
@@ -373,26 +559,21 @@ public abstract class Endpoint<Input, Output> implements RemoteAction<Output> {
             params.putAll(queryParam);
         }
 
-        params.put("pnsdk", "PubNub-Java-Unified/".concat(this.pubnub.getVersion()));
-        params.put("uuid", this.pubnub.getConfiguration().getUserId().getValue());
+        for (Map.Entry<String, String> baseParam : getBaseParamsTemplate().getParams(isAuthRequired()).entrySet()) {
+            params.put(baseParam.getKey(), baseParam.getValue());
+        }
 
-        if (this.pubnub.getConfiguration().isIncludeInstanceIdentifier()) {
-            params.put("instanceid", pubnub.getInstanceId());
+        if (userId != null) {
+            params.put(BaseParamsManager.UUID_QUERY_PARAM_NAME, userId.getValue());
+        }
+        if (authToken != null && isAuthRequired()) {
+            params.put(PubNubUtil.AUTH_QUERY_PARAM_NAME, authToken);
         }
 
         if (this.pubnub.getConfiguration().isIncludeRequestIdentifier()) {
             params.put("requestid", pubnub.getRequestId());
         }
 
-        if (isAuthRequired()) {
-            final String token = tokenManager.getToken();
-            if (token != null) {
-                params.put(PubNubUtil.AUTH_QUERY_PARAM_NAME, token);
-            } else if (this.pubnub.getConfiguration().getAuthKey() != null) {
-                params.put(PubNubUtil.AUTH_QUERY_PARAM_NAME, pubnub.getConfiguration().getAuthKey());
-            }
-        }
-
         if (this.telemetryManager != null) {
             params.putAll(this.telemetryManager.operationsLatency());
         }
@@ -400,12 +581,32 @@ public abstract class Endpoint<Input, Output> implements RemoteAction<Output> {
         return params;
     }
 
+    /**
+     * @return user id of this request, the configured one unless overridden with {@link #userId(UserId)}.
+     */
+    protected String getUserIdValue() {
+        return userId != null ? userId.getValue() : pubnub.getConfiguration().getUserId().getValue();
+    }
+
+    /**
+     * Url encodes the {@code auth} value of the params in place.
+     *
+     * @return the same params.
+     */
     protected Map<String, String> encodeParams(Map<String, String> params) {
-        Map<String, String> encodedParams = new HashMap<>(params);
-        if (encodedParams.containsKey(PubNubUtil.AUTH_QUERY_PARAM_NAME)) {
-            encodedParams.put(PubNubUtil.AUTH_QUERY_PARAM_NAME, PubNubUtil.urlEncode(encodedParams.get(PubNubUtil.AUTH_QUERY_PARAM_NAME)));
+        String auth = params.get(PubNubUtil.AUTH_QUERY_PARAM_NAME);
+        if (auth != null) {
+            params.put(PubNubUtil.AUTH_QUERY_PARAM_NAME, getBaseParamsTemplate().encodeAuth(auth));
+        }
+        return params;
+    }
+
+    private BaseParamsManager.Template getBaseParamsTemplate() {
+        BaseParamsManager baseParamsManager = retrofit != null ? retrofit.getBaseParamsManager() : null;
+        if (baseParamsManager == null) {
+            baseParamsManager = new BaseParamsManager(pubnub);
         }
-        return encodedParams;
+        return baseParamsManager.getTemplate(tokenManager != null ? tokenManager.getToken() : null);
     }
 
     protected abstract List<String> getAffectedChannels();
@@ -6,21 +6,27 @@ import com.pubnub.api.PubNub;
 import com.pubnub.api.PubNubError;
 import com.pubnub.api.PubNubException;
 import com.pubnub.api.PubNubUtil;
+import com.pubnub.api.callbacks.PNFetchMessageSink;
 import com.pubnub.api.builder.PubNubErrorBuilder;
 import com.pubnub.api.crypto.CryptoModule;
 import com.pubnub.api.crypto.CryptoModuleKt;
+import com.pubnub.api.enums.PNMessageType;
 import com.pubnub.api.enums.PNOperationType;
 import com.pubnub.api.managers.MapperManager;
+import com.pubnub.api.managers.PayloadDecoderManager;
 import com.pubnub.api.managers.RetrofitManager;
 import com.pubnub.api.managers.TelemetryManager;
 import com.pubnub.api.managers.token_manager.TokenManager;
 import com.pubnub.api.models.consumer.PNBoundedPage;
+import com.pubnub.api.models.consumer.history.HistoryMessageType;
 import com.pubnub.api.models.consumer.history.PNFetchMessageItem;
 import com.pubnub.api.models.consumer.history.PNFetchMessagesResult;
 import com.pubnub.api.models.server.FetchMessagesEnvelope;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.ResponseBody;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.VisibleForTesting;
 import retrofit2.Call;
 import retrofit2.Response;
@@ -28,6 +34,7 @@ import retrofit2.Response;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 
 import static com.pubnub.api.builder.PubNubErrorBuilder.PNERROBJ_HISTORY_MESSAGE_ACTIONS_MULTIPLE_CHANNELS;
@@ -125,8 +132,45 @@ public class FetchMessages extends Endpoint<FetchMessagesEnvelope, PNFetchMessag
         }
     }
 
+    /**
+     * Streams the messages to a sink as they are read from the response, instead of collecting them in a
+     * {@link PNFetchMessagesResult}, so memory use does not grow with the number of messages.
+     *
+     * @return the request, run with {@code sync()} or {@code async()}; its result is the page of more messages.
+     */
+    public FetchMessagesStream stream(@NotNull PNFetchMessageSink sink) {
+        return new FetchMessagesStream(this, sink);
+    }
+
     @Override
     protected Call<FetchMessagesEnvelope> doWork(Map<String, String> params) throws PubNubException {
+        putQueryParams(params);
+        if (!includeMessageActions) {
+            return this.getRetrofit().getHistoryService().fetchMessages(
+                    this.getPubnub().getConfiguration().getSubscribeKey(), PubNubUtil.joinString(channels, ","),
+                    params);
+        } else {
+            return this.getRetrofit().getHistoryService().fetchMessagesWithActions(
+                    this.getPubnub().getConfiguration().getSubscribeKey(), channels.get(0), params);
+        }
+    }
+
+    Call<ResponseBody> doStreamingWork(Map<String, String> params) throws PubNubException {
+        putQueryParams(params);
+        if (!includeMessageActions) {
+            return this.getRetrofit().getHistoryService().streamMessages(
+                    this.getPubnub().getConfiguration().getSubscribeKey(), PubNubUtil.joinString(channels, ","),
+                    params);
+        } else {
+            return this.getRetrofit().getHistoryService().streamMessagesWithActions(
+                    this.getPubnub().getConfiguration().getSubscribeKey(), channels.get(0), params);
+        }
+    }
+
+    private void putQueryParams(Map<String, String> params) throws PubNubException {
+        if (includeMessageActions && channels.size() > 1) {
+            throw PubNubException.builder().pubnubError(PNERROBJ_HISTORY_MESSAGE_ACTIONS_MULTIPLE_CHANNELS).build();
+        }
         params.put("max", String.valueOf(maximumPerChannel));
 
         if (start != null) {
@@ -141,18 +185,6 @@ public class FetchMessages extends Endpoint<FetchMessagesEnvelope, PNFetchMessag
         }
         params.put("include_uuid", Boolean.toString(includeUUID));
         params.put("include_message_type", Boolean.toString(includeMessageType));
-
-        if (!includeMessageActions) {
-            return this.getRetrofit().getHistoryService().fetchMessages(
-                    this.getPubnub().getConfiguration().getSubscribeKey(), PubNubUtil.joinString(channels, ","),
-                    params);
-        } else {
-            if (channels.size() > 1) {
-                throw PubNubException.builder().pubnubError(PNERROBJ_HISTORY_MESSAGE_ACTIONS_MULTIPLE_CHANNELS).build();
-            }
-            return this.getRetrofit().getHistoryService().fetchMessagesWithActions(
-                    this.getPubnub().getConfiguration().getSubscribeKey(), channels.get(0), params);
-        }
     }
 
     @Override
@@ -161,39 +193,16 @@ public class FetchMessages extends Endpoint<FetchMessagesEnvelope, PNFetchMessag
             throw PubNubException.builder().pubnubError(PubNubErrorBuilder.PNERROBJ_PARSING_ERROR).build();
         }
 
-        HashMap<String, List<PNFetchMessageItem>> channelsMap = new HashMap<>();
-
-        for (Map.Entry<String, List<PNFetchMessageItem>> entry : input.body().getChannels().entrySet()) {
-            List<PNFetchMessageItem> items = new ArrayList<>();
-
-            for (PNFetchMessageItem item : entry.getValue()) {
-                PNFetchMessageItem.PNFetchMessageItemBuilder messageItemBuilder = item.toBuilder();
-
-                try {
-                    messageItemBuilder.message(processMessage(item.getMessage()));
-                } catch (PubNubException e) {
-                    if (e.getPubnubError() == PubNubErrorBuilder.PNERROBJ_PNERR_CRYPTO_IS_CONFIGURED_BUT_MESSAGE_IS_NOT_ENCRYPTED) {
-                        messageItemBuilder.message(item.getMessage());
-                        messageItemBuilder.error(e.getPubnubError());
-                    } else {
-                        throw e;
-                    }
-                }
-                if (includeMessageActions) {
-                    if (item.getActions() != null) {
-                        messageItemBuilder.actions(item.getActions());
-                    } else {
-                        messageItemBuilder.actions(new HashMap<>());
-                    }
-                } else {
-                    messageItemBuilder.actions(null);
-                }
-                messageItemBuilder.includeMessageType(includeMessageType);
+        Map<String, List<PNFetchMessageItem>> channelsMap = input.body().getChannels();
+        if (channelsMap == null) {
+            channelsMap = new HashMap<>();
+        }
 
-                items.add(messageItemBuilder.build());
+        // items are replaced in place, so the parsed ones can be collected as the result is built
+        for (Map.Entry<String, List<PNFetchMessageItem>> entry : channelsMap.entrySet()) {
+            for (ListIterator<PNFetchMessageItem> items = entry.getValue().listIterator(); items.hasNext();) {
+                items.set(processItem(entry.getKey(), items.next()));
             }
-
-            channelsMap.put(entry.getKey(), items);
         }
 
         PNBoundedPage page = null;
@@ -218,6 +227,73 @@ public class FetchMessages extends Endpoint<FetchMessagesEnvelope, PNFetchMessag
         return true;
     }
 
+    /**
+     * @return the item as returned to the caller: decrypted, decoded and with the requested fields.
+     */
+    PNFetchMessageItem processItem(String channel, PNFetchMessageItem item) throws PubNubException {
+        PNFetchMessageItem.PNFetchMessageItemBuilder messageItemBuilder = item.toBuilder();
+
+        JsonElement message = item.getMessage();
+        PubNubError error = null;
+        try {
+            message = processMessage(message);
+        } catch (PubNubException e) {
+            if (e.getPubnubError() == PubNubErrorBuilder.PNERROBJ_PNERR_CRYPTO_IS_CONFIGURED_BUT_MESSAGE_IS_NOT_ENCRYPTED) {
+                error = e.getPubnubError();
+            } else {
+                throw e;
+            }
+        }
+        try {
+            message = this.getPubnub().getMessageCompressionManager().inflate(message);
+        } catch (PubNubException e) {
+            error = e.getPubnubError();
+        }
+        messageItemBuilder.message(message);
+        messageItemBuilder.error(error);
+        // a message which failed to decrypt or inflate is not decoded
+        if (error == null) {
+            decode(messageItemBuilder, channel, message, item.getRawMessageType());
+        }
+        if (includeMessageActions) {
+            if (item.getActions() != null) {
+                messageItemBuilder.actions(item.getActions());
+            } else {
+                messageItemBuilder.actions(new HashMap<>());
+            }
+        } else {
+            messageItemBuilder.actions(null);
+        }
+        messageItemBuilder.includeMessageType(includeMessageType);
+
+        return messageItemBuilder.build();
+    }
+
+    /**
+     * Decodes a message with the decoder registered for its channel. A decoder failing is reported as the item's
+     * error, like a message failing to decrypt.
+     */
+    private void decode(PNFetchMessageItem.PNFetchMessageItemBuilder item, String channel, JsonElement message,
+                        Integer messageType) {
+        PayloadDecoderManager decoders = this.getPubnub().getPayloadDecoderManager();
+        if (!decoders.hasDecoders()) {
+            return;
+        }
+        try {
+            // file messages carry the message next to the file, they are not decoded, nor are unknown types
+            if (HistoryMessageType.of(messageType) != HistoryMessageType.MESSAGE) {
+                return;
+            }
+        } catch (PubNubException e) {
+            return;
+        }
+        try {
+            item.decodedMessage(decoders.decode(channel, PNMessageType.MESSAGE, message));
+        } catch (PubNubException e) {
+            item.error(e.getPubnubError());
+        }
+    }
+
     @VisibleForTesting
     JsonElement processMessage(JsonElement message) throws PubNubException {
         // if we do not have a crypto module, there is no way to process the node; let's return.
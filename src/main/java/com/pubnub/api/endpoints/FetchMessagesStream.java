@@ -0,0 +1,152 @@
+package com.pubnub.api.endpoints;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
+import com.pubnub.api.builder.PubNubErrorBuilder;
+import com.pubnub.api.callbacks.PNFetchMessageSink;
+import com.pubnub.api.enums.PNOperationType;
+import com.pubnub.api.models.consumer.PNBoundedPage;
+import com.pubnub.api.models.consumer.history.PNFetchMessageItem;
+import com.pubnub.api.models.server.FetchMessagesEnvelope;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link FetchMessages} handing each message to a {@link PNFetchMessageSink} as it is read from the response body,
+ * so only one message is held in memory at a time whatever the page size. The result is the page of more messages, or
+ * null when there are none.
+ * <p>
+ * The response is read with Gson's streaming reader, also when another
+ * {@link com.pubnub.api.json.JsonCodec} is configured.
+ */
+public class FetchMessagesStream extends Endpoint<ResponseBody, PNBoundedPage> {
+
+    private final FetchMessages fetchMessages;
+    private final PNFetchMessageSink sink;
+
+    FetchMessagesStream(FetchMessages fetchMessages, PNFetchMessageSink sink) {
+        super(fetchMessages.getPubnub(), fetchMessages.getTelemetryManager(), fetchMessages.getRetrofit(),
+                fetchMessages.getTokenManager());
+        this.fetchMessages = fetchMessages;
+        this.sink = sink;
+    }
+
+    /**
+     * Sets the user id on the wrapped fetch, which creates the request's params.
+     */
+    @Override
+    public FetchMessagesStream userId(UserId userId) {
+        super.userId(userId);
+        fetchMessages.userId(userId);
+        return this;
+    }
+
+    /**
+     * Sets the auth token on the wrapped fetch, which creates the request's params.
+     */
+    @Override
+    public FetchMessagesStream authToken(String authToken) {
+        super.authToken(authToken);
+        fetchMessages.authToken(authToken);
+        return this;
+    }
+
+    /**
+     * Sets the query parameters on the wrapped fetch, which creates the request's params.
+     */
+    @Override
+    public FetchMessagesStream queryParam(Map<String, String> queryParam) {
+        super.queryParam(queryParam);
+        fetchMessages.queryParam(queryParam);
+        return this;
+    }
+
+    @Override
+    protected List<String> getAffectedChannels() {
+        return fetchMessages.getAffectedChannels();
+    }
+
+    @Override
+    protected List<String> getAffectedChannelGroups() {
+        return fetchMessages.getAffectedChannelGroups();
+    }
+
+    @Override
+    protected void validateParams() throws PubNubException {
+        fetchMessages.validateParams();
+    }
+
+    @Override
+    protected Map<String, String> createBaseParams() {
+        // the per request user id, auth token and query parameters are set on the fetch, also through the stream
+        return fetchMessages.createBaseParams();
+    }
+
+    @Override
+    protected Call<ResponseBody> doWork(Map<String, String> params) throws PubNubException {
+        return fetchMessages.doStreamingWork(params);
+    }
+
+    @Override
+    protected PNBoundedPage createResponse(Response<ResponseBody> input) throws PubNubException {
+        if (input.body() == null) {
+            throw PubNubException.builder().pubnubError(PubNubErrorBuilder.PNERROBJ_PARSING_ERROR).build();
+        }
+
+        Gson gson = this.getPubnub().getMapper().getObjectMapper();
+        TypeAdapter<PNFetchMessageItem> itemAdapter = gson.getAdapter(PNFetchMessageItem.class);
+        FetchMessagesEnvelope.FetchMessagesPage more = null;
+
+        try (ResponseBody body = input.body(); JsonReader reader = gson.newJsonReader(body.charStream())) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("channels".equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String channel = reader.nextName();
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            sink.onMessage(channel, fetchMessages.processItem(channel, itemAdapter.read(reader)));
+                        }
+                        reader.endArray();
+                    }
+                    reader.endObject();
+                } else if ("more".equals(name)) {
+                    more = gson.getAdapter(FetchMessagesEnvelope.FetchMessagesPage.class).read(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            throw PubNubException.builder()
+                    .pubnubError(PubNubErrorBuilder.PNERROBJ_PARSING_ERROR)
+                    .errormsg(e.getMessage())
+                    .cause(e)
+                    .build();
+        }
+
+        return more != null ? new PNBoundedPage(more.getStart(), more.getEnd(), more.getMax()) : null;
+    }
+
+    @Override
+    protected PNOperationType getOperationType() {
+        return fetchMessages.getOperationType();
+    }
+
+    @Override
+    protected boolean isAuthRequired() {
+        return fetchMessages.isAuthRequired();
+    }
+}
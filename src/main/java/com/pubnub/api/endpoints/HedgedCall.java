@@ -0,0 +1,237 @@
+package com.pubnub.api.endpoints;
+
+import com.pubnub.api.enums.PNOperationType;
+import com.pubnub.api.managers.HedgingManager;
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Call of an idempotent read which sends an identical hedge request when the original one takes longer than the
+ * {@link HedgingManager} allows. The first response wins and the other request is cancelled; a failure is only
+ * reported once every request sent has failed.
+ */
+final class HedgedCall<T> implements Call<T> {
+
+    private final Call<T> primary;
+    private final HedgingManager hedgingManager;
+    private final PNOperationType operationType;
+
+    private volatile boolean canceled;
+    private volatile Race race;
+
+    HedgedCall(Call<T> primary, HedgingManager hedgingManager, PNOperationType operationType) {
+        this.primary = primary;
+        this.hedgingManager = hedgingManager;
+        this.operationType = operationType;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        long hedgeDelay = hedgingManager.startOperation(operationType);
+        if (hedgeDelay < 0) {
+            long startedAt = System.nanoTime();
+            Response<T> response = primary.execute();
+            recordLatency(response, startedAt);
+            return response;
+        }
+
+        final CompletableFuture<Response<T>> result = new CompletableFuture<>();
+        start(hedgeDelay, new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                result.complete(response);
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+        });
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        start(hedgingManager.startOperation(operationType), callback);
+    }
+
+    private void start(long hedgeDelay, Callback<T> callback) {
+        final Race currentRace = new Race(callback);
+        race = currentRace;
+        currentRace.launch(primary);
+        if (hedgeDelay >= 0) {
+            currentRace.hedgeTimer = hedgingManager.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    if (!canceled && currentRace.isPending() && hedgingManager.tryHedge()) {
+                        currentRace.launch(primary.clone());
+                    }
+                }
+            }, hedgeDelay);
+        }
+    }
+
+    /**
+     * Releases the connection of a response which lost the race; streamed bodies are still open.
+     */
+    private static void discard(Response<?> response) {
+        if (response.errorBody() != null) {
+            response.errorBody().close();
+        }
+        if (response.body() instanceof Closeable) {
+            try {
+                ((Closeable) response.body()).close();
+            } catch (IOException ignored) {
+                // the connection is dropped anyway
+            }
+        }
+    }
+
+    private void recordLatency(Response<T> response, long startedAt) {
+        if (response.isSuccessful()) {
+            hedgingManager.recordLatency(operationType,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        }
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return primary.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+        primary.cancel();
+        Race currentRace = race;
+        if (currentRace != null) {
+            currentRace.cancelAll(null);
+        }
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled || primary.isCanceled();
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new HedgedCall<>(primary.clone(), hedgingManager, operationType);
+    }
+
+    @Override
+    public Request request() {
+        return primary.request();
+    }
+
+    /**
+     * Requests sent for a single execution of the call.
+     */
+    private final class Race {
+        private final Callback<T> callback;
+        private Call<T> first;
+        private Call<T> second;
+        private int pending;
+        private boolean done;
+        private volatile ScheduledFuture<?> hedgeTimer;
+
+        private Race(Callback<T> callback) {
+            this.callback = callback;
+        }
+
+        private synchronized boolean isPending() {
+            return !done;
+        }
+
+        private void launch(final Call<T> call) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                if (first == null) {
+                    first = call;
+                } else {
+                    second = call;
+                }
+                pending++;
+            }
+
+            final long startedAt = System.nanoTime();
+            call.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(Call<T> performedCall, Response<T> response) {
+                    synchronized (Race.this) {
+                        if (done) {
+                            discard(response);
+                            return;
+                        }
+                        done = true;
+                    }
+                    cancelAll(call);
+                    recordLatency(response, startedAt);
+                    callback.onResponse(HedgedCall.this, response);
+                }
+
+                @Override
+                public void onFailure(Call<T> performedCall, Throwable throwable) {
+                    synchronized (Race.this) {
+                        pending--;
+                        if (done || (pending > 0 && !canceled)) {
+                            return;
+                        }
+                        done = true;
+                    }
+                    cancelAll(call);
+                    callback.onFailure(HedgedCall.this, throwable);
+                }
+            });
+        }
+
+        /**
+         * Cancels the hedge timer and every request but the winner.
+         */
+        private void cancelAll(Call<T> winner) {
+            ScheduledFuture<?> timer = hedgeTimer;
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            Call<T> firstCall;
+            Call<T> secondCall;
+            synchronized (this) {
+                firstCall = first;
+                secondCall = second;
+            }
+            if (firstCall != null && firstCall != winner) {
+                firstCall.cancel();
+            }
+            if (secondCall != null && secondCall != winner) {
+                secondCall.cancel();
+            }
+        }
+    }
+}
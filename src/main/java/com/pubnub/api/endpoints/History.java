@@ -161,6 +161,12 @@ public class History extends Endpoint<JsonElement, PNHistoryResult> {
                         }
                     }
 
+                    try {
+                        message = getPubnub().getMessageCompressionManager().inflate(message);
+                    } catch (PubNubException e) {
+                        historyItem.error(e.getPubnubError());
+                    }
+
                     historyItem.entry(message);
                     messages.add(historyItem.build());
                 }
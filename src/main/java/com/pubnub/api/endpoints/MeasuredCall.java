@@ -0,0 +1,63 @@
+package com.pubnub.api.endpoints;
+
+import com.pubnub.api.enums.PNOperationType;
+import com.pubnub.api.managers.NetworkMetricsManager;
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+
+/**
+ * Call which registers its request, and the request of every clone sent as a retry or hedge, with the
+ * {@link NetworkMetricsManager} under the endpoint's operation.
+ */
+final class MeasuredCall<T> implements Call<T> {
+
+    private final Call<T> delegate;
+    private final NetworkMetricsManager networkMetricsManager;
+    private final PNOperationType operationType;
+
+    MeasuredCall(Call<T> delegate, NetworkMetricsManager networkMetricsManager, PNOperationType operationType) {
+        this.delegate = delegate;
+        this.networkMetricsManager = networkMetricsManager;
+        this.operationType = operationType;
+        networkMetricsManager.register(delegate, operationType);
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        return delegate.execute();
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        delegate.enqueue(callback);
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return delegate.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+        delegate.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return delegate.isCanceled();
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new MeasuredCall<>(delegate.clone(), networkMetricsManager, operationType);
+    }
+
+    @Override
+    public Request request() {
+        return delegate.request();
+    }
+}
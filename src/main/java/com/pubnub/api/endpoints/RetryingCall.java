@@ -0,0 +1,222 @@
+package com.pubnub.api.endpoints;
+
+import com.pubnub.api.enums.PNOperationType;
+import com.pubnub.api.managers.RetryManager;
+import com.pubnub.api.managers.SchedulerManager;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Call which is sent again, after the backoff the {@link RetryManager} chooses, when it failed transiently: with a
+ * timeout, a failed connection, a 5xx or a 429 response. Every attempt's outcome is reported to the circuit breaker.
+ * The last attempt's response or failure is the result.
+ */
+final class RetryingCall<T> implements Call<T> {
+
+    private final Call<T> initial;
+    private final RetryManager retryManager;
+    private final SchedulerManager schedulerManager;
+    private final PNOperationType operationType;
+
+    private volatile boolean canceled;
+    private volatile Call<T> current;
+    private volatile PendingRetry pendingRetry;
+
+    RetryingCall(Call<T> initial,
+                 RetryManager retryManager,
+                 SchedulerManager schedulerManager,
+                 PNOperationType operationType) {
+        this.initial = initial;
+        this.current = initial;
+        this.retryManager = retryManager;
+        this.schedulerManager = schedulerManager;
+        this.operationType = operationType;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        retryManager.startOperation();
+        Call<T> attempt = initial;
+        long delay = 0;
+        for (int retry = 0; ; retry++) {
+            current = attempt;
+            Response<T> response = null;
+            IOException failure = null;
+            try {
+                response = attempt.execute();
+            } catch (IOException e) {
+                failure = e;
+            }
+
+            if (!shouldRetry(response, failure, retry)) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+            delay = retryManager.nextDelay(delay, retryAfterMillis(response));
+            discard(response);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(e.getMessage());
+            }
+            if (canceled) {
+                throw new IOException("Canceled");
+            }
+            attempt = attempt.clone();
+        }
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        retryManager.startOperation();
+        attempt(initial, 0, 0, callback);
+    }
+
+    private void attempt(final Call<T> attempt, final int retry, final long previousDelay, final Callback<T> callback) {
+        current = attempt;
+        if (canceled) {
+            // cancelled while the retry was being sent, it fails as cancelled
+            attempt.cancel();
+        }
+        attempt.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                if (!shouldRetry(response, null, retry)) {
+                    callback.onResponse(RetryingCall.this, response);
+                    return;
+                }
+                long delay = retryManager.nextDelay(previousDelay, retryAfterMillis(response));
+                discard(response);
+                scheduleRetry(attempt, retry, delay, callback);
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable throwable) {
+                if (!shouldRetry(null, throwable, retry)) {
+                    callback.onFailure(RetryingCall.this, throwable);
+                    return;
+                }
+                scheduleRetry(attempt, retry, retryManager.nextDelay(previousDelay, 0), callback);
+            }
+        });
+    }
+
+    private void scheduleRetry(final Call<T> attempt, final int retry, final long delay, final Callback<T> callback) {
+        final PendingRetry retryToSend = new PendingRetry(callback);
+        pendingRetry = retryToSend;
+        retryToSend.timer = schedulerManager.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (retryToSend.claim()) {
+                    attempt(attempt.clone(), retry + 1, delay, callback);
+                }
+            }
+        }, delay);
+        if (canceled) {
+            retryToSend.cancel();
+        }
+    }
+
+    private boolean shouldRetry(Response<T> response, Throwable failure, int retry) {
+        if (canceled) {
+            return false;
+        }
+        boolean transientFailure = failure != null
+                ? RetryManager.isTransient(failure)
+                : RetryManager.isTransient(response.code());
+        retryManager.recordResult(operationType, transientFailure);
+        return transientFailure && retryManager.tryRetry(operationType, retry);
+    }
+
+    private static long retryAfterMillis(Response<?> response) {
+        String retryAfter = response != null ? response.headers().get("Retry-After") : null;
+        if (retryAfter == null) {
+            return 0;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static void discard(Response<?> response) {
+        ResponseBody errorBody = response != null ? response.errorBody() : null;
+        if (errorBody != null) {
+            errorBody.close();
+        }
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return initial.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+        current.cancel();
+        PendingRetry retry = pendingRetry;
+        if (retry != null) {
+            retry.cancel();
+        }
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled || current.isCanceled();
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new RetryingCall<>(initial.clone(), retryManager, schedulerManager, operationType);
+    }
+
+    @Override
+    public Request request() {
+        return current.request();
+    }
+
+    /**
+     * Retry waiting for its backoff; either sent or cancelled, whichever comes first.
+     */
+    private final class PendingRetry {
+        private final Callback<T> callback;
+        private volatile ScheduledFuture<?> timer;
+        private boolean done;
+
+        private PendingRetry(Callback<T> callback) {
+            this.callback = callback;
+        }
+
+        private synchronized boolean claim() {
+            if (done) {
+                return false;
+            }
+            done = true;
+            return true;
+        }
+
+        private void cancel() {
+            if (!claim()) {
+                return;
+            }
+            ScheduledFuture<?> scheduled = timer;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            callback.onFailure(RetryingCall.this, new IOException("Canceled"));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.pubnub.api.endpoints.files;
 
 import com.pubnub.api.PubNub;
 import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
 import com.pubnub.api.builder.PubNubErrorBuilder;
 import com.pubnub.api.endpoints.Endpoint;
 import com.pubnub.api.endpoints.remoteaction.RemoteAction;
@@ -128,8 +129,11 @@ class GenerateUploadUrl extends Endpoint<GeneratedUploadUrlResponse, FileUploadR
             this.tokenManager = tokenManager;
         }
 
-        RemoteAction<FileUploadRequestDetails> create(String channel, String fileName) {
-            return new GenerateUploadUrl(channel, fileName, pubNub, telemetryManager, retrofitManager, tokenManager);
+        RemoteAction<FileUploadRequestDetails> create(String channel, String fileName, UserId userId, String authToken) {
+            GenerateUploadUrl generateUploadUrl = new GenerateUploadUrl(channel, fileName, pubNub, telemetryManager,
+                    retrofitManager, tokenManager);
+            generateUploadUrl.userId(userId).authToken(authToken);
+            return generateUploadUrl;
         }
 
     }
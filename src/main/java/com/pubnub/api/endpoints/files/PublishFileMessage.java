@@ -3,7 +3,6 @@ package com.pubnub.api.endpoints.files;
 import com.pubnub.api.PNConfiguration;
 import com.pubnub.api.PubNub;
 import com.pubnub.api.PubNubException;
-import com.pubnub.api.PubNubUtil;
 import com.pubnub.api.builder.PubNubErrorBuilder;
 import com.pubnub.api.crypto.CryptoModule;
 import com.pubnub.api.crypto.CryptoModuleKt;
@@ -86,22 +85,20 @@ public class PublishFileMessage extends Endpoint<List<Object>, PNPublishFileMess
 
     @Override
     protected Call<List<Object>> doWork(Map<String, String> baseParams) throws PubNubException {
-        String stringifiedMessage = mapper.toJson(new FileUploadNotification(this.message, pnFile));
+        FileUploadNotification notification = new FileUploadNotification(this.message, pnFile);
         String messageAsString;
         CryptoModule cryptoModule = getPubnub().getCryptoModule();
         if (cryptoModule != null) {
-            String encryptString = CryptoModuleKt.encryptString(cryptoModule, stringifiedMessage);
+            String encryptString = CryptoModuleKt.encryptString(cryptoModule, mapper.toJson(notification));
             messageAsString = "\"".concat(encryptString).concat("\"");
         } else {
-            messageAsString = PubNubUtil.urlEncode(stringifiedMessage);
+            messageAsString = mapper.toUrlEncodedJson(notification);
         }
 
         final HashMap<String, String> params = new HashMap<>(baseParams);
 
         if (meta != null) {
-            String stringifiedMeta = mapper.toJson(meta);
-            stringifiedMeta = PubNubUtil.urlEncode(stringifiedMeta);
-            params.put("meta", stringifiedMeta);
+            params.put("meta", mapper.toUrlEncodedJson(meta));
         }
 
         if (shouldStore != null) {
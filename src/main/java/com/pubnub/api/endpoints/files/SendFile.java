@@ -2,6 +2,7 @@ package com.pubnub.api.endpoints.files;
 
 import com.pubnub.api.PubNub;
 import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
 import com.pubnub.api.builder.PubNubErrorBuilder;
 import com.pubnub.api.callbacks.PNCallback;
 import com.pubnub.api.crypto.CryptoModule;
@@ -15,6 +16,8 @@ import com.pubnub.api.endpoints.remoteaction.RemoteAction;
 import com.pubnub.api.endpoints.remoteaction.RetryingRemoteAction;
 import com.pubnub.api.enums.PNOperationType;
 import com.pubnub.api.managers.RetrofitManager;
+import com.pubnub.api.managers.RetryManager;
+import com.pubnub.api.managers.SchedulerManager;
 import com.pubnub.api.managers.TelemetryManager;
 import com.pubnub.api.managers.token_manager.TokenManager;
 import com.pubnub.api.models.consumer.PNErrorData;
@@ -40,12 +43,17 @@ import static com.pubnub.api.PubNubUtil.readBytes;
 @Accessors(chain = true, fluent = true)
 public class SendFile implements RemoteAction<PNFileUploadResult> {
 
-    private final RemoteAction<PNFileUploadResult> sendFileMultistepAction;
+    private final GenerateUploadUrl.Factory generateUploadUrlFactory;
+    private final ChannelStep<FileNameStep<FileIdStep<PublishFileMessage>>> publishFileMessageBuilder;
+    private final UploadFile.Factory sendFileToS3Factory;
+    private volatile RemoteAction<PNFileUploadResult> sendFileMultistepAction;
     private final String channel;
     private final String fileName;
     private final byte[] content;
     private final Exception byteContentReadingException;
     private final ExecutorService executorService;
+    private final RetryManager retryManager;
+    private final SchedulerManager schedulerManager;
     private final int fileMessagePublishRetryLimit;
     @Setter
     private Object message;
@@ -57,6 +65,16 @@ public class SendFile implements RemoteAction<PNFileUploadResult> {
     private Boolean shouldStore;
     @Setter
     private String cipherKey;
+    /**
+     * User id sent with the upload url and file message requests instead of the configured one.
+     */
+    @Setter
+    private UserId userId;
+    /**
+     * Auth token sent with the upload url and file message requests instead of the configured auth key or token.
+     */
+    @Setter
+    private String authToken;
     private CryptoModule cryptoModule;
 
     SendFile(Builder.SendFileRequiredParams requiredParams,
@@ -64,6 +82,8 @@ public class SendFile implements RemoteAction<PNFileUploadResult> {
              ChannelStep<FileNameStep<FileIdStep<PublishFileMessage>>> publishFileMessageBuilder,
              UploadFile.Factory sendFileToS3Factory,
              ExecutorService executorService,
+             RetryManager retryManager,
+             SchedulerManager schedulerManager,
              int fileMessagePublishRetryLimit,
              CryptoModule cryptoModule
     ) {
@@ -72,16 +92,18 @@ public class SendFile implements RemoteAction<PNFileUploadResult> {
         this.content = requiredParams.content();
         this.byteContentReadingException = requiredParams.byteReadingException;
         this.executorService = executorService;
+        this.retryManager = retryManager;
+        this.schedulerManager = schedulerManager;
         this.fileMessagePublishRetryLimit = fileMessagePublishRetryLimit;
-        this.sendFileMultistepAction = sendFileComposedActions(
-                generateUploadUrlFactory,
-                publishFileMessageBuilder,
-                sendFileToS3Factory);
+        this.generateUploadUrlFactory = generateUploadUrlFactory;
+        this.publishFileMessageBuilder = publishFileMessageBuilder;
+        this.sendFileToS3Factory = sendFileToS3Factory;
         this.cryptoModule = FileEncryptionUtil.effectiveCryptoModule(cryptoModule, cipherKey);
     }
 
     public PNFileUploadResult sync() throws PubNubException {
         validate();
+        sendFileMultistepAction = sendFileComposedActions();
         return sendFileMultistepAction.sync();
     }
 
@@ -90,6 +112,7 @@ public class SendFile implements RemoteAction<PNFileUploadResult> {
                 .execute(() -> {
                     try {
                         validate();
+                        sendFileMultistepAction = sendFileComposedActions();
                         sendFileMultistepAction.async(callback);
                     } catch (PubNubException ex) {
                         callback.onResponse(null,
@@ -122,39 +145,38 @@ public class SendFile implements RemoteAction<PNFileUploadResult> {
         }
     }
 
-    private RemoteAction<PNFileUploadResult> sendFileComposedActions(
-            GenerateUploadUrl.Factory generateUploadUrlFactory,
-            ChannelStep<FileNameStep<FileIdStep<PublishFileMessage>>> publishFileMessageBuilder,
-            UploadFile.Factory sendFileToS3Factory) {
+    private RemoteAction<PNFileUploadResult> sendFileComposedActions() {
         final AtomicReference<FileUploadRequestDetails> result = new AtomicReference<>();
         return ComposableRemoteAction
-                .firstDo(generateUploadUrlFactory.create(channel, fileName))
+                .firstDo(generateUploadUrlFactory.create(channel, fileName, userId, authToken))
                 .then(res -> {
                     result.set(res);
-                    return sendToS3(res, sendFileToS3Factory);
+                    return sendToS3(res);
                 })
                 .checkpoint()
-                .then(res -> autoRetry(publishFileMessage(publishFileMessageBuilder, result),
-                        fileMessagePublishRetryLimit))
+                .then(res -> autoRetry(publishFileMessage(result), fileMessagePublishRetryLimit))
                 .then(res -> mapPublishFileMessageToFileUpload(result, res));
     }
 
-    private PublishFileMessage publishFileMessage(ChannelStep<FileNameStep<FileIdStep<PublishFileMessage>>> publishFileMessageBuilder,
-                                                  AtomicReference<FileUploadRequestDetails> result) {
-        return publishFileMessageBuilder.channel(channel)
+    private PublishFileMessage publishFileMessage(AtomicReference<FileUploadRequestDetails> result) {
+        PublishFileMessage publishFileMessage = publishFileMessageBuilder.channel(channel)
                 .fileName(result.get().getData().getName())
                 .fileId(result.get().getData().getId())
                 .message(message)
                 .meta(meta)
                 .ttl(ttl)
                 .shouldStore(shouldStore);
+        publishFileMessage.userId(userId).authToken(authToken);
+        return publishFileMessage;
     }
 
     private <T> RemoteAction<T> autoRetry(RemoteAction<T> remoteAction, int maxNumberOfRetries) {
         return RetryingRemoteAction.autoRetry(remoteAction,
                 maxNumberOfRetries,
                 PNOperationType.PNFileAction,
-                executorService);
+                executorService,
+                retryManager,
+                schedulerManager);
     }
 
     @NotNull
@@ -168,16 +190,21 @@ public class SendFile implements RemoteAction<PNFileUploadResult> {
 
     @Override
     public void retry() {
-        sendFileMultistepAction.retry();
+        RemoteAction<PNFileUploadResult> action = sendFileMultistepAction;
+        if (action != null) {
+            action.retry();
+        }
     }
 
     @Override
     public void silentCancel() {
-        sendFileMultistepAction.silentCancel();
+        RemoteAction<PNFileUploadResult> action = sendFileMultistepAction;
+        if (action != null) {
+            action.silentCancel();
+        }
     }
 
-    private RemoteAction<Void> sendToS3(FileUploadRequestDetails result,
-                                        UploadFile.Factory sendFileToS3Factory) {
+    private RemoteAction<Void> sendToS3(FileUploadRequestDetails result) {
         return sendFileToS3Factory.create(fileName, content, cryptoModule, result);
     }
 
@@ -257,6 +284,8 @@ public class SendFile implements RemoteAction<PNFileUploadResult> {
                             publishFileMessageBuilder,
                             uploadFileFactory,
                             retrofit.getTransactionClientExecutorService(),
+                            retrofit.getRetryManager(),
+                            retrofit.getSchedulerManager(),
                             pubnub.getConfiguration().getFileMessagePublishRetryLimit(),
                             pubnub.getCryptoModule());
 
@@ -269,6 +298,8 @@ public class SendFile implements RemoteAction<PNFileUploadResult> {
                             publishFileMessageBuilder,
                             uploadFileFactory,
                             retrofit.getTransactionClientExecutorService(),
+                            retrofit.getRetryManager(),
+                            retrofit.getSchedulerManager(),
                             pubnub.getConfiguration().getFileMessagePublishRetryLimit(),
                             pubnub.getCryptoModule()
                     );
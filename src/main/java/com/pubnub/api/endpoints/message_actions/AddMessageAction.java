@@ -75,7 +75,7 @@ public class AddMessageAction extends Endpoint<EntityEnvelope<PNMessageAction>,
     @Override
     protected Call<EntityEnvelope<PNMessageAction>> doWork(Map<String, String> params) {
 
-        params.putAll(encodeParams(params));
+        encodeParams(params);
 
         JsonObject body = new JsonObject();
         body.addProperty("type", messageAction.getType());
@@ -78,7 +78,7 @@ public class GetMessageActions extends Endpoint<PNGetMessageActionsResult, PNGet
             params.put("limit", String.valueOf(limit));
         }
 
-        params.putAll(encodeParams(params));
+        encodeParams(params);
 
         return this.getRetrofit()
                 .getMessageActionService()
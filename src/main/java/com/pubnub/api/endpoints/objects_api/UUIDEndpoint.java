@@ -34,6 +34,6 @@ public abstract class UUIDEndpoint<SELF extends UUIDEndpoint, INPUT, OUTPUT> ext
     }
 
     protected String effectiveUuid() {
-        return (uuid != null) ? uuid : getPubnub().getConfiguration().getUserId().getValue();
+        return (uuid != null) ? uuid : getUserIdValue();
     }
 }
@@ -67,7 +67,7 @@ public class GetState extends Endpoint<Envelope<JsonElement>, PNGetStateResult>
 
         String channelCSV = channels.size() > 0 ? PubNubUtil.joinString(channels, ",") : ",";
 
-        String selectedUUID = uuid != null ? uuid : this.getPubnub().getConfiguration().getUserId().getValue();
+        String selectedUUID = uuid != null ? uuid : getUserIdValue();
 
         return this.getRetrofit().getExtendedPresenceService().getState(
                 this.getPubnub().getConfiguration().getSubscribeKey(), channelCSV, selectedUUID, params);
@@ -73,12 +73,10 @@ public class Heartbeat extends Endpoint<Envelope<JsonElement>, Boolean> {
         }
 
         if (state != null) {
-            String stringifiedState = this.getPubnub().getMapper().toJson(state);
-            stringifiedState = PubNubUtil.urlEncode(stringifiedState);
-            params.put("state", stringifiedState);
+            params.put("state", this.getPubnub().getMapper().toUrlEncodedJson(state));
         }
 
-        params.putAll(encodeParams(params));
+        encodeParams(params);
 
         return this.getRetrofit().getPresenceService().heartbeat(this.getPubnub().getConfiguration().getSubscribeKey(), channelsCSV, params);
     }
@@ -93,7 +93,7 @@ public class SetState extends Endpoint<Envelope<JsonElement>, PNSetStateResult>
 
     @Override
     protected Call<Envelope<JsonElement>> doWork(Map<String, String> params) throws PubNubException {
-        String selectedUUID = uuid != null ? uuid : this.getPubnub().getConfiguration().getUserId().getValue();
+        String selectedUUID = uuid != null ? uuid : getUserIdValue();
         storeStateChangeForSubscribe(selectedUUID);
 
         if (channelGroups.size() > 0) {
@@ -106,13 +106,13 @@ public class SetState extends Endpoint<Envelope<JsonElement>, PNSetStateResult>
             params.put("heartbeat", String.valueOf(this.getPubnub().getConfiguration().getPresenceTimeout()));
             String encodedStateForChannelsAndGroups = composeStateParamValue();
             params.put("state", encodedStateForChannelsAndGroups);
-            params.putAll(encodeParams(params));
+            encodeParams(params);
             return this.getRetrofit().getPresenceService().heartbeat(this.getPubnub().getConfiguration().getSubscribeKey(), channelCSV, params);
         } else {
             String stringifiedState = this.getPubnub().getMapper().toJson(state);
             String encodedState = PubNubUtil.urlEncode(stringifiedState);
             params.put("state", encodedState);
-            params.putAll(encodeParams(params));
+            encodeParams(params);
             return this.getRetrofit().getExtendedPresenceService().setState(
                     this.getPubnub().getConfiguration().getSubscribeKey(), channelCSV, selectedUUID, params);
         }
@@ -52,7 +52,7 @@ public class WhereNow extends Endpoint<Envelope<WhereNowPayload>, PNWhereNowResu
     @Override
     protected Call<Envelope<WhereNowPayload>> doWork(Map<String, String> params) {
         return this.getRetrofit().getExtendedPresenceService().whereNow(this.getPubnub().getConfiguration().getSubscribeKey(),
-                this.uuid != null ? this.uuid : this.getPubnub().getConfiguration().getUserId().getValue(), params);
+                this.uuid != null ? this.uuid : getUserIdValue(), params);
     }
 
     @Override
@@ -0,0 +1,312 @@
+package com.pubnub.api.endpoints.pubsub;
+
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNub;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.PubNubUtil;
+import com.pubnub.api.builder.PubNubErrorBuilder;
+import com.pubnub.api.crypto.CryptoModule;
+import com.pubnub.api.crypto.CryptoModuleKt;
+import com.pubnub.api.endpoints.Endpoint;
+import com.pubnub.api.enums.PNOperationType;
+import com.pubnub.api.managers.MapperManager;
+import com.pubnub.api.managers.PublishSequenceManager;
+import com.pubnub.api.managers.RetrofitManager;
+import com.pubnub.api.managers.TelemetryManager;
+import com.pubnub.api.managers.token_manager.TokenManager;
+import com.pubnub.api.models.consumer.PNPublishResult;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import org.jetbrains.annotations.NotNull;
+import retrofit2.Call;
+import retrofit2.Response;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publish settings for one channel which are validated and encoded once, for channels which are published to
+ * continuously. Every {@link #message(Object)} or {@link #rawJson(String)} only serializes the message, compressed like
+ * {@link Publish} does when message compression is enabled, and appends it to the request, which is sent with GET
+ * unless the encoded message is longer than {@link Builder#maximumGetLength(int)}, in which case it is sent with POST
+ * instead of being rejected by the server as too long.
+ * <p>
+ * Keys and the crypto module are taken from the configuration when the publish is prepared.
+ */
+public final class PreparedPublish {
+
+    private static final int DEFAULT_MAXIMUM_GET_LENGTH = 8192;
+    private static final MediaType JSON = MediaType.get("application/json; charset=UTF-8");
+
+    private final PubNub pubnub;
+    private final PublishSequenceManager publishSequenceManager;
+    private final TelemetryManager telemetryManager;
+    private final RetrofitManager retrofitManager;
+    private final TokenManager tokenManager;
+
+    private final List<String> affectedChannels;
+    private final String encodedPublishKey;
+    private final String encodedSubscribeKey;
+    private final String encodedChannel;
+    private final Map<String, String> params;
+    private final int paramsLength;
+    private final CryptoModule cryptoModule;
+    private final Boolean usePOST;
+    private final int maximumGetLength;
+
+    private PreparedPublish(Builder builder) throws PubNubException {
+        PNConfiguration configuration = builder.pubnub.getConfiguration();
+        this.pubnub = builder.pubnub;
+        this.publishSequenceManager = builder.publishSequenceManager;
+        this.telemetryManager = builder.telemetryManager;
+        this.retrofitManager = builder.retrofitManager;
+        this.tokenManager = builder.tokenManager;
+
+        this.affectedChannels = Collections.singletonList(builder.channel);
+        this.encodedPublishKey = encodePathSegment(configuration.getPublishKey());
+        this.encodedSubscribeKey = encodePathSegment(configuration.getSubscribeKey());
+        this.encodedChannel = encodePathSegment(builder.channel);
+        this.cryptoModule = configuration.getCryptoModule();
+        this.usePOST = builder.usePOST;
+        this.maximumGetLength = builder.maximumGetLength;
+
+        Map<String, String> preparedParams = new LinkedHashMap<>();
+        if (builder.meta != null) {
+            preparedParams.put("meta", pubnub.getMapper().toUrlEncodedJson(builder.meta));
+        }
+        if (builder.shouldStore != null) {
+            preparedParams.put("store", builder.shouldStore ? "1" : "0");
+        }
+        if (builder.ttl != null) {
+            preparedParams.put("ttl", String.valueOf(builder.ttl));
+        }
+        if (!builder.replicate) {
+            preparedParams.put("norep", "true");
+        }
+        int length = 0;
+        for (Map.Entry<String, String> param : preparedParams.entrySet()) {
+            length += param.getKey().length() + param.getValue().length() + 2;
+        }
+        this.params = Collections.unmodifiableMap(preparedParams);
+        this.paramsLength = length;
+    }
+
+    /**
+     * @param message message to publish to the prepared channel.
+     * @return publish of the message, ready to be sent.
+     */
+    @NotNull
+    public MessagePublish message(@NotNull Object message) {
+        return new MessagePublish(message, null);
+    }
+
+    /**
+     * @param json message to publish to the prepared channel, already serialized as UTF-8 encoded JSON.
+     * @return publish of the message, sent as it is, ready to be sent.
+     */
+    @NotNull
+    public MessagePublish rawJson(@NotNull byte[] json) {
+        return new MessagePublish(null, RawJsonMessage.of(json));
+    }
+
+    /**
+     * @param json message to publish to the prepared channel, already serialized as UTF-8 encoded JSON from the
+     *             buffer's position to its limit.
+     * @return publish of the message, sent as it is, ready to be sent.
+     */
+    @NotNull
+    public MessagePublish rawJson(@NotNull ByteBuffer json) {
+        return new MessagePublish(null, RawJsonMessage.of(json));
+    }
+
+    /**
+     * @param json message to publish to the prepared channel, already serialized as JSON.
+     * @return publish of the message, sent as it is, ready to be sent.
+     */
+    @NotNull
+    public MessagePublish rawJson(@NotNull String json) {
+        return new MessagePublish(null, RawJsonMessage.of(json));
+    }
+
+    private static String encodePathSegment(String segment) {
+        return new HttpUrl.Builder()
+                .scheme("http")
+                .host("localhost")
+                .addPathSegment(segment)
+                .build()
+                .encodedPathSegments()
+                .get(0);
+    }
+
+    @Accessors(chain = true, fluent = true)
+    public static final class Builder {
+        private final PubNub pubnub;
+        private final PublishSequenceManager publishSequenceManager;
+        private final TelemetryManager telemetryManager;
+        private final RetrofitManager retrofitManager;
+        private final TokenManager tokenManager;
+
+        @Setter
+        private String channel;
+        @Setter
+        private Boolean shouldStore;
+        @Setter
+        private Object meta;
+        @Setter
+        private boolean replicate = true;
+        @Setter
+        private Integer ttl;
+        /**
+         * Forces every message to be sent with POST ({@code true}) or GET ({@code false}), instead of choosing by size.
+         */
+        @Setter
+        private Boolean usePOST;
+        /**
+         * Length of the url encoded message and meta above which messages are sent with POST.
+         */
+        @Setter
+        private int maximumGetLength = DEFAULT_MAXIMUM_GET_LENGTH;
+
+        public Builder(PubNub pubnub,
+                       PublishSequenceManager publishSequenceManager,
+                       TelemetryManager telemetryManager,
+                       RetrofitManager retrofitManager,
+                       TokenManager tokenManager) {
+            this.pubnub = pubnub;
+            this.publishSequenceManager = publishSequenceManager;
+            this.telemetryManager = telemetryManager;
+            this.retrofitManager = retrofitManager;
+            this.tokenManager = tokenManager;
+        }
+
+        /**
+         * @return publish prepared with the channel and options set so far.
+         * @throws PubNubException when the channel, the subscribe key or the publish key is missing.
+         */
+        @NotNull
+        public PreparedPublish build() throws PubNubException {
+            if (channel == null || channel.isEmpty()) {
+                throw PubNubException.builder().pubnubError(PubNubErrorBuilder.PNERROBJ_CHANNEL_MISSING).build();
+            }
+            PNConfiguration configuration = pubnub.getConfiguration();
+            if (configuration.getSubscribeKey() == null || configuration.getSubscribeKey().isEmpty()) {
+                throw PubNubException.builder().pubnubError(PubNubErrorBuilder.PNERROBJ_SUBSCRIBE_KEY_MISSING).build();
+            }
+            if (configuration.getPublishKey() == null || configuration.getPublishKey().isEmpty()) {
+                throw PubNubException.builder().pubnubError(PubNubErrorBuilder.PNERROBJ_PUBLISH_KEY_MISSING).build();
+            }
+            return new PreparedPublish(this);
+        }
+    }
+
+    /**
+     * Publish of a single message with the prepared settings.
+     */
+    public final class MessagePublish extends Endpoint<List<Object>, PNPublishResult> {
+
+        private final Object message;
+        private final RawJsonMessage rawJson;
+
+        private MessagePublish(Object message, RawJsonMessage rawJson) {
+            super(pubnub, telemetryManager, retrofitManager, tokenManager);
+            this.message = message;
+            this.rawJson = rawJson;
+        }
+
+        @Override
+        protected List<String> getAffectedChannels() {
+            return affectedChannels;
+        }
+
+        @Override
+        protected List<String> getAffectedChannelGroups() {
+            return null;
+        }
+
+        @Override
+        protected void validateParams() throws PubNubException {
+            if (message == null && rawJson == null) {
+                throw PubNubException.builder().pubnubError(PubNubErrorBuilder.PNERROBJ_MESSAGE_MISSING).build();
+            }
+        }
+
+        @Override
+        protected Call<List<Object>> doWork(Map<String, String> baseParams) throws PubNubException {
+            for (Map.Entry<String, String> param : params.entrySet()) {
+                baseParams.put(param.getKey(), param.getValue());
+            }
+            baseParams.put("seqn", String.valueOf(publishSequenceManager.getNextSequence()));
+            encodeParams(baseParams);
+
+            MapperManager mapper = getPubnub().getMapper();
+            RawJsonMessage json = RawJsonMessage.compressed(getPubnub().getMessageCompressionManager(), mapper,
+                    rawJson, message);
+            String encryptedPayload = null;
+            if (cryptoModule != null) {
+                String text = json != null ? json.string() : mapper.toJson(message);
+                encryptedPayload = "\"".concat(CryptoModuleKt.encryptString(cryptoModule, text).replace("\n", ""))
+                        .concat("\"");
+            }
+
+            boolean post;
+            String encodedPayload = null;
+            if (usePOST != null) {
+                post = usePOST;
+            } else if (encryptedPayload != null) {
+                // the encoded message is never shorter than the message itself
+                post = encryptedPayload.length() + paramsLength > maximumGetLength;
+            } else {
+                post = json != null && json.length() + paramsLength > maximumGetLength;
+            }
+            if (!post) {
+                if (encryptedPayload != null) {
+                    encodedPayload = PubNubUtil.urlEncode(encryptedPayload);
+                } else if (json != null) {
+                    encodedPayload = json.urlEncoded();
+                } else {
+                    // serialized and encoded in one pass
+                    encodedPayload = mapper.toUrlEncodedJson(message);
+                }
+                post = usePOST == null && encodedPayload.length() + paramsLength > maximumGetLength;
+            }
+
+            if (post) {
+                RequestBody body;
+                if (encryptedPayload != null) {
+                    body = RequestBody.create(encryptedPayload, JSON);
+                } else if (json != null) {
+                    body = json.requestBody();
+                } else {
+                    body = RequestBody.create(mapper.toJson(message), JSON);
+                }
+                return getRetrofit().getPublishService().publishEncodedWithPost(encodedPublishKey,
+                        encodedSubscribeKey, encodedChannel, body, baseParams);
+            }
+            return getRetrofit().getPublishService().publishEncoded(encodedPublishKey,
+                    encodedSubscribeKey, encodedChannel, encodedPayload, baseParams);
+        }
+
+        @Override
+        protected PNPublishResult createResponse(Response<List<Object>> input) throws PubNubException {
+            return PNPublishResult.builder()
+                    .timetoken(Long.valueOf(input.body().get(2).toString()))
+                    .build();
+        }
+
+        @Override
+        protected PNOperationType getOperationType() {
+            return PNOperationType.PNPublishOperation;
+        }
+
+        @Override
+        protected boolean isAuthRequired() {
+            return true;
+        }
+    }
+}
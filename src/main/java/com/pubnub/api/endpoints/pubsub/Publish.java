@@ -16,9 +16,11 @@ import com.pubnub.api.managers.token_manager.TokenManager;
 import com.pubnub.api.models.consumer.PNPublishResult;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.jetbrains.annotations.NotNull;
 import retrofit2.Call;
 import retrofit2.Response;
 
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -41,6 +43,14 @@ public class Publish extends Endpoint<List<Object>, PNPublishResult> {
     @Setter
     private Integer ttl;
 
+    /**
+     * Set to true to check that a {@link #rawJson(String) raw JSON message} is valid JSON before it is sent.
+     */
+    @Setter
+    private boolean validateRawJson;
+
+    private RawJsonMessage rawJson;
+
     private PublishSequenceManager publishSequenceManager;
 
     public Publish(PubNub pubnub,
@@ -54,6 +64,31 @@ public class Publish extends Endpoint<List<Object>, PNPublishResult> {
         this.replicate = true;
     }
 
+    /**
+     * Message which is already serialized as UTF-8 encoded JSON, sent as it is instead of {@link #message(Object)}.
+     */
+    public Publish rawJson(@NotNull byte[] json) {
+        this.rawJson = RawJsonMessage.of(json);
+        return this;
+    }
+
+    /**
+     * Message which is already serialized as UTF-8 encoded JSON, from the buffer's position to its limit, sent as it
+     * is instead of {@link #message(Object)}.
+     */
+    public Publish rawJson(@NotNull ByteBuffer json) {
+        this.rawJson = RawJsonMessage.of(json);
+        return this;
+    }
+
+    /**
+     * Message which is already serialized as JSON, sent as it is instead of {@link #message(Object)}.
+     */
+    public Publish rawJson(@NotNull String json) {
+        this.rawJson = RawJsonMessage.of(json);
+        return this;
+    }
+
     @Override
     protected List<String> getAffectedChannels() {
         return Collections.singletonList(channel);
@@ -66,9 +101,12 @@ public class Publish extends Endpoint<List<Object>, PNPublishResult> {
 
     @Override
     protected void validateParams() throws PubNubException {
-        if (message == null) {
+        if (message == null && rawJson == null) {
             throw PubNubException.builder().pubnubError(PubNubErrorBuilder.PNERROBJ_MESSAGE_MISSING).build();
         }
+        if (rawJson != null && validateRawJson && !rawJson.isValid()) {
+            throw PubNubException.builder().pubnubError(PubNubErrorBuilder.PNERROBJ_INVALID_RAW_JSON).build();
+        }
         if (channel == null || channel.isEmpty()) {
             throw PubNubException.builder().pubnubError(PubNubErrorBuilder.PNERROBJ_CHANNEL_MISSING).build();
         }
@@ -84,12 +122,8 @@ public class Publish extends Endpoint<List<Object>, PNPublishResult> {
     protected Call<List<Object>> doWork(Map<String, String> params) throws PubNubException {
         MapperManager mapper = this.getPubnub().getMapper();
 
-        String stringifiedMessage = mapper.toJson(message);
-
         if (meta != null) {
-            String stringifiedMeta = mapper.toJson(meta);
-            stringifiedMeta = PubNubUtil.urlEncode(stringifiedMeta);
-            params.put("meta", stringifiedMeta);
+            params.put("meta", mapper.toUrlEncodedJson(meta));
         }
 
         if (shouldStore != null) {
@@ -110,18 +144,29 @@ public class Publish extends Endpoint<List<Object>, PNPublishResult> {
             params.put("norep", "true");
         }
 
+        RawJsonMessage json = RawJsonMessage.compressed(this.getPubnub().getMessageCompressionManager(), mapper,
+                rawJson, message);
+
         CryptoModule cryptoModule = this.getPubnub().getCryptoModule();
+        String encryptedMessage = null;
         if (cryptoModule != null) {
-            stringifiedMessage = CryptoModuleKt.encryptString(cryptoModule, stringifiedMessage).replace("\n", "");
+            String text = json != null ? json.string() : mapper.toJson(message);
+            encryptedMessage = CryptoModuleKt.encryptString(cryptoModule, text).replace("\n", "");
         }
 
-        params.putAll(encodeParams(params));
+        encodeParams(params);
 
         if (usePOST != null && usePOST) {
+            if (json != null && encryptedMessage == null) {
+                return this.getRetrofit().getPublishService().publishBodyWithPost(
+                        this.getPubnub().getConfiguration().getPublishKey(),
+                        this.getPubnub().getConfiguration().getSubscribeKey(),
+                        channel, json.requestBody(), params);
+            }
             Object payloadToSend;
 
-            if (cryptoModule != null) {
-                payloadToSend = stringifiedMessage;
+            if (encryptedMessage != null) {
+                payloadToSend = encryptedMessage;
             } else {
                 payloadToSend = message;
             }
@@ -131,12 +176,16 @@ public class Publish extends Endpoint<List<Object>, PNPublishResult> {
                     channel, payloadToSend, params);
         } else {
 
-            if (cryptoModule != null) {
-                stringifiedMessage = "\"".concat(stringifiedMessage).concat("\"");
+            String stringifiedMessage;
+            if (encryptedMessage != null) {
+                stringifiedMessage = PubNubUtil.urlEncode("\"".concat(encryptedMessage).concat("\""));
+            } else if (json != null) {
+                stringifiedMessage = json.urlEncoded();
+            } else {
+                // serialized and encoded in one pass
+                stringifiedMessage = mapper.toUrlEncodedJson(message);
             }
 
-            stringifiedMessage = PubNubUtil.urlEncode(stringifiedMessage);
-
             return this.getRetrofit().getPublishService().publish(this.getPubnub().getConfiguration().getPublishKey(),
                     this.getPubnub().getConfiguration().getSubscribeKey(),
                     channel, stringifiedMessage, params);
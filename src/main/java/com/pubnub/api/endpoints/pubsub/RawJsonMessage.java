@@ -0,0 +1,144 @@
+package com.pubnub.api.endpoints.pubsub;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.managers.MapperManager;
+import com.pubnub.api.managers.MessageCompressionManager;
+import com.pubnub.api.utils.UrlEncodingWriter;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Message which is already serialized JSON, sent as it is: its bytes are percent-encoded into the url or streamed as
+ * the request body, without being parsed or serialized again.
+ */
+final class RawJsonMessage {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=UTF-8");
+
+    private final ByteBuffer utf8;
+    private final String text;
+
+    private RawJsonMessage(ByteBuffer utf8, String text) {
+        this.utf8 = utf8;
+        this.text = text;
+    }
+
+    static RawJsonMessage of(@NotNull byte[] utf8) {
+        return new RawJsonMessage(ByteBuffer.wrap(utf8), null);
+    }
+
+    /**
+     * The bytes from the buffer's current position to its limit, read when the message is sent.
+     */
+    static RawJsonMessage of(@NotNull ByteBuffer utf8) {
+        return new RawJsonMessage(utf8.duplicate(), null);
+    }
+
+    static RawJsonMessage of(@NotNull String text) {
+        return new RawJsonMessage(null, text);
+    }
+
+    /**
+     * @return the message to send as raw JSON when compression is enabled: its compression envelope if compressing
+     * made it smaller, else its JSON so it is not serialized again. Without compression, the raw JSON given, if any.
+     */
+    static RawJsonMessage compressed(MessageCompressionManager compression, MapperManager mapper,
+                                     RawJsonMessage rawJson, Object message) throws PubNubException {
+        if (!compression.isEnabled()) {
+            return rawJson;
+        }
+        RawJsonMessage json = rawJson != null ? rawJson : RawJsonMessage.of(mapper.toJson(message));
+        String envelope = compression.compress(json.utf8());
+        return envelope != null ? RawJsonMessage.of(envelope) : json;
+    }
+
+    /**
+     * @return the length of the message in chars or bytes, which its url encoded form is never shorter than.
+     */
+    int length() {
+        return text != null ? text.length() : utf8.remaining();
+    }
+
+    /**
+     * @return the message's UTF-8 bytes, from the buffer's position to its limit.
+     */
+    ByteBuffer utf8() {
+        return text != null ? ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)) : utf8.duplicate();
+    }
+
+    /**
+     * @return the message as a path segment.
+     */
+    String urlEncoded() {
+        return text != null ? UrlEncodingWriter.encode(text) : UrlEncodingWriter.encodeUtf8(utf8);
+    }
+
+    /**
+     * @return the message as text, for encryption.
+     */
+    String string() {
+        return text != null ? text : StandardCharsets.UTF_8.decode(utf8.duplicate()).toString();
+    }
+
+    /**
+     * @return the message as a POST body, which can be written again when the request is retried.
+     */
+    RequestBody requestBody() {
+        if (text != null) {
+            return RequestBody.create(text, JSON);
+        }
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return JSON;
+            }
+
+            @Override
+            public long contentLength() {
+                return utf8.remaining();
+            }
+
+            @Override
+            public void writeTo(@NotNull BufferedSink sink) throws IOException {
+                sink.write(utf8.duplicate());
+            }
+        };
+    }
+
+    /**
+     * Checks the structure of the message by stepping through it, without building any values.
+     *
+     * @return true if the message is one valid JSON value.
+     */
+    boolean isValid() {
+        try (JsonReader reader = new JsonReader(reader())) {
+            reader.skipValue();
+            return reader.peek() == JsonToken.END_DOCUMENT;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    private Reader reader() {
+        if (text != null) {
+            return new StringReader(text);
+        }
+        if (utf8.hasArray()) {
+            return new InputStreamReader(new ByteArrayInputStream(utf8.array(),
+                    utf8.arrayOffset() + utf8.position(), utf8.remaining()), StandardCharsets.UTF_8);
+        }
+        return new StringReader(string());
+    }
+}
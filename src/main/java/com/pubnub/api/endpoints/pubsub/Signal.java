@@ -2,7 +2,6 @@ package com.pubnub.api.endpoints.pubsub;
 
 import com.pubnub.api.PubNub;
 import com.pubnub.api.PubNubException;
-import com.pubnub.api.PubNubUtil;
 import com.pubnub.api.builder.PubNubErrorBuilder;
 import com.pubnub.api.endpoints.Endpoint;
 import com.pubnub.api.enums.PNOperationType;
@@ -13,9 +12,11 @@ import com.pubnub.api.managers.token_manager.TokenManager;
 import com.pubnub.api.models.consumer.PNPublishResult;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.jetbrains.annotations.NotNull;
 import retrofit2.Call;
 import retrofit2.Response;
 
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +30,14 @@ public class Signal extends Endpoint<List<Object>, PNPublishResult> {
     @Setter
     private String channel;
 
+    /**
+     * Set to true to check that a {@link #rawJson(String) raw JSON message} is valid JSON before it is sent.
+     */
+    @Setter
+    private boolean validateRawJson;
+
+    private RawJsonMessage rawJson;
+
     public Signal(PubNub pubnub,
                   TelemetryManager telemetryManager,
                   RetrofitManager retrofit,
@@ -36,6 +45,31 @@ public class Signal extends Endpoint<List<Object>, PNPublishResult> {
         super(pubnub, telemetryManager, retrofit, tokenManager);
     }
 
+    /**
+     * Message which is already serialized as UTF-8 encoded JSON, sent as it is instead of {@link #message(Object)}.
+     */
+    public Signal rawJson(@NotNull byte[] json) {
+        this.rawJson = RawJsonMessage.of(json);
+        return this;
+    }
+
+    /**
+     * Message which is already serialized as UTF-8 encoded JSON, from the buffer's position to its limit, sent as it
+     * is instead of {@link #message(Object)}.
+     */
+    public Signal rawJson(@NotNull ByteBuffer json) {
+        this.rawJson = RawJsonMessage.of(json);
+        return this;
+    }
+
+    /**
+     * Message which is already serialized as JSON, sent as it is instead of {@link #message(Object)}.
+     */
+    public Signal rawJson(@NotNull String json) {
+        this.rawJson = RawJsonMessage.of(json);
+        return this;
+    }
+
     @Override
     protected List<String> getAffectedChannels() {
         return Collections.singletonList(channel);
@@ -48,9 +82,12 @@ public class Signal extends Endpoint<List<Object>, PNPublishResult> {
 
     @Override
     protected void validateParams() throws PubNubException {
-        if (message == null) {
+        if (message == null && rawJson == null) {
             throw PubNubException.builder().pubnubError(PubNubErrorBuilder.PNERROBJ_MESSAGE_MISSING).build();
         }
+        if (rawJson != null && validateRawJson && !rawJson.isValid()) {
+            throw PubNubException.builder().pubnubError(PubNubErrorBuilder.PNERROBJ_INVALID_RAW_JSON).build();
+        }
         if (channel == null || channel.isEmpty()) {
             throw PubNubException.builder().pubnubError(PubNubErrorBuilder.PNERROBJ_CHANNEL_MISSING).build();
         }
@@ -72,11 +109,9 @@ public class Signal extends Endpoint<List<Object>, PNPublishResult> {
     protected Call<List<Object>> doWork(Map<String, String> params) throws PubNubException {
         MapperManager mapper = this.getPubnub().getMapper();
 
-        String stringifiedMessage = mapper.toJson(message);
-
-        params.putAll(encodeParams(params));
+        encodeParams(params);
 
-        stringifiedMessage = PubNubUtil.urlEncode(stringifiedMessage);
+        String stringifiedMessage = rawJson != null ? rawJson.urlEncoded() : mapper.toUrlEncodedJson(message);
 
         return this.getRetrofit().getSignalService().signal(this.getPubnub().getConfiguration().getPublishKey(),
                 this.getPubnub().getConfiguration().getSubscribeKey(),
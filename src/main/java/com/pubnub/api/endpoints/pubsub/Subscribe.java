@@ -164,12 +164,10 @@ public class Subscribe extends Endpoint<SubscribeEnvelope, SubscribeEnvelope> {
         params.put("heartbeat", String.valueOf(this.getPubnub().getConfiguration().getPresenceTimeout()));
 
         if (state != null) {
-            String stringifiedState = mapper.toJson(state);
-            stringifiedState = PubNubUtil.urlEncode(stringifiedState);
-            params.put("state", stringifiedState);
+            params.put("state", mapper.toUrlEncodedJson(state));
         }
 
-        params.putAll(encodeParams(params));
+        encodeParams(params);
 
         return this.getRetrofit().getSubscribeService()
                 .subscribe(this.getPubnub().getConfiguration().getSubscribeKey(), channelCSV, params);
@@ -0,0 +1,276 @@
+package com.pubnub.api.endpoints.remoteaction;
+
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.builder.PubNubErrorBuilder;
+import com.pubnub.api.callbacks.PNBatchItemCallback;
+import com.pubnub.api.callbacks.PNCallback;
+import com.pubnub.api.enums.PNStatusCategory;
+import com.pubnub.api.models.consumer.PNBatchResult;
+import com.pubnub.api.models.consumer.PNErrorData;
+import com.pubnub.api.models.consumer.PNStatus;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs independent actions through their async path with at most {@link #maximumInFlight(int)} of them in flight at
+ * once, so no thread is parked per action. Every outcome is streamed to the optional item callback as soon as it is
+ * known and the batch completes with all results and the failures collected by position. An action which throws when
+ * it is started, or whose item callback throws, counts as failed.
+ * <p>
+ * {@link #retry()} runs the actions which failed again.
+ */
+public class BatchRemoteAction<Output> implements RemoteAction<PNBatchResult<Output>> {
+
+    private static final int DEFAULT_MAXIMUM_IN_FLIGHT = 10;
+
+    private final List<RemoteAction<? extends Output>> actions;
+    private final Output[] results;
+    private final Map<Integer, PNStatus> failures = new TreeMap<>();
+
+    @Setter
+    @Accessors(chain = true, fluent = true)
+    private int maximumInFlight = DEFAULT_MAXIMUM_IN_FLIGHT;
+
+    @Setter
+    @Accessors(chain = true, fluent = true)
+    private PNBatchItemCallback<Output> onItem;
+
+    private PNCallback<PNBatchResult<Output>> cachedCallback;
+    private Run currentRun;
+    private boolean cancelled;
+
+    @SuppressWarnings("unchecked")
+    public BatchRemoteAction(@NotNull Collection<? extends RemoteAction<? extends Output>> actions) {
+        this.actions = new ArrayList<>(actions);
+        this.results = (Output[]) new Object[this.actions.size()];
+    }
+
+    @Override
+    public PNBatchResult<Output> sync() throws PubNubException {
+        try {
+            return future().get();
+        } catch (InterruptedException e) {
+            silentCancel();
+            Thread.currentThread().interrupt();
+            throw PubNubException.builder()
+                    .pubnubError(PubNubErrorBuilder.PNERROBJ_HTTP_ERROR)
+                    .errormsg(e.toString())
+                    .cause(e)
+                    .build();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PubNubException) {
+                throw (PubNubException) e.getCause();
+            }
+            throw PubNubException.builder()
+                    .pubnubError(PubNubErrorBuilder.PNERROBJ_HTTP_ERROR)
+                    .errormsg(e.getCause().toString())
+                    .cause(e.getCause())
+                    .build();
+        }
+    }
+
+    @Override
+    public void async(@NotNull PNCallback<PNBatchResult<Output>> callback) {
+        int[] indices = new int[actions.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        start(callback, indices);
+    }
+
+    @Override
+    public void retry() {
+        int[] indices;
+        PNCallback<PNBatchResult<Output>> callback;
+        synchronized (this) {
+            if (cachedCallback == null || (currentRun != null && !currentRun.isCompleted())) {
+                return;
+            }
+            callback = cachedCallback;
+            indices = new int[failures.size()];
+            int i = 0;
+            for (Integer index : failures.keySet()) {
+                indices[i++] = index;
+            }
+        }
+        start(callback, indices);
+    }
+
+    @Override
+    public void silentCancel() {
+        Run run;
+        synchronized (this) {
+            cancelled = true;
+            run = currentRun;
+        }
+        if (run != null) {
+            run.cancel();
+        }
+    }
+
+    private void start(PNCallback<PNBatchResult<Output>> callback, int[] indices) {
+        Run run;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cachedCallback = callback;
+            for (int index : indices) {
+                failures.remove(index);
+            }
+            run = new Run(callback, indices, Math.max(1, maximumInFlight));
+            currentRun = run;
+        }
+        run.drain();
+    }
+
+    private synchronized void record(int index, Output result, PNStatus status) {
+        if (status.isError()) {
+            results[index] = null;
+            failures.put(index, status);
+        } else {
+            results[index] = result;
+        }
+    }
+
+    private synchronized PNBatchResult<Output> snapshot() {
+        return PNBatchResult.<Output>builder()
+                .results(Collections.unmodifiableList(Arrays.asList(results.clone())))
+                .failures(Collections.unmodifiableMap(new TreeMap<>(failures)))
+                .build();
+    }
+
+    /**
+     * A single pass over a set of actions of the batch.
+     */
+    private final class Run {
+        private final PNCallback<PNBatchResult<Output>> callback;
+        private final int[] indices;
+        private final int maximumInFlight;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger remaining;
+        /**
+         * Work in progress counter which makes sure only one thread starts actions, without recursing when actions
+         * complete synchronously.
+         */
+        private final AtomicInteger drainRequests = new AtomicInteger();
+        private final List<RemoteAction<? extends Output>> started = new ArrayList<>();
+        private int next;
+        private volatile boolean runCancelled;
+
+        private Run(PNCallback<PNBatchResult<Output>> callback, int[] indices, int maximumInFlight) {
+            this.callback = callback;
+            this.indices = indices;
+            this.maximumInFlight = maximumInFlight;
+            this.remaining = new AtomicInteger(indices.length);
+        }
+
+        private boolean isCompleted() {
+            return remaining.get() == 0;
+        }
+
+        private void drain() {
+            if (indices.length == 0) {
+                complete();
+                return;
+            }
+            if (drainRequests.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (!runCancelled && next < indices.length && inFlight.get() < maximumInFlight) {
+                    inFlight.incrementAndGet();
+                    startAction(indices[next++]);
+                }
+                missed = drainRequests.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void startAction(final int index) {
+            final RemoteAction<? extends Output> action = actions.get(index);
+            synchronized (this) {
+                started.add(action);
+            }
+            startAction(index, action);
+        }
+
+        private <T extends Output> void startAction(final int index, final RemoteAction<T> action) {
+            final AtomicBoolean finished = new AtomicBoolean();
+            try {
+                action.async(new PNCallback<T>() {
+                    @Override
+                    public void onResponse(T result, @NotNull PNStatus status) {
+                        if (finished.compareAndSet(false, true)) {
+                            finish(index, action, result, status);
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                if (finished.compareAndSet(false, true)) {
+                    finish(index, action, null, failure(action, e));
+                }
+            }
+        }
+
+        private void finish(int index, RemoteAction<?> action, Output result, PNStatus status) {
+            if (runCancelled) {
+                return;
+            }
+            record(index, result, status);
+            if (onItem != null) {
+                try {
+                    onItem.onItem(index, status.isError() ? null : result, status);
+                } catch (RuntimeException e) {
+                    record(index, null, failure(action, e));
+                }
+            }
+            inFlight.decrementAndGet();
+            if (remaining.decrementAndGet() == 0) {
+                complete();
+            } else {
+                drain();
+            }
+        }
+
+        private PNStatus failure(RemoteAction<?> action, RuntimeException e) {
+            return PNStatus.builder()
+                    .category(PNStatusCategory.PNUnknownCategory)
+                    .error(true)
+                    .errorData(new PNErrorData(e.getMessage(), e))
+                    .executedEndpoint(action)
+                    .build();
+        }
+
+        private void complete() {
+            callback.onResponse(snapshot(), PNStatus.builder()
+                    .category(PNStatusCategory.PNAcknowledgmentCategory)
+                    .error(false)
+                    .executedEndpoint(BatchRemoteAction.this)
+                    .build());
+        }
+
+        private void cancel() {
+            runCancelled = true;
+            List<RemoteAction<? extends Output>> startedActions;
+            synchronized (this) {
+                startedActions = new ArrayList<>(started);
+            }
+            for (RemoteAction<? extends Output> action : startedActions) {
+                action.silentCancel();
+            }
+        }
+    }
+}
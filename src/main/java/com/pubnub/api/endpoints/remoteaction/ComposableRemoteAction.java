@@ -42,6 +42,11 @@ public class ComposableRemoteAction<T, U> implements RemoteAction<U> {
 
     @Override
     public void async(@NotNull PNCallback<U> callback) {
+        synchronized (this) {
+            if (isCancelled) {
+                return;
+            }
+        }
         remoteAction.async(
                 (r, s) -> {
                     if (s.isError()) {
@@ -4,11 +4,27 @@ import com.pubnub.api.PubNubException;
 import com.pubnub.api.callbacks.PNCallback;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface RemoteAction<Output> {
     Output sync() throws PubNubException;
 
     void async(@NotNull PNCallback<Output> callback);
 
+    /**
+     * Execute the action asynchronously and expose its result as a future. The future is completed directly from the
+     * callback of {@link #async(PNCallback)}, no thread is blocked while waiting for the response.
+     * Cancelling the future cancels the action.
+     *
+     * @return future completed with the result, or exceptionally with a {@link PubNubException}.
+     */
+    @NotNull
+    default CompletableFuture<Output> future() {
+        RemoteActionFuture<Output> future = new RemoteActionFuture<>(this);
+        async(future);
+        return future;
+    }
+
     void retry();
 
     void silentCancel();
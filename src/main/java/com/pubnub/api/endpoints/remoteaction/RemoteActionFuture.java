@@ -0,0 +1,55 @@
+package com.pubnub.api.endpoints.remoteaction;
+
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.builder.PubNubErrorBuilder;
+import com.pubnub.api.callbacks.PNCallback;
+import com.pubnub.api.models.consumer.PNStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Future backed by the async callback of a {@link RemoteAction}.
+ */
+class RemoteActionFuture<Output> extends CompletableFuture<Output> implements PNCallback<Output> {
+
+    private final RemoteAction<Output> remoteAction;
+
+    RemoteActionFuture(RemoteAction<Output> remoteAction) {
+        this.remoteAction = remoteAction;
+    }
+
+    @Override
+    public void onResponse(@Nullable Output result, @NotNull PNStatus status) {
+        if (!status.isError()) {
+            complete(result);
+            return;
+        }
+
+        if (status.getErrorData() != null && status.getErrorData().getThrowable() instanceof PubNubException) {
+            completeExceptionally(status.getErrorData().getThrowable());
+        } else {
+            PubNubException.PubNubExceptionBuilder exception = PubNubException.builder()
+                    .pubnubError(PubNubErrorBuilder.PNERROBJ_HTTP_ERROR)
+                    .statusCode(status.getStatusCode());
+            if (status.getErrorData() != null) {
+                exception.errormsg(status.getErrorData().getInformation())
+                        .cause(status.getErrorData().getThrowable());
+            }
+            completeExceptionally(exception.build());
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (isDone()) {
+            return false;
+        }
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled) {
+            remoteAction.silentCancel();
+        }
+        return cancelled;
+    }
+}
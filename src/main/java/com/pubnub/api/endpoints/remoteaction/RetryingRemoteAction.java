@@ -4,55 +4,75 @@ import com.pubnub.api.PubNubException;
 import com.pubnub.api.builder.PubNubErrorBuilder;
 import com.pubnub.api.callbacks.PNCallback;
 import com.pubnub.api.enums.PNOperationType;
-import com.pubnub.api.enums.PNStatusCategory;
+import com.pubnub.api.managers.RetryManager;
+import com.pubnub.api.managers.SchedulerManager;
 import com.pubnub.api.models.consumer.PNErrorData;
 import com.pubnub.api.models.consumer.PNStatus;
-import lombok.Data;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.ScheduledFuture;
 
+/**
+ * Action which is run again, after the backoff the {@link RetryManager} chooses, when it failed transiently: with a
+ * timeout, a failed connection, a 5xx or a 429 response. Any other failure is passed on right away.
+ */
 public class RetryingRemoteAction<T> implements RemoteAction<T> {
 
     private final RemoteAction<T> remoteAction;
     private final int maxNumberOfAutomaticRetries;
     private final PNOperationType operationType;
     private final ExecutorService executorService;
+    private final RetryManager retryManager;
+    private final SchedulerManager schedulerManager;
     private PNCallback<T> cachedCallback;
+    private volatile ScheduledFuture<?> pendingRetry;
 
     public RetryingRemoteAction(RemoteAction<T> remoteAction,
                                 int maxNumberOfAutomaticRetries,
                                 PNOperationType operationType,
-                                ExecutorService executorService) {
+                                ExecutorService executorService,
+                                RetryManager retryManager,
+                                SchedulerManager schedulerManager) {
         this.remoteAction = remoteAction;
         this.maxNumberOfAutomaticRetries = maxNumberOfAutomaticRetries;
         this.operationType = operationType;
         this.executorService = executorService;
+        this.retryManager = retryManager;
+        this.schedulerManager = schedulerManager;
     }
 
     public static <T> RetryingRemoteAction<T> autoRetry(RemoteAction<T> remoteAction,
                                                         int maxNumberOfAutomaticRetries,
                                                         PNOperationType operationType,
-                                                        ExecutorService executorService) {
-        return new RetryingRemoteAction<>(remoteAction, maxNumberOfAutomaticRetries, operationType, executorService);
+                                                        ExecutorService executorService,
+                                                        RetryManager retryManager,
+                                                        SchedulerManager schedulerManager) {
+        return new RetryingRemoteAction<>(remoteAction, maxNumberOfAutomaticRetries, operationType, executorService,
+                retryManager, schedulerManager);
     }
 
     @Override
     public T sync() throws PubNubException {
         validate();
-        PubNubException thrownException = null;
-        for (int i = 0; i < maxNumberOfAutomaticRetries; i++) {
+        long delay = 0;
+        for (int attemptNumber = 1; ; attemptNumber++) {
             try {
                 return remoteAction.sync();
             } catch (PubNubException ex) {
-                thrownException = ex;
+                if (attemptNumber >= maxNumberOfAutomaticRetries || !isTransient(ex)) {
+                    throw ex;
+                }
+                delay = retryManager.nextDelay(delay, 0);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
             }
         }
-        //noinspection ConstantConditions
-        throw thrownException;
     }
 
     @Override
@@ -74,16 +94,21 @@ public class RetryingRemoteAction<T> implements RemoteAction<T> {
                     return;
                 }
 
-                ResultAndStatus<T> lastResultAndStatus = null;
-                for (int i = 0; i < maxNumberOfAutomaticRetries; i++) {
-                    lastResultAndStatus = syncAsync();
-                    if (!lastResultAndStatus.status.isError()) {
-                        callback.onResponse(lastResultAndStatus.result, lastResultAndStatus.status);
-                        return;
-                    }
+                attempt(callback, 1, 0);
+            }
+        });
+    }
+
+    private void attempt(@NotNull final PNCallback<T> callback, final int attemptNumber, final long previousDelay) {
+        remoteAction.async(new PNCallback<T>() {
+            @Override
+            public void onResponse(@Nullable T result, @NotNull PNStatus status) {
+                if (status.isError() && attemptNumber < maxNumberOfAutomaticRetries && isTransient(status)) {
+                    long delay = retryManager.nextDelay(previousDelay, 0);
+                    pendingRetry = schedulerManager.schedule(() -> attempt(callback, attemptNumber + 1, delay), delay);
+                    return;
                 }
-                //noinspection ConstantConditions
-                callback.onResponse(lastResultAndStatus.result, lastResultAndStatus.status);
+                callback.onResponse(result, status.toBuilder().executedEndpoint(RetryingRemoteAction.this).build());
             }
         });
     }
@@ -95,46 +120,29 @@ public class RetryingRemoteAction<T> implements RemoteAction<T> {
 
     @Override
     public void silentCancel() {
+        ScheduledFuture<?> retry = pendingRetry;
+        if (retry != null) {
+            retry.cancel(false);
+        }
         remoteAction.silentCancel();
     }
 
-    @Data
-    private static class ResultAndStatus<T> {
-        private final T result;
-        private final PNStatus status;
+    private static boolean isTransient(PNStatus status) {
+        Throwable failure = status.getErrorData() != null ? status.getErrorData().getThrowable() : null;
+        return RetryManager.isTransient(status.getStatusCode()) || isTransientFailure(failure);
     }
 
+    private static boolean isTransient(PubNubException exception) {
+        return RetryManager.isTransient(exception.getStatusCode()) || isTransientFailure(exception.getCause());
+    }
 
-    private ResultAndStatus<T> syncAsync() {
-        CountDownLatch latch = new CountDownLatch(1);
-        AtomicReference<ResultAndStatus<T>> atomicResultAndStatus = new AtomicReference<>();
-
-        remoteAction.async(new PNCallback<T>() {
-            @Override
-            public void onResponse(@Nullable T result, @NotNull PNStatus status) {
-                atomicResultAndStatus.set(new ResultAndStatus<>(result,
-                        status.toBuilder().executedEndpoint(RetryingRemoteAction.this).build()));
-                latch.countDown();
-            }
-        });
-
-        try {
-            latch.await();
-            return atomicResultAndStatus.get();
-        } catch (InterruptedException e) {
-            remoteAction.silentCancel();
-            return new ResultAndStatus<>(null,
-                    PNStatus.builder()
-                            .category(PNStatusCategory.PNUnknownCategory)
-                            .operation(operationType)
-                            .errorData(new PNErrorData(e.getMessage(), e))
-                            .error(true)
-                            .executedEndpoint(this)
-                            .build());
+    private static boolean isTransientFailure(Throwable failure) {
+        if (failure instanceof PubNubException) {
+            return isTransient((PubNubException) failure);
         }
+        return RetryManager.isTransient(failure);
     }
 
-
     private void validate() throws PubNubException {
         if (maxNumberOfAutomaticRetries < 1) {
             throw PubNubException.builder().pubnubError(PubNubErrorBuilder.PNERROBJ_INVALID_ARGUMENTS)
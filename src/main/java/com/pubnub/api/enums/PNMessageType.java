@@ -0,0 +1,10 @@
+package com.pubnub.api.enums;
+
+/**
+ * Kinds of messages carrying a free form payload, to register a
+ * {@link com.pubnub.api.json.PayloadDecoder} for only one of them.
+ */
+public enum PNMessageType {
+    MESSAGE,
+    SIGNAL
+}
@@ -0,0 +1,25 @@
+package com.pubnub.api.enums;
+
+public enum PNNetworkPhase {
+
+    /**
+     * From the call being started until it began acquiring a connection, mostly time spent in the dispatcher queue.
+     */
+    QUEUE,
+    DNS,
+    /**
+     * Opening the connection, including the TLS handshake.
+     */
+    CONNECT,
+    TLS,
+    /**
+     * From the request being written until the response headers started to arrive.
+     */
+    SERVER,
+    /**
+     * Reading the response body.
+     */
+    DOWNLOAD,
+    TOTAL,
+
+}
@@ -0,0 +1,79 @@
+package com.pubnub.api.interceptors;
+
+import com.pubnub.api.managers.BasePathManager;
+import com.pubnub.api.managers.BasePathManager.OriginHealth;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.HttpURLConnection;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends each request to the healthiest origin known to the {@link BasePathManager} and feeds the outcome back into
+ * its health scores. A request which could not connect was never sent, so it is retried right away on the next best
+ * origin instead of failing and waiting for the reconnection policy.
+ */
+public class OriginRoutingInterceptor implements Interceptor {
+
+    private final BasePathManager basePathManager;
+    private final boolean recordLatency;
+
+    /**
+     * @param recordLatency false for clients running long polls, whose duration says nothing about the origin.
+     */
+    public OriginRoutingInterceptor(BasePathManager basePathManager, boolean recordLatency) {
+        this.basePathManager = basePathManager;
+        this.recordLatency = recordLatency;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        OriginHealth origin = basePathManager.isRoutable(request.url()) ? basePathManager.selectOrigin(null) : null;
+        if (origin == null) {
+            return chain.proceed(request);
+        }
+
+        try {
+            return proceed(chain, request, origin);
+        } catch (IOException e) {
+            OriginHealth fallback = isConnectionFailure(e) && !chain.call().isCanceled()
+                    ? basePathManager.selectOrigin(origin)
+                    : null;
+            if (fallback == null) {
+                throw e;
+            }
+            return proceed(chain, request, fallback);
+        }
+    }
+
+    private Response proceed(Chain chain, Request request, OriginHealth origin) throws IOException {
+        long startedAt = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request.newBuilder().url(origin.route(request.url())).build());
+        } catch (IOException e) {
+            basePathManager.recordFailure(origin, isConnectionFailure(e));
+            throw e;
+        }
+
+        if (response.code() >= HttpURLConnection.HTTP_INTERNAL_ERROR) {
+            basePathManager.recordFailure(origin, false);
+        } else {
+            long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            basePathManager.recordSuccess(origin, recordLatency ? latencyMillis : -1);
+        }
+        return response;
+    }
+
+    private static boolean isConnectionFailure(IOException e) {
+        return e instanceof ConnectException
+                || e instanceof NoRouteToHostException
+                || e instanceof UnknownHostException;
+    }
+}
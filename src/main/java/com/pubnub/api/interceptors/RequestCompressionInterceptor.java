@@ -0,0 +1,106 @@
+package com.pubnub.api.interceptors;
+
+import com.pubnub.api.models.consumer.PNRequestCompressionStatistics;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gzips request bodies which are at least the configured number of bytes long. It has to be added after the
+ * {@link SignatureInterceptor} so the signature is calculated over the plain body.
+ */
+public class RequestCompressionInterceptor implements Interceptor {
+
+    private static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+    private static final String GZIP = "gzip";
+
+    private final int threshold;
+
+    private final AtomicLong compressedRequests = new AtomicLong();
+    private final AtomicLong uncompressedBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+
+    public RequestCompressionInterceptor(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request originalRequest = chain.request();
+        RequestBody body = originalRequest.body();
+
+        if (body == null
+                || body instanceof MultipartBody
+                || originalRequest.header(CONTENT_ENCODING_HEADER) != null
+                || body.contentLength() < threshold) {
+            return chain.proceed(originalRequest);
+        }
+
+        Buffer compressed = new Buffer();
+        try (BufferedSink gzipSink = Okio.buffer(new GzipSink(compressed))) {
+            body.writeTo(gzipSink);
+        }
+
+        long originalLength = body.contentLength();
+        if (compressed.size() >= originalLength) {
+            return chain.proceed(originalRequest);
+        }
+
+        compressedRequests.incrementAndGet();
+        uncompressedBytes.addAndGet(originalLength);
+        compressedBytes.addAndGet(compressed.size());
+
+        Request compressedRequest = originalRequest.newBuilder()
+                .header(CONTENT_ENCODING_HEADER, GZIP)
+                .method(originalRequest.method(), new CompressedRequestBody(body.contentType(), compressed))
+                .build();
+        return chain.proceed(compressedRequest);
+    }
+
+    @NotNull
+    public PNRequestCompressionStatistics getStatistics() {
+        return PNRequestCompressionStatistics.builder()
+                .compressedRequests(compressedRequests.get())
+                .uncompressedBytes(uncompressedBytes.get())
+                .compressedBytes(compressedBytes.get())
+                .build();
+    }
+
+    private static final class CompressedRequestBody extends RequestBody {
+        private final MediaType contentType;
+        private final Buffer compressed;
+
+        private CompressedRequestBody(MediaType contentType, Buffer compressed) {
+            this.contentType = contentType;
+            this.compressed = compressed;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return contentType;
+        }
+
+        @Override
+        public long contentLength() {
+            return compressed.size();
+        }
+
+        @Override
+        public void writeTo(@NotNull BufferedSink sink) throws IOException {
+            // copy, so the body can be written again on a retry or a redirect
+            compressed.copyTo(sink.getBuffer(), 0, compressed.size());
+            sink.emitCompleteSegments();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.pubnub.api.json;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+
+/**
+ * Reads and writes the JSON of responses, request bodies, published messages, metadata and state, set with
+ * {@link com.pubnub.api.PNConfiguration#setJsonCodec(JsonCodec)} to use another JSON library than Gson.
+ * <p>
+ * The SDK's models expose Gson's {@code JsonElement} for free form JSON, so a codec has to be able to read and write
+ * those, and fields annotated with Gson's {@code SerializedName} use that name. Types a codec does not handle can be
+ * handed to {@link com.pubnub.api.managers.GsonJsonCodec}.
+ */
+public interface JsonCodec {
+
+    /**
+     * Reads one JSON document, strictly: malformed JSON, an empty document or content after the value are errors.
+     *
+     * @param json whole document, closed by the caller.
+     * @param type class or parameterized type to read.
+     * @return the value, or null for a JSON null.
+     * @throws IOException if the document can not be read or is not valid JSON.
+     */
+    @Nullable
+    <T> T fromJson(@NotNull Reader json, @NotNull Type type) throws IOException;
+
+    /**
+     * Writes a value as one JSON document.
+     *
+     * @param value value to write, null is written as JSON null.
+     * @param type class or parameterized type of the value.
+     * @param json where to write to, flushed and closed by the caller.
+     */
+    void toJson(@Nullable Object value, @NotNull Type type, @NotNull Writer json) throws IOException;
+}
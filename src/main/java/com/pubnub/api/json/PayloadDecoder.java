@@ -0,0 +1,24 @@
+package com.pubnub.api.json;
+
+import com.google.gson.JsonElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Turns the JSON payload of a message into an application type, registered with
+ * {@link com.pubnub.api.managers.PayloadDecoderManager}. Decoders run once per message, on the thread delivering
+ * subscribe events or completing the history request, so they have to be thread safe and should not block.
+ *
+ * @param <T> type decoded to.
+ */
+public interface PayloadDecoder<T> {
+
+    /**
+     * @param payload the message, after decryption.
+     * @return the decoded message.
+     * @throws Exception if the payload can not be decoded; the message is then delivered without a decoded value and
+     *                   with a parsing error.
+     */
+    @Nullable
+    T decode(@NotNull JsonElement payload) throws Exception;
+}
@@ -0,0 +1,132 @@
+package com.pubnub.api.managers;
+
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNub;
+import com.pubnub.api.PubNubUtil;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the query parameters every request carries which only change together with the configuration or the
+ * access token: {@code pnsdk}, {@code uuid}, {@code instanceid} and {@code auth}. Endpoints layer their own
+ * parameters on top of an immutable {@link Template} which is rebuilt, under a new version, only once the user id,
+ * auth key, token or instance identifier setting it was built from has changed.
+ */
+public class BaseParamsManager {
+
+    static final String PNSDK_QUERY_PARAM_NAME = "pnsdk";
+    public static final String UUID_QUERY_PARAM_NAME = "uuid";
+    static final String INSTANCE_ID_QUERY_PARAM_NAME = "instanceid";
+
+    private final PubNub pubnub;
+
+    private volatile Template template;
+
+    public BaseParamsManager(PubNub pubnub) {
+        this.pubnub = pubnub;
+    }
+
+    /**
+     * @param token access token set on the client, or {@code null}.
+     * @return parameters template matching the current configuration.
+     */
+    @NotNull
+    public Template getTemplate(@Nullable String token) {
+        PNConfiguration configuration = pubnub.getConfiguration();
+        String userId = configuration.getUserId().getValue();
+        String auth = token != null ? token : configuration.getAuthKey();
+        boolean includeInstanceIdentifier = configuration.isIncludeInstanceIdentifier();
+
+        Template current = template;
+        if (current != null && current.isBuiltFrom(userId, auth, includeInstanceIdentifier)) {
+            return current;
+        }
+        return rebuild(userId, auth, includeInstanceIdentifier);
+    }
+
+    private synchronized Template rebuild(String userId, String auth, boolean includeInstanceIdentifier) {
+        Template current = template;
+        if (current != null && current.isBuiltFrom(userId, auth, includeInstanceIdentifier)) {
+            return current;
+        }
+
+        Map<String, String> params = new HashMap<>();
+        params.put(PNSDK_QUERY_PARAM_NAME, "PubNub-Java-Unified/".concat(pubnub.getVersion()));
+        params.put(UUID_QUERY_PARAM_NAME, userId);
+        if (includeInstanceIdentifier) {
+            params.put(INSTANCE_ID_QUERY_PARAM_NAME, pubnub.getInstanceId());
+        }
+
+        Map<String, String> authenticatedParams = params;
+        if (auth != null) {
+            authenticatedParams = new HashMap<>(params);
+            authenticatedParams.put(PubNubUtil.AUTH_QUERY_PARAM_NAME, auth);
+        }
+
+        template = new Template(current == null ? 1 : current.version + 1,
+                userId,
+                auth,
+                includeInstanceIdentifier,
+                Collections.unmodifiableMap(params),
+                Collections.unmodifiableMap(authenticatedParams));
+        return template;
+    }
+
+    /**
+     * Immutable set of base parameters, with and without {@code auth}.
+     */
+    public static final class Template {
+        /**
+         * Incremented every time the parameters had to be rebuilt.
+         */
+        @Getter
+        private final long version;
+        private final String userId;
+        private final String auth;
+        private final String encodedAuth;
+        private final boolean includeInstanceIdentifier;
+        private final Map<String, String> params;
+        private final Map<String, String> authenticatedParams;
+
+        private Template(long version,
+                         String userId,
+                         String auth,
+                         boolean includeInstanceIdentifier,
+                         Map<String, String> params,
+                         Map<String, String> authenticatedParams) {
+            this.version = version;
+            this.userId = userId;
+            this.auth = auth;
+            this.encodedAuth = auth != null ? PubNubUtil.urlEncode(auth) : null;
+            this.includeInstanceIdentifier = includeInstanceIdentifier;
+            this.params = params;
+            this.authenticatedParams = authenticatedParams;
+        }
+
+        /**
+         * @param authRequired whether the endpoint sends {@code auth}.
+         * @return unmodifiable base parameters.
+         */
+        public Map<String, String> getParams(boolean authRequired) {
+            return authRequired ? authenticatedParams : params;
+        }
+
+        /**
+         * @return url encoded form of the auth value, reusing the one encoded with the template when possible.
+         */
+        public String encodeAuth(@NotNull String authValue) {
+            return authValue.equals(auth) ? encodedAuth : PubNubUtil.urlEncode(authValue);
+        }
+
+        private boolean isBuiltFrom(String userId, String auth, boolean includeInstanceIdentifier) {
+            return this.includeInstanceIdentifier == includeInstanceIdentifier
+                    && this.userId.equals(userId)
+                    && (this.auth == null ? auth == null : this.auth.equals(auth));
+        }
+    }
+}
@@ -1,9 +1,21 @@
 package com.pubnub.api.managers;
 
 import com.pubnub.api.PNConfiguration;
+import okhttp3.HttpUrl;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A stateful manager to support base path construction, proxying and cache busting.
+ * <p>
+ * When alternative origins are configured it also keeps a health score for each candidate origin, made of an
+ * exponentially weighted moving average of latency and error rate, so requests can be routed to the healthiest one.
+ * An origin which cannot be connected to is skipped for a growing period of time.
  */
 public class BasePathManager {
 
@@ -29,6 +41,24 @@ public class BasePathManager {
      */
     private static final String DEFAULT_BASE_PATH = "pndsn.com";
 
+    /**
+     * weight of the newest sample in the latency and error rate averages.
+     */
+    private static final double LATENCY_SMOOTHING = 0.3;
+    private static final double ERROR_RATE_SMOOTHING = 0.2;
+    /**
+     * in milliseconds, what a fully failing origin adds to its score on top of its latency.
+     */
+    private static final double ERROR_RATE_PENALTY_MILLIS = 1000.0;
+    private static final long MINIMUM_UNAVAILABILITY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MAXIMUM_UNAVAILABILITY_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final int MAXIMUM_UNAVAILABILITY_DOUBLINGS = 5;
+
+    /**
+     * candidate origins, the configured one first. Empty unless alternative origins are configured.
+     */
+    private final List<OriginHealth> origins;
+
     /**
      * Initialize the path management.
      *
@@ -37,6 +67,18 @@ public class BasePathManager {
     public BasePathManager(PNConfiguration initialConfig) {
         this.config = initialConfig;
         currentSubdomain = 1;
+
+        List<OriginHealth> candidates = new ArrayList<>();
+        if (!initialConfig.getAlternativeOrigins().isEmpty()) {
+            String primaryOrigin = initialConfig.getOrigin() != null
+                    ? initialConfig.getOrigin()
+                    : DEFAULT_SUBDOMAIN + "." + DEFAULT_BASE_PATH;
+            candidates.add(new OriginHealth(primaryOrigin, initialConfig.isSecure()));
+            for (String alternativeOrigin : initialConfig.getAlternativeOrigins()) {
+                candidates.add(new OriginHealth(alternativeOrigin, initialConfig.isSecure()));
+            }
+        }
+        this.origins = Collections.unmodifiableList(candidates);
     }
 
 
@@ -58,7 +100,7 @@ public class BasePathManager {
         if (config.getOrigin() != null) {
             constructedUrl.append(config.getOrigin());
         } else if (config.isCacheBusting()) {
-            constructedUrl.append("ps").append(currentSubdomain).append(".").append(DEFAULT_BASE_PATH);
+            constructedUrl.append(DEFAULT_SUBDOMAIN).append(currentSubdomain).append(".").append(DEFAULT_BASE_PATH);
 
             if (currentSubdomain == MAX_SUBDOMAIN) {
                 currentSubdomain = 1;
@@ -73,4 +115,138 @@ public class BasePathManager {
         return constructedUrl.toString();
     }
 
+    /**
+     * @return true if requests are routed among several origins.
+     */
+    public boolean isOriginRoutingEnabled() {
+        return !origins.isEmpty();
+    }
+
+    /**
+     * @return true if the url points to the configured origin, or to one of its cache busting subdomains, and can be
+     * sent to another candidate instead.
+     */
+    @SuppressWarnings("deprecation")
+    public boolean isRoutable(@NotNull HttpUrl url) {
+        if (origins.isEmpty()) {
+            return false;
+        }
+        OriginHealth primary = origins.get(0);
+        if (primary.port != url.port()) {
+            return false;
+        }
+        if (primary.host.equals(url.host())) {
+            return true;
+        }
+        return config.getOrigin() == null && config.isCacheBusting() && isCacheBustingHost(url.host());
+    }
+
+    /**
+     * @return true if the host is one of the {@code psN} subdomains {@link #getBasePath()} rotates among.
+     */
+    private static boolean isCacheBustingHost(String host) {
+        for (int subdomain = 1; subdomain <= MAX_SUBDOMAIN; subdomain++) {
+            if (host.equals(DEFAULT_SUBDOMAIN + subdomain + "." + DEFAULT_BASE_PATH)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Picks the origin with the best score among those which are not being skipped after a connection failure.
+     *
+     * @param excluded origin which must not be returned, or {@code null}.
+     * @return the healthiest origin, or {@code null} if there is no other candidate.
+     */
+    @Nullable
+    public synchronized OriginHealth selectOrigin(@Nullable OriginHealth excluded) {
+        long now = System.nanoTime();
+        OriginHealth best = null;
+        OriginHealth soonestAvailable = null;
+        for (OriginHealth origin : origins) {
+            if (origin == excluded) {
+                continue;
+            }
+            if (origin.unavailableUntilNanos - now > 0) {
+                if (soonestAvailable == null
+                        || origin.unavailableUntilNanos - soonestAvailable.unavailableUntilNanos < 0) {
+                    soonestAvailable = origin;
+                }
+            } else if (best == null || origin.score() < best.score()) {
+                best = origin;
+            }
+        }
+        return best != null ? best : soonestAvailable;
+    }
+
+    /**
+     * Records a completed call.
+     *
+     * @param latencyMillis time the call took, or a negative value if it should not be counted, e.g. for long polls.
+     */
+    public synchronized void recordSuccess(@NotNull OriginHealth origin, long latencyMillis) {
+        if (latencyMillis >= 0) {
+            origin.latencyMillis = origin.latencyMillis == 0
+                    ? latencyMillis
+                    : origin.latencyMillis + LATENCY_SMOOTHING * (latencyMillis - origin.latencyMillis);
+        }
+        origin.errorRate -= ERROR_RATE_SMOOTHING * origin.errorRate;
+        origin.connectionFailures = 0;
+        origin.unavailableUntilNanos = 0;
+    }
+
+    /**
+     * Records a failed call.
+     *
+     * @param connectionFailure true if the origin could not be reached at all; it is skipped for a while then.
+     */
+    public synchronized void recordFailure(@NotNull OriginHealth origin, boolean connectionFailure) {
+        origin.errorRate += ERROR_RATE_SMOOTHING * (1.0 - origin.errorRate);
+        if (connectionFailure) {
+            int doublings = Math.min(origin.connectionFailures, MAXIMUM_UNAVAILABILITY_DOUBLINGS);
+            long unavailability = Math.min(MINIMUM_UNAVAILABILITY_NANOS << doublings, MAXIMUM_UNAVAILABILITY_NANOS);
+            origin.connectionFailures++;
+            origin.unavailableUntilNanos = System.nanoTime() + unavailability;
+        }
+    }
+
+    /**
+     * Health of a single candidate origin.
+     */
+    public static final class OriginHealth {
+        private final String host;
+        private final int port;
+
+        private double latencyMillis;
+        private double errorRate;
+        private int connectionFailures;
+        private long unavailableUntilNanos;
+
+        private OriginHealth(String origin, boolean secure) {
+            HttpUrl url = HttpUrl.get((secure ? "https://" : "http://") + origin);
+            this.host = url.host();
+            this.port = url.port();
+        }
+
+        /**
+         * @return the url pointed at this origin.
+         */
+        @NotNull
+        public HttpUrl route(@NotNull HttpUrl url) {
+            return url.newBuilder().host(host).port(port).build();
+        }
+
+        /**
+         * Lower is better. Origins without samples yet score best, so every candidate gets probed.
+         */
+        private double score() {
+            return latencyMillis * (1.0 + errorRate) + ERROR_RATE_PENALTY_MILLIS * errorRate;
+        }
+
+        @Override
+        public String toString() {
+            return host + ":" + port;
+        }
+    }
 }
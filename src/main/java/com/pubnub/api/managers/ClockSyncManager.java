@@ -0,0 +1,150 @@
+package com.pubnub.api.managers;
+
+import com.pubnub.api.PubNub;
+import com.pubnub.api.callbacks.PNCallback;
+import com.pubnub.api.models.consumer.PNClockSyncStatistics;
+import com.pubnub.api.models.consumer.PNStatus;
+import com.pubnub.api.models.consumer.PNTimeResult;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estimates the offset between the local clock and the server clock from the time endpoint, NTP style: a sync takes
+ * a few samples and keeps the one with the shortest round trip, assuming the server read its clock half way through
+ * it. Syncs repeat in the background so drift of the local clock is followed. Until the first sync, and when syncing
+ * is disabled, the local clock is used as is.
+ */
+@Slf4j
+public class ClockSyncManager {
+
+    private static final int SAMPLES_PER_SYNC = 4;
+    private static final long TIMETOKEN_UNITS_PER_MILLISECOND = 10_000;
+    private static final double PARTS_PER_MILLION = 1_000_000.0;
+
+    private final PubNub pubnub;
+    private final SchedulerManager schedulerManager;
+
+    private volatile long offsetMillis;
+    private long roundTripMillis = -1;
+    private double driftPpm;
+    private long syncs;
+    private long failedSyncs;
+    private long lastSyncedAtNanos;
+
+    private ScheduledFuture<?> timer;
+    private boolean syncing;
+
+    public ClockSyncManager(PubNub pubnub, SchedulerManager schedulerManager) {
+        this.pubnub = pubnub;
+        this.schedulerManager = schedulerManager;
+    }
+
+    /**
+     * Starts syncing in the background, if enabled. The first sync is sent right away, so this is only called once
+     * the client is fully constructed.
+     */
+    public synchronized void start() {
+        if (!pubnub.getConfiguration().isClockSync() || timer != null) {
+            return;
+        }
+        long intervalMillis = TimeUnit.SECONDS.toMillis(Math.max(1, pubnub.getConfiguration().getClockSyncInterval()));
+        timer = schedulerManager.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                sync();
+            }
+        }, 0, intervalMillis);
+    }
+
+    /**
+     * @return estimated server time, in milliseconds since the epoch.
+     */
+    public long currentTimeMillis() {
+        return System.currentTimeMillis() + offsetMillis;
+    }
+
+    @NotNull
+    public synchronized PNClockSyncStatistics getStatistics() {
+        return PNClockSyncStatistics.builder()
+                .offsetMillis(offsetMillis)
+                .roundTripMillis(roundTripMillis)
+                .driftPpm(driftPpm)
+                .syncs(syncs)
+                .failedSyncs(failedSyncs)
+                .build();
+    }
+
+    public synchronized void stop() {
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+    }
+
+    private void sync() {
+        synchronized (this) {
+            if (syncing || timer == null) {
+                return;
+            }
+            syncing = true;
+        }
+        new Sync().sample();
+    }
+
+    private synchronized void finish(Sync sync) {
+        syncing = false;
+        if (sync.bestRoundTripNanos < 0) {
+            failedSyncs++;
+            return;
+        }
+        long now = System.nanoTime();
+        if (syncs > 0 && now > lastSyncedAtNanos) {
+            driftPpm = (sync.bestOffsetMillis - offsetMillis) * PARTS_PER_MILLION
+                    / TimeUnit.NANOSECONDS.toMillis(now - lastSyncedAtNanos);
+        }
+        offsetMillis = sync.bestOffsetMillis;
+        roundTripMillis = TimeUnit.NANOSECONDS.toMillis(sync.bestRoundTripNanos);
+        lastSyncedAtNanos = now;
+        syncs++;
+    }
+
+    /**
+     * Samples of a single sync, taken one after the other so they do not delay each other.
+     */
+    private final class Sync {
+        private int samples;
+        private long bestRoundTripNanos = -1;
+        private long bestOffsetMillis;
+
+        private void sample() {
+            final long sentAtMillis = System.currentTimeMillis();
+            final long sentAtNanos = System.nanoTime();
+            pubnub.time().async(new PNCallback<PNTimeResult>() {
+                @Override
+                public void onResponse(PNTimeResult result, @NotNull PNStatus status) {
+                    if (status.isError() || result == null) {
+                        log.debug("Clock sync sample failed: " + status.getCategory());
+                        finish(Sync.this);
+                        return;
+                    }
+                    long roundTripNanos = System.nanoTime() - sentAtNanos;
+                    long serverMillis = result.getTimetoken() / TIMETOKEN_UNITS_PER_MILLISECOND;
+                    long offset = serverMillis - (sentAtMillis + TimeUnit.NANOSECONDS.toMillis(roundTripNanos / 2));
+                    if (bestRoundTripNanos < 0 || roundTripNanos < bestRoundTripNanos) {
+                        bestRoundTripNanos = roundTripNanos;
+                        bestOffsetMillis = offset;
+                    }
+                    samples++;
+                    if (samples < SAMPLES_PER_SYNC) {
+                        sample();
+                    } else {
+                        finish(Sync.this);
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.pubnub.api.managers;
+
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.builder.PubNubErrorBuilder;
+import com.pubnub.api.enums.PNOperationType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Bounds the number of in-flight requests per endpoint family (the same families {@link TelemetryManager} reports
+ * latencies for) with an AIMD limit. Every family gets its own limit and its own waiting queue, so a burst of
+ * history calls can not take the slots publishes need.
+ * <p>
+ * The limit grows by one for every limit-worth of healthy responses, shrinks multiplicatively when the service
+ * answers with 429/5xx or times out, and shrinks gently when latency climbs well above the observed baseline.
+ */
+public class ConcurrencyLimitManager {
+
+    private static final double INITIAL_LIMIT = 4.0;
+    private static final double MINIMUM_LIMIT = 1.0;
+    private static final double OVERLOAD_BACKOFF_RATIO = 0.5;
+    private static final double LATENCY_BACKOFF_RATIO = 0.9;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double BASELINE_DRIFT = 0.01;
+
+    private final boolean enabled;
+    private final double maximumLimit;
+    private final int maximumQueuedRequests;
+
+    private final Map<String, Bulkhead> bulkheads = new HashMap<>();
+
+    public ConcurrencyLimitManager(PNConfiguration configuration) {
+        this.enabled = configuration.isAdaptiveConcurrencyLimiting();
+        this.maximumLimit = Math.max(MINIMUM_LIMIT, configuration.getMaximumConcurrencyLimit());
+        this.maximumQueuedRequests = configuration.getMaximumQueuedRequests();
+    }
+
+    /**
+     * @param type operation which is about to be sent.
+     * @return true if requests of this operation have to pass through the limiter.
+     */
+    public boolean isLimited(PNOperationType type) {
+        return enabled && type != null && type != PNOperationType.PNSubscribeOperation;
+    }
+
+    /**
+     * Run the task as soon as the endpoint family of the operation has a free slot. The task is run on the calling
+     * thread if a slot is free right away, otherwise on the thread which releases the slot.
+     *
+     * @param type operation which is about to be sent.
+     * @param task action which sends the request; it has to be paired with a {@link #release} call.
+     * @throws PubNubException if the waiting queue of the endpoint family is full.
+     */
+    public void execute(PNOperationType type, Runnable task) throws PubNubException {
+        Bulkhead bulkhead = bulkheadFor(type);
+
+        synchronized (bulkhead) {
+            if (!bulkhead.waiting.isEmpty() || bulkhead.inFlight >= bulkhead.effectiveLimit()) {
+                if (bulkhead.waiting.size() >= maximumQueuedRequests) {
+                    throw PubNubException.builder()
+                            .pubnubError(PubNubErrorBuilder.PNERROBJ_REQUEST_QUEUE_FULL)
+                            .errormsg(PubNubErrorBuilder.PNERROBJ_REQUEST_QUEUE_FULL.getMessage())
+                            .build();
+                }
+                bulkhead.waiting.add(task);
+                return;
+            }
+            bulkhead.inFlight++;
+        }
+
+        task.run();
+    }
+
+    /**
+     * Block the calling thread until the endpoint family of the operation has a free slot.
+     *
+     * @param type operation which is about to be sent.
+     * @throws PubNubException if the waiting queue is full or the thread was interrupted while waiting.
+     */
+    public void acquire(PNOperationType type) throws PubNubException {
+        final CountDownLatch granted = new CountDownLatch(1);
+        final Runnable waiter = granted::countDown;
+
+        execute(type, waiter);
+
+        try {
+            granted.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Bulkhead bulkhead = bulkheadFor(type);
+            boolean stillWaiting;
+            synchronized (bulkhead) {
+                stillWaiting = bulkhead.waiting.remove(waiter);
+            }
+            if (!stillWaiting) {
+                release(type);
+            }
+            throw PubNubException.builder()
+                    .pubnubError(PubNubErrorBuilder.PNERROBJ_HTTP_ERROR)
+                    .errormsg(e.toString())
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    /**
+     * Free the slot of a request which did not produce a usable latency sample (e.g. it was cancelled).
+     */
+    public void release(PNOperationType type) {
+        release(type, -1, false);
+    }
+
+    /**
+     * Free the slot of a completed request and feed its outcome into the limit of the endpoint family.
+     *
+     * @param type          operation which has been completed.
+     * @param latencyMillis time it took to receive the response.
+     * @param overloaded    true if the service answered with 429/5xx or the request timed out.
+     */
+    public void release(PNOperationType type, long latencyMillis, boolean overloaded) {
+        Bulkhead bulkhead = bulkheadFor(type);
+        List<Runnable> ready = new ArrayList<>();
+
+        synchronized (bulkhead) {
+            bulkhead.inFlight--;
+
+            if (overloaded) {
+                bulkhead.limit = Math.max(MINIMUM_LIMIT, bulkhead.limit * OVERLOAD_BACKOFF_RATIO);
+            } else if (latencyMillis >= 0) {
+                bulkhead.adjust(latencyMillis, maximumLimit);
+            }
+
+            while (!bulkhead.waiting.isEmpty() && bulkhead.inFlight < bulkhead.effectiveLimit()) {
+                bulkhead.inFlight++;
+                ready.add(bulkhead.waiting.poll());
+            }
+        }
+
+        for (Runnable task : ready) {
+            task.run();
+        }
+    }
+
+    public int getLimit(PNOperationType type) {
+        Bulkhead bulkhead = bulkheadFor(type);
+        synchronized (bulkhead) {
+            return bulkhead.effectiveLimit();
+        }
+    }
+
+    public int getInFlight(PNOperationType type) {
+        Bulkhead bulkhead = bulkheadFor(type);
+        synchronized (bulkhead) {
+            return bulkhead.inFlight;
+        }
+    }
+
+    public int getQueued(PNOperationType type) {
+        Bulkhead bulkhead = bulkheadFor(type);
+        synchronized (bulkhead) {
+            return bulkhead.waiting.size();
+        }
+    }
+
+    private synchronized Bulkhead bulkheadFor(PNOperationType type) {
+        String family = TelemetryManager.endpointNameForOperation(type);
+        Bulkhead bulkhead = bulkheads.get(family);
+        if (bulkhead == null) {
+            bulkhead = new Bulkhead(Math.min(INITIAL_LIMIT, maximumLimit));
+            bulkheads.put(family, bulkhead);
+        }
+        return bulkhead;
+    }
+
+    private static final class Bulkhead {
+        private final ArrayDeque<Runnable> waiting = new ArrayDeque<>();
+        private double limit;
+        private int inFlight;
+        private double baselineLatency = -1;
+
+        private Bulkhead(double initialLimit) {
+            this.limit = initialLimit;
+        }
+
+        private int effectiveLimit() {
+            return (int) limit;
+        }
+
+        private void adjust(long latencyMillis, double maximumLimit) {
+            if (baselineLatency < 0 || latencyMillis < baselineLatency) {
+                baselineLatency = latencyMillis;
+            } else {
+                // let the baseline follow slowly, so a permanently slower network does not look like congestion.
+                baselineLatency += (latencyMillis - baselineLatency) * BASELINE_DRIFT;
+            }
+
+            if (latencyMillis > baselineLatency * LATENCY_TOLERANCE && latencyMillis > 0) {
+                limit = Math.max(MINIMUM_LIMIT, limit * LATENCY_BACKOFF_RATIO);
+            } else if (inFlight + 1 >= effectiveLimit() / 2) {
+                // only grow while the current limit is actually being used.
+                limit = Math.min(maximumLimit, limit + 1.0 / limit);
+            }
+        }
+    }
+}
@@ -5,9 +5,8 @@ import com.pubnub.api.callbacks.ReconnectionCallback;
 import com.pubnub.api.enums.PNReconnectionPolicy;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Slf4j
 public class DelayedReconnectionManager {
@@ -17,15 +16,16 @@ public class DelayedReconnectionManager {
     private final PNReconnectionPolicy pnReconnectionPolicy;
     private ReconnectionCallback callback;
     private PubNub pubnub;
-    private final Random random = new Random();
+    private final SchedulerManager schedulerManager;
 
     /**
      * Timer for heartbeat operations.
      */
-    private Timer timer;
+    private ScheduledFuture<?> timer;
 
-    public DelayedReconnectionManager(PubNub pubnub) {
+    public DelayedReconnectionManager(PubNub pubnub, SchedulerManager schedulerManager) {
         this.pubnub = pubnub;
+        this.schedulerManager = schedulerManager;
         this.pnReconnectionPolicy = pubnub.getConfiguration().getReconnectionPolicy();
     }
 
@@ -35,9 +35,8 @@ public class DelayedReconnectionManager {
             return;
         }
 
-        timer = new Timer("Delayed Reconnection Manager timer", true);
         int effectiveDelayInMilliSeconds = (int) (BASE_DELAY_MILLISECONDS + getRandomDelayInMilliSeconds());
-        timer.schedule(new TimerTask() {
+        timer = schedulerManager.schedule(new Runnable() {
             @Override
             public void run() {
                 callTime();
@@ -51,7 +50,7 @@ public class DelayedReconnectionManager {
 
     void stop() {
         if (timer != null) {
-            timer.cancel();
+            timer.cancel(false);
             timer = null;
         }
     }
@@ -65,7 +64,7 @@ public class DelayedReconnectionManager {
     }
 
     private int getRandomDelayInMilliSeconds() {
-       return random.nextInt(BOUND);
+        return ThreadLocalRandom.current().nextInt(BOUND);
     }
 
     private void callTime() {
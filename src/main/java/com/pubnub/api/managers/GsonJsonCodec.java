@@ -0,0 +1,54 @@
+package com.pubnub.api.managers;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import com.pubnub.api.json.JsonCodec;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+
+/**
+ * The default {@link JsonCodec}, Gson configured the way the SDK's models need it. Other codecs can delegate the types
+ * they do not handle to it.
+ */
+public class GsonJsonCodec implements JsonCodec {
+
+    private final Gson gson;
+
+    public GsonJsonCodec() {
+        this(MapperManager.createGson());
+    }
+
+    GsonJsonCodec(Gson gson) {
+        this.gson = gson;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T fromJson(@NotNull Reader json, @NotNull Type type) throws IOException {
+        JsonReader reader = gson.newJsonReader(json);
+        T value = (T) gson.getAdapter(TypeToken.get(type)).read(reader);
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new MalformedJsonException("JSON document was not fully consumed.");
+        }
+        return value;
+    }
+
+    @Override
+    public void toJson(@Nullable Object value, @NotNull Type type, @NotNull Writer json) throws IOException {
+        try {
+            gson.toJson(value, type, json);
+        } catch (JsonIOException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e);
+        }
+    }
+}
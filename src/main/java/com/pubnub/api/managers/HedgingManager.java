@@ -0,0 +1,141 @@
+package com.pubnub.api.managers;
+
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.enums.PNOperationType;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Decides when an idempotent read gets a second, hedge request. Recent latencies are kept per operation and the
+ * hedge is sent once the configured percentile of them has passed without a response. A budget, refilled by every
+ * hedged operation, caps how many extra requests are sent.
+ */
+public class HedgingManager {
+
+    private static final Set<PNOperationType> IDEMPOTENT_OPERATIONS = EnumSet.of(
+            PNOperationType.PNHistoryOperation,
+            PNOperationType.PNFetchMessagesOperation,
+            PNOperationType.PNMessageCountOperation,
+            PNOperationType.PNHereNowOperation,
+            PNOperationType.PNWhereNowOperation,
+            PNOperationType.PNGetState,
+            PNOperationType.PNTimeOperation,
+            PNOperationType.PNChannelGroupsOperation,
+            PNOperationType.PNChannelsForGroupOperation,
+            PNOperationType.PNPushNotificationEnabledChannelsOperation,
+            PNOperationType.PNGetUuidMetadataOperation,
+            PNOperationType.PNGetAllUuidMetadataOperation,
+            PNOperationType.PNGetChannelMetadataOperation,
+            PNOperationType.PNGetAllChannelsMetadataOperation,
+            PNOperationType.PNGetMembershipsOperation,
+            PNOperationType.PNGetChannelMembersOperation,
+            PNOperationType.PNGetMessageActions);
+
+    /**
+     * how many of the latest latencies are kept per operation.
+     */
+    private static final int LATENCY_WINDOW = 100;
+    /**
+     * no hedging until this many latencies were seen for an operation.
+     */
+    private static final int MINIMUM_SAMPLES = 20;
+    /**
+     * most hedges which can be sent in a burst.
+     */
+    private static final double MAXIMUM_BUDGET = 10.0;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final double budgetPerOperation;
+
+    private final Map<PNOperationType, LatencyWindow> latencies = new EnumMap<>(PNOperationType.class);
+    private double budget;
+    private long hedges;
+
+    private final SchedulerManager schedulerManager;
+
+    public HedgingManager(PNConfiguration configuration, SchedulerManager schedulerManager) {
+        this.schedulerManager = schedulerManager;
+        this.enabled = configuration.isRequestHedging();
+        this.percentile = Math.min(1.0, Math.max(0.0, configuration.getRequestHedgingPercentile()));
+        this.budgetPerOperation = Math.max(0.0, configuration.getRequestHedgingBudget());
+    }
+
+    /**
+     * @return true if requests of the operation can be hedged.
+     */
+    public boolean isHedged(PNOperationType type) {
+        return enabled && IDEMPOTENT_OPERATIONS.contains(type);
+    }
+
+    /**
+     * Called once for every hedged operation; refills the budget.
+     *
+     * @return in milliseconds, how long to wait for a response before hedging, or -1 if the operation has too few
+     * latency samples yet.
+     */
+    public synchronized long startOperation(PNOperationType type) {
+        budget = Math.min(MAXIMUM_BUDGET, budget + budgetPerOperation);
+        LatencyWindow window = latencies.get(type);
+        return window != null ? window.percentile(percentile) : -1;
+    }
+
+    /**
+     * @return true if the budget allows another hedge request, which is then accounted for.
+     */
+    public synchronized boolean tryHedge() {
+        if (budget < 1.0) {
+            return false;
+        }
+        budget -= 1.0;
+        hedges++;
+        return true;
+    }
+
+    public synchronized void recordLatency(PNOperationType type, long latencyMillis) {
+        LatencyWindow window = latencies.get(type);
+        if (window == null) {
+            window = new LatencyWindow();
+            latencies.put(type, window);
+        }
+        window.add(latencyMillis);
+    }
+
+    /**
+     * @return hedge requests sent so far.
+     */
+    public synchronized long getHedges() {
+        return hedges;
+    }
+
+    public ScheduledFuture<?> schedule(Runnable task, long delayMillis) {
+        return schedulerManager.schedule(task, delayMillis);
+    }
+
+    private static final class LatencyWindow {
+        private final long[] samples = new long[LATENCY_WINDOW];
+        private int count;
+        private int next;
+
+        private void add(long latencyMillis) {
+            samples[next] = latencyMillis;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        private long percentile(double percentile) {
+            if (count < MINIMUM_SAMPLES) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            return sorted[Math.max(0, Math.min(count - 1, index))];
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.pubnub.api.managers;
+
+import com.pubnub.api.json.JsonCodec;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Retrofit converters reading responses and writing request bodies with a {@link JsonCodec}.
+ */
+final class JsonCodecConverterFactory extends Converter.Factory {
+
+    private static final MediaType MEDIA_TYPE = MediaType.get("application/json; charset=UTF-8");
+
+    private final JsonCodec codec;
+
+    JsonCodecConverterFactory(JsonCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(final Type type,
+                                                            Annotation[] annotations,
+                                                            Retrofit retrofit) {
+        return (Converter<ResponseBody, Object>) body -> {
+            try {
+                return codec.fromJson(body.charStream(), type);
+            } finally {
+                body.close();
+            }
+        };
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(final Type type,
+                                                          Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations,
+                                                          Retrofit retrofit) {
+        return (Converter<Object, RequestBody>) value -> {
+            Buffer buffer = new Buffer();
+            Writer writer = new OutputStreamWriter(buffer.outputStream(), StandardCharsets.UTF_8);
+            codec.toJson(value, type, writer);
+            writer.close();
+            return RequestBody.create(buffer.readByteString(), MEDIA_TYPE);
+        };
+    }
+}
@@ -16,15 +16,20 @@ import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import com.pubnub.api.PubNubException;
 import com.pubnub.api.builder.PubNubErrorBuilder;
+import com.pubnub.api.json.JsonCodec;
+import com.pubnub.api.utils.UrlEncodingWriter;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import retrofit2.Converter;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.lang.reflect.Type;
 import java.util.Iterator;
 import java.util.List;
@@ -33,22 +38,43 @@ import java.util.Set;
 
 public class MapperManager {
 
+    /**
+     * Gson for the {@link JsonElement} trees exposed by the models, whichever codec is used.
+     */
     @Getter
     private final Gson objectMapper;
+    /**
+     * Codec for responses, request bodies and the values turned into JSON strings.
+     */
+    @Getter
+    private final JsonCodec jsonCodec;
     @Getter
     private final Converter.Factory converterFactory;
 
     public MapperManager() {
+        this(null);
+    }
+
+    /**
+     * @param jsonCodec codec to use instead of Gson, or null.
+     */
+    public MapperManager(@Nullable JsonCodec jsonCodec) {
+        this.objectMapper = createGson();
+        this.jsonCodec = jsonCodec != null ? jsonCodec : new GsonJsonCodec(objectMapper);
+        this.converterFactory = new JsonCodecConverterFactory(this.jsonCodec);
+    }
+
+    static Gson createGson() {
         TypeAdapter<Boolean> booleanAsIntAdapter = getBooleanTypeAdapter();
 
-        this.objectMapper = new GsonBuilder()
+        return new GsonBuilder()
                 .registerTypeAdapter(Boolean.class, booleanAsIntAdapter)
                 .registerTypeAdapter(boolean.class, booleanAsIntAdapter)
                 .registerTypeAdapter(JSONObject.class, new JSONObjectAdapter())
                 .registerTypeAdapter(JSONArray.class, new JSONArrayAdapter())
+                .registerTypeAdapterFactory(new ServerModelTypeAdapterFactory())
                 .disableHtmlEscaping()
                 .create();
-        this.converterFactory = GsonConverterFactory.create(this.getObjectMapper());
     }
 
     public boolean hasField(JsonElement element, String field) {
@@ -122,8 +148,12 @@ public class MapperManager {
     @SuppressWarnings("unchecked")
     public <T> T fromJson(String input, Class<T> clazz) throws PubNubException {
         try {
-            return this.objectMapper.fromJson(input, clazz);
-        } catch (JsonParseException e) {
+            if (input == null || JsonElement.class.isAssignableFrom(clazz)) {
+                // trees are Gson's, read as leniently as before
+                return this.objectMapper.fromJson(input, clazz);
+            }
+            return this.jsonCodec.fromJson(new StringReader(input), clazz);
+        } catch (JsonParseException | IOException e) {
             throw PubNubException.builder()
                     .pubnubError(PubNubErrorBuilder.PNERROBJ_PARSING_ERROR)
                     .errormsg(e.getMessage())
@@ -147,17 +177,38 @@ public class MapperManager {
     }
 
     public String toJson(Object input) throws PubNubException {
+        StringWriter json = new StringWriter();
+        writeJson(input, json);
+        return json.toString();
+    }
+
+    /**
+     * Serializes and percent-encodes in one pass, without the intermediate JSON string.
+     *
+     * @return the JSON of the input, encoded like {@link com.pubnub.api.PubNubUtil#urlEncode(String)}.
+     */
+    public String toUrlEncodedJson(Object input) throws PubNubException {
+        UrlEncodingWriter json = UrlEncodingWriter.get();
+        writeJson(input, json);
+        return json.getEncoded();
+    }
+
+    private void writeJson(Object input, Writer json) throws PubNubException {
+        Type type;
+        if (input == null) {
+            type = Object.class;
+        } else if (input instanceof List && input.getClass().isAnonymousClass()) {
+            type = List.class;
+        } else if (input instanceof Map && input.getClass().isAnonymousClass()) {
+            type = Map.class;
+        } else if (input instanceof Set && input.getClass().isAnonymousClass()) {
+            type = Set.class;
+        } else {
+            type = input.getClass();
+        }
         try {
-            if (input instanceof List && input.getClass().isAnonymousClass()) {
-                return this.objectMapper.toJson(input, List.class);
-            } else if (input instanceof Map && input.getClass().isAnonymousClass()) {
-                return this.objectMapper.toJson(input, Map.class);
-            } else if (input instanceof Set && input.getClass().isAnonymousClass()) {
-                return this.objectMapper.toJson(input, Set.class);
-            } else {
-                return this.objectMapper.toJson(input);
-            }
-        } catch (JsonParseException e) {
+            this.jsonCodec.toJson(input, type, json);
+        } catch (JsonParseException | IOException e) {
             throw PubNubException.builder()
                     .pubnubError(PubNubErrorBuilder.PNERROBJ_JSON_ERROR)
                     .errormsg(e.getMessage())
@@ -167,7 +218,7 @@ public class MapperManager {
     }
 
     @NotNull
-    private TypeAdapter<Boolean> getBooleanTypeAdapter() {
+    private static TypeAdapter<Boolean> getBooleanTypeAdapter() {
         return new TypeAdapter<Boolean>() {
             @Override
             public void write(JsonWriter out, Boolean value) throws IOException {
@@ -0,0 +1,192 @@
+package com.pubnub.api.managers;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.builder.PubNubErrorBuilder;
+import com.pubnub.api.models.consumer.PNMessageCompressionStatistics;
+import com.pubnub.api.vendor.Base64;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflates large published messages into an envelope, {@code {"pn_deflate":"<base64 of the deflated JSON>"}}, and
+ * inflates received envelopes back into the message, like {@code pn_other} carries encrypted content. Messages are
+ * compressed before they are encrypted and inflated after they are decrypted, so an encrypted message stays
+ * compressed.
+ * <p>
+ * Publishing compressed messages and inflating received envelopes are both enabled with
+ * {@link PNConfiguration#setMessageCompression(boolean)}; without it, received messages are left as they are.
+ */
+public class MessageCompressionManager {
+
+    public static final String COMPRESSED_FIELD = "pn_deflate";
+
+    /**
+     * inflated messages larger than this are rejected, so a small envelope can not expand without bounds.
+     */
+    private static final int MAXIMUM_INFLATED_BYTES = 16 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int BASE64_GROUP_BYTES = 3;
+    private static final int BASE64_GROUP_CHARS = 4;
+    private static final String ENVELOPE_START = "{\"" + COMPRESSED_FIELD + "\":\"";
+    private static final String ENVELOPE_END = "\"}";
+
+    private final PNConfiguration configuration;
+    private final MapperManager mapper;
+
+    private final AtomicLong compressedMessages = new AtomicLong();
+    private final AtomicLong uncompressedBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final AtomicLong inflatedMessages = new AtomicLong();
+
+    public MessageCompressionManager(PNConfiguration configuration, MapperManager mapper) {
+        this.configuration = configuration;
+        this.mapper = mapper;
+    }
+
+    /**
+     * @return true if published messages are compressed when they are large enough, and received ones inflated.
+     */
+    public boolean isEnabled() {
+        return configuration.isMessageCompression();
+    }
+
+    /**
+     * @param utf8 the message's JSON, from the buffer's position to its limit; the position is not changed.
+     * @return the JSON of the envelope carrying the message compressed, or null when compression is disabled, the
+     * message is smaller than {@link PNConfiguration#getMessageCompressionThreshold()} or does not get smaller.
+     */
+    @Nullable
+    public String compress(@NotNull ByteBuffer utf8) {
+        int length = utf8.remaining();
+        if (!isEnabled() || length < configuration.getMessageCompressionThreshold()) {
+            return null;
+        }
+
+        byte[] input;
+        int offset;
+        if (utf8.hasArray()) {
+            input = utf8.array();
+            offset = utf8.arrayOffset() + utf8.position();
+        } else {
+            input = new byte[length];
+            utf8.duplicate().get(input);
+            offset = 0;
+        }
+
+        byte[] deflated = deflate(input, offset, length);
+        int envelopeLength = ENVELOPE_START.length() + base64Length(deflated.length) + ENVELOPE_END.length();
+        if (envelopeLength >= length) {
+            return null;
+        }
+
+        compressedMessages.incrementAndGet();
+        uncompressedBytes.addAndGet(length);
+        compressedBytes.addAndGet(envelopeLength);
+        return ENVELOPE_START + new String(Base64.encode(deflated, Base64.NO_WRAP), StandardCharsets.US_ASCII)
+                + ENVELOPE_END;
+    }
+
+    /**
+     * @return the message carried by a compression envelope, or the message itself when it is not one or compression
+     * is disabled.
+     * @throws PubNubException {@link PubNubErrorBuilder#PNERROBJ_PARSING_ERROR} when an envelope can not be inflated;
+     *                         the caller keeps the envelope as the message.
+     */
+    @Nullable
+    public JsonElement inflate(@Nullable JsonElement message) throws PubNubException {
+        if (!isEnabled() || !isEnvelope(message)) {
+            return message;
+        }
+        try {
+            byte[] deflated = Base64.decode(message.getAsJsonObject().get(COMPRESSED_FIELD).getAsString(),
+                    Base64.NO_WRAP);
+            JsonElement inflated = mapper.fromJson(new String(inflate(deflated), StandardCharsets.UTF_8),
+                    JsonElement.class);
+            inflatedMessages.incrementAndGet();
+            return inflated;
+        } catch (IllegalArgumentException | DataFormatException e) {
+            throw PubNubException.builder()
+                    .pubnubError(PubNubErrorBuilder.PNERROBJ_PARSING_ERROR)
+                    .errormsg("Unable to inflate the message: " + e.getMessage())
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    @NotNull
+    public PNMessageCompressionStatistics getStatistics() {
+        long uncompressed = uncompressedBytes.get();
+        long compressed = compressedBytes.get();
+        return PNMessageCompressionStatistics.builder()
+                .compressedMessages(compressedMessages.get())
+                .uncompressedBytes(uncompressed)
+                .compressedBytes(compressed)
+                .compressionRatio(compressed > 0 ? (double) uncompressed / compressed : 0)
+                .inflatedMessages(inflatedMessages.get())
+                .build();
+    }
+
+    private static boolean isEnvelope(@Nullable JsonElement message) {
+        if (message == null || !message.isJsonObject()) {
+            return false;
+        }
+        JsonObject object = message.getAsJsonObject();
+        JsonElement compressed = object.get(COMPRESSED_FIELD);
+        return object.size() == 1 && compressed != null && compressed.isJsonPrimitive()
+                && compressed.getAsJsonPrimitive().isString();
+    }
+
+    private static byte[] deflate(byte[] input, int offset, int length) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(input, offset, length);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(BUFFER_SIZE);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] deflated) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(deflated);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(BUFFER_SIZE);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("truncated data");
+                }
+                if (output.size() + inflated > MAXIMUM_INFLATED_BYTES) {
+                    throw new DataFormatException("inflated message is larger than " + MAXIMUM_INFLATED_BYTES
+                            + " bytes");
+                }
+                output.write(buffer, 0, inflated);
+            }
+            return output.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static int base64Length(int bytes) {
+        return (bytes + BASE64_GROUP_BYTES - 1) / BASE64_GROUP_BYTES * BASE64_GROUP_CHARS;
+    }
+}
@@ -0,0 +1,287 @@
+package com.pubnub.api.managers;
+
+import com.pubnub.api.enums.PNNetworkPhase;
+import com.pubnub.api.enums.PNOperationType;
+import com.pubnub.api.models.consumer.PNLatencyHistogram;
+import com.pubnub.api.models.consumer.PNNetworkMetrics;
+import com.pubnub.api.models.consumer.PNOperationNetworkMetrics;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records how long each network phase of a request took, and whether it reused a pooled connection, into per
+ * operation histograms. Installed as the {@link EventListener.Factory} of every client when
+ * {@link com.pubnub.api.PNConfiguration#isNetworkMetrics()} is set.
+ * <p>
+ * OkHttp calls do not know which operation they belong to, so endpoints {@link #register} every call before sending
+ * it. Several operations share a service method, so the operation is kept per request rather than per method; calls
+ * which were not registered are not recorded.
+ */
+public class NetworkMetricsManager implements EventListener.Factory {
+
+    private static final long[] BUCKET_UPPER_BOUNDS_MILLIS = {
+            1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, Long.MAX_VALUE
+    };
+
+    /**
+     * Operation of each registered request which has not started yet. Requests compare by identity and are held
+     * weakly, so calls which are never sent do not pile up.
+     */
+    private final Map<Request, PNOperationType> operationTypes = Collections.synchronizedMap(new WeakHashMap<>());
+    private final ConcurrentMap<PNOperationType, OperationMetrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Associates the request of the call with the operation it performs.
+     */
+    public void register(@NotNull retrofit2.Call<?> call, @NotNull PNOperationType operationType) {
+        Request request;
+        try {
+            request = call.request();
+        } catch (RuntimeException e) {
+            // the request could not be built, the call will report it when executed
+            return;
+        }
+        operationTypes.put(request, operationType);
+    }
+
+    @NotNull
+    @Override
+    public EventListener create(@NotNull Call call) {
+        return new PhaseListener();
+    }
+
+    @NotNull
+    public PNNetworkMetrics getMetrics() {
+        Map<PNOperationType, PNOperationNetworkMetrics> operations = new EnumMap<>(PNOperationType.class);
+        for (Map.Entry<PNOperationType, OperationMetrics> entry : metrics.entrySet()) {
+            operations.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return PNNetworkMetrics.builder()
+                .operations(Collections.unmodifiableMap(operations))
+                .build();
+    }
+
+    @Nullable
+    private OperationMetrics resolve(Call call) {
+        PNOperationType operationType = operationTypes.remove(call.request());
+        if (operationType == null) {
+            return null;
+        }
+        OperationMetrics operationMetrics = metrics.get(operationType);
+        if (operationMetrics == null) {
+            metrics.putIfAbsent(operationType, new OperationMetrics());
+            operationMetrics = metrics.get(operationType);
+        }
+        return operationMetrics;
+    }
+
+    /**
+     * Follows the events of a single call. OkHttp reports the events of a call one after another, never concurrently.
+     */
+    private final class PhaseListener extends EventListener {
+        private OperationMetrics operation;
+        private long callStart;
+        private boolean queued = true;
+        private long dnsStart;
+        private long connectStart;
+        private long secureConnectStart;
+        private boolean connecting;
+        private long requestSent;
+        private long responseBodyStart;
+
+        @Override
+        public void callStart(@NotNull Call call) {
+            operation = resolve(call);
+            callStart = System.nanoTime();
+        }
+
+        @Override
+        public void proxySelectStart(@NotNull Call call, @NotNull HttpUrl url) {
+            leaveQueue();
+        }
+
+        @Override
+        public void dnsStart(@NotNull Call call, @NotNull String domainName) {
+            leaveQueue();
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(@NotNull Call call, @NotNull String domainName, @NotNull List<InetAddress> addresses) {
+            record(PNNetworkPhase.DNS, dnsStart);
+        }
+
+        @Override
+        public void connectStart(@NotNull Call call, @NotNull InetSocketAddress address, @NotNull Proxy proxy) {
+            leaveQueue();
+            connecting = true;
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(@NotNull Call call) {
+            secureConnectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(@NotNull Call call, @Nullable Handshake handshake) {
+            record(PNNetworkPhase.TLS, secureConnectStart);
+        }
+
+        @Override
+        public void connectEnd(@NotNull Call call,
+                               @NotNull InetSocketAddress address,
+                               @NotNull Proxy proxy,
+                               @Nullable Protocol protocol) {
+            record(PNNetworkPhase.CONNECT, connectStart);
+        }
+
+        @Override
+        public void connectionAcquired(@NotNull Call call, @NotNull Connection connection) {
+            leaveQueue();
+            if (operation != null) {
+                (connecting ? operation.newConnections : operation.reusedConnections).incrementAndGet();
+            }
+            connecting = false;
+        }
+
+        @Override
+        public void requestHeadersEnd(@NotNull Call call, @NotNull Request request) {
+            requestSent = System.nanoTime();
+        }
+
+        @Override
+        public void requestBodyEnd(@NotNull Call call, long byteCount) {
+            requestSent = System.nanoTime();
+        }
+
+        @Override
+        public void responseHeadersStart(@NotNull Call call) {
+            if (requestSent != 0) {
+                record(PNNetworkPhase.SERVER, requestSent);
+            }
+        }
+
+        @Override
+        public void responseHeadersEnd(@NotNull Call call, @NotNull Response response) {
+            requestSent = 0;
+        }
+
+        @Override
+        public void responseBodyStart(@NotNull Call call) {
+            responseBodyStart = System.nanoTime();
+        }
+
+        @Override
+        public void responseBodyEnd(@NotNull Call call, long byteCount) {
+            record(PNNetworkPhase.DOWNLOAD, responseBodyStart);
+        }
+
+        @Override
+        public void callEnd(@NotNull Call call) {
+            record(PNNetworkPhase.TOTAL, callStart);
+        }
+
+        @Override
+        public void callFailed(@NotNull Call call, @NotNull IOException ioe) {
+            if (operation != null) {
+                operation.failedCalls.incrementAndGet();
+            }
+        }
+
+        private void leaveQueue() {
+            if (queued) {
+                queued = false;
+                record(PNNetworkPhase.QUEUE, callStart);
+            }
+        }
+
+        private void record(PNNetworkPhase phase, long startedAt) {
+            if (operation != null) {
+                operation.histograms.get(phase).record(System.nanoTime() - startedAt);
+            }
+        }
+    }
+
+    private static final class OperationMetrics {
+        private final Map<PNNetworkPhase, Histogram> histograms = new EnumMap<>(PNNetworkPhase.class);
+        private final AtomicLong reusedConnections = new AtomicLong();
+        private final AtomicLong newConnections = new AtomicLong();
+        private final AtomicLong failedCalls = new AtomicLong();
+
+        private OperationMetrics() {
+            for (PNNetworkPhase phase : PNNetworkPhase.values()) {
+                histograms.put(phase, new Histogram());
+            }
+        }
+
+        private PNOperationNetworkMetrics snapshot() {
+            Map<PNNetworkPhase, PNLatencyHistogram> phases = new EnumMap<>(PNNetworkPhase.class);
+            for (Map.Entry<PNNetworkPhase, Histogram> entry : histograms.entrySet()) {
+                phases.put(entry.getKey(), entry.getValue().snapshot());
+            }
+            return PNOperationNetworkMetrics.builder()
+                    .phases(Collections.unmodifiableMap(phases))
+                    .reusedConnections(reusedConnections.get())
+                    .newConnections(newConnections.get())
+                    .failedCalls(failedCalls.get())
+                    .build();
+        }
+    }
+
+    private static final class Histogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_UPPER_BOUNDS_MILLIS.length);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void record(long nanos) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(Math.max(0, nanos));
+            int bucket = 0;
+            while (millis > BUCKET_UPPER_BOUNDS_MILLIS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        private PNLatencyHistogram snapshot() {
+            long[] bucketCounts = new long[buckets.length()];
+            for (int i = 0; i < bucketCounts.length; i++) {
+                bucketCounts[i] = buckets.get(i);
+            }
+            return PNLatencyHistogram.builder()
+                    .count(count.get())
+                    .totalNanos(totalNanos.get())
+                    .maxNanos(maxNanos.get())
+                    .bucketUpperBoundsMillis(BUCKET_UPPER_BOUNDS_MILLIS.clone())
+                    .bucketCounts(bucketCounts)
+                    .build();
+        }
+    }
+}
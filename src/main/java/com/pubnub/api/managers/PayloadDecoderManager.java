@@ -0,0 +1,159 @@
+package com.pubnub.api.managers;
+
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.builder.PubNubErrorBuilder;
+import com.pubnub.api.enums.PNMessageType;
+import com.pubnub.api.json.JsonCodec;
+import com.pubnub.api.json.PayloadDecoder;
+import lombok.AllArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Decoders turning message payloads into application types once, as messages are received, instead of every listener
+ * converting the {@link JsonElement} again. The decoded value is available from
+ * {@link com.pubnub.api.models.consumer.pubsub.MessageResult#getDecodedMessage()} and
+ * {@link com.pubnub.api.models.consumer.history.PNFetchMessageItem#getDecodedMessage()}.
+ * <p>
+ * A decoder is registered for a channel name, or for a pattern ending with {@code *} matching every channel starting
+ * with what comes before it, such as {@code sports.*}; {@code *} alone matches every channel. An exact channel wins
+ * over patterns, and the longest matching pattern wins over shorter ones; among equally specific registrations, one
+ * for the message type wins over one for any type, and otherwise the latest one.
+ */
+public class PayloadDecoderManager {
+
+    private static final String WILDCARD = "*";
+
+    private final MapperManager mapper;
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+
+    public PayloadDecoderManager(MapperManager mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Decodes payloads on matching channels with a custom decoder.
+     *
+     * @param channelPattern channel name, or pattern ending with {@code *}.
+     * @param messageType    type of messages to decode, or null for messages and signals.
+     */
+    public void register(@NotNull String channelPattern,
+                         @Nullable PNMessageType messageType,
+                         @NotNull PayloadDecoder<?> decoder) {
+        registrations.add(0, new Registration(channelPattern, messageType, decoder));
+    }
+
+    /**
+     * Decodes payloads on matching channels into a type with the configured {@link JsonCodec}. With the default Gson
+     * codec the payload is read straight from its tree, other codecs read its text.
+     *
+     * @param channelPattern channel name, or pattern ending with {@code *}.
+     * @param messageType    type of messages to decode, or null for messages and signals.
+     * @param type           class or parameterized type to decode to.
+     */
+    public void register(@NotNull String channelPattern, @Nullable PNMessageType messageType, @NotNull Type type) {
+        register(channelPattern, messageType, typeDecoder(type));
+    }
+
+    /**
+     * Removes the decoders registered for exactly this pattern and message type.
+     */
+    public void unregister(@NotNull String channelPattern, @Nullable PNMessageType messageType) {
+        registrations.removeIf(registration -> registration.pattern.equals(channelPattern)
+                && registration.messageType == messageType);
+    }
+
+    /**
+     * @return true if any decoder is registered.
+     */
+    public boolean hasDecoders() {
+        return !registrations.isEmpty();
+    }
+
+    /**
+     * @return the decoded payload, or null when no decoder matches the channel.
+     * @throws PubNubException {@link PubNubErrorBuilder#PNERROBJ_PARSING_ERROR} when the decoder failed.
+     */
+    @Nullable
+    public Object decode(@Nullable String channel, @NotNull PNMessageType messageType, @Nullable JsonElement payload)
+            throws PubNubException {
+        if (!hasDecoders() || channel == null || payload == null) {
+            return null;
+        }
+        Registration match = find(channel, messageType);
+        if (match == null) {
+            return null;
+        }
+        try {
+            return match.decoder.decode(payload);
+        } catch (Exception e) {
+            throw PubNubException.builder()
+                    .pubnubError(PubNubErrorBuilder.PNERROBJ_PARSING_ERROR)
+                    .errormsg(e.getMessage())
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    @Nullable
+    private Registration find(String channel, PNMessageType messageType) {
+        Registration best = null;
+        int bestRank = -1;
+        for (Registration registration : registrations) {
+            if (registration.messageType != null && registration.messageType != messageType) {
+                continue;
+            }
+            int rank = registration.rank(channel);
+            if (rank > bestRank) {
+                best = registration;
+                bestRank = rank;
+            }
+        }
+        return best;
+    }
+
+    private PayloadDecoder<?> typeDecoder(Type type) {
+        JsonCodec codec = mapper.getJsonCodec();
+        if (codec instanceof GsonJsonCodec) {
+            TypeAdapter<?> adapter = mapper.getObjectMapper().getAdapter(TypeToken.get(type));
+            return adapter::fromJsonTree;
+        }
+        return payload -> codec.fromJson(new StringReader(payload.toString()), type);
+    }
+
+    @AllArgsConstructor
+    private static final class Registration {
+        private final String pattern;
+        private final PNMessageType messageType;
+        private final PayloadDecoder<?> decoder;
+
+        /**
+         * @return how specifically this matches the channel, or -1 when it does not: twice the length of the
+         * matched name or prefix, plus one when the registration is for one message type.
+         */
+        int rank(String channel) {
+            int length;
+            if (pattern.endsWith(WILDCARD)) {
+                String prefix = pattern.substring(0, pattern.length() - WILDCARD.length());
+                if (!channel.startsWith(prefix)) {
+                    return -1;
+                }
+                length = prefix.length();
+            } else if (pattern.equals(channel)) {
+                // an exact name outranks any pattern matching the same channel
+                length = channel.length() + 1;
+            } else {
+                return -1;
+            }
+            return 2 * length + (messageType != null ? 1 : 0);
+        }
+    }
+}
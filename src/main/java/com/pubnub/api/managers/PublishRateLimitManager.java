@@ -0,0 +1,192 @@
+package com.pubnub.api.managers;
+
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.builder.PubNubErrorBuilder;
+import com.pubnub.api.enums.PNOperationType;
+import com.pubnub.api.models.consumer.PNPublishRateLimitStatistics;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client side token bucket limiter for publishes and signals. A keyset wide bucket and optional per channel buckets
+ * hand out tokens; a publish which finds no token is held back until one is available instead of being sent and
+ * rejected by the service, as long as the queue has room and the wait stays under the configured maximum.
+ */
+public class PublishRateLimitManager {
+
+    private static final double NANOS_IN_SECOND = 1_000_000_000.0;
+
+    private final TokenBucket keysetBucket;
+    private final Map<String, TokenBucket> channelBuckets = new HashMap<>();
+    private final int maximumQueuedPublishes;
+    private final long maximumWaitNanos;
+
+    private final SchedulerManager schedulerManager;
+
+    private int queued;
+    private long delayed;
+    private long rejected;
+    private long totalWaitNanos;
+    private long maximumWaitObservedNanos;
+
+    public PublishRateLimitManager(PNConfiguration configuration, SchedulerManager schedulerManager) {
+        this.schedulerManager = schedulerManager;
+        long now = System.nanoTime();
+        this.keysetBucket = configuration.getPublishRateLimit() > 0
+                ? new TokenBucket(configuration.getPublishRateLimit(), now)
+                : null;
+        if (configuration.getChannelPublishRateLimits() != null) {
+            for (Map.Entry<String, Double> entry : configuration.getChannelPublishRateLimits().entrySet()) {
+                if (entry.getValue() != null && entry.getValue() > 0) {
+                    channelBuckets.put(entry.getKey(), new TokenBucket(entry.getValue(), now));
+                }
+            }
+        }
+        this.maximumQueuedPublishes = configuration.getPublishRateLimitQueueSize();
+        this.maximumWaitNanos = TimeUnit.MILLISECONDS.toNanos(configuration.getPublishRateLimitMaxWait());
+    }
+
+    /**
+     * @param type     operation which is about to be sent.
+     * @param channels channels affected by the operation.
+     * @return true if the operation has to take a token before it is sent.
+     */
+    public boolean isLimited(PNOperationType type, List<String> channels) {
+        if (type != PNOperationType.PNPublishOperation && type != PNOperationType.PNSignalOperation) {
+            return false;
+        }
+        return keysetBucket != null
+                || (channels != null && channels.size() == 1 && channelBuckets.containsKey(channels.get(0)));
+    }
+
+    /**
+     * Take a token for a publish to the channel.
+     *
+     * @param channel target channel of the publish.
+     * @return how long, in nanoseconds, the publish has to be held back before it is sent.
+     * @throws PubNubException if the queue is full or the publish would have to wait longer than allowed.
+     */
+    public synchronized long reserve(String channel) throws PubNubException {
+        long now = System.nanoTime();
+        TokenBucket channelBucket = channelBuckets.get(channel);
+
+        long wait = 0;
+        if (keysetBucket != null) {
+            wait = keysetBucket.waitFor(now);
+        }
+        if (channelBucket != null) {
+            wait = Math.max(wait, channelBucket.waitFor(now));
+        }
+
+        if (wait > 0 && (queued >= maximumQueuedPublishes || wait > maximumWaitNanos)) {
+            rejected++;
+            throw PubNubException.builder()
+                    .pubnubError(PubNubErrorBuilder.PNERROBJ_PUBLISH_RATE_LIMIT_EXCEEDED)
+                    .errormsg(PubNubErrorBuilder.PNERROBJ_PUBLISH_RATE_LIMIT_EXCEEDED.getMessage())
+                    .build();
+        }
+
+        if (keysetBucket != null) {
+            keysetBucket.take(now);
+        }
+        if (channelBucket != null) {
+            channelBucket.take(now);
+        }
+
+        if (wait > 0) {
+            queued++;
+            delayed++;
+        }
+        return wait;
+    }
+
+    /**
+     * Block the calling thread for the time returned by {@link #reserve(String)}.
+     */
+    public void await(long waitNanos) throws PubNubException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw PubNubException.builder()
+                    .pubnubError(PubNubErrorBuilder.PNERROBJ_HTTP_ERROR)
+                    .errormsg(e.toString())
+                    .cause(e)
+                    .build();
+        } finally {
+            dequeued(waitNanos);
+        }
+    }
+
+    /**
+     * Run the task once the time returned by {@link #reserve(String)} has passed.
+     */
+    public void schedule(final long waitNanos, final Runnable task) {
+        schedulerManager.schedule(new Runnable() {
+            @Override
+            public void run() {
+                dequeued(waitNanos);
+                task.run();
+            }
+        }, waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public synchronized PNPublishRateLimitStatistics getStatistics() {
+        return PNPublishRateLimitStatistics.builder()
+                .queued(queued)
+                .delayed(delayed)
+                .rejected(rejected)
+                .totalQueueWaitMillis(TimeUnit.NANOSECONDS.toMillis(totalWaitNanos))
+                .maximumQueueWaitMillis(TimeUnit.NANOSECONDS.toMillis(maximumWaitObservedNanos))
+                .build();
+    }
+
+    private synchronized void dequeued(long waitNanos) {
+        queued--;
+        totalWaitNanos += waitNanos;
+        maximumWaitObservedNanos = Math.max(maximumWaitObservedNanos, waitNanos);
+    }
+
+    /**
+     * Bucket which holds at most one second worth of tokens and lends future tokens to waiting publishes.
+     */
+    private static final class TokenBucket {
+        private final double nanosPerToken;
+        private final double capacity;
+        private double storedTokens;
+        private long nextFreeNanos;
+
+        private TokenBucket(double tokensPerSecond, long now) {
+            this.nanosPerToken = NANOS_IN_SECOND / tokensPerSecond;
+            this.capacity = Math.max(1.0, tokensPerSecond);
+            this.storedTokens = capacity;
+            this.nextFreeNanos = now;
+        }
+
+        private void refill(long now) {
+            if (now > nextFreeNanos) {
+                storedTokens = Math.min(capacity, storedTokens + (now - nextFreeNanos) / nanosPerToken);
+                nextFreeNanos = now;
+            }
+        }
+
+        private long waitFor(long now) {
+            refill(now);
+            if (storedTokens >= 1.0) {
+                return Math.max(0, nextFreeNanos - now);
+            }
+            return Math.max(0, nextFreeNanos - now) + (long) ((1.0 - storedTokens) * nanosPerToken);
+        }
+
+        private void take(long now) {
+            refill(now);
+            double fromStore = Math.min(1.0, storedTokens);
+            storedTokens -= fromStore;
+            nextFreeNanos += (long) ((1.0 - fromStore) * nanosPerToken);
+        }
+    }
+}
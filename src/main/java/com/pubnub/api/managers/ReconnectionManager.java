@@ -10,9 +10,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Calendar;
-import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 
 
 @Slf4j
@@ -34,15 +33,16 @@ public class ReconnectionManager {
 
     private PNReconnectionPolicy pnReconnectionPolicy;
     private int maxConnectionRetries;
-    private final Random random = new Random();
+    private final SchedulerManager schedulerManager;
 
     /**
      * Timer for heartbeat operations.
      */
-    private Timer timer;
+    private ScheduledFuture<?> timer;
 
-    public ReconnectionManager(PubNub pubnub) {
+    public ReconnectionManager(PubNub pubnub, SchedulerManager schedulerManager) {
         this.pubnub = pubnub;
+        this.schedulerManager = schedulerManager;
         this.pnReconnectionPolicy = pubnub.getConfiguration().getReconnectionPolicy();
         this.maxConnectionRetries = pubnub.getConfiguration().getMaximumReconnectionRetries();
     }
@@ -75,9 +75,7 @@ public class ReconnectionManager {
             return;
         }
 
-        timer = new Timer("Reconnection Manager timer", true);
-
-        timer.schedule(new TimerTask() {
+        timer = schedulerManager.schedule(new Runnable() {
             @Override
             public void run() {
                 callTime();
@@ -97,8 +95,9 @@ public class ReconnectionManager {
             exponentialMultiplier++;
             timerInterval = (int) (Math.pow(2, exponentialMultiplier) - 1);
             if (timerInterval > MAX_EXPONENTIAL_BACKOFF) {
-                timerInterval = MIN_EXPONENTIAL_BACKOFF;
-                exponentialMultiplier = 1;
+                // stay at the longest backoff instead of starting over at the shortest one
+                timerInterval = MAX_EXPONENTIAL_BACKOFF;
+                exponentialMultiplier--;
                 log.debug("timerInterval > MAXEXPONENTIALBACKOFF at: " + Calendar.getInstance().getTime());
             } else if (timerInterval < 1) {
                 timerInterval = MIN_EXPONENTIAL_BACKOFF;
@@ -114,12 +113,12 @@ public class ReconnectionManager {
     }
 
     private int getRandomDelayInMilliSeconds() {
-        return random.nextInt(BOUND);
+        return ThreadLocalRandom.current().nextInt(BOUND);
     }
 
     private void stopHeartbeatTimer() {
         if (timer != null) {
-            timer.cancel();
+            timer.cancel(false);
             timer = null;
         }
     }
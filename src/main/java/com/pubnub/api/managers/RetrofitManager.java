@@ -6,6 +6,8 @@ import com.pubnub.api.callbacks.SubscribeCallback;
 import com.pubnub.api.endpoints.vendor.AppEngineFactory;
 import com.pubnub.api.enums.PNLogVerbosity;
 import com.pubnub.api.enums.PNStatusCategory;
+import com.pubnub.api.interceptors.OriginRoutingInterceptor;
+import com.pubnub.api.interceptors.RequestCompressionInterceptor;
 import com.pubnub.api.interceptors.SignatureInterceptor;
 import com.pubnub.api.models.consumer.PNStatus;
 import com.pubnub.api.services.*;
@@ -18,7 +20,6 @@ import retrofit2.Retrofit;
 
 import java.util.Collections;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 public class RetrofitManager {
@@ -27,133 +28,182 @@ public class RetrofitManager {
     private PubNub pubnub;
 
     private SignatureInterceptor signatureInterceptor;
-
-    private OkHttpClient transactionClientInstance;
-    private OkHttpClient subscriptionClientInstance;
-    private OkHttpClient noSignatureClientInstance;
-    private OkHttpClient presenceClientInstance;
-
-
-    // services
-    @Getter
-    private PresenceService presenceService;
-    @Getter
-    private HistoryService historyService;
-    @Getter
-    private PushService pushService;
-    @Getter
-    private AccessManagerService accessManagerService;
-    @Getter
-    private ChannelGroupService channelGroupService;
-    @Getter
-    private TimeService timeService;
     @Getter
-    private PublishService publishService;
-    @Getter
-    private SubscribeService subscribeService;
-    @Getter
-    private SignalService signalService;
-    @Getter
-    private UUIDMetadataService uuidMetadataService;
-    @Getter
-    private ChannelMetadataService channelMetadataService;
+    private final RequestCompressionInterceptor requestCompressionInterceptor;
+
     @Getter
-    private MessageActionService messageActionService;
+    private final ConcurrencyLimitManager concurrencyLimitManager;
     @Getter
-    private final FilesService filesService;
+    private final PublishRateLimitManager publishRateLimitManager;
     @Getter
-    private final S3Service s3Service;
+    private final BaseParamsManager baseParamsManager;
     @Getter
-    private final ExtendedPresenceService extendedPresenceService;
+    private final HedgingManager hedgingManager;
     @Getter
-    private final Retrofit transactionInstance;
+    private final NetworkMetricsManager networkMetricsManager;
     @Getter
-    private final Retrofit subscriptionInstance;
+    private final RetryManager retryManager;
     @Getter
-    private final Retrofit noSignatureInstance;
+    private final ThreadManager threadManager;
     @Getter
-    private final Retrofit presenceInstance;
+    private final SchedulerManager schedulerManager;
 
-    public RetrofitManager(PubNub pubNubInstance) {
-        this.pubnub = pubNubInstance;
+    private final BasePathManager basePathManager;
 
-        this.signatureInterceptor = new SignatureInterceptor(pubNubInstance);
+    // clients, services and their Retrofit instances are created with the first call which needs them
+    private volatile OkHttpClient transactionClientInstance;
+    private volatile OkHttpClient subscriptionClientInstance;
+    private volatile OkHttpClient noSignatureClientInstance;
+    private volatile OkHttpClient presenceClientInstance;
 
-        if (!pubNubInstance.getConfiguration().isGoogleAppEngineNetworking()) {
-            this.transactionClientInstance = createOkHttpClient(
-                    prepareOkHttpClient(
-                            this.pubnub.getConfiguration().getNonSubscribeRequestTimeout(),
-                            this.pubnub.getConfiguration().getConnectTimeout()
-                    ).addInterceptor(this.signatureInterceptor)
-                            .retryOnConnectionFailure(false)
-            );
+    // services
+    @Getter(lazy = true)
+    private final PresenceService presenceService = getPresenceInstance().create(PresenceService.class);
+    @Getter(lazy = true)
+    private final HistoryService historyService = getTransactionInstance().create(HistoryService.class);
+    @Getter(lazy = true)
+    private final PushService pushService = getTransactionInstance().create(PushService.class);
+    @Getter(lazy = true)
+    private final AccessManagerService accessManagerService =
+            getTransactionInstance().create(AccessManagerService.class);
+    @Getter(lazy = true)
+    private final ChannelGroupService channelGroupService = getTransactionInstance().create(ChannelGroupService.class);
+    @Getter(lazy = true)
+    private final TimeService timeService = getSubscriptionInstance().create(TimeService.class);
+    @Getter(lazy = true)
+    private final PublishService publishService = getTransactionInstance().create(PublishService.class);
+    @Getter(lazy = true)
+    private final SubscribeService subscribeService = getSubscriptionInstance().create(SubscribeService.class);
+    @Getter(lazy = true)
+    private final SignalService signalService = getTransactionInstance().create(SignalService.class);
+    @Getter(lazy = true)
+    private final UUIDMetadataService uuidMetadataService = getTransactionInstance().create(UUIDMetadataService.class);
+    @Getter(lazy = true)
+    private final ChannelMetadataService channelMetadataService =
+            getTransactionInstance().create(ChannelMetadataService.class);
+    @Getter(lazy = true)
+    private final MessageActionService messageActionService =
+            getTransactionInstance().create(MessageActionService.class);
+    @Getter(lazy = true)
+    private final FilesService filesService = getTransactionInstance().create(FilesService.class);
+    @Getter(lazy = true)
+    private final S3Service s3Service = getNoSignatureInstance().create(S3Service.class);
+    @Getter(lazy = true)
+    private final ExtendedPresenceService extendedPresenceService =
+            getTransactionInstance().create(ExtendedPresenceService.class);
+    @Getter(lazy = true)
+    private final Retrofit transactionInstance = createRetrofit(transactionClient());
+    @Getter(lazy = true)
+    private final Retrofit subscriptionInstance = createRetrofit(subscriptionClient());
+    @Getter(lazy = true)
+    private final Retrofit noSignatureInstance = createRetrofit(noSignatureClient());
+    @Getter(lazy = true)
+    private final Retrofit presenceInstance = createRetrofit(presenceClient());
 
-            Dispatcher dispatcher = new Dispatcher();
-            dispatcher.setMaxRequestsPerHost(1);
+    public RetrofitManager(PubNub pubNubInstance) {
+        this(pubNubInstance, new BasePathManager(pubNubInstance.getConfiguration()));
+    }
 
-            this.presenceClientInstance = createOkHttpClient(
-                    prepareOkHttpClient(
-                            this.pubnub.getConfiguration().getNonSubscribeRequestTimeout(),
-                            this.pubnub.getConfiguration().getConnectTimeout()
-                    ).addInterceptor(this.signatureInterceptor)
-                            .retryOnConnectionFailure(false)
-                            .dispatcher(dispatcher)
-            );
+    public RetrofitManager(PubNub pubNubInstance, BasePathManager basePathManager) {
+        this.pubnub = pubNubInstance;
+        this.basePathManager = basePathManager;
 
-            this.subscriptionClientInstance = createOkHttpClient(
-                    prepareOkHttpClient(
-                            this.pubnub.getConfiguration().getSubscribeTimeout(),
-                            this.pubnub.getConfiguration().getConnectTimeout()
-                    ).addInterceptor(this.signatureInterceptor)
-                            .retryOnConnectionFailure(false)
-            );
+        this.threadManager = new ThreadManager(pubNubInstance.getConfiguration());
+        this.schedulerManager = new SchedulerManager(this.threadManager);
 
-            this.noSignatureClientInstance = createOkHttpClient(
-                    prepareOkHttpClient(this.pubnub.getConfiguration().getSubscribeTimeout(),
-                            this.pubnub.getConfiguration().getConnectTimeout()
-                    ).retryOnConnectionFailure(false)
-            );
+        this.signatureInterceptor = new SignatureInterceptor(pubNubInstance);
+        this.requestCompressionInterceptor = new RequestCompressionInterceptor(
+                pubNubInstance.getConfiguration().getRequestCompressionThreshold());
+        this.concurrencyLimitManager = new ConcurrencyLimitManager(pubNubInstance.getConfiguration());
+        this.publishRateLimitManager = new PublishRateLimitManager(pubNubInstance.getConfiguration(),
+                this.schedulerManager);
+        this.baseParamsManager = new BaseParamsManager(pubNubInstance);
+        this.hedgingManager = new HedgingManager(pubNubInstance.getConfiguration(), this.schedulerManager);
+        this.networkMetricsManager = new NetworkMetricsManager();
+        this.retryManager = new RetryManager(pubNubInstance.getConfiguration());
 
+        if (!pubNubInstance.getConfiguration().isGoogleAppEngineNetworking()) {
             //Because our users can think that PNStatusCategory.PNReconnectedCategory is about the whole
             //PubNub library and not only about the subscription loop just for safety we're going to
             //evict possibly broken connections for transactional calls
             this.pubnub.addListener(new SubscribeCallback.BaseSubscribeCallback() {
                 @Override
                 public void status(@NotNull final PubNub pubnub, @NotNull final PNStatus pnStatus) {
-                    if (pnStatus.getCategory() == PNStatusCategory.PNReconnectedCategory) {
-                        //On Android this callback is run on main thread therefore this thread is necessary
-                        Executors.newSingleThreadExecutor().execute(new Runnable() {
+                    final OkHttpClient transactionClient = transactionClientInstance;
+                    if (pnStatus.getCategory() == PNStatusCategory.PNReconnectedCategory
+                            && transactionClient != null) {
+                        //On Android this callback is run on main thread therefore this is done on the scheduler
+                        schedulerManager.execute(new Runnable() {
                             @Override
                             public void run() {
-                                transactionClientInstance.connectionPool().evictAll();
+                                transactionClient.connectionPool().evictAll();
                             }
                         });
                     }
                 }
             });
         }
+    }
+
+    private synchronized OkHttpClient transactionClient() {
+        if (transactionClientInstance == null && !pubnub.getConfiguration().isGoogleAppEngineNetworking()) {
+            OkHttpClient.Builder transactionClientBuilder = prepareOkHttpClient(
+                    this.pubnub.getConfiguration().getNonSubscribeRequestTimeout(),
+                    this.pubnub.getConfiguration().getConnectTimeout()
+            ).addInterceptor(this.signatureInterceptor)
+                    .retryOnConnectionFailure(false);
+            if (this.pubnub.getConfiguration().isRequestCompression()) {
+                // after the signature interceptor, which signs the plain body
+                transactionClientBuilder.addInterceptor(this.requestCompressionInterceptor);
+            }
+            transactionClientInstance = createOkHttpClient(
+                    addOriginRouting(transactionClientBuilder, basePathManager, true));
+        }
+        return transactionClientInstance;
+    }
+
+    private synchronized OkHttpClient presenceClient() {
+        if (presenceClientInstance == null && !pubnub.getConfiguration().isGoogleAppEngineNetworking()) {
+            OkHttpClient presenceClient = addOriginRouting(
+                    prepareOkHttpClient(
+                            this.pubnub.getConfiguration().getNonSubscribeRequestTimeout(),
+                            this.pubnub.getConfiguration().getConnectTimeout()
+                    ).addInterceptor(this.signatureInterceptor)
+                            .retryOnConnectionFailure(false),
+                    basePathManager,
+                    true
+            ).build();
+            // on the dispatcher prepareOkHttpClient installed, before the configured maximum connections override it
+            presenceClient.dispatcher().setMaxRequestsPerHost(1);
+            presenceClientInstance = configureMaximumConnections(presenceClient);
+        }
+        return presenceClientInstance;
+    }
 
-        this.transactionInstance = createRetrofit(this.transactionClientInstance);
-        this.subscriptionInstance = createRetrofit(this.subscriptionClientInstance);
-        this.noSignatureInstance = createRetrofit(this.noSignatureClientInstance);
-        this.presenceInstance = createRetrofit(this.presenceClientInstance);
-
-        this.presenceService = presenceInstance.create(PresenceService.class);
-        this.historyService = transactionInstance.create(HistoryService.class);
-        this.pushService = transactionInstance.create(PushService.class);
-        this.accessManagerService = transactionInstance.create(AccessManagerService.class);
-        this.channelGroupService = transactionInstance.create(ChannelGroupService.class);
-        this.publishService = transactionInstance.create(PublishService.class);
-        this.subscribeService = subscriptionInstance.create(SubscribeService.class);
-        this.timeService = subscriptionInstance.create(TimeService.class);
-        this.signalService = transactionInstance.create(SignalService.class);
-        this.uuidMetadataService = transactionInstance.create(UUIDMetadataService.class);
-        this.channelMetadataService = transactionInstance.create(ChannelMetadataService.class);
-        this.messageActionService = transactionInstance.create(MessageActionService.class);
-        this.filesService = transactionInstance.create(FilesService.class);
-        this.s3Service = noSignatureInstance.create(S3Service.class);
-        this.extendedPresenceService = transactionInstance.create(ExtendedPresenceService.class);
+    private synchronized OkHttpClient subscriptionClient() {
+        if (subscriptionClientInstance == null && !pubnub.getConfiguration().isGoogleAppEngineNetworking()) {
+            subscriptionClientInstance = createOkHttpClient(addOriginRouting(
+                    prepareOkHttpClient(
+                            this.pubnub.getConfiguration().getSubscribeTimeout(),
+                            this.pubnub.getConfiguration().getConnectTimeout()
+                    ).addInterceptor(this.signatureInterceptor)
+                            .retryOnConnectionFailure(false),
+                    basePathManager,
+                    false
+            ));
+        }
+        return subscriptionClientInstance;
+    }
 
+    private synchronized OkHttpClient noSignatureClient() {
+        if (noSignatureClientInstance == null && !pubnub.getConfiguration().isGoogleAppEngineNetworking()) {
+            noSignatureClientInstance = createOkHttpClient(
+                    prepareOkHttpClient(this.pubnub.getConfiguration().getSubscribeTimeout(),
+                            this.pubnub.getConfiguration().getConnectTimeout()
+                    ).retryOnConnectionFailure(false)
+            );
+        }
+        return noSignatureClientInstance;
     }
 
     private OkHttpClient.Builder prepareOkHttpClient(int requestTimeout, int connectTimeOut) {
@@ -162,6 +212,14 @@ public class RetrofitManager {
         httpClient.readTimeout(requestTimeout, TimeUnit.SECONDS);
         httpClient.connectTimeout(connectTimeOut, TimeUnit.SECONDS);
 
+        if (this.threadManager.isVirtual()) {
+            httpClient.dispatcher(createDispatcher());
+        }
+
+        if (pnConfiguration.isNetworkMetrics()) {
+            httpClient.eventListenerFactory(this.networkMetricsManager);
+        }
+
         if (pubnub.getConfiguration().getLogVerbosity() == PNLogVerbosity.BODY) {
             HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
             logging.setLevel(HttpLoggingInterceptor.Level.BODY);
@@ -205,9 +263,26 @@ public class RetrofitManager {
         return httpClient;
     }
 
+    private Dispatcher createDispatcher() {
+        ExecutorService executorService = this.threadManager.newDispatcherExecutor("PubNub OkHttp Dispatcher");
+        return executorService != null ? new Dispatcher(executorService) : new Dispatcher();
+    }
+
+    private OkHttpClient.Builder addOriginRouting(OkHttpClient.Builder httpClient,
+                                                  BasePathManager basePathManager,
+                                                  boolean recordLatency) {
+        if (basePathManager.isOriginRoutingEnabled()) {
+            // last, so a failover does not sign or compress the request again
+            httpClient.addInterceptor(new OriginRoutingInterceptor(basePathManager, recordLatency));
+        }
+        return httpClient;
+    }
+
     private OkHttpClient createOkHttpClient(OkHttpClient.Builder httpClient) {
-        OkHttpClient constructedClient = httpClient.build();
+        return configureMaximumConnections(httpClient.build());
+    }
 
+    private OkHttpClient configureMaximumConnections(OkHttpClient constructedClient) {
         if (pubnub.getConfiguration().getMaximumConnections() != null) {
             constructedClient.dispatcher().setMaxRequestsPerHost(pubnub.getConfiguration().getMaximumConnections());
         }
@@ -239,7 +314,7 @@ public class RetrofitManager {
 
 
     public ExecutorService getTransactionClientExecutorService() {
-        return transactionClientInstance.dispatcher().executorService();
+        return transactionClient().dispatcher().executorService();
     }
 
     private void closeExecutor(OkHttpClient client, boolean force) {
@@ -252,6 +327,9 @@ public class RetrofitManager {
     }
 
     public void destroy(boolean force) {
+        if (force) {
+            this.schedulerManager.destroy();
+        }
         if (this.transactionClientInstance != null) {
             closeExecutor(this.transactionClientInstance, force);
         }
@@ -261,5 +339,8 @@ public class RetrofitManager {
         if (this.noSignatureClientInstance != null) {
             closeExecutor(this.noSignatureClientInstance, force);
         }
+        if (this.presenceClientInstance != null) {
+            closeExecutor(this.presenceClientInstance, force);
+        }
     }
 }
@@ -0,0 +1,226 @@
+package com.pubnub.api.managers;
+
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.enums.PNOperationType;
+
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides when publishes, objects calls and history reads are retried after a transient failure. Retries wait a
+ * decorrelated jitter backoff and are paid from a budget which every retried operation refills by a fraction, so retry
+ * traffic stays a fixed share of the normal traffic. The budget starts full, so a new or quiet client can still retry
+ * a burst of failures. A circuit breaker per endpoint family makes requests fail fast
+ * after a run of transient failures, until a trial request after the cooldown succeeds.
+ */
+public class RetryManager {
+
+    /**
+     * Groups of endpoints sharing a circuit breaker.
+     */
+    public enum Family {
+        PUBLISH,
+        OBJECTS,
+        HISTORY
+    }
+
+    private static final Map<PNOperationType, Family> FAMILIES = new EnumMap<>(PNOperationType.class);
+
+    static {
+        FAMILIES.put(PNOperationType.PNPublishOperation, Family.PUBLISH);
+        FAMILIES.put(PNOperationType.PNSignalOperation, Family.PUBLISH);
+
+        FAMILIES.put(PNOperationType.PNSetUuidMetadataOperation, Family.OBJECTS);
+        FAMILIES.put(PNOperationType.PNGetUuidMetadataOperation, Family.OBJECTS);
+        FAMILIES.put(PNOperationType.PNGetAllUuidMetadataOperation, Family.OBJECTS);
+        FAMILIES.put(PNOperationType.PNRemoveUuidMetadataOperation, Family.OBJECTS);
+        FAMILIES.put(PNOperationType.PNSetChannelMetadataOperation, Family.OBJECTS);
+        FAMILIES.put(PNOperationType.PNGetChannelMetadataOperation, Family.OBJECTS);
+        FAMILIES.put(PNOperationType.PNGetAllChannelsMetadataOperation, Family.OBJECTS);
+        FAMILIES.put(PNOperationType.PNRemoveChannelMetadataOperation, Family.OBJECTS);
+        FAMILIES.put(PNOperationType.PNSetMembershipsOperation, Family.OBJECTS);
+        FAMILIES.put(PNOperationType.PNGetMembershipsOperation, Family.OBJECTS);
+        FAMILIES.put(PNOperationType.PNRemoveMembershipsOperation, Family.OBJECTS);
+        FAMILIES.put(PNOperationType.PNManageMembershipsOperation, Family.OBJECTS);
+        FAMILIES.put(PNOperationType.PNSetChannelMembersOperation, Family.OBJECTS);
+        FAMILIES.put(PNOperationType.PNGetChannelMembersOperation, Family.OBJECTS);
+        FAMILIES.put(PNOperationType.PNRemoveChannelMembersOperation, Family.OBJECTS);
+        FAMILIES.put(PNOperationType.PNManageChannelMembersOperation, Family.OBJECTS);
+
+        FAMILIES.put(PNOperationType.PNHistoryOperation, Family.HISTORY);
+        FAMILIES.put(PNOperationType.PNFetchMessagesOperation, Family.HISTORY);
+        FAMILIES.put(PNOperationType.PNMessageCountOperation, Family.HISTORY);
+        FAMILIES.put(PNOperationType.PNDeleteMessagesOperation, Family.HISTORY);
+    }
+
+    /**
+     * most retries which can be sent in a burst.
+     */
+    private static final double MAXIMUM_BUDGET = 10.0;
+    private static final int DECORRELATION_FACTOR = 3;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int HTTP_SERVER_ERROR = 500;
+
+    private final int maximumRetries;
+    private final long baseDelay;
+    private final long maximumDelay;
+    private final double budgetPerOperation;
+    private final int circuitBreakerThreshold;
+    private final long circuitBreakerCooldownNanos;
+
+    private final Map<Family, CircuitBreaker> circuitBreakers = new EnumMap<>(Family.class);
+    private double budget = MAXIMUM_BUDGET;
+    private long retries;
+
+    public RetryManager(PNConfiguration configuration) {
+        this.maximumRetries = Math.max(0, configuration.getAutomaticRetries());
+        this.baseDelay = Math.max(1, configuration.getRetryBaseDelay());
+        this.maximumDelay = Math.max(this.baseDelay, configuration.getRetryMaximumDelay());
+        this.budgetPerOperation = Math.max(0.0, configuration.getRetryBudget());
+        this.circuitBreakerThreshold = Math.max(0, configuration.getCircuitBreakerThreshold());
+        this.circuitBreakerCooldownNanos = TimeUnit.MILLISECONDS.toNanos(
+                Math.max(0, configuration.getCircuitBreakerCooldown()));
+        for (Family family : Family.values()) {
+            circuitBreakers.put(family, new CircuitBreaker());
+        }
+    }
+
+    /**
+     * @return true if requests of the operation are retried or guarded by a circuit breaker.
+     */
+    public boolean isManaged(PNOperationType type) {
+        return (maximumRetries > 0 || circuitBreakerThreshold > 0) && FAMILIES.containsKey(type);
+    }
+
+    /**
+     * Called once for every operation before its first request; refills the retry budget.
+     */
+    public synchronized void startOperation() {
+        budget = Math.min(MAXIMUM_BUDGET, budget + budgetPerOperation);
+    }
+
+    /**
+     * @return false while the circuit breaker of the operation's family is open and requests have to fail fast.
+     */
+    public synchronized boolean allowRequest(PNOperationType type) {
+        Family family = FAMILIES.get(type);
+        return family == null || circuitBreakerThreshold <= 0 || circuitBreakers.get(family).allow(System.nanoTime());
+    }
+
+    /**
+     * @param retriesSoFar retries already sent for the operation.
+     * @return true if another retry may be sent, which is then accounted for.
+     */
+    public synchronized boolean tryRetry(PNOperationType type, int retriesSoFar) {
+        if (retriesSoFar >= maximumRetries || budget < 1.0 || !allowRequest(type)) {
+            return false;
+        }
+        budget -= 1.0;
+        retries++;
+        return true;
+    }
+
+    /**
+     * Records the outcome of a request for the circuit breaker of the operation's family.
+     *
+     * @param transientFailure whether the request failed in a way worth retrying.
+     */
+    public synchronized void recordResult(PNOperationType type, boolean transientFailure) {
+        Family family = FAMILIES.get(type);
+        if (family == null || circuitBreakerThreshold <= 0) {
+            return;
+        }
+        CircuitBreaker circuitBreaker = circuitBreakers.get(family);
+        if (transientFailure) {
+            circuitBreaker.failed(System.nanoTime());
+        } else {
+            circuitBreaker.succeeded();
+        }
+    }
+
+    /**
+     * Decorrelated jitter: a random wait between the base delay and three times the previous one, capped.
+     *
+     * @param previousDelayMillis wait before the previous retry, or 0 before the first one.
+     * @param retryAfterMillis wait the server asked for, or 0.
+     * @return in milliseconds, how long to wait before the next retry.
+     */
+    public long nextDelay(long previousDelayMillis, long retryAfterMillis) {
+        long upper = Math.max(baseDelay, previousDelayMillis * DECORRELATION_FACTOR);
+        long delay = Math.min(maximumDelay, ThreadLocalRandom.current().nextLong(baseDelay, upper + 1));
+        return Math.min(maximumDelay, Math.max(delay, retryAfterMillis));
+    }
+
+    /**
+     * @return true for connection failures (including refused and reset ones), DNS failures and timeouts.
+     */
+    public static boolean isTransient(Throwable failure) {
+        return failure instanceof SocketTimeoutException
+                || failure instanceof SocketException
+                || failure instanceof UnknownHostException;
+    }
+
+    /**
+     * @return true for 5xx and 429 responses.
+     */
+    public static boolean isTransient(int statusCode) {
+        return statusCode == HTTP_TOO_MANY_REQUESTS || statusCode >= HTTP_SERVER_ERROR;
+    }
+
+    /**
+     * @return retries sent so far.
+     */
+    public synchronized long getRetries() {
+        return retries;
+    }
+
+    /**
+     * @return true while the circuit breaker of the family is open.
+     */
+    public synchronized boolean isOpen(Family family) {
+        return circuitBreakers.get(family).openedAt != 0;
+    }
+
+    private final class CircuitBreaker {
+        private int consecutiveFailures;
+        /**
+         * {@link System#nanoTime()} the breaker opened at, 0 while closed.
+         */
+        private long openedAt;
+        private long trialStartedAt;
+
+        private boolean allow(long now) {
+            if (openedAt == 0) {
+                return true;
+            }
+            if (now - openedAt < circuitBreakerCooldownNanos) {
+                return false;
+            }
+            // half open: one trial request at a time, a lost trial is replaced after another cooldown
+            if (trialStartedAt != 0 && now - trialStartedAt < circuitBreakerCooldownNanos) {
+                return false;
+            }
+            trialStartedAt = now;
+            return true;
+        }
+
+        private void succeeded() {
+            consecutiveFailures = 0;
+            openedAt = 0;
+            trialStartedAt = 0;
+        }
+
+        private void failed(long now) {
+            consecutiveFailures++;
+            if (trialStartedAt != 0 || consecutiveFailures >= circuitBreakerThreshold) {
+                openedAt = now;
+                trialStartedAt = 0;
+            }
+        }
+    }
+}
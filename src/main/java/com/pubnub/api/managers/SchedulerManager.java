@@ -0,0 +1,60 @@
+package com.pubnub.api.managers;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single scheduler thread of a client which runs the heartbeat, reconnection, retry, hedging, publish rate limit and
+ * clean up timers, instead of every timer starting a thread of its own. Tasks have to be short and must not block,
+ * long running work is handed over to the async network calls. The thread is only started once something is
+ * scheduled and stops again after being idle for a while, so an unused client does not keep a thread.
+ */
+public class SchedulerManager {
+
+    private static final long IDLE_THREAD_KEEP_ALIVE_SECONDS = 10;
+
+    private final ScheduledThreadPoolExecutor executor;
+
+    public SchedulerManager(final ThreadManager threadManager) {
+        this.executor = new ScheduledThreadPoolExecutor(1,
+                runnable -> threadManager.newThread(runnable, "PubNub Scheduler"));
+        this.executor.setRemoveOnCancelPolicy(true);
+        this.executor.setKeepAliveTime(IDLE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @return handle to cancel the task with.
+     */
+    @NotNull
+    public ScheduledFuture<?> schedule(@NotNull Runnable task, long delayMillis) {
+        return schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return handle to cancel the task with.
+     */
+    @NotNull
+    public ScheduledFuture<?> schedule(@NotNull Runnable task, long delay, @NotNull TimeUnit unit) {
+        return executor.schedule(task, delay, unit);
+    }
+
+    /**
+     * @return handle to cancel the task with.
+     */
+    @NotNull
+    public ScheduledFuture<?> scheduleWithFixedDelay(@NotNull Runnable task, long initialDelayMillis, long delayMillis) {
+        return executor.scheduleWithFixedDelay(task, initialDelayMillis, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void execute(@NotNull Runnable task) {
+        executor.execute(task);
+    }
+
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
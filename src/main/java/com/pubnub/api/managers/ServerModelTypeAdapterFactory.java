@@ -0,0 +1,1077 @@
+package com.pubnub.api.managers;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.pubnub.api.models.consumer.access_manager.PNAccessManagerKeyData;
+import com.pubnub.api.models.consumer.access_manager.PNAccessManagerKeysData;
+import com.pubnub.api.models.consumer.files.PNBaseFile;
+import com.pubnub.api.models.consumer.files.PNUploadedFile;
+import com.pubnub.api.models.consumer.history.PNFetchMessageItem;
+import com.pubnub.api.models.server.DeleteMessagesEnvelope;
+import com.pubnub.api.models.server.Envelope;
+import com.pubnub.api.models.server.FetchMessagesEnvelope;
+import com.pubnub.api.models.server.OriginationMetaData;
+import com.pubnub.api.models.server.PresenceEnvelope;
+import com.pubnub.api.models.server.PublishMetaData;
+import com.pubnub.api.models.server.SubscribeEnvelope;
+import com.pubnub.api.models.server.SubscribeMessage;
+import com.pubnub.api.models.server.SubscribeMetadata;
+import com.pubnub.api.models.server.access_manager.AccessManagerGrantPayload;
+import com.pubnub.api.models.server.access_manager.v3.RevokeTokenResponse;
+import com.pubnub.api.models.server.files.FileUploadNotification;
+import com.pubnub.api.models.server.files.FormField;
+import com.pubnub.api.models.server.files.GeneratedUploadUrlResponse;
+import com.pubnub.api.models.server.files.ListFilesResult;
+import com.pubnub.api.models.server.objects_api.EntityArrayEnvelope;
+import com.pubnub.api.models.server.objects_api.EntityEnvelope;
+import com.pubnub.api.models.server.presence.WhereNowPayload;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming adapters for the server models read on every subscribe, history and presence response, and for the
+ * envelopes of the objects, access manager and files responses, so those are decoded field by field from the reader
+ * instead of through Gson's reflective field access. They read the same keys
+ * and accept the same values (numbers sent as strings, booleans sent as numbers) as the reflective adapters did and
+ * skip unknown keys. Writing, which the SDK never does for these models, is left to the reflective adapters.
+ */
+final class ServerModelTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        ServerModelAdapter<?> adapter;
+        if (rawType == SubscribeEnvelope.class) {
+            adapter = new SubscribeEnvelopeAdapter(gson);
+        } else if (rawType == SubscribeMessage.class) {
+            adapter = new SubscribeMessageAdapter(gson);
+        } else if (rawType == SubscribeMetadata.class) {
+            adapter = new SubscribeMetadataAdapter(gson);
+        } else if (rawType == PublishMetaData.class) {
+            adapter = new PublishMetaDataAdapter(gson);
+        } else if (rawType == OriginationMetaData.class) {
+            adapter = new OriginationMetaDataAdapter(gson);
+        } else if (rawType == PresenceEnvelope.class) {
+            adapter = new PresenceEnvelopeAdapter(gson);
+        } else if (rawType == FetchMessagesEnvelope.class) {
+            adapter = new FetchMessagesEnvelopeAdapter(gson);
+        } else if (rawType == FetchMessagesEnvelope.FetchMessagesPage.class) {
+            adapter = new FetchMessagesPageAdapter(gson);
+        } else if (rawType == PNFetchMessageItem.class) {
+            adapter = new FetchMessageItemAdapter(gson);
+        } else if (rawType == PNFetchMessageItem.Action.class) {
+            adapter = new ActionAdapter(gson);
+        } else if (rawType == DeleteMessagesEnvelope.class) {
+            adapter = new DeleteMessagesEnvelopeAdapter(gson);
+        } else if (rawType == Envelope.class) {
+            adapter = new EnvelopeAdapter<>(gson, typeArgument(type.getType()));
+        } else if (rawType == EntityEnvelope.class) {
+            adapter = new EntityEnvelopeAdapter<>(gson, typeArgument(type.getType()));
+        } else if (rawType == EntityArrayEnvelope.class) {
+            adapter = new EntityArrayEnvelopeAdapter<>(gson, typeArgument(type.getType()));
+        } else if (rawType == WhereNowPayload.class) {
+            adapter = new WhereNowPayloadAdapter(gson);
+        } else if (rawType == AccessManagerGrantPayload.class) {
+            adapter = new AccessManagerGrantPayloadAdapter(gson);
+        } else if (rawType == PNAccessManagerKeyData.class) {
+            adapter = new AccessManagerKeyDataAdapter(gson);
+        } else if (rawType == RevokeTokenResponse.class) {
+            adapter = new RevokeTokenResponseAdapter(gson);
+        } else if (rawType == RevokeTokenResponse.RevokeTokenData.class) {
+            adapter = new RevokeTokenDataAdapter(gson);
+        } else if (rawType == GeneratedUploadUrlResponse.class) {
+            adapter = new GeneratedUploadUrlResponseAdapter(gson);
+        } else if (rawType == GeneratedUploadUrlResponse.FileUploadRequest.class) {
+            adapter = new FileUploadRequestAdapter(gson);
+        } else if (rawType == FormField.class) {
+            adapter = new FormFieldAdapter(gson);
+        } else if (rawType == ListFilesResult.class) {
+            adapter = new ListFilesResultAdapter(gson);
+        } else if (rawType == FileUploadNotification.class) {
+            adapter = new FileUploadNotificationAdapter(gson);
+        } else {
+            return null;
+        }
+        adapter.writer = new LazyWriter<>(gson, this, (TypeToken) type);
+        return (TypeAdapter<T>) adapter.nullSafe();
+    }
+
+    private static Type typeArgument(Type type) {
+        if (type instanceof ParameterizedType) {
+            return ((ParameterizedType) type).getActualTypeArguments()[0];
+        }
+        return Object.class;
+    }
+
+    /**
+     * Reads a model; writes are handed to the reflective adapter.
+     */
+    private abstract static class ServerModelAdapter<T> extends TypeAdapter<T> {
+        private LazyWriter<T> writer;
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            writer.get().write(out, value);
+        }
+    }
+
+    /**
+     * Reflective adapter, only looked up once a model is actually written.
+     */
+    private static final class LazyWriter<T> {
+        private final Gson gson;
+        private final TypeAdapterFactory skipPast;
+        private final TypeToken<T> type;
+        private volatile TypeAdapter<T> delegate;
+
+        private LazyWriter(Gson gson, TypeAdapterFactory skipPast, TypeToken<T> type) {
+            this.gson = gson;
+            this.skipPast = skipPast;
+            this.type = type;
+        }
+
+        private TypeAdapter<T> get() {
+            TypeAdapter<T> adapter = delegate;
+            if (adapter == null) {
+                adapter = gson.getDelegateAdapter(skipPast, type);
+                delegate = adapter;
+            }
+            return adapter;
+        }
+    }
+
+    private static final class SubscribeEnvelopeAdapter extends ServerModelAdapter<SubscribeEnvelope> {
+        private final TypeAdapter<List<SubscribeMessage>> messages;
+        private final TypeAdapter<SubscribeMetadata> metadata;
+
+        private SubscribeEnvelopeAdapter(Gson gson) {
+            this.messages = gson.getAdapter(new TypeToken<List<SubscribeMessage>>() { });
+            this.metadata = gson.getAdapter(SubscribeMetadata.class);
+        }
+
+        @Override
+        public SubscribeEnvelope read(JsonReader in) throws IOException {
+            List<SubscribeMessage> readMessages = null;
+            SubscribeMetadata readMetadata = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "m":
+                        readMessages = messages.read(in);
+                        break;
+                    case "t":
+                        readMetadata = metadata.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new SubscribeEnvelope(readMessages, readMetadata);
+        }
+    }
+
+    private static final class SubscribeMessageAdapter extends ServerModelAdapter<SubscribeMessage> {
+        private final TypeAdapter<String> strings;
+        private final TypeAdapter<Integer> integers;
+        private final TypeAdapter<JsonElement> elements;
+        private final TypeAdapter<OriginationMetaData> originationMetaData;
+        private final TypeAdapter<PublishMetaData> publishMetaData;
+
+        private SubscribeMessageAdapter(Gson gson) {
+            this.strings = gson.getAdapter(String.class);
+            this.integers = gson.getAdapter(Integer.class);
+            this.elements = gson.getAdapter(JsonElement.class);
+            this.originationMetaData = gson.getAdapter(OriginationMetaData.class);
+            this.publishMetaData = gson.getAdapter(PublishMetaData.class);
+        }
+
+        @Override
+        public SubscribeMessage read(JsonReader in) throws IOException {
+            SubscribeMessage.SubscribeMessageBuilder builder = SubscribeMessage.builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "a":
+                        builder.shard(strings.read(in));
+                        break;
+                    case "b":
+                        builder.subscriptionMatch(strings.read(in));
+                        break;
+                    case "c":
+                        builder.channel(strings.read(in));
+                        break;
+                    case "d":
+                        builder.payload(elements.read(in));
+                        break;
+                    case "f":
+                        builder.flags(strings.read(in));
+                        break;
+                    case "i":
+                        builder.issuingClientId(strings.read(in));
+                        break;
+                    case "k":
+                        builder.subscribeKey(strings.read(in));
+                        break;
+                    case "o":
+                        builder.originationMetadata(originationMetaData.read(in));
+                        break;
+                    case "p":
+                        builder.publishMetaData(publishMetaData.read(in));
+                        break;
+                    case "u":
+                        builder.userMetadata(elements.read(in));
+                        break;
+                    case "e":
+                        builder.type(integers.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return builder.build();
+        }
+    }
+
+    private static final class SubscribeMetadataAdapter extends ServerModelAdapter<SubscribeMetadata> {
+        private final TypeAdapter<Long> longs;
+        private final TypeAdapter<String> strings;
+
+        private SubscribeMetadataAdapter(Gson gson) {
+            this.longs = gson.getAdapter(Long.class);
+            this.strings = gson.getAdapter(String.class);
+        }
+
+        @Override
+        public SubscribeMetadata read(JsonReader in) throws IOException {
+            Long timetoken = null;
+            String region = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "t":
+                        timetoken = longs.read(in);
+                        break;
+                    case "r":
+                        region = strings.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new SubscribeMetadata(timetoken, region);
+        }
+    }
+
+    private static final class PublishMetaDataAdapter extends ServerModelAdapter<PublishMetaData> {
+        private final TypeAdapter<Long> longs;
+        private final TypeAdapter<Integer> integers;
+
+        private PublishMetaDataAdapter(Gson gson) {
+            this.longs = gson.getAdapter(Long.class);
+            this.integers = gson.getAdapter(Integer.class);
+        }
+
+        @Override
+        public PublishMetaData read(JsonReader in) throws IOException {
+            PublishMetaData publishMetaData = new PublishMetaData();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "t":
+                        publishMetaData.setPublishTimetoken(longs.read(in));
+                        break;
+                    case "r":
+                        publishMetaData.setRegion(integers.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return publishMetaData;
+        }
+    }
+
+    private static final class OriginationMetaDataAdapter extends ServerModelAdapter<OriginationMetaData> {
+        private final TypeAdapter<Long> longs;
+        private final TypeAdapter<Integer> integers;
+
+        private OriginationMetaDataAdapter(Gson gson) {
+            this.longs = gson.getAdapter(Long.class);
+            this.integers = gson.getAdapter(Integer.class);
+        }
+
+        @Override
+        public OriginationMetaData read(JsonReader in) throws IOException {
+            OriginationMetaData originationMetaData = new OriginationMetaData();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "t":
+                        originationMetaData.setTimetoken(longs.read(in));
+                        break;
+                    case "r":
+                        originationMetaData.setRegion(integers.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return originationMetaData;
+        }
+    }
+
+    private static final class PresenceEnvelopeAdapter extends ServerModelAdapter<PresenceEnvelope> {
+        private final TypeAdapter<String> strings;
+        private final TypeAdapter<Integer> integers;
+        private final TypeAdapter<Long> longs;
+        private final TypeAdapter<JsonElement> elements;
+
+        private PresenceEnvelopeAdapter(Gson gson) {
+            this.strings = gson.getAdapter(String.class);
+            this.integers = gson.getAdapter(Integer.class);
+            this.longs = gson.getAdapter(Long.class);
+            this.elements = gson.getAdapter(JsonElement.class);
+        }
+
+        @Override
+        public PresenceEnvelope read(JsonReader in) throws IOException {
+            PresenceEnvelope presenceEnvelope = new PresenceEnvelope();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "action":
+                        presenceEnvelope.setAction(strings.read(in));
+                        break;
+                    case "uuid":
+                        presenceEnvelope.setUuid(strings.read(in));
+                        break;
+                    case "occupancy":
+                        presenceEnvelope.setOccupancy(integers.read(in));
+                        break;
+                    case "timestamp":
+                        presenceEnvelope.setTimestamp(longs.read(in));
+                        break;
+                    case "data":
+                        presenceEnvelope.setData(elements.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return presenceEnvelope;
+        }
+    }
+
+    private static final class FetchMessagesEnvelopeAdapter extends ServerModelAdapter<FetchMessagesEnvelope> {
+        private final TypeAdapter<Map<String, List<PNFetchMessageItem>>> channels;
+        private final TypeAdapter<FetchMessagesEnvelope.FetchMessagesPage> more;
+
+        private FetchMessagesEnvelopeAdapter(Gson gson) {
+            this.channels = gson.getAdapter(new TypeToken<Map<String, List<PNFetchMessageItem>>>() { });
+            this.more = gson.getAdapter(FetchMessagesEnvelope.FetchMessagesPage.class);
+        }
+
+        @Override
+        public FetchMessagesEnvelope read(JsonReader in) throws IOException {
+            FetchMessagesEnvelope envelope = new FetchMessagesEnvelope();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "channels":
+                        envelope.setChannels(channels.read(in));
+                        break;
+                    case "more":
+                        envelope.setMore(more.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return envelope;
+        }
+    }
+
+    private static final class FetchMessagesPageAdapter
+            extends ServerModelAdapter<FetchMessagesEnvelope.FetchMessagesPage> {
+        private final TypeAdapter<Long> longs;
+        private final TypeAdapter<Integer> integers;
+
+        private FetchMessagesPageAdapter(Gson gson) {
+            this.longs = gson.getAdapter(Long.class);
+            this.integers = gson.getAdapter(Integer.class);
+        }
+
+        @Override
+        public FetchMessagesEnvelope.FetchMessagesPage read(JsonReader in) throws IOException {
+            FetchMessagesEnvelope.FetchMessagesPage page = new FetchMessagesEnvelope.FetchMessagesPage();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "start":
+                        page.setStart(longs.read(in));
+                        break;
+                    case "end":
+                        page.setEnd(longs.read(in));
+                        break;
+                    case "max":
+                        page.setMax(integers.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return page;
+        }
+    }
+
+    private static final class FetchMessageItemAdapter extends ServerModelAdapter<PNFetchMessageItem> {
+        private final TypeAdapter<JsonElement> elements;
+        private final TypeAdapter<Long> longs;
+        private final TypeAdapter<String> strings;
+        private final TypeAdapter<Integer> integers;
+        private final TypeAdapter<HashMap<String, HashMap<String, List<PNFetchMessageItem.Action>>>> actions;
+
+        private FetchMessageItemAdapter(Gson gson) {
+            this.elements = gson.getAdapter(JsonElement.class);
+            this.longs = gson.getAdapter(Long.class);
+            this.strings = gson.getAdapter(String.class);
+            this.integers = gson.getAdapter(Integer.class);
+            this.actions = gson.getAdapter(
+                    new TypeToken<HashMap<String, HashMap<String, List<PNFetchMessageItem.Action>>>>() { });
+        }
+
+        @Override
+        public PNFetchMessageItem read(JsonReader in) throws IOException {
+            PNFetchMessageItem.PNFetchMessageItemBuilder builder = PNFetchMessageItem.builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "message":
+                        builder.message(elements.read(in));
+                        break;
+                    case "meta":
+                        builder.meta(elements.read(in));
+                        break;
+                    case "timetoken":
+                        builder.timetoken(longs.read(in));
+                        break;
+                    case "actions":
+                        builder.actions(actions.read(in));
+                        break;
+                    case "uuid":
+                        builder.uuid(strings.read(in));
+                        break;
+                    case "message_type":
+                        builder.messageType(integers.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return builder.build();
+        }
+    }
+
+    private static final class ActionAdapter extends ServerModelAdapter<PNFetchMessageItem.Action> {
+        private final TypeAdapter<String> strings;
+
+        private ActionAdapter(Gson gson) {
+            this.strings = gson.getAdapter(String.class);
+        }
+
+        @Override
+        public PNFetchMessageItem.Action read(JsonReader in) throws IOException {
+            String uuid = null;
+            String actionTimetoken = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "uuid":
+                        uuid = strings.read(in);
+                        break;
+                    case "actionTimetoken":
+                        actionTimetoken = strings.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new PNFetchMessageItem.Action(uuid, actionTimetoken);
+        }
+    }
+
+    private static final class DeleteMessagesEnvelopeAdapter extends ServerModelAdapter<DeleteMessagesEnvelope> {
+        private final TypeAdapter<Integer> integers;
+        private final TypeAdapter<Boolean> booleans;
+        private final TypeAdapter<String> strings;
+
+        private DeleteMessagesEnvelopeAdapter(Gson gson) {
+            this.integers = gson.getAdapter(Integer.class);
+            this.booleans = gson.getAdapter(Boolean.class);
+            this.strings = gson.getAdapter(String.class);
+        }
+
+        @Override
+        public DeleteMessagesEnvelope read(JsonReader in) throws IOException {
+            DeleteMessagesEnvelope envelope = new DeleteMessagesEnvelope();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status":
+                        envelope.setStatus(integers.read(in));
+                        break;
+                    case "error":
+                        envelope.setError(readBoolean(booleans, in, envelope.isError()));
+                        break;
+                    case "error_message":
+                        envelope.setErrorMessage(strings.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return envelope;
+        }
+    }
+
+    private static final class EnvelopeAdapter<T> extends ServerModelAdapter<Envelope<T>> {
+        private final TypeAdapter<Integer> integers;
+        private final TypeAdapter<String> strings;
+        private final TypeAdapter<Boolean> booleans;
+        private final TypeAdapter<JsonElement> elements;
+        private final TypeAdapter<T> payload;
+
+        @SuppressWarnings("unchecked")
+        private EnvelopeAdapter(Gson gson, Type payloadType) {
+            this.integers = gson.getAdapter(Integer.class);
+            this.strings = gson.getAdapter(String.class);
+            this.booleans = gson.getAdapter(Boolean.class);
+            this.elements = gson.getAdapter(JsonElement.class);
+            this.payload = (TypeAdapter<T>) gson.getAdapter(TypeToken.get(payloadType));
+        }
+
+        @Override
+        public Envelope<T> read(JsonReader in) throws IOException {
+            Envelope<T> envelope = new Envelope<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status":
+                        envelope.setStatus(readInt(integers, in, envelope.getStatus()));
+                        break;
+                    case "message":
+                        envelope.setMessage(strings.read(in));
+                        break;
+                    case "service":
+                        envelope.setService(strings.read(in));
+                        break;
+                    case "payload":
+                        envelope.setPayload(payload.read(in));
+                        break;
+                    case "occupancy":
+                        envelope.setOccupancy(readInt(integers, in, envelope.getOccupancy()));
+                        break;
+                    case "uuids":
+                        envelope.setUuids(elements.read(in));
+                        break;
+                    case "action":
+                        envelope.setAction(strings.read(in));
+                        break;
+                    case "error":
+                        envelope.setError(readBoolean(booleans, in, envelope.isError()));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return envelope;
+        }
+    }
+
+    private static final class EntityEnvelopeAdapter<T> extends ServerModelAdapter<EntityEnvelope<T>> {
+        private final TypeAdapter<Integer> integers;
+        private final TypeAdapter<T> data;
+
+        @SuppressWarnings("unchecked")
+        private EntityEnvelopeAdapter(Gson gson, Type dataType) {
+            this.integers = gson.getAdapter(Integer.class);
+            this.data = (TypeAdapter<T>) gson.getAdapter(TypeToken.get(dataType));
+        }
+
+        @Override
+        public EntityEnvelope<T> read(JsonReader in) throws IOException {
+            EntityEnvelope<T> envelope = new EntityEnvelope<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status":
+                        envelope.setStatus(readInt(integers, in, envelope.getStatus()));
+                        break;
+                    case "data":
+                        envelope.setData(data.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return envelope;
+        }
+    }
+
+    private static final class EntityArrayEnvelopeAdapter<T> extends ServerModelAdapter<EntityArrayEnvelope<T>> {
+        private final TypeAdapter<Integer> integers;
+        private final TypeAdapter<String> strings;
+        private final TypeAdapter<List<T>> data;
+
+        @SuppressWarnings("unchecked")
+        private EntityArrayEnvelopeAdapter(Gson gson, Type dataType) {
+            this.integers = gson.getAdapter(Integer.class);
+            this.strings = gson.getAdapter(String.class);
+            this.data = (TypeAdapter<List<T>>) gson.getAdapter(TypeToken.getParameterized(List.class, dataType));
+        }
+
+        @Override
+        public EntityArrayEnvelope<T> read(JsonReader in) throws IOException {
+            EntityArrayEnvelope<T> envelope = new EntityArrayEnvelope<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status":
+                        envelope.setStatus(readInt(integers, in, envelope.getStatus()));
+                        break;
+                    case "data":
+                        envelope.setData(data.read(in));
+                        break;
+                    case "totalCount":
+                        envelope.setTotalCount(integers.read(in));
+                        break;
+                    case "next":
+                        envelope.setNext(strings.read(in));
+                        break;
+                    case "prev":
+                        envelope.setPrev(strings.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return envelope;
+        }
+    }
+
+    private static final class WhereNowPayloadAdapter extends ServerModelAdapter<WhereNowPayload> {
+        private final TypeAdapter<List<String>> channels;
+
+        private WhereNowPayloadAdapter(Gson gson) {
+            this.channels = gson.getAdapter(new TypeToken<List<String>>() { });
+        }
+
+        @Override
+        public WhereNowPayload read(JsonReader in) throws IOException {
+            WhereNowPayload payload = new WhereNowPayload();
+            in.beginObject();
+            while (in.hasNext()) {
+                if ("channels".equals(in.nextName())) {
+                    payload.setChannels(channels.read(in));
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return payload;
+        }
+    }
+
+    private static final class AccessManagerGrantPayloadAdapter extends ServerModelAdapter<AccessManagerGrantPayload> {
+        private final TypeAdapter<String> strings;
+        private final TypeAdapter<Integer> integers;
+        private final TypeAdapter<JsonElement> elements;
+        private final TypeAdapter<Map<String, PNAccessManagerKeysData>> keys;
+        private final TypeAdapter<Map<String, PNAccessManagerKeyData>> authKeys;
+
+        private AccessManagerGrantPayloadAdapter(Gson gson) {
+            this.strings = gson.getAdapter(String.class);
+            this.integers = gson.getAdapter(Integer.class);
+            this.elements = gson.getAdapter(JsonElement.class);
+            this.keys = gson.getAdapter(new TypeToken<Map<String, PNAccessManagerKeysData>>() { });
+            this.authKeys = gson.getAdapter(new TypeToken<Map<String, PNAccessManagerKeyData>>() { });
+        }
+
+        @Override
+        public AccessManagerGrantPayload read(JsonReader in) throws IOException {
+            AccessManagerGrantPayload payload = new AccessManagerGrantPayload();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "level":
+                        payload.setLevel(strings.read(in));
+                        break;
+                    case "ttl":
+                        payload.setTtl(readInt(integers, in, payload.getTtl()));
+                        break;
+                    case "subscribe_key":
+                        payload.setSubscribeKey(strings.read(in));
+                        break;
+                    case "channels":
+                        payload.setChannels(keys.read(in));
+                        break;
+                    case "channel-groups":
+                        payload.setChannelGroups(elements.read(in));
+                        break;
+                    case "uuids":
+                        payload.setUuids(keys.read(in));
+                        break;
+                    case "auths":
+                        payload.setAuthKeys(authKeys.read(in));
+                        break;
+                    case "channel":
+                        payload.setChannel(strings.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return payload;
+        }
+    }
+
+    private static final class AccessManagerKeyDataAdapter extends ServerModelAdapter<PNAccessManagerKeyData> {
+        private final TypeAdapter<Boolean> booleans;
+
+        private AccessManagerKeyDataAdapter(Gson gson) {
+            this.booleans = gson.getAdapter(Boolean.class);
+        }
+
+        @Override
+        public PNAccessManagerKeyData read(JsonReader in) throws IOException {
+            PNAccessManagerKeyData.PNAccessManagerKeyDataBuilder builder = PNAccessManagerKeyData.builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "r":
+                        builder.readEnabled(readBoolean(booleans, in, false));
+                        break;
+                    case "w":
+                        builder.writeEnabled(readBoolean(booleans, in, false));
+                        break;
+                    case "m":
+                        builder.manageEnabled(readBoolean(booleans, in, false));
+                        break;
+                    case "d":
+                        builder.deleteEnabled(readBoolean(booleans, in, false));
+                        break;
+                    case "g":
+                        builder.getEnabled(readBoolean(booleans, in, false));
+                        break;
+                    case "u":
+                        builder.updateEnabled(readBoolean(booleans, in, false));
+                        break;
+                    case "j":
+                        builder.joinEnabled(readBoolean(booleans, in, false));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return builder.build();
+        }
+    }
+
+    private static final class RevokeTokenResponseAdapter extends ServerModelAdapter<RevokeTokenResponse> {
+        private final TypeAdapter<Integer> integers;
+        private final TypeAdapter<String> strings;
+        private final TypeAdapter<RevokeTokenResponse.RevokeTokenData> data;
+
+        private RevokeTokenResponseAdapter(Gson gson) {
+            this.integers = gson.getAdapter(Integer.class);
+            this.strings = gson.getAdapter(String.class);
+            this.data = gson.getAdapter(RevokeTokenResponse.RevokeTokenData.class);
+        }
+
+        @Override
+        public RevokeTokenResponse read(JsonReader in) throws IOException {
+            int status = 0;
+            RevokeTokenResponse.RevokeTokenData readData = null;
+            String service = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status":
+                        status = readInt(integers, in, status);
+                        break;
+                    case "data":
+                        readData = data.read(in);
+                        break;
+                    case "service":
+                        service = strings.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new RevokeTokenResponse(status, readData, service);
+        }
+    }
+
+    private static final class RevokeTokenDataAdapter extends ServerModelAdapter<RevokeTokenResponse.RevokeTokenData> {
+        private final TypeAdapter<String> strings;
+
+        private RevokeTokenDataAdapter(Gson gson) {
+            this.strings = gson.getAdapter(String.class);
+        }
+
+        @Override
+        public RevokeTokenResponse.RevokeTokenData read(JsonReader in) throws IOException {
+            String message = null;
+            String token = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "message":
+                        message = strings.read(in);
+                        break;
+                    case "token":
+                        token = strings.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new RevokeTokenResponse.RevokeTokenData(message, token);
+        }
+    }
+
+    private static final class GeneratedUploadUrlResponseAdapter
+            extends ServerModelAdapter<GeneratedUploadUrlResponse> {
+        private final TypeAdapter<Integer> integers;
+        private final TypeAdapter<PNUploadedFile> files;
+        private final TypeAdapter<GeneratedUploadUrlResponse.FileUploadRequest> requests;
+
+        private GeneratedUploadUrlResponseAdapter(Gson gson) {
+            this.integers = gson.getAdapter(Integer.class);
+            this.files = gson.getAdapter(PNUploadedFile.class);
+            this.requests = gson.getAdapter(GeneratedUploadUrlResponse.FileUploadRequest.class);
+        }
+
+        @Override
+        public GeneratedUploadUrlResponse read(JsonReader in) throws IOException {
+            Integer status = null;
+            PNUploadedFile data = null;
+            GeneratedUploadUrlResponse.FileUploadRequest fileUploadRequest = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status":
+                        status = integers.read(in);
+                        break;
+                    case "data":
+                        data = files.read(in);
+                        break;
+                    case "file_upload_request":
+                        fileUploadRequest = requests.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new GeneratedUploadUrlResponse(status, data, fileUploadRequest);
+        }
+    }
+
+    private static final class FileUploadRequestAdapter
+            extends ServerModelAdapter<GeneratedUploadUrlResponse.FileUploadRequest> {
+        private final TypeAdapter<String> strings;
+        private final TypeAdapter<List<FormField>> formFields;
+
+        private FileUploadRequestAdapter(Gson gson) {
+            this.strings = gson.getAdapter(String.class);
+            this.formFields = gson.getAdapter(new TypeToken<List<FormField>>() { });
+        }
+
+        @Override
+        public GeneratedUploadUrlResponse.FileUploadRequest read(JsonReader in) throws IOException {
+            String url = null;
+            String method = null;
+            String expirationDate = null;
+            List<FormField> readFormFields = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "url":
+                        url = strings.read(in);
+                        break;
+                    case "method":
+                        method = strings.read(in);
+                        break;
+                    case "expiration_date":
+                        expirationDate = strings.read(in);
+                        break;
+                    case "form_fields":
+                        readFormFields = formFields.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new GeneratedUploadUrlResponse.FileUploadRequest(url, method, expirationDate, readFormFields);
+        }
+    }
+
+    private static final class FormFieldAdapter extends ServerModelAdapter<FormField> {
+        private final TypeAdapter<String> strings;
+
+        private FormFieldAdapter(Gson gson) {
+            this.strings = gson.getAdapter(String.class);
+        }
+
+        @Override
+        public FormField read(JsonReader in) throws IOException {
+            String key = null;
+            String value = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "key":
+                        key = strings.read(in);
+                        break;
+                    case "value":
+                        value = strings.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new FormField(key, value);
+        }
+    }
+
+    private static final class ListFilesResultAdapter extends ServerModelAdapter<ListFilesResult> {
+        private final TypeAdapter<Integer> integers;
+        private final TypeAdapter<String> strings;
+        private final TypeAdapter<Collection<PNUploadedFile>> files;
+
+        private ListFilesResultAdapter(Gson gson) {
+            this.integers = gson.getAdapter(Integer.class);
+            this.strings = gson.getAdapter(String.class);
+            this.files = gson.getAdapter(new TypeToken<Collection<PNUploadedFile>>() { });
+        }
+
+        @Override
+        public ListFilesResult read(JsonReader in) throws IOException {
+            int count = 0;
+            String next = null;
+            int status = 0;
+            Collection<PNUploadedFile> data = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "count":
+                        count = readInt(integers, in, count);
+                        break;
+                    case "next":
+                        next = strings.read(in);
+                        break;
+                    case "status":
+                        status = readInt(integers, in, status);
+                        break;
+                    case "data":
+                        data = files.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            if (data == null) {
+                throw new JsonParseException("list files response without data");
+            }
+            return new ListFilesResult(count, next, status, data);
+        }
+    }
+
+    private static final class FileUploadNotificationAdapter extends ServerModelAdapter<FileUploadNotification> {
+        private final TypeAdapter<Object> messages;
+        private final TypeAdapter<PNBaseFile> files;
+
+        private FileUploadNotificationAdapter(Gson gson) {
+            this.messages = gson.getAdapter(Object.class);
+            this.files = gson.getAdapter(PNBaseFile.class);
+        }
+
+        @Override
+        public FileUploadNotification read(JsonReader in) throws IOException {
+            Object message = null;
+            PNBaseFile file = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "message":
+                        message = messages.read(in);
+                        break;
+                    case "file":
+                        file = files.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new FileUploadNotification(message, file);
+        }
+    }
+
+    /**
+     * Like the reflective adapters, a null leaves a primitive field at its current value.
+     */
+    private static int readInt(TypeAdapter<Integer> integers, JsonReader in, int current) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+        return integers.read(in);
+    }
+
+    private static boolean readBoolean(TypeAdapter<Boolean> booleans, JsonReader in, boolean current)
+            throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+        return booleans.read(in);
+    }
+}
@@ -26,9 +26,8 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.pubnub.api.managers.StateManager.ChannelFilter.WITHOUT_TEMPORARY_UNAVAILABLE;
@@ -59,7 +58,7 @@ public class SubscriptionManager {
     /**
      * Timer for heartbeat operations.
      */
-    private Timer timer;
+    private ScheduledFuture<?> timer;
 
     final StateManager subscriptionState;
 
@@ -68,7 +67,7 @@ public class SubscriptionManager {
     private final DelayedReconnectionManager delayedReconnectionManager;
     private final RetrofitManager retrofitManager;
 
-    private Timer temporaryUnavailableChannelsDelayer;
+    private ScheduledFuture<?> temporaryUnavailableChannelsDelayer;
 
     private Thread consumerThread;
 
@@ -128,14 +127,19 @@ public class SubscriptionManager {
 
         this.delayedReconnectionManager.setReconnectionListener(reconnectionCallback);
         this.reconnectionManager.setReconnectionListener(reconnectionCallback);
+    }
 
-        if (this.pubnub.getConfiguration().isStartSubscriberThread()) {
-            consumerThread = new Thread(new SubscribeMessageWorker(
-                    listenerManager, messageQueue, new SubscribeMessageProcessor(this.pubnub, duplicationManager)));
-            consumerThread.setName("Subscription Manager Consumer Thread");
-            consumerThread.setDaemon(true);
-            consumerThread.start();
+    /**
+     * Starts the consumer thread with the first subscription, so clients which never subscribe do not start it.
+     */
+    private void startConsumerThread() {
+        if (consumerThread != null || !this.pubnub.getConfiguration().isStartSubscriberThread()) {
+            return;
         }
+        consumerThread = retrofitManager.getThreadManager().newThread(new SubscribeMessageWorker(
+                listenerManager, messageQueue, new SubscribeMessageProcessor(this.pubnub, duplicationManager)),
+                "Subscription Manager Consumer Thread");
+        consumerThread.start();
     }
 
     public void reconnect() {
@@ -161,7 +165,9 @@ public class SubscriptionManager {
     @Deprecated
     public synchronized void stop() {
         this.disconnect();
-        consumerThread.interrupt();
+        if (consumerThread != null) {
+            consumerThread.interrupt();
+        }
     }
 
     public synchronized void destroy(boolean forceDestroy) {
@@ -225,8 +231,7 @@ public class SubscriptionManager {
             return;
         }
 
-        timer = new Timer("Subscription Manager Heartbeat Timer", true);
-        timer.schedule(new TimerTask() {
+        timer = retrofitManager.getSchedulerManager().scheduleWithFixedDelay(new Runnable() {
             @Override
             public void run() {
                 performHeartbeatLoop(pubSubOperation);
@@ -237,7 +242,7 @@ public class SubscriptionManager {
 
     private void stopHeartbeatTimer() {
         if (timer != null) {
-            timer.cancel();
+            timer.cancel(false);
             timer = null;
         }
         if (heartbeatCall != null) {
@@ -249,7 +254,7 @@ public class SubscriptionManager {
 
     private synchronized void cancelDelayedLoopIterationForTemporaryUnavailableChannels() {
         if (temporaryUnavailableChannelsDelayer != null) {
-            temporaryUnavailableChannelsDelayer.cancel();
+            temporaryUnavailableChannelsDelayer.cancel(false);
             temporaryUnavailableChannelsDelayer = null;
         }
     }
@@ -257,8 +262,7 @@ public class SubscriptionManager {
     private void scheduleDelayedLoopIterationForTemporaryUnavailableChannels() {
         cancelDelayedLoopIterationForTemporaryUnavailableChannels();
 
-        temporaryUnavailableChannelsDelayer = new Timer("Subscription Manager TMP Unavailable Channel Delayer", true);
-        temporaryUnavailableChannelsDelayer.schedule(new TimerTask() {
+        temporaryUnavailableChannelsDelayer = retrofitManager.getSchedulerManager().schedule(new Runnable() {
             @Override
             public void run() {
                 startSubscribeLoop(PubSubOperation.NO_OP);
@@ -297,6 +301,7 @@ public class SubscriptionManager {
         if (!subscriptionStateData.isAnythingToSubscribe()) {
             return;
         }
+        startConsumerThread();
 
         if (subscriptionStateData.isSubscribedToOnlyTemporaryUnavailable()) {
             scheduleDelayedLoopIterationForTemporaryUnavailableChannels();
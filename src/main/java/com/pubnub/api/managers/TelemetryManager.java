@@ -5,23 +5,32 @@ import com.pubnub.api.enums.PNOperationType;
 import java.math.RoundingMode;
 import java.text.NumberFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
 
 public class TelemetryManager {
 
+    private final SchedulerManager schedulerManager;
+
     /**
-     * Timer for telemetry information clean up.
+     * Timer for telemetry information clean up, only running while there are latencies to clean up.
      */
-    private Timer timer;
+    private ScheduledFuture<?> timer;
+
+    private boolean stopped;
 
     private Map<String, List<Map<String, Double>>> latencies;
 
+    /**
+     * Cached result of {@link #operationsLatency()}, reset whenever latencies are stored or expire.
+     */
+    private Map<String, String> operationsLatency;
+
     private NumberFormat numberFormat = NumberFormat.getNumberInstance(Locale.US);
 
     private static final int MAX_FRACTION_DIGITS = 3;
@@ -32,17 +41,22 @@ public class TelemetryManager {
     private static final int CLEAN_UP_INTERVAL = 1;
     private static final int CLEAN_UP_INTERVAL_MULTIPLIER = 1000;
 
-    public TelemetryManager() {
+    public TelemetryManager(SchedulerManager schedulerManager) {
+        this.schedulerManager = schedulerManager;
         this.latencies = new HashMap<>();
 
         this.numberFormat.setMaximumFractionDigits(MAX_FRACTION_DIGITS);
         this.numberFormat.setRoundingMode(RoundingMode.HALF_UP);
         this.numberFormat.setGroupingUsed(false);
-
-        startCleanUpTimer();
     }
 
+    /**
+     * @return unmodifiable average latency per endpoint group, recomputed only after latencies changed.
+     */
     public synchronized Map<String, String> operationsLatency() {
+        if (this.operationsLatency != null) {
+            return this.operationsLatency;
+        }
         Map<String, String> operationLatencies = new HashMap<>();
         for (Map.Entry<String, List<Map<String, Double>>> entry : this.latencies.entrySet()) {
             String latencyKey = "l_".concat(entry.getKey());
@@ -51,7 +65,10 @@ public class TelemetryManager {
                 operationLatencies.put(latencyKey, numberFormat.format(endpointAverageLatency));
             }
         }
-        return operationLatencies;
+        this.operationsLatency = operationLatencies.isEmpty()
+                ? Collections.<String, String>emptyMap()
+                : Collections.unmodifiableMap(operationLatencies);
+        return this.operationsLatency;
     }
 
     public synchronized void storeLatency(long latency, PNOperationType type) {
@@ -70,6 +87,10 @@ public class TelemetryManager {
                 latencyEntry.put("d", storeDate);
                 latencyEntry.put("l", ((double) latency / TIMESTAMP_DIVIDER));
                 operationLatencies.add(latencyEntry);
+                this.operationsLatency = null;
+                if (this.timer == null && !this.stopped) {
+                    startCleanUpTimer();
+                }
             }
         }
     }
@@ -87,19 +108,21 @@ public class TelemetryManager {
             }
             if (outdatedLatencies.size() > 0) {
                 operationLatencies.removeAll(outdatedLatencies);
+                this.operationsLatency = null;
             }
             if (operationLatencies.size() == 0) {
                 this.latencies.remove(endpoint);
             }
         }
+        if (this.latencies.isEmpty()) {
+            cancelCleanUpTimer();
+        }
     }
 
     private void startCleanUpTimer() {
         long interval = CLEAN_UP_INTERVAL * CLEAN_UP_INTERVAL_MULTIPLIER;
 
-        stopCleanUpTimer();
-        this.timer = new Timer("Telemetry Manager timer", true);
-        this.timer.schedule(new TimerTask() {
+        this.timer = this.schedulerManager.scheduleWithFixedDelay(new Runnable() {
             @Override
             public void run() {
                 cleanUpTelemetryData();
@@ -107,9 +130,14 @@ public class TelemetryManager {
         }, interval, interval);
     }
 
-    public void stopCleanUpTimer() {
+    public synchronized void stopCleanUpTimer() {
+        this.stopped = true;
+        cancelCleanUpTimer();
+    }
+
+    private void cancelCleanUpTimer() {
         if (this.timer != null) {
-            this.timer.cancel();
+            this.timer.cancel(false);
             this.timer = null;
         }
     }
@@ -123,7 +151,7 @@ public class TelemetryManager {
         return totalLatency / endpointLatencies.size();
     }
 
-    private static String endpointNameForOperation(PNOperationType type) {
+    static String endpointNameForOperation(PNOperationType type) {
         String endpoint;
         switch (type) {
             case PNPublishOperation:
@@ -0,0 +1,117 @@
+package com.pubnub.api.managers;
+
+import com.pubnub.api.PNConfiguration;
+import lombok.extern.java.Log;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the threads and executors the SDK runs its own work and blocking calls on. When
+ * {@link PNConfiguration#isVirtualThreads()} is set and the runtime supports them (JDK 21 or newer) those are virtual
+ * threads, otherwise daemon platform threads as before. Virtual threads are looked up reflectively, so the SDK keeps
+ * running on older runtimes.
+ */
+@Log
+public class ThreadManager {
+
+    @Nullable
+    private static final VirtualThreads VIRTUAL_THREADS = VirtualThreads.lookup();
+
+    private final boolean virtual;
+
+    public ThreadManager(PNConfiguration configuration) {
+        this.virtual = configuration.isVirtualThreads() && VIRTUAL_THREADS != null;
+        if (configuration.isVirtualThreads() && VIRTUAL_THREADS == null) {
+            log.info("Virtual threads are not supported by this runtime, platform threads are used instead");
+        }
+    }
+
+    /**
+     * @return whether virtual threads are used.
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * @return unstarted thread running the runnable; platform threads are daemon threads.
+     */
+    @NotNull
+    public Thread newThread(@NotNull Runnable runnable, @NotNull String name) {
+        if (virtual) {
+            return VIRTUAL_THREADS.newFactory(name).newThread(runnable);
+        }
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * @return executor for the OkHttp dispatcher, or {@code null} to let OkHttp create its default one.
+     */
+    @Nullable
+    public ExecutorService newDispatcherExecutor(@NotNull String name) {
+        if (!virtual) {
+            return null;
+        }
+        // a thread per task: virtual threads are cheap to create and are not meant to be pooled
+        return VIRTUAL_THREADS.newThreadPerTaskExecutor(VIRTUAL_THREADS.newFactory(name));
+    }
+
+    /**
+     * Reflective access to {@code Thread.ofVirtual()} and {@code Executors.newThreadPerTaskExecutor()}.
+     */
+    private static final class VirtualThreads {
+        private final Method ofVirtual;
+        private final Method name;
+        private final Method factory;
+        private final Method newThreadPerTaskExecutor;
+
+        private VirtualThreads(Method ofVirtual, Method name, Method factory, Method newThreadPerTaskExecutor) {
+            this.ofVirtual = ofVirtual;
+            this.name = name;
+            this.factory = factory;
+            this.newThreadPerTaskExecutor = newThreadPerTaskExecutor;
+        }
+
+        @Nullable
+        private static VirtualThreads lookup() {
+            try {
+                Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                VirtualThreads virtualThreads = new VirtualThreads(
+                        Thread.class.getMethod("ofVirtual"),
+                        builderClass.getMethod("name", String.class, long.class),
+                        builderClass.getMethod("factory"),
+                        Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class));
+                // fails when virtual threads are a preview feature which is not enabled
+                virtualThreads.newFactory("PubNub virtual thread check");
+                return virtualThreads;
+            } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+                return null;
+            }
+        }
+
+        private ThreadFactory newFactory(String threadName) {
+            try {
+                Object builder = name.invoke(ofVirtual.invoke(null), threadName + " ", 0L);
+                return (ThreadFactory) factory.invoke(builder);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Virtual thread factory could not be created", e);
+            }
+        }
+
+        private ExecutorService newThreadPerTaskExecutor(ThreadFactory threadFactory) {
+            try {
+                return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Virtual thread executor could not be created", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.pubnub.api.models.consumer;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a batch of actions.
+ */
+@Getter
+@Builder
+@ToString
+public class PNBatchResult<X> {
+    /**
+     * Results in the order the actions were given in, {@code null} for actions which failed.
+     */
+    private List<X> results;
+    /**
+     * Status of every failed action, by its position in the batch.
+     */
+    private Map<Integer, PNStatus> failures;
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+}
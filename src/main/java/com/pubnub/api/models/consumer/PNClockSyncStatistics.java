@@ -0,0 +1,35 @@
+package com.pubnub.api.models.consumer;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the estimated offset between the local clock and the server clock.
+ */
+@Getter
+@Builder
+@ToString
+public class PNClockSyncStatistics {
+    /**
+     * In milliseconds, what has to be added to the local clock to get server time.
+     */
+    private long offsetMillis;
+    /**
+     * In milliseconds, round trip time of the sample the offset was taken from, or -1 before the first sync.
+     */
+    private long roundTripMillis;
+    /**
+     * How fast the local clock drifts from the server clock between syncs, in parts per million; positive when the
+     * local clock falls behind.
+     */
+    private double driftPpm;
+    /**
+     * Completed syncs.
+     */
+    private long syncs;
+    /**
+     * Syncs which did not get a single sample.
+     */
+    private long failedSyncs;
+}
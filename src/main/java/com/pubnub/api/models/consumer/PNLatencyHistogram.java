@@ -0,0 +1,54 @@
+package com.pubnub.api.models.consumer;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the latencies recorded for a network phase, in buckets of increasing width.
+ */
+@Getter
+@Builder
+@ToString
+public class PNLatencyHistogram {
+    /**
+     * Number of recorded latencies.
+     */
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+    /**
+     * Inclusive upper bound of every bucket, the last one being {@link Long#MAX_VALUE}.
+     */
+    private long[] bucketUpperBoundsMillis;
+    /**
+     * Latencies recorded in each bucket.
+     */
+    private long[] bucketCounts;
+
+    public double getMeanMillis() {
+        return count == 0 ? 0 : (double) totalNanos / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @param percentile between 0 and 1.
+     * @return upper bound of the bucket containing the percentile, capped at the largest latency recorded.
+     */
+    public long getPercentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long maxMillis = TimeUnit.NANOSECONDS.toMillis(maxNanos);
+        long rank = (long) Math.ceil(percentile * count);
+        long seen = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            seen += bucketCounts[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBoundsMillis[i], maxMillis);
+            }
+        }
+        return maxMillis;
+    }
+}
@@ -0,0 +1,35 @@
+package com.pubnub.api.models.consumer;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the message compression counters.
+ */
+@Getter
+@Builder
+@ToString
+public class PNMessageCompressionStatistics {
+    /**
+     * Messages published compressed.
+     */
+    private long compressedMessages;
+    /**
+     * Size of the JSON of those messages.
+     */
+    private long uncompressedBytes;
+    /**
+     * Size of their compression envelopes, before encryption.
+     */
+    private long compressedBytes;
+    /**
+     * {@link #uncompressedBytes} divided by {@link #compressedBytes}, e.g. 5 when messages shrank to a fifth, or 0
+     * before the first compressed message.
+     */
+    private double compressionRatio;
+    /**
+     * Compressed messages received and inflated, from subscribe and history.
+     */
+    private long inflatedMessages;
+}
@@ -0,0 +1,18 @@
+package com.pubnub.api.models.consumer;
+
+import com.pubnub.api.enums.PNOperationType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * Snapshot of the network timings recorded per operation.
+ */
+@Getter
+@Builder
+@ToString
+public class PNNetworkMetrics {
+    private Map<PNOperationType, PNOperationNetworkMetrics> operations;
+}
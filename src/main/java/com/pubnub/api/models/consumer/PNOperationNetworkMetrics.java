@@ -0,0 +1,33 @@
+package com.pubnub.api.models.consumer;
+
+import com.pubnub.api.enums.PNNetworkPhase;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * Network timings of the requests sent for one operation.
+ */
+@Getter
+@Builder
+@ToString
+public class PNOperationNetworkMetrics {
+    /**
+     * Latency histogram of every phase requests went through.
+     */
+    private Map<PNNetworkPhase, PNLatencyHistogram> phases;
+    /**
+     * Requests sent over a pooled connection.
+     */
+    private long reusedConnections;
+    /**
+     * Requests which had to open a new connection.
+     */
+    private long newConnections;
+    /**
+     * Requests which failed or were cancelled.
+     */
+    private long failedCalls;
+}
@@ -0,0 +1,28 @@
+package com.pubnub.api.models.consumer;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the client side publish rate limiter counters.
+ */
+@Getter
+@Builder
+@ToString
+public class PNPublishRateLimitStatistics {
+    /**
+     * Publishes and signals which are waiting for a token right now.
+     */
+    private int queued;
+    /**
+     * Publishes and signals which had to wait for a token before they were sent.
+     */
+    private long delayed;
+    /**
+     * Publishes and signals rejected because the queue was full or the wait would exceed the maximum.
+     */
+    private long rejected;
+    private long totalQueueWaitMillis;
+    private long maximumQueueWaitMillis;
+}
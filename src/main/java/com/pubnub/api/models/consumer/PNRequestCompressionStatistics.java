@@ -0,0 +1,26 @@
+package com.pubnub.api.models.consumer;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the request body compression counters.
+ */
+@Getter
+@Builder
+@ToString
+public class PNRequestCompressionStatistics {
+    /**
+     * Requests sent with a gzipped body.
+     */
+    private long compressedRequests;
+    /**
+     * Size of those bodies before compression.
+     */
+    private long uncompressedBytes;
+    /**
+     * Size of those bodies as sent.
+     */
+    private long compressedBytes;
+}
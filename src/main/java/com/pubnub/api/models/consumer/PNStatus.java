@@ -1,5 +1,6 @@
 package com.pubnub.api.models.consumer;
 
+import com.pubnub.api.PubNubUtil;
 import com.pubnub.api.endpoints.remoteaction.RemoteAction;
 import com.pubnub.api.enums.PNOperationType;
 import com.pubnub.api.enums.PNStatusCategory;
@@ -7,6 +8,8 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.ToString;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
@@ -42,6 +45,97 @@ public class PNStatus {
     @ToString.Exclude
     private RemoteAction<?> executedEndpoint;
 
+    /**
+     * When set, tlsEnabled, origin, uuid and authKey are read from the url of {@link #clientRequest} on first access
+     * instead of being parsed for every response, most of which are only checked for {@link #isError()}.
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private volatile boolean requestDetailsPending;
+
+    public boolean isTlsEnabled() {
+        resolveRequestDetails();
+        return tlsEnabled;
+    }
+
+    public String getUuid() {
+        resolveRequestDetails();
+        return uuid;
+    }
+
+    public String getAuthKey() {
+        resolveRequestDetails();
+        return authKey;
+    }
+
+    public String getOrigin() {
+        resolveRequestDetails();
+        return origin;
+    }
+
+    private void resolveRequestDetails() {
+        if (!requestDetailsPending) {
+            return;
+        }
+        synchronized (this) {
+            HttpUrl url = requestUrl(clientRequest);
+            if (requestDetailsPending && url != null) {
+                tlsEnabled = url.isHttps();
+                origin = url.host();
+                uuid = url.queryParameter("uuid");
+                authKey = url.queryParameter(PubNubUtil.AUTH_QUERY_PARAM_NAME);
+            }
+            requestDetailsPending = false;
+        }
+    }
+
+    @Nullable
+    private static HttpUrl requestUrl(Object clientRequest) {
+        return clientRequest instanceof Request ? ((Request) clientRequest).url() : null;
+    }
+
+    /**
+     * Setting one of the request details first reads the others from the client request if they are still pending,
+     * so a value set explicitly, also on a copy made with {@link #toBuilder()}, is never replaced by a parsed one.
+     */
+    public static class PNStatusBuilder {
+
+        public PNStatusBuilder tlsEnabled(boolean tlsEnabled) {
+            resolveRequestDetails();
+            this.tlsEnabled = tlsEnabled;
+            return this;
+        }
+
+        public PNStatusBuilder uuid(String uuid) {
+            resolveRequestDetails();
+            this.uuid = uuid;
+            return this;
+        }
+
+        public PNStatusBuilder authKey(String authKey) {
+            resolveRequestDetails();
+            this.authKey = authKey;
+            return this;
+        }
+
+        public PNStatusBuilder origin(String origin) {
+            resolveRequestDetails();
+            this.origin = origin;
+            return this;
+        }
+
+        private void resolveRequestDetails() {
+            HttpUrl url = requestUrl(clientRequest);
+            if (requestDetailsPending && url != null) {
+                tlsEnabled = url.isHttps();
+                origin = url.host();
+                uuid = url.queryParameter("uuid");
+                authKey = url.queryParameter(PubNubUtil.AUTH_QUERY_PARAM_NAME);
+            }
+            requestDetailsPending = false;
+        }
+    }
+
 
     public void retry() {
         executedEndpoint.retry();
@@ -30,6 +30,9 @@ public class PNFetchMessageItem {
      */
     private final PubNubError error;
 
+    @Getter(AccessLevel.NONE)
+    private final Object decodedMessage;
+
     @SerializedName("message_type")
     @Getter(AccessLevel.NONE)
     private final Integer messageType;
@@ -38,6 +41,14 @@ public class PNFetchMessageItem {
     @Getter(AccessLevel.NONE)
     private final boolean includeMessageType;
 
+    /**
+     * @return the {@code message_type} sent by the server, whether the message type was requested or not; null when
+     * none was sent.
+     */
+    public Integer getRawMessageType() {
+        return messageType;
+    }
+
     public HistoryMessageType getMessageType() {
         if (!includeMessageType) {
             return null;
@@ -49,6 +60,15 @@ public class PNFetchMessageItem {
         }
     }
 
+    /**
+     * @return the message as decoded by the decoder registered with
+     * {@link com.pubnub.api.managers.PayloadDecoderManager} for its channel, or null when there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getDecodedMessage() {
+        return (T) decodedMessage;
+    }
+
     @Data
     public static class Action {
         private final String uuid;
@@ -1,8 +1,10 @@
 package com.pubnub.api.models.consumer.pubsub;
 
 import com.google.gson.JsonElement;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
+import org.jetbrains.annotations.Nullable;
 
 @Getter
 @ToString(callSuper = true)
@@ -10,9 +12,27 @@ public class MessageResult extends BasePubSubResult {
 
     private JsonElement message;
 
+    @Getter(AccessLevel.NONE)
+    private Object decodedMessage;
+
     public MessageResult(BasePubSubResult basePubSubResult, JsonElement message) {
+        this(basePubSubResult, message, null);
+    }
+
+    public MessageResult(BasePubSubResult basePubSubResult, JsonElement message, @Nullable Object decodedMessage) {
         super(basePubSubResult);
         this.message = message;
+        this.decodedMessage = decodedMessage;
+    }
+
+    /**
+     * @return the message as decoded by the decoder registered with
+     * {@link com.pubnub.api.managers.PayloadDecoderManager} for its channel, or null when there is none.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T getDecodedMessage() {
+        return (T) decodedMessage;
     }
 }
 
@@ -19,7 +19,14 @@ public class PNMessageResult extends MessageResult {
     }
 
     public PNMessageResult(BasePubSubResult basePubSubResult, JsonElement message, @Nullable PubNubError error) {
-        super(basePubSubResult, message);
+        this(basePubSubResult, message, error, null);
+    }
+
+    public PNMessageResult(BasePubSubResult basePubSubResult,
+                           JsonElement message,
+                           @Nullable PubNubError error,
+                           @Nullable Object decodedMessage) {
+        super(basePubSubResult, message, decodedMessage);
         this.error = error;
     }
 }
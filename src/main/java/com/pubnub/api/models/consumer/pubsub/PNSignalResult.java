@@ -3,6 +3,7 @@ package com.pubnub.api.models.consumer.pubsub;
 import com.google.gson.JsonElement;
 
 import lombok.ToString;
+import org.jetbrains.annotations.Nullable;
 
 @ToString(callSuper = true)
 public class PNSignalResult extends MessageResult {
@@ -10,4 +11,8 @@ public class PNSignalResult extends MessageResult {
     public PNSignalResult(BasePubSubResult basePubSubResult, JsonElement message) {
         super(basePubSubResult, message);
     }
+
+    public PNSignalResult(BasePubSubResult basePubSubResult, JsonElement message, @Nullable Object decodedMessage) {
+        super(basePubSubResult, message, decodedMessage);
+    }
 }
\ No newline at end of file
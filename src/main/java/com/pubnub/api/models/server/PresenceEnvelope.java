@@ -2,8 +2,10 @@ package com.pubnub.api.models.server;
 
 import com.google.gson.JsonElement;
 import lombok.Getter;
+import lombok.Setter;
 
 @Getter
+@Setter
 public class PresenceEnvelope {
 
     private String action;
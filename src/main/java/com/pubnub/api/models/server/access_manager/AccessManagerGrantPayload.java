@@ -5,10 +5,12 @@ import com.google.gson.annotations.SerializedName;
 import com.pubnub.api.models.consumer.access_manager.PNAccessManagerKeyData;
 import com.pubnub.api.models.consumer.access_manager.PNAccessManagerKeysData;
 import lombok.Getter;
+import lombok.Setter;
 
 import java.util.Map;
 
 @Getter
+@Setter
 public class AccessManagerGrantPayload {
 
     @SerializedName("level")
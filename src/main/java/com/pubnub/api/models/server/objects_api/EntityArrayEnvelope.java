@@ -2,11 +2,13 @@ package com.pubnub.api.models.server.objects_api;
 
 import com.pubnub.api.models.consumer.PNPage;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 
 import java.util.List;
 
 @Getter
+@Setter
 @ToString
 public class EntityArrayEnvelope<T> extends EntityEnvelope<List<T>> {
 
@@ -1,8 +1,10 @@
 package com.pubnub.api.models.server.objects_api;
 
 import lombok.Getter;
+import lombok.Setter;
 
 @Getter
+@Setter
 public class EntityEnvelope<T> {
 
     protected int status;
@@ -3,11 +3,13 @@ package com.pubnub.api.services;
 import com.google.gson.JsonElement;
 import com.pubnub.api.models.server.DeleteMessagesEnvelope;
 import com.pubnub.api.models.server.FetchMessagesEnvelope;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.DELETE;
 import retrofit2.http.GET;
 import retrofit2.http.Path;
 import retrofit2.http.QueryMap;
+import retrofit2.http.Streaming;
 
 import java.util.Map;
 
@@ -33,6 +35,18 @@ public interface HistoryService {
                                                          @Path("channel") String channel,
                                                          @QueryMap Map<String, String> options);
 
+    @Streaming
+    @GET("v3/history/sub-key/{subKey}/channel/{channels}")
+    Call<ResponseBody> streamMessages(@Path("subKey") String subKey,
+                                      @Path("channels") String channels,
+                                      @QueryMap Map<String, String> options);
+
+    @Streaming
+    @GET("v3/history-with-actions/sub-key/{subKey}/channel/{channel}")
+    Call<ResponseBody> streamMessagesWithActions(@Path("subKey") String subKey,
+                                                 @Path("channel") String channel,
+                                                 @QueryMap Map<String, String> options);
+
     @GET("v3/history/sub-key/{subKey}/message-counts/{channels}")
     Call<JsonElement> fetchCount(@Path("subKey") String subKey,
                                  @Path("channels") String channels,
@@ -1,5 +1,6 @@
 package com.pubnub.api.services;
 
+import okhttp3.RequestBody;
 import retrofit2.Call;
 import retrofit2.http.*;
 
@@ -24,5 +25,25 @@ public interface PublishService {
                                        @Body Object body,
                                        @QueryMap(encoded = true) Map<String, String> options);
 
+    @POST("publish/{pubKey}/{subKey}/0/{channel}/0")
+    Call<List<Object>> publishBodyWithPost(@Path("pubKey") String pubKey,
+                                           @Path("subKey") String subKey,
+                                           @Path("channel") String channel,
+                                           @Body RequestBody body,
+                                           @QueryMap(encoded = true) Map<String, String> options);
+
+    @GET("publish/{pubKey}/{subKey}/0/{channel}/0/{message}")
+    Call<List<Object>> publishEncoded(@Path(value = "pubKey", encoded = true) String pubKey,
+                                      @Path(value = "subKey", encoded = true) String subKey,
+                                      @Path(value = "channel", encoded = true) String channel,
+                                      @Path(value = "message", encoded = true) String message,
+                                      @QueryMap(encoded = true) Map<String, String> options);
+
+    @POST("publish/{pubKey}/{subKey}/0/{channel}/0")
+    Call<List<Object>> publishEncodedWithPost(@Path(value = "pubKey", encoded = true) String pubKey,
+                                              @Path(value = "subKey", encoded = true) String subKey,
+                                              @Path(value = "channel", encoded = true) String channel,
+                                              @Body RequestBody body,
+                                              @QueryMap(encoded = true) Map<String, String> options);
 
 }
@@ -0,0 +1,215 @@
+package com.pubnub.api.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Writer;
+import java.nio.ByteBuffer;
+
+/**
+ * Writer percent-encoding the UTF-8 bytes of what is written to it as it goes, so JSON can be serialized straight
+ * into an encoded url path segment or query parameter. The output matches {@code URLEncoder.encode(text, "UTF-8")}
+ * with spaces encoded as {@code %20}: letters, digits and {@code .-*_} are kept, unpaired surrogates become
+ * {@code %3F}.
+ * <p>
+ * {@link #encode(String)} and {@link #get()} reuse one writer per thread, which keeps its buffer unless that grew
+ * large.
+ */
+public final class UrlEncodingWriter extends Writer {
+
+    private static final int INITIAL_CAPACITY = 256;
+    /**
+     * larger buffers are not kept for the next use.
+     */
+    private static final int MAXIMUM_RETAINED_CAPACITY = 64 * 1024;
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final int HEX_DIGIT_BITS = 4;
+    private static final int HEX_DIGIT_MASK = 0xF;
+
+    private static final int ASCII_LIMIT = 0x80;
+    private static final int TWO_BYTE_LIMIT = 0x800;
+    private static final int TWO_BYTE_LEAD = 0xC0;
+    private static final int THREE_BYTE_LEAD = 0xE0;
+    private static final int FOUR_BYTE_LEAD = 0xF0;
+    private static final int CONTINUATION = 0x80;
+    private static final int CONTINUATION_MASK = 0x3F;
+    private static final int CONTINUATION_BITS = 6;
+    private static final int THREE_BYTE_LEAD_SHIFT = 12;
+    private static final int FOUR_BYTE_LEAD_SHIFT = 18;
+
+    private static final boolean[] UNRESERVED = new boolean[ASCII_LIMIT];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            UNRESERVED[c] = true;
+        }
+        UNRESERVED['.'] = true;
+        UNRESERVED['-'] = true;
+        UNRESERVED['*'] = true;
+        UNRESERVED['_'] = true;
+    }
+
+    private static final ThreadLocal<UrlEncodingWriter> WRITERS = new ThreadLocal<>();
+
+    private StringBuilder encoded = new StringBuilder(INITIAL_CAPACITY);
+    private char highSurrogate;
+
+    /**
+     * @return this thread's writer, empty; finish with {@link #getEncoded()} before the thread uses it again.
+     */
+    @NotNull
+    public static UrlEncodingWriter get() {
+        UrlEncodingWriter writer = WRITERS.get();
+        if (writer == null) {
+            writer = new UrlEncodingWriter();
+            WRITERS.set(writer);
+        }
+        writer.reset();
+        return writer;
+    }
+
+    /**
+     * @return text percent-encoded in one pass.
+     */
+    @NotNull
+    public static String encode(@NotNull String text) {
+        UrlEncodingWriter writer = get();
+        writer.write(text, 0, text.length());
+        return writer.getEncoded();
+    }
+
+    /**
+     * @param utf8 UTF-8 encoded text, from its position to its limit; the position is not changed.
+     * @return the text percent-encoded, straight from its bytes.
+     */
+    @NotNull
+    public static String encodeUtf8(@NotNull ByteBuffer utf8) {
+        UrlEncodingWriter writer = get();
+        for (int i = utf8.position(); i < utf8.limit(); i++) {
+            byte b = utf8.get(i);
+            if (b >= 0 && UNRESERVED[b]) {
+                writer.encoded.append((char) b);
+            } else {
+                writer.percent(Byte.toUnsignedInt(b));
+            }
+        }
+        return writer.getEncoded();
+    }
+
+    /**
+     * @return everything written since the writer was obtained, encoded.
+     */
+    @NotNull
+    public String getEncoded() {
+        flushHighSurrogate();
+        String result = encoded.toString();
+        if (encoded.capacity() > MAXIMUM_RETAINED_CAPACITY) {
+            encoded = new StringBuilder(INITIAL_CAPACITY);
+        }
+        return result;
+    }
+
+    private void reset() {
+        encoded.setLength(0);
+        highSurrogate = 0;
+    }
+
+    @Override
+    public void write(int c) {
+        encode((char) c);
+    }
+
+    @Override
+    public void write(@NotNull char[] chars, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            encode(chars[i]);
+        }
+    }
+
+    @Override
+    public void write(@NotNull String text) {
+        write(text, 0, text.length());
+    }
+
+    @Override
+    public void write(@NotNull String text, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            encode(text.charAt(i));
+        }
+    }
+
+    @Override
+    public Writer append(CharSequence text) {
+        CharSequence chars = text != null ? text : "null";
+        for (int i = 0; i < chars.length(); i++) {
+            encode(chars.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private void encode(char c) {
+        if (highSurrogate != 0) {
+            if (Character.isLowSurrogate(c)) {
+                percentUtf8(Character.toCodePoint(highSurrogate, c));
+                highSurrogate = 0;
+                return;
+            }
+            flushHighSurrogate();
+        }
+        if (c < ASCII_LIMIT) {
+            if (UNRESERVED[c]) {
+                encoded.append(c);
+            } else {
+                percent(c);
+            }
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            percent('?');
+        } else {
+            percentUtf8(c);
+        }
+    }
+
+    private void percentUtf8(int codePoint) {
+        if (codePoint < TWO_BYTE_LIMIT) {
+            percent(TWO_BYTE_LEAD | (codePoint >> CONTINUATION_BITS));
+        } else if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            percent(THREE_BYTE_LEAD | (codePoint >> THREE_BYTE_LEAD_SHIFT));
+            percent(continuation(codePoint >> CONTINUATION_BITS));
+        } else {
+            percent(FOUR_BYTE_LEAD | (codePoint >> FOUR_BYTE_LEAD_SHIFT));
+            percent(continuation(codePoint >> THREE_BYTE_LEAD_SHIFT));
+            percent(continuation(codePoint >> CONTINUATION_BITS));
+        }
+        percent(continuation(codePoint));
+    }
+
+    private static int continuation(int bits) {
+        return CONTINUATION | (bits & CONTINUATION_MASK);
+    }
+
+    private void flushHighSurrogate() {
+        if (highSurrogate != 0) {
+            highSurrogate = 0;
+            percent('?');
+        }
+    }
+
+    private void percent(int b) {
+        encoded.append('%').append(HEX[b >> HEX_DIGIT_BITS]).append(HEX[b & HEX_DIGIT_MASK]);
+    }
+}
@@ -12,6 +12,7 @@ import com.pubnub.api.PubNubUtil;
 import com.pubnub.api.builder.PubNubErrorBuilder;
 import com.pubnub.api.crypto.CryptoModule;
 import com.pubnub.api.crypto.CryptoModuleKt;
+import com.pubnub.api.enums.PNMessageType;
 import com.pubnub.api.managers.DuplicationManager;
 import com.pubnub.api.managers.MapperManager;
 import com.pubnub.api.models.consumer.files.PNDownloadableFile;
@@ -29,7 +30,6 @@ import com.pubnub.api.models.consumer.pubsub.PNPresenceEventResult;
 import com.pubnub.api.models.consumer.pubsub.PNSignalResult;
 import com.pubnub.api.models.consumer.pubsub.files.PNFileEventResult;
 import com.pubnub.api.models.consumer.pubsub.message_actions.PNMessageActionResult;
-import com.pubnub.api.models.consumer.pubsub.objects.ObjectPayload;
 import com.pubnub.api.models.server.PresenceEnvelope;
 import com.pubnub.api.models.server.PublishMetaData;
 import com.pubnub.api.models.server.SubscribeMessage;
@@ -140,44 +140,41 @@ public class SubscribeMessageProcessor {
                     .userMetadata(message.getUserMetadata())
                     .build();
 
-            if (message.getType() == null) {
-                return new PNMessageResult(result, extractedMessage, error);
-            } else if (message.getType() == TYPE_MESSAGE) {
-                return new PNMessageResult(result, extractedMessage, error);
+            if (message.getType() == null || message.getType() == TYPE_MESSAGE) {
+                return messageResult(result, extractedMessage, error);
             } else if (message.getType() == typeSignal) {
-                return new PNSignalResult(result, extractedMessage);
+                return signalResult(result, extractedMessage);
             } else if (message.getType() == typeObject) {
-                ObjectPayload objectPayload = mapper.convertValue(extractedMessage, ObjectPayload.class);
-                String type = objectPayload.getType();
+                // the payload is already a tree, only its data is converted to the model
+                JsonObject objectPayload = mapper.getAsObject(extractedMessage);
                 if (canHandleObjectCallback(objectPayload)) {
-                    switch (type) {
+                    String event = stringField(objectPayload, "event");
+                    JsonElement data = objectPayload.get("data");
+                    switch (stringField(objectPayload, "type")) {
                         case "channel":
                             final PNChannelMetadataResult channelMetadataResult = new PNChannelMetadataResult(result,
-                                    objectPayload.getEvent(), mapper.convertValue(objectPayload.getData(),
-                                    PNChannelMetadata.class));
+                                    event, mapper.convertValue(data, PNChannelMetadata.class));
                             return channelMetadataResult;
                         case "membership":
                             final PNMembershipResult membershipResult = new PNMembershipResult(result,
-                                    objectPayload.getEvent(), mapper.convertValue(objectPayload.getData(),
-                                    PNMembership.class));
+                                    event, mapper.convertValue(data, PNMembership.class));
                             return membershipResult;
                         case "uuid":
                             final PNUUIDMetadataResult uuidMetadataResult = new PNUUIDMetadataResult(result,
-                                    objectPayload.getEvent(),
-                                    mapper.convertValue(objectPayload.getData(), PNUUIDMetadata.class));
+                                    event, mapper.convertValue(data, PNUUIDMetadata.class));
                             return uuidMetadataResult;
                         default:
                     }
                 }
             } else if (message.getType() == typeMessageAction) {
-                ObjectPayload objectPayload = mapper.convertValue(extractedMessage, ObjectPayload.class);
-                JsonObject data = objectPayload.getData().getAsJsonObject();
+                JsonObject objectPayload = mapper.getAsObject(extractedMessage);
+                JsonObject data = objectPayload.get("data").getAsJsonObject();
                 if (!data.has("uuid")) {
                     data.addProperty("uuid", result.getPublisher());
                 }
                 return PNMessageActionResult.actionBuilder()
                         .result(result)
-                        .event(objectPayload.getEvent())
+                        .event(stringField(objectPayload, "event"))
                         .data(mapper.convertValue(data, PNMessageAction.class))
                         .build();
             } else if (message.getType() == TYPE_FILES) {
@@ -207,6 +204,39 @@ public class SubscribeMessageProcessor {
         return null;
     }
 
+    private PNMessageResult messageResult(BasePubSubResult result, JsonElement message, PubNubError error) {
+        // also a message sent without encryption to a client configured with it can be compressed
+        try {
+            message = pubnub.getMessageCompressionManager().inflate(message);
+        } catch (PubNubException e) {
+            error = e.getPubnubError();
+        }
+
+        Object decodedMessage = null;
+        // a message which failed to decrypt is not decoded
+        if (error == null) {
+            try {
+                decodedMessage = pubnub.getPayloadDecoderManager()
+                        .decode(result.getChannel(), PNMessageType.MESSAGE, message);
+            } catch (PubNubException e) {
+                error = e.getPubnubError();
+            }
+        }
+        return new PNMessageResult(result, message, error, decodedMessage);
+    }
+
+    private PNSignalResult signalResult(BasePubSubResult result, JsonElement message) {
+        Object decodedMessage = null;
+        try {
+            decodedMessage = pubnub.getPayloadDecoderManager()
+                    .decode(result.getChannel(), PNMessageType.SIGNAL, message);
+        } catch (PubNubException e) {
+            // signals have no error to report it with
+            log.warn("unable to decode signal on " + result.getChannel() + ": " + e.getErrormsg());
+        }
+        return new PNSignalResult(result, message, decodedMessage);
+    }
+
     public static JsonElement tryDecryptMessage(JsonElement input, CryptoModule cryptoModule, MapperManager mapper) throws PubNubException {
         // if we do not have a crypto module, there is no way to process the node; let's return.
         if (cryptoModule == null) {
@@ -300,8 +330,13 @@ public class SubscribeMessageProcessor {
         );
     }
 
-    private boolean canHandleObjectCallback(final ObjectPayload objectPayload) {
-        return objectPayload.getVersion().equals("2.0");
+    private boolean canHandleObjectCallback(final JsonObject objectPayload) {
+        return "2.0".equals(stringField(objectPayload, "version"));
+    }
+
+    private static String stringField(JsonObject object, String field) {
+        JsonElement value = object.get(field);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
     }
 
     private List<String> getDelta(JsonElement delta) {
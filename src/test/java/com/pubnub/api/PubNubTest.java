@@ -1,12 +1,15 @@
 package com.pubnub.api;
 
 import com.pubnub.api.enums.PNReconnectionPolicy;
+import com.pubnub.api.managers.RetrofitManager;
+import org.apache.commons.lang3.reflect.FieldUtils;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.UUID;
 
 public class PubNubTest {
@@ -36,6 +39,25 @@ public class PubNubTest {
         Assert.assertEquals("https://ps.pndsn.com", pubnub.getBaseUrl());
     }
 
+    @Test
+    public void clientsAndThreadsAreCreatedOnFirstUse() throws IllegalAccessException {
+        pubnub = new PubNub(pnConfiguration);
+        RetrofitManager retrofitManager = (RetrofitManager) FieldUtils.readField(pubnub, "retrofitManager", true);
+        Object subscriptionManager = FieldUtils.readField(pubnub, "subscriptionManager", true);
+
+        Assert.assertNull(FieldUtils.readField(retrofitManager, "transactionClientInstance", true));
+        Assert.assertNull(FieldUtils.readField(retrofitManager, "subscriptionClientInstance", true));
+        Assert.assertNull(FieldUtils.readField(subscriptionManager, "consumerThread", true));
+
+        Assert.assertNotNull(retrofitManager.getPublishService());
+        Assert.assertNotNull(FieldUtils.readField(retrofitManager, "transactionClientInstance", true));
+        Assert.assertNull(FieldUtils.readField(retrofitManager, "subscriptionClientInstance", true));
+        Assert.assertSame(retrofitManager.getPublishService(), retrofitManager.getPublishService());
+
+        pubnub.subscribe().channels(Collections.singletonList("ch")).execute();
+        Assert.assertNotNull(FieldUtils.readField(subscriptionManager, "consumerThread", true));
+    }
+
     @Test
     public void testEncryptCustomKey() throws PubNubException {
         pubnub = new PubNub(pnConfiguration);
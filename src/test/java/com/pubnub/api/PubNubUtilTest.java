@@ -0,0 +1,103 @@
+package com.pubnub.api;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class PubNubUtilTest {
+
+    private static final int TIMESTAMP = 1700000000;
+
+    private PNConfiguration pnConfiguration;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        pnConfiguration = new PNConfiguration(new UserId("myUUID"));
+        pnConfiguration.setSubscribeKey("demo-sub");
+        pnConfiguration.setPublishKey("demo-pub");
+        pnConfiguration.setSecretKey("wMfbo9G0xVUG8yfTfYw5qIdfJkTd7A");
+    }
+
+    @Test
+    public void pamEncodeEncodesEverythingButUnreservedCharacters() {
+        assertEquals("a%20b%2Ac%21d%27e%28f%29g%5Bh%5Di%7Ej-k_l.m%2Fn%3Ao%3Fp%3Dq%26r%2Bs%2Ct%3Bu%40v%24w%23x%25y"
+                        + "%C3%A9%F0%9F%98%80",
+                PubNubUtil.pamEncode("a b*c!d'e(f)g[h]i~j-k_l.m/n:o?p=q&r+s,t;u@v$w#x%y\u00e9\uD83D\uDE00"));
+    }
+
+    @Test
+    public void preparePamArgumentsSortsByName() {
+        Map<String, String> arguments = new HashMap<>();
+        arguments.put("uuid", "my uuid");
+        arguments.put("auth", "key");
+        arguments.put("channel", "a,b");
+
+        assertEquals("auth=key&channel=a%2Cb&uuid=my%20uuid", PubNubUtil.preparePamArguments(arguments));
+    }
+
+    @Test
+    public void signGetRequest() {
+        Request request = new Request.Builder()
+                .url("https://ps.pndsn.com/v2/auth/grant/sub-key/demo-sub?uuid=myUUID"
+                        + "&pnsdk=PubNub-Java-Unified%2F6.4.5&channel=ch%201,ch*2&r=1&w=0&ttl=60&auth=k~y!'()[]"
+                        + "&zz=%C3%A9%F0%9F%98%80")
+                .build();
+
+        assertEquals("v2.DA19XNdUiOP9wg5QrYaUESUnSbce4nfmwjZUlC9DLiI", signature(request));
+    }
+
+    @Test
+    public void signPostRequestWithBody() {
+        Request request = new Request.Builder()
+                .url("https://ps.pndsn.com/v3/pam/demo-sub/grant?uuid=myUUID")
+                .post(RequestBody.create("{\"ttl\":60,\"permissions\":{\"resources\":{\"channels\":{\"caf\u00e9\":3}}}}",
+                        MediaType.get("application/json")))
+                .build();
+
+        assertEquals("v2.QeFREq1Ef6qw10_SwQUBXSJ0gKPCWwSydsbJAdvgAB4", signature(request));
+    }
+
+    @Test
+    public void signPublishPostWithV1Signature() {
+        Request request = new Request.Builder()
+                .url("https://ps.pndsn.com/publish/demo-pub/demo-sub/0/ch/0?uuid=myUUID&seqn=1")
+                .post(RequestBody.create("\"hello\"", MediaType.get("application/json")))
+                .build();
+
+        assertEquals("A0IJDMSOEeuabxcZR30iQzbcF2TdwkFeII1GS1xsaio=", signature(request));
+    }
+
+    @Test
+    public void signatureForUrlMatchesSignatureForRequest() {
+        Map<String, String> queryParams = new HashMap<>();
+        queryParams.put("auth", "ak");
+
+        assertEquals("v2.oIb0QOZnZ0TP_LhVbck18IGotTeOj74SNovcJtcOFoM",
+                PubNubUtil.generateSignature(pnConfiguration, "/v1/files/demo-sub/channels/ch/files/id/name.txt",
+                        queryParams, "get", null, TIMESTAMP));
+    }
+
+    @Test
+    public void changedSecretKeyIsUsed() {
+        Request request = new Request.Builder().url("https://ps.pndsn.com/time/0?uuid=myUUID").build();
+        String signature = signature(request);
+
+        pnConfiguration.setSecretKey("another-secret");
+
+        assertNotEquals(signature, signature(request));
+    }
+
+    private String signature(Request request) {
+        return PubNubUtil.signRequest(request, pnConfiguration, TIMESTAMP)
+                .url()
+                .queryParameter(PubNubUtil.SIGNATURE_QUERY_PARAM_NAME);
+    }
+}
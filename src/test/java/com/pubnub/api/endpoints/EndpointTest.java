@@ -4,6 +4,7 @@ import com.pubnub.api.PubNub;
 import com.pubnub.api.PubNubException;
 import com.pubnub.api.builder.PubNubErrorBuilder;
 import com.pubnub.api.enums.PNOperationType;
+import com.pubnub.api.managers.RetrofitManager;
 import com.pubnub.api.managers.token_manager.TokenManager;
 import okhttp3.MediaType;
 import okhttp3.Request;
@@ -12,6 +13,7 @@ import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -113,6 +115,70 @@ public class EndpointTest extends TestHarness {
         });
     }
 
+    @Test
+    public void concurrencySlotIsReleasedWhenCallThrows() throws PubNubException {
+        pubnub.getConfiguration().setAdaptiveConcurrencyLimiting(true);
+        RetrofitManager retrofitManager = new RetrofitManager(pubnub);
+        Endpoint<Object, Object> endpoint = testEndpoint(new IllegalStateException("failed"), retrofitManager);
+
+        try {
+            endpoint.sync();
+            Assert.fail("Exception expected");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals(0, retrofitManager.getConcurrencyLimitManager()
+                    .getInFlight(PNOperationType.PNTimeOperation));
+        } finally {
+            retrofitManager.destroy(true);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Endpoint<Object, Object> testEndpoint(RuntimeException failure, RetrofitManager retrofitManager) {
+        Call<Object> call = Mockito.mock(Call.class);
+        try {
+            Mockito.when(call.execute()).thenThrow(failure);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        Mockito.when(call.request()).thenReturn(new Request.Builder().url("http://localhost/time/0").build());
+        return new Endpoint<Object, Object>(pubnub, null, retrofitManager, new TokenManager()) {
+
+            @Override
+            protected List<String> getAffectedChannels() {
+                return null;
+            }
+
+            @Override
+            protected List<String> getAffectedChannelGroups() {
+                return null;
+            }
+
+            @Override
+            protected void validateParams() {
+            }
+
+            @Override
+            protected Object createResponse(Response<Object> input) {
+                return null;
+            }
+
+            @Override
+            protected PNOperationType getOperationType() {
+                return PNOperationType.PNTimeOperation;
+            }
+
+            @Override
+            protected boolean isAuthRequired() {
+                return false;
+            }
+
+            @Override
+            protected Call<Object> doWork(Map<String, String> baseParams) {
+                return call;
+            }
+        };
+    }
+
     private Endpoint<Object, Object> testEndpoint(Call<Object> call) {
         return new Endpoint<Object, Object>(pubnub, null, null, new TokenManager()) {
 
@@ -8,9 +8,12 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import com.pubnub.api.PubNub;
 import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
 import com.pubnub.api.builder.PubNubErrorBuilder;
 import com.pubnub.api.crypto.CryptoModule;
+import com.pubnub.api.models.consumer.PNBoundedPage;
 import com.pubnub.api.models.consumer.history.HistoryMessageType;
+import com.pubnub.api.models.consumer.history.PNFetchMessageItem;
 import com.pubnub.api.models.consumer.history.PNFetchMessagesResult;
 import org.jetbrains.annotations.Nullable;
 import org.junit.After;
@@ -20,6 +23,7 @@ import org.junit.Rule;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -80,6 +84,130 @@ public class FetchMessagesEndpointTest extends TestHarness {
         Assert.assertEquals(response.getChannels().get("my_channel").size(), 2);
     }
 
+    @Test
+    public void testSyncDecodedMessages() throws PubNubException {
+        stubFor(get(urlPathEqualTo("/v3/history/sub-key/mySubscribeKey/channel/scores.a,chat"))
+                .willReturn(aResponse().withBody("{\"status\": 200, \"error\": false, \"error_message\": \"\", " +
+                        "\"channels\": {\"scores.a\":[{\"message\":{\"points\":3},\"timetoken\":\"1\"}," +
+                        "{\"message\":\"not a score\",\"timetoken\":\"2\"}," +
+                        "{\"message\":{\"message\":null,\"file\":{\"id\":\"f\",\"name\":\"n\"}}," +
+                        "\"message_type\":4,\"timetoken\":\"3\"}]," +
+                        "\"chat\":[{\"message\":{\"points\":5},\"timetoken\":\"4\"}]}}")));
+
+        pubnub.getPayloadDecoderManager().register("scores.*", null, Score.class);
+
+        PNFetchMessagesResult response = partialHistory.channels(Arrays.asList("scores.a", "chat")).sync();
+
+        List<PNFetchMessageItem> scores = response.getChannels().get("scores.a");
+        assertEquals(3, scores.get(0).<Score>getDecodedMessage().points);
+        Assert.assertNull(scores.get(0).getError());
+        Assert.assertNull(scores.get(1).getDecodedMessage());
+        assertEquals(PubNubErrorBuilder.PNERROBJ_PARSING_ERROR, scores.get(1).getError());
+        Assert.assertNull(scores.get(2).getDecodedMessage());
+        Assert.assertNull(scores.get(2).getError());
+        Assert.assertNull(response.getChannels().get("chat").get(0).getDecodedMessage());
+    }
+
+    @Test
+    public void testSyncCompressedMessages() throws PubNubException {
+        stubFor(get(urlPathEqualTo("/v3/history/sub-key/mySubscribeKey/channel/scores.a"))
+                .willReturn(aResponse().withBody("{\"status\": 200, \"error\": false, \"error_message\": \"\", " +
+                        "\"channels\": {\"scores.a\":[" +
+                        "{\"message\":{\"pn_deflate\":\"eJyrVirIz8wrKVayMq8FABzvBEs=\"},\"timetoken\":\"1\"}," +
+                        "{\"message\":{\"pn_deflate\":\"bm90IGRlZmxhdGVk\"},\"timetoken\":\"2\"}]}}")));
+
+        pubnub.getConfiguration().setMessageCompression(true);
+        pubnub.getPayloadDecoderManager().register("scores.*", null, Score.class);
+
+        PNFetchMessagesResult response = partialHistory.channels(Collections.singletonList("scores.a")).sync();
+
+        List<PNFetchMessageItem> scores = response.getChannels().get("scores.a");
+        assertEquals(7, scores.get(0).getMessage().getAsJsonObject().get("points").getAsInt());
+        assertEquals(7, scores.get(0).<Score>getDecodedMessage().points);
+        Assert.assertNull(scores.get(0).getError());
+        assertEquals("bm90IGRlZmxhdGVk", scores.get(1).getMessage().getAsJsonObject().get("pn_deflate").getAsString());
+        Assert.assertNull(scores.get(1).getDecodedMessage());
+        assertEquals(PubNubErrorBuilder.PNERROBJ_PARSING_ERROR, scores.get(1).getError());
+    }
+
+    @Test
+    public void testStreamSuccess() throws PubNubException {
+        pubnub.getConfiguration().setCryptoModule(CryptoModule.createAesCbcCryptoModule("enigma", false));
+        stubFor(get(urlPathEqualTo("/v3/history/sub-key/mySubscribeKey/channel/ch1,ch2"))
+                .willReturn(aResponse().withBody("{\"status\": 200, \"error\": false, \"error_message\": \"\", " +
+                        "\"channels\": {\"ch1\":[{\"message\":\"bk8x+ZEg+Roq8ngUo7lfFg==\",\"timetoken\":\"1\"}," +
+                        "{\"message\":\"plain\",\"timetoken\":\"2\"}]," +
+                        "\"ch2\":[{\"message\":\"bk8x+ZEg+Roq8ngUo7lfFg==\",\"timetoken\":\"3\"}]}," +
+                        "\"more\": {\"url\": \"/v3/history\", \"start\": \"1\", \"end\": \"3\", \"max\": 25}}")));
+
+        List<String> received = new ArrayList<>();
+        PNBoundedPage page = partialHistory.channels(Arrays.asList("ch1", "ch2"))
+                .stream((channel, item) -> received.add(channel + " " + item.getTimetoken() + " "
+                        + item.getMessage() + " " + (item.getError() != null)))
+                .sync();
+
+        assertEquals(Arrays.asList("ch1 1 \"Hello world.\" false", "ch1 2 \"plain\" true",
+                "ch2 3 \"Hello world.\" false"), received);
+        assertEquals(Long.valueOf(1), page.getStart());
+        assertEquals(Long.valueOf(3), page.getEnd());
+        assertEquals(Integer.valueOf(25), page.getLimit());
+    }
+
+    @Test
+    public void testStreamWithoutMorePages() throws PubNubException {
+        stubFor(get(urlPathEqualTo("/v3/history-with-actions/sub-key/mySubscribeKey/channel/ch1"))
+                .willReturn(aResponse().withBody("{\"status\": 200, \"error\": false, \"error_message\": \"\", " +
+                        "\"channels\": {\"ch1\":[{\"message\":\"hi\",\"timetoken\":\"1\"}]}}")));
+
+        List<PNFetchMessageItem> received = new ArrayList<>();
+        PNBoundedPage page = partialHistory.channels(Collections.singletonList("ch1")).includeMessageActions(true)
+                .stream((channel, item) -> received.add(item))
+                .sync();
+
+        assertEquals(1, received.size());
+        assertEquals(Collections.emptyMap(), received.get(0).getActions());
+        Assert.assertNull(page);
+    }
+
+    @Test
+    public void testStreamRequestOverrides() throws PubNubException {
+        stubFor(get(urlPathEqualTo("/v3/history/sub-key/mySubscribeKey/channel/ch1"))
+                .willReturn(aResponse().withBody("{\"status\": 200, \"error\": false, \"error_message\": \"\", " +
+                        "\"channels\": {\"ch1\":[]}}")));
+
+        partialHistory.channels(Collections.singletonList("ch1"))
+                .stream((channel, item) -> { })
+                .userId(new UserId("streamUser"))
+                .authToken("streamToken")
+                .queryParam(Collections.singletonMap("custom", "value"))
+                .sync();
+
+        List<LoggedRequest> requests = findAll(getRequestedFor(urlMatching("/.*")));
+        assertEquals(1, requests.size());
+        assertEquals("streamUser", requests.get(0).queryParameter("uuid").firstValue());
+        assertEquals("streamToken", requests.get(0).queryParameter("auth").firstValue());
+        assertEquals("value", requests.get(0).queryParameter("custom").firstValue());
+    }
+
+    @Test
+    public void testStreamMalformedResponse() {
+        stubFor(get(urlPathEqualTo("/v3/history/sub-key/mySubscribeKey/channel/ch1"))
+                .willReturn(aResponse().withBody("{\"channels\": {\"ch1\":[{\"message\":\"hi\",\"timetoken\":\"1\"},")));
+
+        List<PNFetchMessageItem> received = new ArrayList<>();
+        PubNubException exception = assertThrows(PubNubException.class, () -> partialHistory
+                .channels(Collections.singletonList("ch1"))
+                .stream((channel, item) -> received.add(item))
+                .sync());
+
+        assertEquals(PubNubErrorBuilder.PNERROBJ_PARSING_ERROR, exception.getPubnubError());
+        assertEquals(1, received.size());
+    }
+
+    private static class Score {
+        private int points;
+    }
+
     @Test
     public void testSyncAuthSuccess() throws PubNubException {
         stubFor(get(urlPathEqualTo("/v3/history/sub-key/mySubscribeKey/channel/mychannel,my_channel"))
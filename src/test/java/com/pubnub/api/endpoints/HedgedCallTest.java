@@ -0,0 +1,168 @@
+package com.pubnub.api.endpoints;
+
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
+import com.pubnub.api.enums.PNOperationType;
+import com.pubnub.api.managers.HedgingManager;
+import com.pubnub.api.managers.SchedulerManager;
+import com.pubnub.api.managers.ThreadManager;
+import okhttp3.Request;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HedgedCallTest {
+
+    private static final PNOperationType OPERATION = PNOperationType.PNFetchMessagesOperation;
+
+    private SchedulerManager schedulerManager;
+    private HedgingManager hedgingManager;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        PNConfiguration pnConfiguration = new PNConfiguration(new UserId("myUUID"));
+        pnConfiguration.setRequestHedging(true);
+        pnConfiguration.setRequestHedgingBudget(1.0);
+        schedulerManager = new SchedulerManager(new ThreadManager(pnConfiguration));
+        hedgingManager = new HedgingManager(pnConfiguration, schedulerManager);
+    }
+
+    @After
+    public void afterEach() {
+        schedulerManager.destroy();
+    }
+
+    @Test
+    public void noHedgeWithoutLatencySamples() throws IOException {
+        FakeCall call = new FakeCall(100, 0);
+
+        Response<String> response = new HedgedCall<>(call, hedgingManager, OPERATION).execute();
+
+        assertEquals("response 1", response.body());
+        assertEquals(1, call.attempts.get());
+        assertEquals(0, hedgingManager.getHedges());
+    }
+
+    @Test
+    public void slowRequestIsHedgedAndLoserCancelled() throws IOException {
+        seedLatencies(20);
+        FakeCall call = new FakeCall(3000, 10);
+
+        long startedAt = System.currentTimeMillis();
+        Response<String> response = new HedgedCall<>(call, hedgingManager, OPERATION).execute();
+
+        assertEquals("response 2", response.body());
+        assertTrue(System.currentTimeMillis() - startedAt < 2000);
+        assertEquals(2, call.attempts.get());
+        assertEquals(1, hedgingManager.getHedges());
+        assertTrue(call.calls.get(0).isCanceled());
+        assertFalse(call.calls.get(1).isCanceled());
+    }
+
+    @Test
+    public void fastRequestIsNotHedged() throws IOException {
+        seedLatencies(500);
+        FakeCall call = new FakeCall(10, 10);
+
+        Response<String> response = new HedgedCall<>(call, hedgingManager, OPERATION).execute();
+
+        assertEquals("response 1", response.body());
+        assertEquals(1, call.attempts.get());
+    }
+
+    private void seedLatencies(long latencyMillis) {
+        for (int i = 0; i < 20; i++) {
+            hedgingManager.recordLatency(OPERATION, latencyMillis);
+        }
+    }
+
+    /**
+     * Call whose first attempt answers after {@code firstDelay} and every clone after {@code otherDelay}.
+     */
+    private static final class FakeCall implements Call<String> {
+        private final long delay;
+        private final long otherDelay;
+        private final AtomicInteger attempts;
+        private final List<FakeCall> calls;
+        private volatile boolean canceled;
+
+        private FakeCall(long firstDelay, long otherDelay) {
+            this(firstDelay, otherDelay, new AtomicInteger(), new ArrayList<>());
+        }
+
+        private FakeCall(long delay, long otherDelay, AtomicInteger attempts, List<FakeCall> calls) {
+            this.delay = delay;
+            this.otherDelay = otherDelay;
+            this.attempts = attempts;
+            this.calls = calls;
+            synchronized (calls) {
+                calls.add(this);
+            }
+        }
+
+        @Override
+        public Response<String> execute() throws IOException {
+            int attempt = attempts.incrementAndGet();
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return Response.success("response " + attempt);
+        }
+
+        @Override
+        public void enqueue(Callback<String> callback) {
+            new Thread(() -> {
+                try {
+                    Response<String> response = execute();
+                    if (canceled) {
+                        callback.onFailure(this, new IOException("Canceled"));
+                    } else {
+                        callback.onResponse(this, response);
+                    }
+                } catch (IOException e) {
+                    callback.onFailure(this, e);
+                }
+            }).start();
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return attempts.get() > 0;
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public Call<String> clone() {
+            return new FakeCall(otherDelay, otherDelay, attempts, calls);
+        }
+
+        @Override
+        public Request request() {
+            return new Request.Builder().url("http://localhost/").build();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.pubnub.api.endpoints;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNub;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
+import com.pubnub.api.builder.PubNubErrorBuilder;
+import com.pubnub.api.callbacks.PNCallback;
+import com.pubnub.api.enums.PNStatusCategory;
+import com.pubnub.api.models.consumer.PNPublishResult;
+import com.pubnub.api.models.consumer.PNStatus;
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.findAll;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RetryingCallTest {
+
+    private static final String PUBLISH_PATH = "/publish/myPublishKey/mySubscribeKey/0/coolChannel/0/%22hi%22";
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(options().dynamicPort(), false);
+
+    private PNConfiguration pnConfiguration;
+    private PubNub pubnub;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        pnConfiguration = new PNConfiguration(new UserId("myUUID"));
+        pnConfiguration.setOrigin("localhost:" + wireMockRule.port());
+        pnConfiguration.setSecure(false);
+        pnConfiguration.setPublishKey("myPublishKey");
+        pnConfiguration.setSubscribeKey("mySubscribeKey");
+        pnConfiguration.setRetryBaseDelay(10);
+        pnConfiguration.setRetryMaximumDelay(50);
+    }
+
+    @After
+    public void afterEach() {
+        pubnub.forceDestroy();
+    }
+
+    @Test
+    public void transientFailureIsRetried() throws PubNubException {
+        pnConfiguration.setAutomaticRetries(2);
+        pubnub = new PubNub(pnConfiguration);
+        stubFailingOnce();
+
+        PNPublishResult result = pubnub.publish().channel("coolChannel").message("hi").sync();
+
+        assertEquals(Long.valueOf(14598111595318003L), result.getTimetoken());
+        assertEquals(2, findAll(getRequestedFor(urlMatching("/publish/.*"))).size());
+    }
+
+    @Test
+    public void transientFailureIsRetriedAsync() throws Exception {
+        pnConfiguration.setAutomaticRetries(2);
+        pubnub = new PubNub(pnConfiguration);
+        stubFailingOnce();
+
+        final CompletableFuture<PNStatus> done = new CompletableFuture<>();
+        pubnub.publish().channel("coolChannel").message("hi").async(new PNCallback<PNPublishResult>() {
+            @Override
+            public void onResponse(PNPublishResult result, @NotNull PNStatus status) {
+                done.complete(status);
+            }
+        });
+
+        assertFalse(done.get(5, TimeUnit.SECONDS).isError());
+        assertEquals(2, findAll(getRequestedFor(urlMatching("/publish/.*"))).size());
+    }
+
+    @Test
+    public void clientErrorsAreNotRetried() {
+        pnConfiguration.setAutomaticRetries(2);
+        pubnub = new PubNub(pnConfiguration);
+        stubFor(get(urlPathEqualTo(PUBLISH_PATH)).willReturn(aResponse().withStatus(400).withBody("{}")));
+
+        try {
+            pubnub.publish().channel("coolChannel").message("hi").sync();
+            fail("Exception expected");
+        } catch (PubNubException e) {
+            assertEquals(400, e.getStatusCode());
+        }
+        assertEquals(1, findAll(getRequestedFor(urlMatching("/publish/.*"))).size());
+    }
+
+    @Test
+    public void openCircuitBreakerFailsFast() throws Exception {
+        pnConfiguration.setCircuitBreakerThreshold(2);
+        pubnub = new PubNub(pnConfiguration);
+        stubFor(get(urlPathEqualTo(PUBLISH_PATH)).willReturn(aResponse().withStatus(503).withBody("{}")));
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                pubnub.publish().channel("coolChannel").message("hi").sync();
+                fail("Exception expected");
+            } catch (PubNubException e) {
+                assertEquals(503, e.getStatusCode());
+            }
+        }
+        try {
+            pubnub.signal().channel("coolChannel").message("hi").sync();
+            fail("Exception expected");
+        } catch (PubNubException e) {
+            assertEquals(PubNubErrorBuilder.PNERR_CIRCUIT_OPEN, e.getPubnubError().getErrorCode());
+        }
+
+        final CompletableFuture<PNStatus> done = new CompletableFuture<>();
+        pubnub.publish().channel("coolChannel").message("hi").async(new PNCallback<PNPublishResult>() {
+            @Override
+            public void onResponse(PNPublishResult result, @NotNull PNStatus status) {
+                done.complete(status);
+            }
+        });
+        PNStatus status = done.get(5, TimeUnit.SECONDS);
+        assertTrue(status.isError());
+        assertEquals(PNStatusCategory.PNNetworkIssuesCategory, status.getCategory());
+        assertEquals(2, findAll(getRequestedFor(urlMatching("/publish/.*"))).size());
+        assertEquals(0, findAll(getRequestedFor(urlMatching("/signal/.*"))).size());
+    }
+
+    private void stubFailingOnce() {
+        stubFor(get(urlPathEqualTo(PUBLISH_PATH))
+                .inScenario("retry")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(503).withBody("{}"))
+                .willSetStateTo("recovered"));
+        stubFor(get(urlPathEqualTo(PUBLISH_PATH))
+                .inScenario("retry")
+                .whenScenarioStateIs("recovered")
+                .willReturn(aResponse().withBody("[1,\"Sent\",\"14598111595318003\"]")));
+    }
+}
@@ -17,6 +17,7 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -29,6 +30,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 public class TimeEndpointTest extends TestHarness {
 
@@ -197,6 +199,29 @@ public class TimeEndpointTest extends TestHarness {
 
     }
 
+    @Test
+    public void testFutureSuccess() throws Exception {
+        stubFor(get(urlPathEqualTo("/time/0"))
+                .willReturn(aResponse().withBody("[14593046077243110]")));
+
+        PNTimeResult response = partialTime.future().get(5, TimeUnit.SECONDS);
+
+        assertEquals(14593046077243110L, (long) response.getTimetoken());
+    }
+
+    @Test
+    public void testFutureBrokenWithout200() throws Exception {
+        stubFor(get(urlPathEqualTo("/time/0"))
+                .willReturn(aResponse().withBody("[14593046077243110]").withStatus(404)));
+
+        try {
+            partialTime.future().get(5, TimeUnit.SECONDS);
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            assertEquals(404, ((PubNubException) e.getCause()).getStatusCode());
+        }
+    }
+
     @Test
     public void testIsAuthRequiredSuccessSync() throws IOException, PubNubException, InterruptedException {
         stubFor(get(urlPathEqualTo("/time/0"))
@@ -1,11 +1,16 @@
 package com.pubnub.api.endpoints.files;
 
+import com.pubnub.api.PNConfiguration;
 import com.pubnub.api.PubNub;
 import com.pubnub.api.PubNubException;
 import com.pubnub.api.callbacks.PNCallback;
 import com.pubnub.api.crypto.CryptoModule;
+import com.pubnub.api.UserId;
 import com.pubnub.api.endpoints.remoteaction.TestRemoteAction;
 import com.pubnub.api.managers.RetrofitManager;
+import com.pubnub.api.managers.RetryManager;
+import com.pubnub.api.managers.SchedulerManager;
+import com.pubnub.api.managers.ThreadManager;
 import com.pubnub.api.managers.token_manager.TokenManager;
 import com.pubnub.api.models.consumer.PNStatus;
 import com.pubnub.api.models.consumer.files.PNBaseFile;
@@ -16,6 +21,8 @@ import com.pubnub.api.models.server.files.FormField;
 import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -34,6 +41,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import static com.pubnub.api.PubNubUtil.readBytes;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
@@ -49,6 +57,22 @@ public class SendFileTest implements TestsWithFiles {
     private final PublishFileMessage.Builder publishFileMessageBuilder = mock(PublishFileMessage.Builder.class,
             RETURNS_DEEP_STUBS);
     private final UploadFile.Factory sendFileToS3Factory = mock(UploadFile.Factory.class);
+    private RetryManager retryManager;
+    private SchedulerManager schedulerManager;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        PNConfiguration pnConfiguration = new PNConfiguration(new UserId("myUUID"));
+        pnConfiguration.setRetryBaseDelay(1);
+        pnConfiguration.setRetryMaximumDelay(1);
+        retryManager = new RetryManager(pnConfiguration);
+        schedulerManager = new SchedulerManager(new ThreadManager(pnConfiguration));
+    }
+
+    @After
+    public void afterEach() {
+        schedulerManager.destroy();
+    }
 
     @Override
     @Rule
@@ -64,7 +88,7 @@ public class SendFileTest implements TestsWithFiles {
         PNFileUploadResult expectedResponse = pnFileUploadResult();
         PNPublishFileMessageResult publishFileMessageResult = new PNPublishFileMessageResult(expectedResponse.getTimetoken());
 
-        when(generateUploadUrlFactory.create(any(), any())).thenReturn(TestRemoteAction.successful(
+        when(generateUploadUrlFactory.create(any(), any(), any(), any())).thenReturn(TestRemoteAction.successful(
                 fileUploadRequestDetails));
         when(sendFileToS3Factory.create(any(), any(), any(), any())).thenReturn(TestRemoteAction.successful(null));
         PublishFileMessage publishFileMessage = AlwaysSuccessfulPublishFileMessage.create(publishFileMessageResult);
@@ -91,7 +115,7 @@ public class SendFileTest implements TestsWithFiles {
         PNPublishFileMessageResult publishFileMessageResult = new PNPublishFileMessageResult(expectedResponse.getTimetoken());
 
 
-        when(generateUploadUrlFactory.create(any(), any())).thenReturn(TestRemoteAction.successful(
+        when(generateUploadUrlFactory.create(any(), any(), any(), any())).thenReturn(TestRemoteAction.successful(
                 fileUploadRequestDetails));
         when(sendFileToS3Factory.create(any(), any(), any(), any())).thenReturn(TestRemoteAction.successful(null));
         PublishFileMessage publishFileMessage = AlwaysSuccessfulPublishFileMessage.create(publishFileMessageResult);
@@ -120,7 +144,7 @@ public class SendFileTest implements TestsWithFiles {
         PNPublishFileMessageResult publishFileMessageResult = new PNPublishFileMessageResult(expectedResponse.getTimetoken());
         int numberOfRetries = 5;
 
-        when(generateUploadUrlFactory.create(any(), any())).thenReturn(TestRemoteAction.successful(
+        when(generateUploadUrlFactory.create(any(), any(), any(), any())).thenReturn(TestRemoteAction.successful(
                 fileUploadRequestDetails));
         when(sendFileToS3Factory.create(any(), any(), any(), any())).thenReturn(TestRemoteAction.successful(null));
         PublishFileMessage publishFileMessage = spy(FailingPublishFileMessage.create(publishFileMessageResult, numberOfRetries - 1));
@@ -151,7 +175,7 @@ public class SendFileTest implements TestsWithFiles {
         PNPublishFileMessageResult publishFileMessageResult = new PNPublishFileMessageResult(expectedResponse.getTimetoken());
         int numberOfRetries = 5;
 
-        when(generateUploadUrlFactory.create(any(), any())).thenReturn(TestRemoteAction.successful(
+        when(generateUploadUrlFactory.create(any(), any(), any(), any())).thenReturn(TestRemoteAction.successful(
                 fileUploadRequestDetails));
         when(sendFileToS3Factory.create(any(), any(), any(), any())).thenReturn(TestRemoteAction.successful(null));
         PublishFileMessage publishFileMessage = spy(FailingPublishFileMessage.create(publishFileMessageResult, numberOfRetries - 1));
@@ -170,6 +194,88 @@ public class SendFileTest implements TestsWithFiles {
 
     }
 
+    @Test
+    public void sync_userIdAndAuthTokenArePassedToInnerRequests() throws PubNubException, IOException {
+        //given
+        File file = getTemporaryFile(filename);
+        UserId userId = new UserId("otherUser");
+        FileUploadRequestDetails fileUploadRequestDetails = generateUploadUrlProperResponse();
+        PNPublishFileMessageResult publishFileMessageResult = new PNPublishFileMessageResult(1337L);
+
+        when(generateUploadUrlFactory.create(any(), any(), any(), any())).thenReturn(TestRemoteAction.successful(
+                fileUploadRequestDetails));
+        when(sendFileToS3Factory.create(any(), any(), any(), any())).thenReturn(TestRemoteAction.successful(null));
+        PublishFileMessage publishFileMessage = spy(AlwaysSuccessfulPublishFileMessage.create(publishFileMessageResult));
+        when(publishFileMessageBuilder.channel(any()).fileName(any()).fileId(any()))
+                .thenReturn(publishFileMessage);
+
+        //when
+        try (FileInputStream fileInputStream = new FileInputStream(file)) {
+            sendFile(channel, file.getName(), fileInputStream).userId(userId).authToken("otherToken").sync();
+        }
+
+        //then
+        verify(generateUploadUrlFactory).create(channel, file.getName(), userId, "otherToken");
+        verify(publishFileMessage).userId(userId);
+        verify(publishFileMessage).authToken("otherToken");
+    }
+
+    @Test
+    public void sync_rejectedPublishFileMessageIsNotRetried() throws IOException, PubNubException {
+        //given
+        File file = getTemporaryFile(filename);
+        FileUploadRequestDetails fileUploadRequestDetails = generateUploadUrlProperResponse();
+        PNPublishFileMessageResult publishFileMessageResult = new PNPublishFileMessageResult(1337L);
+
+        when(generateUploadUrlFactory.create(any(), any(), any(), any())).thenReturn(TestRemoteAction.successful(
+                fileUploadRequestDetails));
+        when(sendFileToS3Factory.create(any(), any(), any(), any())).thenReturn(TestRemoteAction.successful(null));
+        PublishFileMessage publishFileMessage = spy(FailingPublishFileMessage.rejecting(publishFileMessageResult, 1));
+        when(publishFileMessageBuilder.channel(any()).fileName(any()).fileId(any()))
+                .thenReturn(publishFileMessage);
+
+        //when
+        try (FileInputStream fileInputStream = new FileInputStream(file)) {
+            sendFile(channel, file.getName(), fileInputStream, 5).sync();
+            fail("Exception expected");
+        } catch (PubNubException e) {
+            //then
+            assertEquals(400, e.getStatusCode());
+            verify(publishFileMessage, times(1)).sync();
+        }
+    }
+
+    @Test
+    public void async_rejectedPublishFileMessageIsNotRetried() throws InterruptedException, IOException {
+        //given
+        CountDownLatch countDownLatch = new CountDownLatch(1);
+        File file = getTemporaryFile(filename);
+        FileUploadRequestDetails fileUploadRequestDetails = generateUploadUrlProperResponse();
+        PNPublishFileMessageResult publishFileMessageResult = new PNPublishFileMessageResult(1337L);
+
+        when(generateUploadUrlFactory.create(any(), any(), any(), any())).thenReturn(TestRemoteAction.successful(
+                fileUploadRequestDetails));
+        when(sendFileToS3Factory.create(any(), any(), any(), any())).thenReturn(TestRemoteAction.successful(null));
+        PublishFileMessage publishFileMessage = spy(FailingPublishFileMessage.rejecting(publishFileMessageResult, 1));
+        when(publishFileMessageBuilder.channel(any()).fileName(any()).fileId(any()))
+                .thenReturn(publishFileMessage);
+
+        //when
+        try (FileInputStream fileInputStream = new FileInputStream(file)) {
+            sendFile(channel, file.getName(), fileInputStream, 5).async(
+                    (result, status) -> {
+                        assertTrue(status.isError());
+                        assertEquals(400, status.getStatusCode());
+                        countDownLatch.countDown();
+                    }
+            );
+        }
+
+        //then
+        assertTrue(countDownLatch.await(1, TimeUnit.SECONDS));
+        verify(publishFileMessage, times(1)).async(any());
+    }
+
     private FileUploadRequestDetails generateUploadUrlProperResponse() {
         return new FileUploadRequestDetails(200,
                 new PNBaseFile("id", "name"),
@@ -191,6 +297,8 @@ public class SendFileTest implements TestsWithFiles {
                 publishFileMessageBuilder,
                 sendFileToS3Factory,
                 Executors.newSingleThreadExecutor(),
+                retryManager,
+                schedulerManager,
                 numberOfRetries,
                 CryptoModule.createLegacyCryptoModule("enigma", true)
         );
@@ -204,25 +312,32 @@ public class SendFileTest implements TestsWithFiles {
 
         private final PNPublishFileMessageResult result;
         private final int numberOfFailsBeforeSuccess;
+        private final int failureStatusCode;
         private AtomicInteger numberOfFails = new AtomicInteger(0);
 
 
         public static PublishFileMessage create(PNPublishFileMessageResult result, int numberOfFailsBeforeSuccess) {
-            return new FailingPublishFileMessage(result, numberOfFailsBeforeSuccess);
+            return new FailingPublishFileMessage(result, numberOfFailsBeforeSuccess, 500);
+        }
+
+        public static PublishFileMessage rejecting(PNPublishFileMessageResult result, int numberOfFailsBeforeSuccess) {
+            return new FailingPublishFileMessage(result, numberOfFailsBeforeSuccess, 400);
         }
 
 
         public FailingPublishFileMessage(PNPublishFileMessageResult result,
-                                         int numberOfFailsBeforeSuccess)  {
+                                         int numberOfFailsBeforeSuccess,
+                                         int failureStatusCode)  {
             super("channel", "fileName", "fileId", mock(PubNub.class), null, mock(RetrofitManager.class), new TokenManager());
             this.result = result;
             this.numberOfFailsBeforeSuccess = numberOfFailsBeforeSuccess;
+            this.failureStatusCode = failureStatusCode;
         }
 
         @Override
         public void async(@NotNull PNCallback<PNPublishFileMessageResult> callback) {
             if (numberOfFails.getAndAdd(1) < numberOfFailsBeforeSuccess) {
-                callback.onResponse(null, PNStatus.builder().error(true).statusCode(400).build());
+                callback.onResponse(null, PNStatus.builder().error(true).statusCode(failureStatusCode).build());
             } else {
                 callback.onResponse(result, PNStatus.builder().statusCode(200).build());
             }
@@ -231,7 +346,7 @@ public class SendFileTest implements TestsWithFiles {
         @Override
         public @Nullable PNPublishFileMessageResult sync() throws PubNubException {
             if (numberOfFails.getAndAdd(1) < numberOfFailsBeforeSuccess) {
-                throw PubNubException.builder().build();
+                throw PubNubException.builder().statusCode(failureStatusCode).build();
             }
             return result;
         }
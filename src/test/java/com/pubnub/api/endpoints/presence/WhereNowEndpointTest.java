@@ -5,6 +5,7 @@ import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import com.github.tomakehurst.wiremock.verification.LoggedRequest;
 import com.pubnub.api.PubNub;
 import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
 import com.pubnub.api.callbacks.WhereNowCallback;
 import com.pubnub.api.endpoints.TestHarness;
 import com.pubnub.api.models.consumer.PNStatus;
@@ -68,6 +69,19 @@ public class WhereNowEndpointTest extends TestHarness {
         assertThat(response.getChannels(), org.hamcrest.Matchers.contains("a", "b"));
     }
 
+    @Test
+    public void testSyncSuccessUserIdOverride() throws PubNubException {
+        stubFor(get(urlPathEqualTo("/v2/presence/sub-key/mySubscribeKey/uuid/endUser"))
+                .willReturn(aResponse().withBody("{\"status\": 200, \"message\": \"OK\", \"payload\": {\"channels\": " +
+                        "[\"a\"]}, \"service\": \"Presence\"}")));
+
+        PNWhereNowResult response = partialWhereNow.userId(new UserId("endUser")).sync();
+
+        assertThat(response.getChannels(), org.hamcrest.Matchers.contains("a"));
+        List<LoggedRequest> requests = findAll(getRequestedFor(urlMatching("/.*")));
+        assertEquals("endUser", requests.get(0).queryParameter("uuid").firstValue());
+    }
+
     @Test
     public void testSyncSuccessCustomUUID() throws IOException, PubNubException, InterruptedException {
 
@@ -0,0 +1,176 @@
+package com.pubnub.api.endpoints.pubsub;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import com.pubnub.api.PubNub;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.builder.PubNubErrorBuilder;
+import com.pubnub.api.endpoints.TestHarness;
+import com.pubnub.api.models.consumer.PNPublishResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.findAll;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PreparedPublishTest extends TestHarness {
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(options().port(this.PORT), false);
+
+    private PubNub pubnub;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        pubnub = this.createPubNubInstance();
+        wireMockRule.start();
+    }
+
+    @After
+    public void afterEach() {
+        pubnub.destroy();
+        pubnub = null;
+        wireMockRule.stop();
+    }
+
+    @Test
+    public void messagesAreSentWithPreparedOptions() throws PubNubException {
+        stubFor(get(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/cool%20channel/0/%5B%22hi%22%5D"))
+                .willReturn(aResponse().withBody("[1,\"Sent\",\"14598111595318003\"]")));
+
+        PreparedPublish prepared = pubnub.preparePublish()
+                .channel("cool channel")
+                .meta(Collections.singletonMap("a", "b"))
+                .shouldStore(false)
+                .ttl(10)
+                .replicate(false)
+                .build();
+
+        PNPublishResult first = prepared.message(Collections.singletonList("hi")).sync();
+        prepared.message(Collections.singletonList("hi")).sync();
+
+        assertEquals(Long.valueOf(14598111595318003L), first.getTimetoken());
+        List<LoggedRequest> requests = findAll(getRequestedFor(urlMatching("/.*")));
+        assertEquals(2, requests.size());
+        LoggedRequest request = requests.get(0);
+        assertEquals("myUUID", request.queryParameter("uuid").firstValue());
+        assertEquals("{\"a\":\"b\"}", request.queryParameter("meta").firstValue());
+        assertEquals("0", request.queryParameter("store").firstValue());
+        assertEquals("10", request.queryParameter("ttl").firstValue());
+        assertEquals("true", request.queryParameter("norep").firstValue());
+        assertEquals("1", request.queryParameter("seqn").firstValue());
+        assertEquals("2", requests.get(1).queryParameter("seqn").firstValue());
+    }
+
+    @Test
+    public void largeMessagesAreSentWithPost() throws PubNubException {
+        stubFor(post(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/coolChannel/0"))
+                .willReturn(aResponse().withBody("[1,\"Sent\",\"14598111595318003\"]")));
+
+        PreparedPublish prepared = pubnub.preparePublish()
+                .channel("coolChannel")
+                .maximumGetLength(16)
+                .build();
+
+        prepared.message(Arrays.asList("hi", "this is too long for a get")).sync();
+
+        List<LoggedRequest> requests = findAll(postRequestedFor(urlMatching("/.*")));
+        assertEquals(1, requests.size());
+        assertEquals("[\"hi\",\"this is too long for a get\"]", requests.get(0).getBodyAsString());
+        assertEquals(0, findAll(getRequestedFor(urlMatching("/.*"))).size());
+    }
+
+    @Test
+    public void messagesAreEncodedLikePublish() throws PubNubException {
+        stubFor(get(urlMatching("/publish/.*"))
+                .willReturn(aResponse().withBody("[1,\"Sent\",\"14598111595318003\"]")));
+        List<String> message = Arrays.asList("a b/c?d", "\u00fc", "+&=");
+
+        pubnub.preparePublish().channel("coolChannel").build().message(message).sync();
+        pubnub.publish().channel("coolChannel").message(message).sync();
+
+        List<LoggedRequest> requests = findAll(getRequestedFor(urlMatching("/.*")));
+        assertEquals(2, requests.size());
+        String path = requests.get(1).getUrl().split("\\?")[0];
+        assertEquals(path, requests.get(0).getUrl().split("\\?")[0]);
+    }
+
+    @Test
+    public void compressedMessagesMatchPublish() throws PubNubException {
+        stubFor(post(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/coolChannel/0"))
+                .willReturn(aResponse().withBody("[1,\"Sent\",\"14598111595318003\"]")));
+        pubnub.getConfiguration().setMessageCompression(true);
+        List<String> message = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            message.add("message " + i);
+        }
+
+        pubnub.preparePublish().channel("coolChannel").usePOST(true).build().message(message).sync();
+        pubnub.publish().channel("coolChannel").usePOST(true).message(message).sync();
+
+        List<LoggedRequest> requests = findAll(postRequestedFor(urlMatching("/.*")));
+        assertEquals(2, requests.size());
+        String body = requests.get(0).getBodyAsString();
+        assertTrue(body.startsWith("{\"pn_deflate\":\""));
+        assertEquals(requests.get(1).getBodyAsString(), body);
+        assertEquals(2, pubnub.getMessageCompressionStatistics().getCompressedMessages());
+    }
+
+    @Test
+    public void rawJsonIsSentAsItIs() throws PubNubException {
+        stubFor(get(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/coolChannel/0/%7B%22a%22%3A%20%5B1%5D%7D"))
+                .willReturn(aResponse().withBody("[1,\"Sent\",\"14598111595318003\"]")));
+        stubFor(post(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/coolChannel/0"))
+                .willReturn(aResponse().withBody("[1,\"Sent\",\"14598111595318003\"]")));
+
+        PreparedPublish prepared = pubnub.preparePublish().channel("coolChannel").maximumGetLength(30).build();
+        prepared.rawJson("{\"a\": [1]}".getBytes(StandardCharsets.UTF_8)).sync();
+        prepared.rawJson("[\"this is too long for a get\"]").sync();
+
+        assertEquals(1, findAll(getRequestedFor(urlMatching("/.*"))).size());
+        List<LoggedRequest> posts = findAll(postRequestedFor(urlMatching("/.*")));
+        assertEquals(1, posts.size());
+        assertEquals("[\"this is too long for a get\"]", posts.get(0).getBodyAsString());
+    }
+
+    @Test
+    public void encryptedMessagesMatchPublish() throws PubNubException {
+        pubnub.getConfiguration().setCipherKey("testCipher");
+        stubFor(get(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/coolChannel/0/"
+                + "%22HFP7V6bDwBLrwc1t8Rnrog%3D%3D%22"))
+                .willReturn(aResponse().withBody("[1,\"Sent\",\"14598111595318003\"]")));
+
+        pubnub.preparePublish().channel("coolChannel").build().message(Arrays.asList("m1", "m2")).sync();
+
+        assertEquals(1, findAll(getRequestedFor(urlMatching("/.*"))).size());
+    }
+
+    @Test
+    public void missingChannelIsRejectedWhenPreparing() {
+        try {
+            pubnub.preparePublish().build();
+            fail("Exception expected");
+        } catch (PubNubException e) {
+            assertEquals(PubNubErrorBuilder.PNERR_CHANNEL_MISSING, e.getPubnubError().getErrorCode());
+        }
+    }
+}
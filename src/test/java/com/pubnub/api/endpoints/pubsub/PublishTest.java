@@ -2,8 +2,11 @@ package com.pubnub.api.endpoints.pubsub;
 
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import com.google.gson.JsonElement;
 import com.pubnub.api.PubNub;
 import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
+import com.pubnub.api.builder.PubNubErrorBuilder;
 import com.pubnub.api.callbacks.PNCallback;
 import com.pubnub.api.endpoints.TestHarness;
 import com.pubnub.api.enums.PNOperationType;
@@ -20,7 +23,10 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -140,6 +146,97 @@ public class PublishTest extends TestHarness {
         assertEquals("[\"m1\",\"m2\"]", new String(requests.get(0).getBody(), "UTF-8"));
     }
 
+    @Test
+    public void testRawJsonSync() throws PubNubException {
+        stubFor(get(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/coolChannel/0/"
+                + "%7B%22a%22%3A%5B1%2C%22%C3%B3%20x%22%5D%7D"))
+                .willReturn(aResponse().withBody("[1,\"Sent\",\"14598111595318003\"]")));
+
+        PNPublishResult result = instance.channel("coolChannel")
+                .rawJson("{\"a\":[1,\"\u00F3 x\"]}".getBytes(StandardCharsets.UTF_8)).sync();
+
+        assertEquals(Long.valueOf(14598111595318003L), result.getTimetoken());
+    }
+
+    @Test
+    public void testRawJsonPostSync() throws PubNubException {
+        stubFor(post(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/coolChannel/0"))
+                .willReturn(aResponse().withBody("[1,\"Sent\",\"14598111595318003\"]")));
+
+        ByteBuffer json = ByteBuffer.wrap("xx[\"m1\",\"m2\"]".getBytes(StandardCharsets.UTF_8));
+        json.position(2);
+        instance.channel("coolChannel").usePOST(true).rawJson(json).sync();
+
+        List<LoggedRequest> requests = findAll(postRequestedFor(urlMatching("/.*")));
+        assertEquals(1, requests.size());
+        assertEquals("[\"m1\",\"m2\"]", new String(requests.get(0).getBody(), StandardCharsets.UTF_8));
+        assertEquals(2, json.position());
+    }
+
+    @Test
+    public void testRawJsonPostEncryptedSync() throws PubNubException {
+        stubFor(post(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/coolChannel/0"))
+                .willReturn(aResponse().withBody("[1,\"Sent\",\"14598111595318003\"]")));
+
+        pubnub.getConfiguration().setCipherKey("testCipher");
+        instance.channel("coolChannel").usePOST(true).rawJson("[\"m1\",\"m2\"]").sync();
+
+        List<LoggedRequest> requests = findAll(postRequestedFor(urlMatching("/.*")));
+        assertEquals("\"HFP7V6bDwBLrwc1t8Rnrog==\"", new String(requests.get(0).getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testInvalidRawJson() {
+        try {
+            instance.channel("coolChannel").validateRawJson(true).rawJson("{\"a\":").sync();
+            fail();
+        } catch (PubNubException e) {
+            assertEquals(PubNubErrorBuilder.PNERR_INVALID_RAW_JSON, e.getPubnubError().getErrorCode());
+        }
+    }
+
+    @Test
+    public void testRawJsonIsNotValidatedByDefault() throws PubNubException {
+        stubFor(get(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/coolChannel/0/%7B%22a%22%3A"))
+                .willReturn(aResponse().withBody("[1,\"Sent\",\"14598111595318003\"]")));
+
+        instance.channel("coolChannel").rawJson("{\"a\":").sync();
+
+        assertEquals(1, findAll(getRequestedFor(urlMatching("/.*"))).size());
+    }
+
+    @Test
+    public void testCompressedPostSync() throws PubNubException {
+        stubFor(post(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/coolChannel/0"))
+                .willReturn(aResponse().withBody("[1,\"Sent\",\"14598111595318003\"]")));
+
+        pubnub.getConfiguration().setMessageCompression(true);
+        List<String> message = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            message.add("message " + i);
+        }
+        instance.channel("coolChannel").usePOST(true).message(message).sync();
+
+        List<LoggedRequest> requests = findAll(postRequestedFor(urlMatching("/.*")));
+        String body = new String(requests.get(0).getBody(), StandardCharsets.UTF_8);
+        assertTrue(body.startsWith("{\"pn_deflate\":\""));
+        assertEquals(pubnub.getMapper().toJsonTree(message),
+                pubnub.getMessageCompressionManager().inflate(pubnub.getMapper().fromJson(body, JsonElement.class)));
+        assertEquals(1, pubnub.getMessageCompressionStatistics().getCompressedMessages());
+    }
+
+    @Test
+    public void testSmallMessageIsNotCompressed() throws PubNubException {
+        stubFor(get(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/coolChannel/0/%22hi%22"))
+                .willReturn(aResponse().withBody("[1,\"Sent\",\"14598111595318003\"]")));
+
+        pubnub.getConfiguration().setMessageCompression(true);
+        instance.channel("coolChannel").message("hi").sync();
+
+        assertEquals(1, findAll(getRequestedFor(urlMatching("/.*"))).size());
+        assertEquals(0, pubnub.getMessageCompressionStatistics().getCompressedMessages());
+    }
+
     @Test
     public void testSuccessStoreFalseSync() throws PubNubException, InterruptedException {
         stubFor(get(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/coolChannel/0/%22hi%22"))
@@ -183,6 +280,24 @@ public class PublishTest extends TestHarness {
         assertEquals(1, requests.size());
     }
 
+    @Test
+    public void testUserIdAndAuthTokenOverridePerRequest() throws PubNubException {
+        stubFor(get(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/coolChannel/0/%22hi%22"))
+                .willReturn(aResponse().withBody("[1,\"Sent\",\"14598111595318003\"]")));
+
+        pubnub.getConfiguration().setAuthKey("authKey");
+        pubnub.publish().channel("coolChannel").message("hi")
+                .userId(new UserId("endUser")).authToken("end user token").sync();
+        pubnub.publish().channel("coolChannel").message("hi").sync();
+
+        List<LoggedRequest> requests = findAll(getRequestedFor(urlMatching("/.*")));
+        assertEquals(2, requests.size());
+        assertEquals("endUser", requests.get(0).queryParameter("uuid").firstValue());
+        assertEquals("end user token", requests.get(0).queryParameter("auth").firstValue());
+        assertEquals("myUUID", requests.get(1).queryParameter("uuid").firstValue());
+        assertEquals("authKey", requests.get(1).queryParameter("auth").firstValue());
+    }
+
     @Test
     public void testSuccessAuthKeySync() throws PubNubException, InterruptedException {
         stubFor(get(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/coolChannel/0/%22hi%22"))
@@ -95,6 +95,23 @@ public class SignalTest extends TestHarness {
         assertEquals(pubNub.getMapper().toJson(payload), decodedSignalPayload);
     }
 
+    @Test
+    public void testSignalRawJsonSync() throws PubNubException {
+        stubFor(get(urlMatching("/signal/myPublishKey/mySubscribeKey/0/coolChannel.*"))
+                .willReturn(aResponse().withBody("[1,\"Sent\",\"1000\"]")));
+
+        pubNub.signal()
+                .channel("coolChannel")
+                .validateRawJson(true)
+                .rawJson("{\"text\":\"hello\"}")
+                .sync();
+
+        List<LoggedRequest> requests = findAll(getRequestedFor(urlMatching("/.*")));
+        assertEquals(1, requests.size());
+        HttpUrl httpUrl = HttpUrl.parse(requests.get(0).getAbsoluteUrl());
+        assertEquals("{\"text\":\"hello\"}", httpUrl.pathSegments().get(httpUrl.pathSize() - 1));
+    }
+
     @Test
     public void testSignalGetSuccessAsync() {
 
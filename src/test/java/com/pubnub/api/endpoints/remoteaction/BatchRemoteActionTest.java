@@ -0,0 +1,226 @@
+package com.pubnub.api.endpoints.remoteaction;
+
+import com.pubnub.api.callbacks.PNCallback;
+import com.pubnub.api.models.consumer.PNBatchResult;
+import com.pubnub.api.models.consumer.PNStatus;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BatchRemoteActionTest {
+
+    @Test
+    public void resultsKeepOrderOfActions() throws Exception {
+        BatchRemoteAction<Integer> batch = new BatchRemoteAction<>(Arrays.asList(
+                TestRemoteAction.successful(1),
+                TestRemoteAction.successful(2),
+                TestRemoteAction.successful(3)));
+
+        PNBatchResult<Integer> result = batch.sync();
+
+        assertEquals(Arrays.asList(1, 2, 3), result.getResults());
+        assertFalse(result.hasFailures());
+    }
+
+    @Test
+    public void failuresAreAggregatedByPosition() throws Exception {
+        BatchRemoteAction<Integer> batch = new BatchRemoteAction<>(Arrays.asList(
+                TestRemoteAction.successful(1),
+                TestRemoteAction.<Integer>failing(),
+                TestRemoteAction.successful(3)));
+
+        PNBatchResult<Integer> result = batch.sync();
+
+        assertEquals(Arrays.asList(1, null, 3), result.getResults());
+        assertTrue(result.hasFailures());
+        assertEquals(Collections.singleton(1), result.getFailures().keySet());
+        assertTrue(result.getFailures().get(1).isError());
+    }
+
+    @Test
+    public void emptyBatchCompletes() throws Exception {
+        PNBatchResult<Integer> result = new BatchRemoteAction<Integer>(Collections.emptyList()).sync();
+
+        assertTrue(result.getResults().isEmpty());
+        assertFalse(result.hasFailures());
+    }
+
+    @Test
+    public void itemsAreStreamedAsTheyComplete() throws Exception {
+        List<Integer> streamed = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> failed = Collections.synchronizedList(new ArrayList<>());
+        BatchRemoteAction<Integer> batch = new BatchRemoteAction<>(Arrays.asList(
+                TestRemoteAction.successful(1),
+                TestRemoteAction.<Integer>failing()))
+                .onItem((index, result, status) -> {
+                    if (status.isError()) {
+                        failed.add(index);
+                        assertNull(result);
+                    } else {
+                        streamed.add(result);
+                    }
+                });
+
+        batch.sync();
+
+        assertEquals(Collections.singletonList(1), streamed);
+        assertEquals(Collections.singletonList(1), failed);
+    }
+
+    @Test
+    public void numberOfActionsInFlightIsBounded() throws Exception {
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(4);
+        try {
+            AtomicInteger inFlight = new AtomicInteger();
+            AtomicInteger maximum = new AtomicInteger();
+            List<RemoteAction<Integer>> actions = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                actions.add(new DelayedAction(i, executor, inFlight, maximum));
+            }
+
+            PNBatchResult<Integer> result = new BatchRemoteAction<>(actions).maximumInFlight(3).sync();
+
+            assertEquals(20, result.getResults().size());
+            assertEquals(Integer.valueOf(19), result.getResults().get(19));
+            assertTrue(maximum.get() <= 3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void retryRunsOnlyFailedActions() throws Exception {
+        TestRemoteAction<Integer> successful = TestRemoteAction.successful(1);
+        TestRemoteAction<Integer> failingOnce = TestRemoteAction.failingFirstCall(2);
+        BatchRemoteAction<Integer> batch = new BatchRemoteAction<>(Arrays.asList(successful, failingOnce));
+
+        AtomicReference<CountDownLatch> done = new AtomicReference<>(new CountDownLatch(1));
+        AtomicReference<PNBatchResult<Integer>> last = new AtomicReference<>();
+        batch.async((result, status) -> {
+            last.set(result);
+            done.get().countDown();
+        });
+        assertTrue(done.get().await(3, TimeUnit.SECONDS));
+        assertTrue(last.get().hasFailures());
+
+        done.set(new CountDownLatch(1));
+        batch.retry();
+        assertTrue(done.get().await(3, TimeUnit.SECONDS));
+
+        assertEquals(Arrays.asList(1, 2), last.get().getResults());
+        assertFalse(last.get().hasFailures());
+        assertEquals(1, successful.howManyTimesAsyncCalled());
+        assertEquals(2, failingOnce.howManyTimesAsyncCalled());
+    }
+
+    @Test
+    public void actionThrowingOnStartCountsAsFailed() throws Exception {
+        BatchRemoteAction<Integer> batch = new BatchRemoteAction<>(Arrays.asList(
+                TestRemoteAction.successful(1),
+                new ThrowingAction(),
+                TestRemoteAction.successful(3)))
+                .maximumInFlight(1);
+
+        PNBatchResult<Integer> result = batch.sync();
+
+        assertEquals(Arrays.asList(1, null, 3), result.getResults());
+        assertEquals(Collections.singleton(1), result.getFailures().keySet());
+        PNStatus failure = result.getFailures().get(1);
+        assertTrue(failure.isError());
+        assertTrue(failure.getErrorData().getThrowable() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    public void itemCallbackThrowingCountsAsFailed() throws Exception {
+        BatchRemoteAction<Integer> batch = new BatchRemoteAction<>(Arrays.asList(
+                TestRemoteAction.successful(1),
+                TestRemoteAction.successful(2)))
+                .maximumInFlight(1)
+                .onItem((index, result, status) -> {
+                    if (index == 0) {
+                        throw new IllegalStateException("item callback failed");
+                    }
+                });
+
+        PNBatchResult<Integer> result = batch.sync();
+
+        assertEquals(Arrays.asList(null, 2), result.getResults());
+        assertEquals(Collections.singleton(0), result.getFailures().keySet());
+    }
+
+    private static final class ThrowingAction implements RemoteAction<Integer> {
+        @Override
+        public Integer sync() {
+            throw new RejectedExecutionException("executor is shut down");
+        }
+
+        @Override
+        public void async(@NotNull PNCallback<Integer> callback) {
+            throw new RejectedExecutionException("executor is shut down");
+        }
+
+        @Override
+        public void retry() {
+        }
+
+        @Override
+        public void silentCancel() {
+        }
+    }
+
+    private static final class DelayedAction implements RemoteAction<Integer> {
+        private final int value;
+        private final ScheduledExecutorService executor;
+        private final AtomicInteger inFlight;
+        private final AtomicInteger maximum;
+
+        private DelayedAction(int value,
+                              ScheduledExecutorService executor,
+                              AtomicInteger inFlight,
+                              AtomicInteger maximum) {
+            this.value = value;
+            this.executor = executor;
+            this.inFlight = inFlight;
+            this.maximum = maximum;
+        }
+
+        @Override
+        public Integer sync() {
+            return value;
+        }
+
+        @Override
+        public void async(@NotNull PNCallback<Integer> callback) {
+            int current = inFlight.incrementAndGet();
+            maximum.accumulateAndGet(current, Math::max);
+            executor.schedule(() -> {
+                inFlight.decrementAndGet();
+                callback.onResponse(value, PNStatus.builder().build());
+            }, 5, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void retry() {
+        }
+
+        @Override
+        public void silentCancel() {
+        }
+    }
+}
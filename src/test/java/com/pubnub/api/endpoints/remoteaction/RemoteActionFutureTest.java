@@ -0,0 +1,68 @@
+package com.pubnub.api.endpoints.remoteaction;
+
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.callbacks.PNCallback;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.fail;
+
+public class RemoteActionFutureTest {
+
+    @Test
+    public void futureIsCompletedWithResult() throws Exception {
+        CompletableFuture<Integer> future = TestRemoteAction.successful(5).future();
+
+        Assert.assertEquals(Integer.valueOf(5), future.get(3, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void futureIsCompletedExceptionallyOnError() throws InterruptedException, TimeoutException {
+        CompletableFuture<Integer> future = TestRemoteAction.<Integer>failing().future();
+
+        try {
+            future.get(3, TimeUnit.SECONDS);
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof PubNubException);
+        }
+    }
+
+    @Test
+    public void composedActionsCompleteFuture() throws Exception {
+        CompletableFuture<String> future = ComposableRemoteAction
+                .firstDo(TestRemoteAction.successful(5))
+                .then(result -> TestRemoteAction.successful("result" + result))
+                .future();
+
+        Assert.assertEquals("result5", future.get(3, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cancellingFutureCancelsAction() {
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        CancellableRemoteAction<Integer> remoteAction = new CancellableRemoteAction<Integer>() {
+            @Override
+            public void doAsync(PNCallback<Integer> callback) throws InterruptedException {
+                Thread.sleep(1000);
+            }
+
+            @Override
+            public void silentCancel() {
+                cancelled.set(true);
+            }
+        };
+
+        CompletableFuture<Integer> future = remoteAction.future();
+
+        Assert.assertTrue(future.cancel(true));
+        Assert.assertTrue(cancelled.get());
+        Assert.assertTrue(future.isCancelled());
+    }
+}
@@ -1,9 +1,16 @@
 package com.pubnub.api.endpoints.remoteaction;
 
 
+import com.pubnub.api.PNConfiguration;
 import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
 import com.pubnub.api.enums.PNOperationType;
+import com.pubnub.api.managers.RetryManager;
+import com.pubnub.api.managers.SchedulerManager;
+import com.pubnub.api.managers.ThreadManager;
+import org.junit.After;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 
 import java.util.concurrent.CountDownLatch;
@@ -23,6 +30,23 @@ public class RetryingRemoteActionTest {
     int numberOfRetries = 2;
     int timeoutMs = 1000;
     ExecutorService executorService = Executors.newSingleThreadExecutor();
+    RetryManager retryManager;
+    SchedulerManager schedulerManager;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        PNConfiguration pnConfiguration = new PNConfiguration(new UserId("myUUID"));
+        pnConfiguration.setRetryBaseDelay(1);
+        pnConfiguration.setRetryMaximumDelay(1);
+        retryManager = new RetryManager(pnConfiguration);
+        schedulerManager = new SchedulerManager(new ThreadManager(pnConfiguration));
+    }
+
+    @After
+    public void afterEach() {
+        schedulerManager.destroy();
+    }
+
     @Test
     public void whenSucceedsWrappedActionIsCalledOnce() throws PubNubException {
         //given
@@ -30,7 +54,9 @@ public class RetryingRemoteActionTest {
         RetryingRemoteAction<Integer> retryingRemoteAction = RetryingRemoteAction.autoRetry(remoteAction,
                 numberOfRetries,
                 PNOperationType.PNFileAction,
-                executorService);
+                executorService,
+                retryManager,
+                schedulerManager);
 
         //when
         Integer result = retryingRemoteAction.sync();
@@ -47,7 +73,9 @@ public class RetryingRemoteActionTest {
         RetryingRemoteAction<Integer> retryingRemoteAction = RetryingRemoteAction.autoRetry(remoteAction,
                 numberOfRetries,
                 PNOperationType.PNFileAction,
-                executorService);
+                executorService,
+                retryManager,
+                schedulerManager);
 
         //when
         Integer result = retryingRemoteAction.sync();
@@ -64,7 +92,9 @@ public class RetryingRemoteActionTest {
         RetryingRemoteAction<Integer> retryingRemoteAction = RetryingRemoteAction.autoRetry(remoteAction,
                 numberOfRetries,
                 PNOperationType.PNFileAction,
-                executorService);
+                executorService,
+                retryManager,
+                schedulerManager);
 
         //when
         try {
@@ -76,6 +106,53 @@ public class RetryingRemoteActionTest {
         }
     }
 
+    @Test
+    public void whenRejectedWrappedActionIsCalledOnceAndThrows() throws PubNubException {
+        //given
+        TestRemoteAction<Integer> remoteAction = spy(TestRemoteAction.rejecting());
+        RetryingRemoteAction<Integer> retryingRemoteAction = RetryingRemoteAction.autoRetry(remoteAction,
+                numberOfRetries,
+                PNOperationType.PNFileAction,
+                executorService,
+                retryManager,
+                schedulerManager);
+
+        //when
+        try {
+            retryingRemoteAction.sync();
+            fail("Exception expected");
+        } catch (PubNubException ex) {
+            //then
+            Assert.assertEquals(400, ex.getStatusCode());
+            verify(remoteAction, times(1)).sync();
+        }
+    }
+
+    @Test
+    public void whenRejectedWrappedActionIsCalledOnceAndPassesError() throws InterruptedException {
+        //given
+        TestRemoteAction<Integer> remoteAction = spy(TestRemoteAction.rejecting());
+        RetryingRemoteAction<Integer> retryingRemoteAction = RetryingRemoteAction.autoRetry(remoteAction,
+                numberOfRetries,
+                PNOperationType.PNFileAction,
+                executorService,
+                retryManager,
+                schedulerManager);
+        CountDownLatch asyncSynchronization = new CountDownLatch(1);
+
+        //when
+        retryingRemoteAction.async((result, status) -> {
+            //then
+            Assert.assertTrue(status.isError());
+            verify(remoteAction, times(1)).async(any());
+            asyncSynchronization.countDown();
+        });
+
+        if (!asyncSynchronization.await(3, TimeUnit.SECONDS)) {
+            fail("Callback have not been called");
+        }
+    }
+
     @Test
     public void whenSucceedsWrappedActionIsCalledOnceAndPassesResult() throws InterruptedException {
         //given
@@ -83,7 +160,9 @@ public class RetryingRemoteActionTest {
         RetryingRemoteAction<Integer> retryingRemoteAction = RetryingRemoteAction.autoRetry(remoteAction,
                 numberOfRetries,
                 PNOperationType.PNFileAction,
-                executorService);
+                executorService,
+                retryManager,
+                schedulerManager);
         CountDownLatch asyncSynchronization = new CountDownLatch(1);
 
         //when
@@ -107,7 +186,9 @@ public class RetryingRemoteActionTest {
         RetryingRemoteAction<Integer> retryingRemoteAction = RetryingRemoteAction.autoRetry(remoteAction,
                 numberOfRetries,
                 PNOperationType.PNFileAction,
-                executorService);
+                executorService,
+                retryManager,
+                schedulerManager);
         CountDownLatch asyncSynchronization = new CountDownLatch(1);
 
         //when
@@ -131,7 +212,9 @@ public class RetryingRemoteActionTest {
         RetryingRemoteAction<Integer> retryingRemoteAction = RetryingRemoteAction.autoRetry(remoteAction,
                 numberOfRetries,
                 PNOperationType.PNFileAction,
-                executorService);
+                executorService,
+                retryManager,
+                schedulerManager);
         CountDownLatch asyncSynchronization = new CountDownLatch(1);
 
         //when
@@ -155,7 +238,9 @@ public class RetryingRemoteActionTest {
         RetryingRemoteAction<Integer> retryingRemoteAction = RetryingRemoteAction.autoRetry(remoteAction,
                 numberOfRetries,
                 PNOperationType.PNFileAction,
-                executorService);
+                executorService,
+                retryManager,
+                schedulerManager);
         CountDownLatch asyncSynchronization = new CountDownLatch(2);
 
         //when
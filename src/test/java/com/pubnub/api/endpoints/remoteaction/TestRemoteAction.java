@@ -29,6 +29,10 @@ public class TestRemoteAction<Output> implements RemoteAction<Output> {
         return new TestRemoteAction<>(null, FailingStrategy.ALWAYS_FAIL);
     }
 
+    public static <T> TestRemoteAction<T> rejecting() {
+        return new TestRemoteAction<>(null, FailingStrategy.ALWAYS_REJECT);
+    }
+
     public static <T> TestRemoteAction<T> failingFirstCall(T output) {
         return new TestRemoteAction<>(output, FailingStrategy.FAIL_FIRST_CALLS);
     }
@@ -39,10 +43,11 @@ public class TestRemoteAction<Output> implements RemoteAction<Output> {
 
     @Override
     public Output sync() throws PubNubException {
-        if (failingStrategy == FailingStrategy.ALWAYS_FAIL) {
-            throw PubNubException.builder().pubnubError(PubNubError.builder().errorCode(500).build()).build();
-        } else if (failingStrategy == FailingStrategy.FAIL_FIRST_CALLS && this.callsToFail.getAndDecrement() > 0) {
-            throw PubNubException.builder().pubnubError(PubNubError.builder().errorCode(500).build()).build();
+        if (fails()) {
+            throw PubNubException.builder()
+                    .pubnubError(PubNubError.builder().errorCode(failingStrategy.statusCode).build())
+                    .statusCode(failingStrategy.statusCode)
+                    .build();
         } else {
             return output;
         }
@@ -53,10 +58,8 @@ public class TestRemoteAction<Output> implements RemoteAction<Output> {
         this.callback = callback;
         asyncCallmeter.incrementAndGet();
         executor.execute(() -> {
-            if (failingStrategy == FailingStrategy.ALWAYS_FAIL) {
-                callback.onResponse(null, PNStatus.builder().error(true).build());
-            } else if (failingStrategy == FailingStrategy.FAIL_FIRST_CALLS && this.callsToFail.getAndDecrement() > 0) {
-                callback.onResponse(null, PNStatus.builder().error(true).build());
+            if (fails()) {
+                callback.onResponse(null, PNStatus.builder().error(true).statusCode(failingStrategy.statusCode).build());
             } else {
                 callback.onResponse(output, PNStatus.builder().build());
             }
@@ -75,19 +78,28 @@ public class TestRemoteAction<Output> implements RemoteAction<Output> {
 
     }
 
+    private boolean fails() {
+        return failingStrategy == FailingStrategy.ALWAYS_FAIL
+                || failingStrategy == FailingStrategy.ALWAYS_REJECT
+                || failingStrategy == FailingStrategy.FAIL_FIRST_CALLS && this.callsToFail.getAndDecrement() > 0;
+    }
+
     public int howManyTimesAsyncCalled() {
         return asyncCallmeter.get();
     }
 
     enum FailingStrategy {
-        NEVER_FAIL(0),
-        ALWAYS_FAIL(0),
-        FAIL_FIRST_CALLS(1);
+        NEVER_FAIL(0, 0),
+        ALWAYS_FAIL(0, 500),
+        ALWAYS_REJECT(0, 400),
+        FAIL_FIRST_CALLS(1, 500);
 
         int numberOfCalls;
+        int statusCode;
 
-        FailingStrategy(int numberOfCalls) {
+        FailingStrategy(int numberOfCalls, int statusCode) {
             this.numberOfCalls = numberOfCalls;
+            this.statusCode = statusCode;
         }
     }
 }
@@ -0,0 +1,65 @@
+package com.pubnub.api.interceptors;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
+import com.pubnub.api.managers.BasePathManager;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Collections;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.Assert.assertEquals;
+
+public class OriginRoutingInterceptorTest {
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(options().dynamicPort(), false);
+
+    private BasePathManager basePathManager;
+    private OkHttpClient client;
+    private String unreachableOrigin;
+
+    @Before
+    public void beforeEach() throws PubNubException, IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            unreachableOrigin = "localhost:" + socket.getLocalPort();
+        }
+
+        PNConfiguration pnConfiguration = new PNConfiguration(new UserId("myUUID"));
+        pnConfiguration.setSecure(false);
+        pnConfiguration.setOrigin(unreachableOrigin);
+        pnConfiguration.setAlternativeOrigins(Collections.singletonList("localhost:" + wireMockRule.port()));
+        basePathManager = new BasePathManager(pnConfiguration);
+
+        client = new OkHttpClient.Builder()
+                .addInterceptor(new OriginRoutingInterceptor(basePathManager, true))
+                .build();
+
+        stubFor(get(urlPathEqualTo("/time/0")).willReturn(aResponse().withBody("[14593046077243110]")));
+    }
+
+    @Test
+    public void requestFailsOverWhenOriginCannotBeReached() throws IOException {
+        Request request = new Request.Builder().url("http://" + unreachableOrigin + "/time/0").build();
+
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(200, response.code());
+            assertEquals(wireMockRule.port(), response.request().url().port());
+        }
+
+        assertEquals("localhost:" + wireMockRule.port(), basePathManager.selectOrigin(null).toString());
+    }
+}
@@ -0,0 +1,118 @@
+package com.pubnub.api.interceptors;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.PubNubUtil;
+import com.pubnub.api.UserId;
+import com.pubnub.api.models.consumer.PNRequestCompressionStatistics;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.findAll;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RequestCompressionInterceptorTest {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(options().dynamicPort(), false);
+
+    private PNConfiguration pnConfiguration;
+    private RequestCompressionInterceptor requestCompressionInterceptor;
+    private OkHttpClient client;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        pnConfiguration = new PNConfiguration(new UserId("myUUID"));
+        pnConfiguration.setPublishKey("myPublishKey");
+        pnConfiguration.setSubscribeKey("mySubscribeKey");
+        pnConfiguration.setSecretKey("mySecretKey");
+
+        requestCompressionInterceptor = new RequestCompressionInterceptor(100);
+        client = new OkHttpClient.Builder()
+                .addInterceptor(chain -> chain.proceed(PubNubUtil.signRequest(chain.request(), pnConfiguration, 1337)))
+                .addInterceptor(requestCompressionInterceptor)
+                .build();
+
+        stubFor(post(urlPathEqualTo("/v2/objects/mySubscribeKey/uuids/myUUID"))
+                .willReturn(aResponse().withBody("{}")));
+    }
+
+    @Test
+    public void largeBodyIsGzippedAndSignedUncompressed() throws IOException {
+        String body = largeBody();
+        Request request = request(body);
+
+        execute(request);
+
+        LoggedRequest loggedRequest = loggedRequest();
+        assertEquals("gzip", loggedRequest.getHeader("Content-Encoding"));
+        // WireMock inflates gzipped request bodies before logging them
+        assertEquals(body, loggedRequest.getBodyAsString());
+        assertEquals(PubNubUtil.signRequest(request, pnConfiguration, 1337).url().queryParameter("signature"),
+                loggedRequest.queryParameter("signature").firstValue());
+
+        PNRequestCompressionStatistics statistics = requestCompressionInterceptor.getStatistics();
+        assertEquals(1, statistics.getCompressedRequests());
+        assertEquals(body.length(), statistics.getUncompressedBytes());
+        assertTrue(statistics.getCompressedBytes() < statistics.getUncompressedBytes());
+    }
+
+    @Test
+    public void bodyUnderThresholdIsSentAsIs() throws IOException {
+        execute(request("{\"name\":\"short\"}"));
+
+        LoggedRequest loggedRequest = loggedRequest();
+        assertNull(loggedRequest.getHeader("Content-Encoding"));
+        assertEquals("{\"name\":\"short\"}", loggedRequest.getBodyAsString());
+        assertEquals(0, requestCompressionInterceptor.getStatistics().getCompressedRequests());
+    }
+
+    private Request request(String body) {
+        return new Request.Builder()
+                .url("http://localhost:" + wireMockRule.port() + "/v2/objects/mySubscribeKey/uuids/myUUID?uuid=myUUID")
+                .post(RequestBody.create(body, JSON))
+                .build();
+    }
+
+    private void execute(Request request) throws IOException {
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(200, response.code());
+        }
+    }
+
+    private LoggedRequest loggedRequest() {
+        List<LoggedRequest> requests = findAll(postRequestedFor(urlMatching("/.*")));
+        assertEquals(1, requests.size());
+        return requests.get(0);
+    }
+
+    private static String largeBody() {
+        StringBuilder builder = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < 100; i++) {
+            builder.append(i == 0 ? "" : ",").append("{\"name\":\"name\",\"value\":").append(i).append('}');
+        }
+        return builder.append("]}").toString();
+    }
+}
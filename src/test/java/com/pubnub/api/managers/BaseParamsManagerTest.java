@@ -0,0 +1,80 @@
+package com.pubnub.api.managers;
+
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNub;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class BaseParamsManagerTest {
+
+    private PubNub pubnub;
+    private BaseParamsManager baseParamsManager;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        PNConfiguration pnConfiguration = new PNConfiguration(new UserId("myUUID"));
+        pnConfiguration.setAuthKey("authKey");
+        pubnub = new PubNub(pnConfiguration);
+        baseParamsManager = new BaseParamsManager(pubnub);
+    }
+
+    @After
+    public void afterEach() {
+        pubnub.forceDestroy();
+    }
+
+    @Test
+    public void templateContainsBaseParams() {
+        BaseParamsManager.Template template = baseParamsManager.getTemplate(null);
+
+        Map<String, String> params = template.getParams(true);
+        assertEquals("PubNub-Java-Unified/" + pubnub.getVersion(), params.get("pnsdk"));
+        assertEquals("myUUID", params.get("uuid"));
+        assertEquals("authKey", params.get("auth"));
+        assertFalse(template.getParams(false).containsKey("auth"));
+    }
+
+    @Test
+    public void templateIsReusedWhileNothingChanges() {
+        BaseParamsManager.Template template = baseParamsManager.getTemplate(null);
+
+        assertSame(template, baseParamsManager.getTemplate(null));
+    }
+
+    @Test
+    public void templateIsRebuiltWhenUserIdAuthOrTokenChanges() throws PubNubException {
+        BaseParamsManager.Template template = baseParamsManager.getTemplate(null);
+
+        pubnub.getConfiguration().setUserId(new UserId("otherUUID"));
+        BaseParamsManager.Template userIdChanged = baseParamsManager.getTemplate(null);
+        assertNotSame(template, userIdChanged);
+        assertEquals(template.getVersion() + 1, userIdChanged.getVersion());
+        assertEquals("otherUUID", userIdChanged.getParams(false).get("uuid"));
+
+        pubnub.getConfiguration().setAuthKey("otherAuthKey");
+        BaseParamsManager.Template authChanged = baseParamsManager.getTemplate(null);
+        assertEquals("otherAuthKey", authChanged.getParams(true).get("auth"));
+
+        BaseParamsManager.Template tokenSet = baseParamsManager.getTemplate("token");
+        assertEquals("token", tokenSet.getParams(true).get("auth"));
+        assertEquals(authChanged.getVersion() + 1, tokenSet.getVersion());
+    }
+
+    @Test
+    public void encodeAuthReusesEncodedTemplateAuth() {
+        BaseParamsManager.Template template = baseParamsManager.getTemplate("my token+");
+
+        assertEquals("my%20token%2B", template.encodeAuth("my token+"));
+        assertEquals("other%20token", template.encodeAuth("other token"));
+    }
+}
@@ -3,11 +3,14 @@ package com.pubnub.api.managers;
 import com.pubnub.api.PNConfiguration;
 import com.pubnub.api.PubNubException;
 import com.pubnub.api.UserId;
+import okhttp3.HttpUrl;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.UUID;
 
 public class BasePathManagerTest {
@@ -126,4 +129,73 @@ public class BasePathManagerTest {
         Assert.assertEquals("https://ps1.pndsn.com", basePathManager.getBasePath());
     }
 
+
+    @Test
+    public void originRoutingIsDisabledWithoutAlternativeOrigins() {
+        BasePathManager basePathManager = new BasePathManager(pnConfiguration);
+
+        Assert.assertFalse(basePathManager.isOriginRoutingEnabled());
+        Assert.assertNull(basePathManager.selectOrigin(null));
+    }
+
+    @Test
+    public void fasterOriginIsSelected() {
+        pnConfiguration.setOrigin("first.origin.com");
+        pnConfiguration.setAlternativeOrigins(Arrays.asList("second.origin.com", "third.origin.com"));
+        BasePathManager basePathManager = new BasePathManager(pnConfiguration);
+
+        Assert.assertTrue(basePathManager.isRoutable(HttpUrl.get("https://first.origin.com/time/0")));
+        Assert.assertFalse(basePathManager.isRoutable(HttpUrl.get("https://files.origin.com/upload")));
+
+        BasePathManager.OriginHealth first = basePathManager.selectOrigin(null);
+        Assert.assertEquals("first.origin.com:443", first.toString());
+        basePathManager.recordSuccess(first, 200);
+
+        BasePathManager.OriginHealth second = basePathManager.selectOrigin(null);
+        Assert.assertEquals("second.origin.com:443", second.toString());
+        basePathManager.recordSuccess(second, 50);
+
+        BasePathManager.OriginHealth third = basePathManager.selectOrigin(null);
+        Assert.assertEquals("third.origin.com:443", third.toString());
+        basePathManager.recordSuccess(third, 100);
+
+        Assert.assertSame(second, basePathManager.selectOrigin(null));
+        Assert.assertSame(third, basePathManager.selectOrigin(second));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void cacheBustingHostsAreRoutable() {
+        pnConfiguration.setCacheBusting(true);
+        pnConfiguration.setAlternativeOrigins(Collections.singletonList("alternative.origin.com"));
+        BasePathManager basePathManager = new BasePathManager(pnConfiguration);
+
+        Assert.assertTrue(basePathManager.isRoutable(HttpUrl.get(basePathManager.getBasePath() + "/time/0")));
+        Assert.assertTrue(basePathManager.isRoutable(HttpUrl.get("https://ps20.pndsn.com/time/0")));
+        Assert.assertTrue(basePathManager.isRoutable(HttpUrl.get("https://ps.pndsn.com/time/0")));
+        Assert.assertFalse(basePathManager.isRoutable(HttpUrl.get("https://ps21.pndsn.com/time/0")));
+        Assert.assertFalse(basePathManager.isRoutable(HttpUrl.get("https://psx.pndsn.com/time/0")));
+        Assert.assertFalse(basePathManager.isRoutable(HttpUrl.get("http://ps1.pndsn.com/time/0")));
+    }
+
+    @Test
+    public void failingOriginsAreAvoided() {
+        pnConfiguration.setAlternativeOrigins(Collections.singletonList("alternative.origin.com"));
+        BasePathManager basePathManager = new BasePathManager(pnConfiguration);
+
+        BasePathManager.OriginHealth primary = basePathManager.selectOrigin(null);
+        basePathManager.recordSuccess(primary, 50);
+        BasePathManager.OriginHealth alternative = basePathManager.selectOrigin(null);
+        basePathManager.recordSuccess(alternative, 100);
+        Assert.assertSame(primary, basePathManager.selectOrigin(null));
+
+        basePathManager.recordFailure(primary, false);
+        Assert.assertSame(alternative, basePathManager.selectOrigin(null));
+
+        basePathManager.recordSuccess(primary, 50);
+        basePathManager.recordFailure(alternative, true);
+        basePathManager.recordFailure(primary, true);
+        Assert.assertSame("origin which is back soonest is used when none is available",
+                alternative, basePathManager.selectOrigin(null));
+    }
 }
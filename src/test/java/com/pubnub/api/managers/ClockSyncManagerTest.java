@@ -0,0 +1,94 @@
+package com.pubnub.api.managers;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNub;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
+import com.pubnub.api.models.consumer.PNClockSyncStatistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.findAll;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ClockSyncManagerTest {
+
+    private static final long SERVER_AHEAD_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(options().dynamicPort(), false);
+
+    private PNConfiguration pnConfiguration;
+    private PubNub pubnub;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        pnConfiguration = new PNConfiguration(new UserId("myUUID"));
+        pnConfiguration.setOrigin("localhost:" + wireMockRule.port());
+        pnConfiguration.setSecure(false);
+        pnConfiguration.setSubscribeKey("mySubscribeKey");
+
+        long serverTimetoken = (System.currentTimeMillis() + SERVER_AHEAD_MILLIS) * 10_000;
+        stubFor(get(urlPathEqualTo("/time/0")).willReturn(aResponse().withBody("[" + serverTimetoken + "]")));
+    }
+
+    @After
+    public void afterEach() {
+        pubnub.forceDestroy();
+    }
+
+    @Test
+    public void offsetIsEstimatedFromTimeSamples() {
+        pnConfiguration.setClockSync(true);
+        pubnub = new PubNub(pnConfiguration);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> pubnub.getClockSyncStatistics().getSyncs() == 1);
+
+        PNClockSyncStatistics statistics = pubnub.getClockSyncStatistics();
+        assertEquals(4, findAll(getRequestedFor(urlPathEqualTo("/time/0"))).size());
+        assertTrue(Math.abs(statistics.getOffsetMillis() - SERVER_AHEAD_MILLIS) < 1000);
+        assertTrue(statistics.getRoundTripMillis() >= 0);
+        assertTrue(Math.abs(pubnub.serverNow() - System.currentTimeMillis() - SERVER_AHEAD_MILLIS) < 1000);
+        long expectedTimestamp = (System.currentTimeMillis() + SERVER_AHEAD_MILLIS) / 1000;
+        assertTrue(Math.abs(pubnub.getTimestamp() - expectedTimestamp) <= 1);
+    }
+
+    @Test
+    public void syncRequestsAreSignedWithSecretKey() {
+        pnConfiguration.setClockSync(true);
+        pnConfiguration.setPublishKey("myPublishKey");
+        pnConfiguration.setSecretKey("mySecretKey");
+        pubnub = new PubNub(pnConfiguration);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> pubnub.getClockSyncStatistics().getSyncs() == 1);
+
+        assertEquals(0, pubnub.getClockSyncStatistics().getFailedSyncs());
+        assertTrue(findAll(getRequestedFor(urlPathEqualTo("/time/0"))).stream()
+                .allMatch(request -> request.queryParameter("signature").isPresent()));
+    }
+
+    @Test
+    public void localClockIsUsedWhenDisabled() throws InterruptedException {
+        pubnub = new PubNub(pnConfiguration);
+
+        Thread.sleep(200);
+
+        assertEquals(0, findAll(getRequestedFor(urlPathEqualTo("/time/0"))).size());
+        assertEquals(0, pubnub.getClockSyncStatistics().getSyncs());
+        assertEquals(-1, pubnub.getClockSyncStatistics().getRoundTripMillis());
+        assertTrue(Math.abs(pubnub.serverNow() - System.currentTimeMillis()) < 100);
+    }
+}
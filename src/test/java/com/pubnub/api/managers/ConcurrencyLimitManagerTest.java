@@ -0,0 +1,108 @@
+package com.pubnub.api.managers;
+
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
+import com.pubnub.api.builder.PubNubErrorBuilder;
+import com.pubnub.api.enums.PNOperationType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ConcurrencyLimitManagerTest {
+
+    private ConcurrencyLimitManager concurrencyLimitManager;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        PNConfiguration pnConfiguration = new PNConfiguration(new UserId("myUUID"));
+        pnConfiguration.setAdaptiveConcurrencyLimiting(true);
+        pnConfiguration.setMaximumConcurrencyLimit(8);
+        pnConfiguration.setMaximumQueuedRequests(2);
+        concurrencyLimitManager = new ConcurrencyLimitManager(pnConfiguration);
+    }
+
+    @Test
+    public void subscribeIsNeverLimited() {
+        assertFalse(concurrencyLimitManager.isLimited(PNOperationType.PNSubscribeOperation));
+        assertTrue(concurrencyLimitManager.isLimited(PNOperationType.PNPublishOperation));
+    }
+
+    @Test
+    public void requestsOverLimitWaitForReleasedSlot() throws PubNubException {
+        AtomicInteger started = new AtomicInteger();
+        int limit = concurrencyLimitManager.getLimit(PNOperationType.PNPublishOperation);
+
+        for (int i = 0; i < limit + 1; i++) {
+            concurrencyLimitManager.execute(PNOperationType.PNPublishOperation, started::incrementAndGet);
+        }
+
+        assertEquals(limit, started.get());
+        assertEquals(1, concurrencyLimitManager.getQueued(PNOperationType.PNPublishOperation));
+
+        concurrencyLimitManager.release(PNOperationType.PNPublishOperation);
+
+        assertEquals(limit + 1, started.get());
+        assertEquals(0, concurrencyLimitManager.getQueued(PNOperationType.PNPublishOperation));
+    }
+
+    @Test
+    public void familiesDoNotShareSlots() throws PubNubException {
+        AtomicInteger started = new AtomicInteger();
+        int limit = concurrencyLimitManager.getLimit(PNOperationType.PNFetchMessagesOperation);
+
+        for (int i = 0; i < limit; i++) {
+            concurrencyLimitManager.execute(PNOperationType.PNFetchMessagesOperation, started::incrementAndGet);
+        }
+        concurrencyLimitManager.execute(PNOperationType.PNPublishOperation, started::incrementAndGet);
+
+        assertEquals(limit + 1, started.get());
+        assertEquals(limit, concurrencyLimitManager.getInFlight(PNOperationType.PNHistoryOperation));
+        assertEquals(1, concurrencyLimitManager.getInFlight(PNOperationType.PNPublishOperation));
+    }
+
+    @Test
+    public void fullQueueRejectsRequests() throws PubNubException {
+        int limit = concurrencyLimitManager.getLimit(PNOperationType.PNPublishOperation);
+
+        for (int i = 0; i < limit + 2; i++) {
+            concurrencyLimitManager.execute(PNOperationType.PNPublishOperation, () -> {
+            });
+        }
+
+        try {
+            concurrencyLimitManager.execute(PNOperationType.PNPublishOperation, () -> {
+            });
+            fail("Exception expected");
+        } catch (PubNubException e) {
+            assertEquals(PubNubErrorBuilder.PNERR_REQUEST_QUEUE_FULL, e.getPubnubError().getErrorCode());
+        }
+    }
+
+    @Test
+    public void overloadShrinksAndHealthyResponsesGrowLimit() throws PubNubException {
+        int initialLimit = concurrencyLimitManager.getLimit(PNOperationType.PNPublishOperation);
+
+        concurrencyLimitManager.execute(PNOperationType.PNPublishOperation, () -> {
+        });
+        concurrencyLimitManager.release(PNOperationType.PNPublishOperation, 10, true);
+
+        int shrunkLimit = concurrencyLimitManager.getLimit(PNOperationType.PNPublishOperation);
+        assertTrue(shrunkLimit < initialLimit);
+
+        for (int i = 0; i < 50; i++) {
+            concurrencyLimitManager.execute(PNOperationType.PNPublishOperation, () -> {
+            });
+            concurrencyLimitManager.release(PNOperationType.PNPublishOperation, 10, false);
+        }
+
+        assertTrue(concurrencyLimitManager.getLimit(PNOperationType.PNPublishOperation) > shrunkLimit);
+        assertTrue(concurrencyLimitManager.getLimit(PNOperationType.PNPublishOperation) <= 8);
+    }
+}
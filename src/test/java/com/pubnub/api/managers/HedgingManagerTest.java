@@ -0,0 +1,66 @@
+package com.pubnub.api.managers;
+
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
+import com.pubnub.api.enums.PNOperationType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HedgingManagerTest {
+
+    private SchedulerManager schedulerManager;
+    private HedgingManager hedgingManager;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        PNConfiguration pnConfiguration = new PNConfiguration(new UserId("myUUID"));
+        pnConfiguration.setRequestHedging(true);
+        pnConfiguration.setRequestHedgingPercentile(0.9);
+        pnConfiguration.setRequestHedgingBudget(0.5);
+        schedulerManager = new SchedulerManager(new ThreadManager(pnConfiguration));
+        hedgingManager = new HedgingManager(pnConfiguration, schedulerManager);
+    }
+
+    @After
+    public void afterEach() {
+        schedulerManager.destroy();
+    }
+
+    @Test
+    public void onlyIdempotentReadsAreHedged() {
+        assertTrue(hedgingManager.isHedged(PNOperationType.PNFetchMessagesOperation));
+        assertTrue(hedgingManager.isHedged(PNOperationType.PNHereNowOperation));
+        assertFalse(hedgingManager.isHedged(PNOperationType.PNPublishOperation));
+        assertFalse(hedgingManager.isHedged(PNOperationType.PNSetUuidMetadataOperation));
+    }
+
+    @Test
+    public void hedgeDelayIsPercentileOfRecentLatencies() {
+        for (int i = 1; i <= 19; i++) {
+            hedgingManager.recordLatency(PNOperationType.PNHereNowOperation, i * 10);
+        }
+        assertEquals(-1, hedgingManager.startOperation(PNOperationType.PNHereNowOperation));
+
+        hedgingManager.recordLatency(PNOperationType.PNHereNowOperation, 200);
+
+        assertEquals(180, hedgingManager.startOperation(PNOperationType.PNHereNowOperation));
+        assertEquals(-1, hedgingManager.startOperation(PNOperationType.PNWhereNowOperation));
+    }
+
+    @Test
+    public void budgetCapsHedges() {
+        hedgingManager.startOperation(PNOperationType.PNHereNowOperation);
+        assertFalse(hedgingManager.tryHedge());
+
+        hedgingManager.startOperation(PNOperationType.PNHereNowOperation);
+        assertTrue(hedgingManager.tryHedge());
+        assertFalse(hedgingManager.tryHedge());
+        assertEquals(1, hedgingManager.getHedges());
+    }
+}
@@ -0,0 +1,127 @@
+package com.pubnub.api.managers;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNub;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
+import com.pubnub.api.builder.PubNubErrorBuilder;
+import com.pubnub.api.json.JsonCodec;
+import com.pubnub.api.models.consumer.PNPublishResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JsonCodecTest {
+
+    private static final String PUBLISH_RESPONSE = "[1,\"Sent\",\"14598111595318003\"]";
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(options().dynamicPort(), false);
+
+    private final RecordingCodec codec = new RecordingCodec();
+    private PubNub pubnub;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        PNConfiguration pnConfiguration = new PNConfiguration(new UserId("myUUID"));
+        pnConfiguration.setOrigin("localhost:" + wireMockRule.port());
+        pnConfiguration.setSecure(false);
+        pnConfiguration.setPublishKey("myPublishKey");
+        pnConfiguration.setSubscribeKey("mySubscribeKey");
+        pnConfiguration.setJsonCodec(codec);
+        pubnub = new PubNub(pnConfiguration);
+    }
+
+    @After
+    public void afterEach() {
+        pubnub.forceDestroy();
+    }
+
+    @Test
+    public void messagesAndResponsesUseTheCodec() throws PubNubException {
+        stubFor(get(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/coolChannel/0/%22hi%22"))
+                .willReturn(aResponse().withBody(PUBLISH_RESPONSE)));
+
+        PNPublishResult result = pubnub.publish().channel("coolChannel").message("hi").sync();
+
+        assertEquals(Long.valueOf(14598111595318003L), result.getTimetoken());
+        assertTrue(codec.written.contains(String.class));
+        assertEquals(1, codec.read.size());
+    }
+
+    @Test
+    public void requestBodiesUseTheCodec() throws PubNubException {
+        stubFor(post(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/coolChannel/0"))
+                .willReturn(aResponse().withBody(PUBLISH_RESPONSE)));
+
+        pubnub.publish().channel("coolChannel").message(Collections.singletonMap("text", "hi")).usePOST(true).sync();
+
+        verify(postRequestedFor(urlPathEqualTo("/publish/myPublishKey/mySubscribeKey/0/coolChannel/0"))
+                .withRequestBody(equalToJson("{\"text\":\"hi\"}")));
+        assertEquals(1, codec.written.size());
+    }
+
+    @Test
+    public void codecFailuresAreParsingErrors() {
+        MapperManager mapperManager = new MapperManager(new JsonCodec() {
+            @Override
+            public <T> T fromJson(@NotNull Reader json, @NotNull Type type) throws IOException {
+                throw new IOException("Malformed");
+            }
+
+            @Override
+            public void toJson(@Nullable Object value, @NotNull Type type, @NotNull Writer json) {
+            }
+        });
+
+        try {
+            mapperManager.fromJson("{}", Object.class);
+            fail();
+        } catch (PubNubException e) {
+            assertEquals(PubNubErrorBuilder.PNERR_PARSING_ERROR, e.getPubnubError().getErrorCode());
+        }
+    }
+
+    private static class RecordingCodec implements JsonCodec {
+        private final GsonJsonCodec gson = new GsonJsonCodec();
+        private final List<Type> read = new CopyOnWriteArrayList<>();
+        private final List<Type> written = new CopyOnWriteArrayList<>();
+
+        @Override
+        public <T> T fromJson(@NotNull Reader json, @NotNull Type type) throws IOException {
+            read.add(type);
+            return gson.fromJson(json, type);
+        }
+
+        @Override
+        public void toJson(@Nullable Object value, @NotNull Type type, @NotNull Writer json) throws IOException {
+            written.add(type);
+            gson.toJson(value, type, json);
+        }
+    }
+}
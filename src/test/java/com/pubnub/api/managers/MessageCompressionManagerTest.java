@@ -0,0 +1,138 @@
+package com.pubnub.api.managers;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
+import com.pubnub.api.builder.PubNubErrorBuilder;
+import com.pubnub.api.models.consumer.PNMessageCompressionStatistics;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MessageCompressionManagerTest {
+
+    private PNConfiguration configuration;
+    private MapperManager mapper;
+    private MessageCompressionManager compression;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        configuration = new PNConfiguration(new UserId("myUUID"));
+        configuration.setMessageCompression(true);
+        configuration.setMessageCompressionThreshold(100);
+        mapper = new MapperManager();
+        compression = new MessageCompressionManager(configuration, mapper);
+    }
+
+    @Test
+    public void largeMessageRoundTrips() throws PubNubException {
+        String json = repeatedMessage(50);
+
+        String envelope = compression.compress(utf8(json));
+
+        assertTrue(envelope.startsWith("{\"pn_deflate\":\""));
+        assertTrue(envelope.length() < json.length());
+        JsonElement inflated = compression.inflate(mapper.fromJson(envelope, JsonElement.class));
+        assertEquals(mapper.fromJson(json, JsonElement.class), inflated);
+    }
+
+    @Test
+    public void onlyEnabledCompressionCompresses() {
+        configuration.setMessageCompression(false);
+
+        assertNull(compression.compress(utf8(repeatedMessage(50))));
+    }
+
+    @Test
+    public void onlyEnabledCompressionInflates() throws PubNubException {
+        JsonElement envelope = mapper.fromJson(compression.compress(utf8(repeatedMessage(50))), JsonElement.class);
+        configuration.setMessageCompression(false);
+
+        assertEquals(envelope, compression.inflate(envelope));
+        assertEquals(0, compression.getStatistics().getInflatedMessages());
+    }
+
+    @Test
+    public void messagesBelowThresholdAreNotCompressed() {
+        String json = repeatedMessage(50);
+        configuration.setMessageCompressionThreshold(json.length() + 1);
+
+        assertNull(compression.compress(utf8(json)));
+    }
+
+    @Test
+    public void messagesNotGettingSmallerAreNotCompressed() {
+        byte[] random = new byte[600];
+        new Random(1).nextBytes(random);
+        String json = "\"" + Base64.getEncoder().encodeToString(random) + "\"";
+
+        assertNull(compression.compress(utf8(json)));
+    }
+
+    @Test
+    public void otherMessagesAreNotInflated() throws PubNubException {
+        JsonObject twoFields = new JsonObject();
+        twoFields.addProperty("pn_deflate", "eJwDAAAAAAE=");
+        twoFields.addProperty("text", "hi");
+        JsonObject notText = new JsonObject();
+        notText.addProperty("pn_deflate", 1);
+
+        assertEquals(twoFields, compression.inflate(twoFields));
+        assertEquals(notText, compression.inflate(notText));
+        assertEquals(new JsonPrimitive("hi"), compression.inflate(new JsonPrimitive("hi")));
+        assertNull(compression.inflate(null));
+    }
+
+    @Test
+    public void corruptEnvelopeIsParsingError() {
+        JsonObject envelope = new JsonObject();
+        envelope.addProperty("pn_deflate", "bm90IGRlZmxhdGVk");
+
+        try {
+            compression.inflate(envelope);
+            fail();
+        } catch (PubNubException e) {
+            assertEquals(PubNubErrorBuilder.PNERROBJ_PARSING_ERROR, e.getPubnubError());
+        }
+    }
+
+    @Test
+    public void statisticsReportCompressionRatio() throws PubNubException {
+        String json = repeatedMessage(50);
+        String envelope = compression.compress(utf8(json));
+        compression.compress(utf8("\"small\""));
+        compression.inflate(mapper.fromJson(envelope, JsonElement.class));
+
+        PNMessageCompressionStatistics statistics = compression.getStatistics();
+
+        assertEquals(1, statistics.getCompressedMessages());
+        assertEquals(json.length(), statistics.getUncompressedBytes());
+        assertEquals(envelope.length(), statistics.getCompressedBytes());
+        assertEquals((double) json.length() / envelope.length(), statistics.getCompressionRatio(), 0.0001);
+        assertEquals(1, statistics.getInflatedMessages());
+    }
+
+    private static String repeatedMessage(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            json.append(i > 0 ? "," : "").append("{\"text\":\"hello world\",\"n\":").append(i).append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    private static ByteBuffer utf8(String json) {
+        return ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,109 @@
+package com.pubnub.api.managers;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNub;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
+import com.pubnub.api.enums.PNNetworkPhase;
+import com.pubnub.api.enums.PNOperationType;
+import com.pubnub.api.models.consumer.PNLatencyHistogram;
+import com.pubnub.api.models.consumer.PNOperationNetworkMetrics;
+import com.pubnub.api.models.consumer.objects_api.membership.PNChannelMembership;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.patch;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NetworkMetricsManagerTest {
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(options().dynamicPort(), false);
+
+    private PNConfiguration pnConfiguration;
+    private PubNub pubnub;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        pnConfiguration = new PNConfiguration(new UserId("myUUID"));
+        pnConfiguration.setOrigin("localhost:" + wireMockRule.port());
+        pnConfiguration.setSecure(false);
+        pnConfiguration.setSubscribeKey("mySubscribeKey");
+
+        stubFor(get(urlPathEqualTo("/time/0")).willReturn(aResponse().withBody("[14593046077243110]")));
+    }
+
+    @After
+    public void afterEach() {
+        pubnub.forceDestroy();
+    }
+
+    @Test
+    public void phasesAndConnectionReuseAreRecordedPerOperation() throws PubNubException {
+        pnConfiguration.setNetworkMetrics(true);
+        pubnub = new PubNub(pnConfiguration);
+
+        pubnub.time().sync();
+        pubnub.time().sync();
+
+        PNOperationNetworkMetrics metrics = pubnub.getNetworkMetrics().getOperations()
+                .get(PNOperationType.PNTimeOperation);
+        assertEquals(1, metrics.getNewConnections());
+        assertEquals(1, metrics.getReusedConnections());
+        assertEquals(0, metrics.getFailedCalls());
+        assertEquals(2, metrics.getPhases().get(PNNetworkPhase.TOTAL).getCount());
+        assertEquals(2, metrics.getPhases().get(PNNetworkPhase.QUEUE).getCount());
+        assertEquals(1, metrics.getPhases().get(PNNetworkPhase.CONNECT).getCount());
+        assertEquals(2, metrics.getPhases().get(PNNetworkPhase.SERVER).getCount());
+        assertEquals(0, metrics.getPhases().get(PNNetworkPhase.TLS).getCount());
+
+        PNLatencyHistogram total = metrics.getPhases().get(PNNetworkPhase.TOTAL);
+        long bucketed = 0;
+        for (long count : total.getBucketCounts()) {
+            bucketed += count;
+        }
+        assertEquals(2, bucketed);
+        assertTrue(total.getPercentileMillis(1) <= total.getMaxNanos() / 1_000_000);
+    }
+
+    @Test
+    public void operationsSharingAServiceMethodAreRecordedSeparately() throws PubNubException {
+        stubFor(patch(urlPathEqualTo("/v2/objects/mySubscribeKey/uuids/myUUID/channels"))
+                .willReturn(aResponse().withBody("{\"status\":200,\"data\":[]}")));
+        pnConfiguration.setNetworkMetrics(true);
+        pubnub = new PubNub(pnConfiguration);
+        List<PNChannelMembership> memberships = Collections.singletonList(PNChannelMembership.channel("ch"));
+
+        pubnub.setMemberships().channelMemberships(memberships).sync();
+        pubnub.removeMemberships().channelMemberships(memberships).sync();
+        pubnub.removeMemberships().channelMemberships(memberships).sync();
+
+        Map<PNOperationType, PNOperationNetworkMetrics> operations = pubnub.getNetworkMetrics().getOperations();
+        assertEquals(1, operations.get(PNOperationType.PNSetMembershipsOperation).getPhases()
+                .get(PNNetworkPhase.TOTAL).getCount());
+        assertEquals(2, operations.get(PNOperationType.PNRemoveMembershipsOperation).getPhases()
+                .get(PNNetworkPhase.TOTAL).getCount());
+    }
+
+    @Test
+    public void nothingIsRecordedWhenDisabled() throws PubNubException {
+        pubnub = new PubNub(pnConfiguration);
+
+        pubnub.time().sync();
+
+        assertTrue(pubnub.getNetworkMetrics().getOperations().isEmpty());
+    }
+}
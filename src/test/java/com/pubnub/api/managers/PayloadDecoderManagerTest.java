@@ -0,0 +1,65 @@
+package com.pubnub.api.managers;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.reflect.TypeToken;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.enums.PNMessageType;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class PayloadDecoderManagerTest {
+
+    private final PayloadDecoderManager decoders = new PayloadDecoderManager(new MapperManager());
+    private final JsonPrimitive payload = new JsonPrimitive("x");
+
+    @Test
+    public void nothingIsDecodedWithoutDecoders() throws PubNubException {
+        assertFalse(decoders.hasDecoders());
+        assertNull(decoders.decode("channel", PNMessageType.MESSAGE, payload));
+    }
+
+    @Test
+    public void mostSpecificRegistrationWins() throws PubNubException {
+        decoders.register("*", null, json -> "any");
+        decoders.register("sports.*", null, json -> "sports");
+        decoders.register("sports.football.*", null, json -> "football");
+        decoders.register("sports.football.*", PNMessageType.SIGNAL, json -> "football signal");
+        decoders.register("sports.football.live", null, json -> "live");
+
+        assertEquals("any", decoders.decode("news", PNMessageType.MESSAGE, payload));
+        assertEquals("sports", decoders.decode("sports.tennis", PNMessageType.MESSAGE, payload));
+        assertEquals("football", decoders.decode("sports.football.cup", PNMessageType.MESSAGE, payload));
+        assertEquals("football signal", decoders.decode("sports.football.cup", PNMessageType.SIGNAL, payload));
+        assertEquals("live", decoders.decode("sports.football.live", PNMessageType.SIGNAL, payload));
+    }
+
+    @Test
+    public void latestOfEquallySpecificRegistrationsWins() throws PubNubException {
+        decoders.register("chat", null, json -> "first");
+        decoders.register("chat", null, json -> "second");
+
+        assertEquals("second", decoders.decode("chat", PNMessageType.MESSAGE, payload));
+
+        decoders.unregister("chat", null);
+
+        assertFalse(decoders.hasDecoders());
+    }
+
+    @Test
+    public void typesAreDecodedFromTheTree() throws PubNubException {
+        decoders.register("numbers", PNMessageType.MESSAGE, new TypeToken<List<Integer>>() { }.getType());
+
+        JsonObject notDecoded = new JsonObject();
+        assertEquals(Arrays.asList(1, 2), decoders.decode("numbers", PNMessageType.MESSAGE,
+                new MapperManager().fromJson("[1,2]", JsonElement.class)));
+        assertNull(decoders.decode("numbers", PNMessageType.SIGNAL, notDecoded));
+    }
+}
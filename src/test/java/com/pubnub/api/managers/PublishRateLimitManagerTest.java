@@ -0,0 +1,108 @@
+package com.pubnub.api.managers;
+
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
+import com.pubnub.api.builder.PubNubErrorBuilder;
+import com.pubnub.api.enums.PNOperationType;
+import com.pubnub.api.models.consumer.PNPublishRateLimitStatistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PublishRateLimitManagerTest {
+
+    private PNConfiguration pnConfiguration;
+    private SchedulerManager schedulerManager;
+    private PublishRateLimitManager publishRateLimitManager;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        pnConfiguration = new PNConfiguration(new UserId("myUUID"));
+        pnConfiguration.setPublishRateLimitQueueSize(1);
+        pnConfiguration.setPublishRateLimitMaxWait(10000);
+        schedulerManager = new SchedulerManager(new ThreadManager(pnConfiguration));
+    }
+
+    @After
+    public void afterEach() {
+        schedulerManager.destroy();
+    }
+
+    @Test
+    public void onlyPublishAndSignalAreLimited() {
+        pnConfiguration.setPublishRateLimit(10);
+        publishRateLimitManager = new PublishRateLimitManager(pnConfiguration, schedulerManager);
+
+        assertTrue(publishRateLimitManager.isLimited(PNOperationType.PNPublishOperation,
+                Collections.singletonList("ch")));
+        assertTrue(publishRateLimitManager.isLimited(PNOperationType.PNSignalOperation,
+                Collections.singletonList("ch")));
+        assertFalse(publishRateLimitManager.isLimited(PNOperationType.PNHistoryOperation,
+                Collections.singletonList("ch")));
+    }
+
+    @Test
+    public void channelLimitAppliesOnlyToThatChannel() {
+        pnConfiguration.setChannelPublishRateLimits(Collections.singletonMap("hot", 5.0));
+        publishRateLimitManager = new PublishRateLimitManager(pnConfiguration, schedulerManager);
+
+        assertTrue(publishRateLimitManager.isLimited(PNOperationType.PNPublishOperation,
+                Collections.singletonList("hot")));
+        assertFalse(publishRateLimitManager.isLimited(PNOperationType.PNPublishOperation,
+                Collections.singletonList("cold")));
+    }
+
+    @Test
+    public void burstOverRateIsQueuedThenRejected() throws PubNubException, InterruptedException {
+        pnConfiguration.setPublishRateLimit(2);
+        publishRateLimitManager = new PublishRateLimitManager(pnConfiguration, schedulerManager);
+
+        assertEquals(0, publishRateLimitManager.reserve("ch"));
+        assertEquals(0, publishRateLimitManager.reserve("ch"));
+
+        long delay = publishRateLimitManager.reserve("ch");
+        assertTrue(delay > 0);
+        assertTrue(delay <= TimeUnit.MILLISECONDS.toNanos(500));
+
+        try {
+            publishRateLimitManager.reserve("ch");
+            fail("Exception expected");
+        } catch (PubNubException e) {
+            assertEquals(PubNubErrorBuilder.PNERR_PUBLISH_RATE_LIMIT_EXCEEDED, e.getPubnubError().getErrorCode());
+        }
+
+        CountDownLatch sent = new CountDownLatch(1);
+        publishRateLimitManager.schedule(delay, sent::countDown);
+        assertTrue(sent.await(2, TimeUnit.SECONDS));
+
+        PNPublishRateLimitStatistics statistics = publishRateLimitManager.getStatistics();
+        assertEquals(0, statistics.getQueued());
+        assertEquals(1, statistics.getDelayed());
+        assertEquals(1, statistics.getRejected());
+    }
+
+    @Test
+    public void waitOverMaximumIsRejected() throws PubNubException {
+        pnConfiguration.setPublishRateLimit(1);
+        pnConfiguration.setPublishRateLimitMaxWait(100);
+        publishRateLimitManager = new PublishRateLimitManager(pnConfiguration, schedulerManager);
+
+        assertEquals(0, publishRateLimitManager.reserve("ch"));
+        try {
+            publishRateLimitManager.reserve("ch");
+            fail("Exception expected");
+        } catch (PubNubException e) {
+            assertEquals(PubNubErrorBuilder.PNERR_PUBLISH_RATE_LIMIT_EXCEEDED, e.getPubnubError().getErrorCode());
+        }
+    }
+}
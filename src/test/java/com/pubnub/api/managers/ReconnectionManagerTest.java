@@ -17,7 +17,8 @@ public class ReconnectionManagerTest {
         PNConfiguration pnConfiguration =  new PNConfiguration(new UserId("pn-" + UUID.randomUUID()));
         PubNub pubNub = new PubNub(pnConfiguration);
         pnConfiguration.setReconnectionPolicy(PNReconnectionPolicy.LINEAR);
-        final ReconnectionManager reconnectionManagerUnderTest = new ReconnectionManager(pubNub);
+        final ReconnectionManager reconnectionManagerUnderTest = new ReconnectionManager(pubNub,
+                new SchedulerManager(new ThreadManager(pnConfiguration)));
 
         int firstInterval = reconnectionManagerUnderTest.getNextIntervalInMilliSeconds();
         int secondInterval = reconnectionManagerUnderTest.getNextIntervalInMilliSeconds();
@@ -31,7 +32,8 @@ public class ReconnectionManagerTest {
         PNConfiguration pnConfiguration =  new PNConfiguration(new UserId("pn-" + UUID.randomUUID()));
         pnConfiguration.setReconnectionPolicy(PNReconnectionPolicy.EXPONENTIAL);
         PubNub pubNub = new PubNub(pnConfiguration);
-        final ReconnectionManager reconnectionManagerUnderTest = new ReconnectionManager(pubNub);
+        final ReconnectionManager reconnectionManagerUnderTest = new ReconnectionManager(pubNub,
+                new SchedulerManager(new ThreadManager(pnConfiguration)));
 
         int firstInterval = reconnectionManagerUnderTest.getNextIntervalInMilliSeconds();
         int secondInterval = reconnectionManagerUnderTest.getNextIntervalInMilliSeconds();
@@ -40,4 +42,21 @@ public class ReconnectionManagerTest {
         assertTrue(firstInterval < secondInterval);
         assertTrue(secondInterval < thirdInterval);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void exponentialIntervalsStayAtMaximum() throws PubNubException {
+        PNConfiguration pnConfiguration =  new PNConfiguration(new UserId("pn-" + UUID.randomUUID()));
+        pnConfiguration.setReconnectionPolicy(PNReconnectionPolicy.EXPONENTIAL);
+        PubNub pubNub = new PubNub(pnConfiguration);
+        final ReconnectionManager reconnectionManagerUnderTest = new ReconnectionManager(pubNub,
+                new SchedulerManager(new ThreadManager(pnConfiguration)));
+
+        for (int i = 0; i < 5; i++) {
+            reconnectionManagerUnderTest.getNextIntervalInMilliSeconds();
+        }
+        for (int i = 0; i < 10; i++) {
+            int interval = reconnectionManagerUnderTest.getNextIntervalInMilliSeconds();
+            assertTrue(interval >= 32000 && interval < 33000);
+        }
+    }
+}
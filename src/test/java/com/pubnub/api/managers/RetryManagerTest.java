@@ -0,0 +1,131 @@
+package com.pubnub.api.managers;
+
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
+import com.pubnub.api.enums.PNOperationType;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RetryManagerTest {
+
+    private PNConfiguration pnConfiguration;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        pnConfiguration = new PNConfiguration(new UserId("myUUID"));
+    }
+
+    @Test
+    public void nothingIsManagedByDefault() {
+        RetryManager retryManager = new RetryManager(pnConfiguration);
+
+        assertFalse(retryManager.isManaged(PNOperationType.PNPublishOperation));
+        assertTrue(retryManager.allowRequest(PNOperationType.PNPublishOperation));
+    }
+
+    @Test
+    public void onlyPublishObjectsAndHistoryAreManaged() {
+        pnConfiguration.setAutomaticRetries(2);
+        RetryManager retryManager = new RetryManager(pnConfiguration);
+
+        assertTrue(retryManager.isManaged(PNOperationType.PNPublishOperation));
+        assertTrue(retryManager.isManaged(PNOperationType.PNGetUuidMetadataOperation));
+        assertTrue(retryManager.isManaged(PNOperationType.PNFetchMessagesOperation));
+        assertFalse(retryManager.isManaged(PNOperationType.PNSubscribeOperation));
+        assertFalse(retryManager.isManaged(PNOperationType.PNHeartbeatOperation));
+    }
+
+    @Test
+    public void newClientRetriesWithDefaultBudget() {
+        pnConfiguration.setAutomaticRetries(3);
+        RetryManager retryManager = new RetryManager(pnConfiguration);
+
+        retryManager.startOperation();
+
+        assertTrue(retryManager.tryRetry(PNOperationType.PNPublishOperation, 0));
+        assertTrue(retryManager.tryRetry(PNOperationType.PNPublishOperation, 1));
+        assertTrue(retryManager.tryRetry(PNOperationType.PNPublishOperation, 2));
+        assertFalse(retryManager.tryRetry(PNOperationType.PNPublishOperation, 3));
+        assertEquals(3, retryManager.getRetries());
+    }
+
+    @Test
+    public void retriesAreCappedByCountAndBudget() {
+        pnConfiguration.setAutomaticRetries(2);
+        pnConfiguration.setRetryBudget(0.5);
+        RetryManager retryManager = new RetryManager(pnConfiguration);
+
+        assertFalse(retryManager.tryRetry(PNOperationType.PNPublishOperation, 2));
+        // the budget starts full
+        for (int i = 0; i < 10; i++) {
+            assertTrue(retryManager.tryRetry(PNOperationType.PNPublishOperation, 0));
+        }
+        assertFalse(retryManager.tryRetry(PNOperationType.PNPublishOperation, 0));
+
+        retryManager.startOperation();
+        assertFalse(retryManager.tryRetry(PNOperationType.PNPublishOperation, 0));
+
+        retryManager.startOperation();
+        assertTrue(retryManager.tryRetry(PNOperationType.PNPublishOperation, 1));
+        assertFalse(retryManager.tryRetry(PNOperationType.PNPublishOperation, 1));
+        assertEquals(11, retryManager.getRetries());
+    }
+
+    @Test
+    public void delaysUseDecorrelatedJitterWithinBounds() {
+        pnConfiguration.setRetryBaseDelay(100);
+        pnConfiguration.setRetryMaximumDelay(1000);
+        RetryManager retryManager = new RetryManager(pnConfiguration);
+
+        long delay = 0;
+        for (int i = 0; i < 1000; i++) {
+            long previous = delay;
+            delay = retryManager.nextDelay(previous, 0);
+            assertTrue(delay >= 100);
+            assertTrue(delay <= Math.min(1000, Math.max(100, previous * 3)));
+        }
+        assertEquals(1000, retryManager.nextDelay(0, 5000));
+    }
+
+    @Test
+    public void circuitBreakerOpensAndClosesAfterSuccessfulTrial() throws InterruptedException {
+        pnConfiguration.setCircuitBreakerThreshold(3);
+        pnConfiguration.setCircuitBreakerCooldown(50);
+        RetryManager retryManager = new RetryManager(pnConfiguration);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(retryManager.allowRequest(PNOperationType.PNPublishOperation));
+            retryManager.recordResult(PNOperationType.PNPublishOperation, true);
+        }
+        assertTrue(retryManager.isOpen(RetryManager.Family.PUBLISH));
+        assertFalse(retryManager.allowRequest(PNOperationType.PNSignalOperation));
+        assertTrue(retryManager.allowRequest(PNOperationType.PNHistoryOperation));
+
+        Thread.sleep(100);
+        assertTrue(retryManager.allowRequest(PNOperationType.PNPublishOperation));
+        assertFalse("only one trial at a time", retryManager.allowRequest(PNOperationType.PNPublishOperation));
+        retryManager.recordResult(PNOperationType.PNPublishOperation, false);
+
+        assertFalse(retryManager.isOpen(RetryManager.Family.PUBLISH));
+        assertTrue(retryManager.allowRequest(PNOperationType.PNPublishOperation));
+    }
+
+    @Test
+    public void failedTrialOpensCircuitBreakerAgain() throws InterruptedException {
+        pnConfiguration.setCircuitBreakerThreshold(1);
+        pnConfiguration.setCircuitBreakerCooldown(50);
+        RetryManager retryManager = new RetryManager(pnConfiguration);
+
+        retryManager.recordResult(PNOperationType.PNGetUuidMetadataOperation, true);
+        Thread.sleep(100);
+        assertTrue(retryManager.allowRequest(PNOperationType.PNGetUuidMetadataOperation));
+        retryManager.recordResult(PNOperationType.PNGetUuidMetadataOperation, true);
+
+        assertFalse(retryManager.allowRequest(PNOperationType.PNGetUuidMetadataOperation));
+    }
+}
@@ -0,0 +1,113 @@
+package com.pubnub.api.managers;
+
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNub;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SchedulerManagerTest {
+
+    private PNConfiguration pnConfiguration;
+    private SchedulerManager schedulerManager;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        pnConfiguration = new PNConfiguration(new UserId("myUUID"));
+        schedulerManager = new SchedulerManager(new ThreadManager(pnConfiguration));
+    }
+
+    @After
+    public void afterEach() {
+        schedulerManager.destroy();
+    }
+
+    @Test
+    public void tasksShareOneThread() throws InterruptedException {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch ran = new CountDownLatch(3);
+
+        schedulerManager.execute(() -> {
+            threads.add(Thread.currentThread());
+            ran.countDown();
+        });
+        schedulerManager.schedule(() -> {
+            threads.add(Thread.currentThread());
+            ran.countDown();
+        }, 10);
+        ScheduledFuture<?> repeated = schedulerManager.scheduleWithFixedDelay(() -> {
+            threads.add(Thread.currentThread());
+            ran.countDown();
+        }, 0, 10);
+
+        assertTrue(ran.await(3, TimeUnit.SECONDS));
+        repeated.cancel(false);
+        assertEquals(1, threads.size());
+        Thread thread = threads.iterator().next();
+        assertEquals("PubNub Scheduler", thread.getName());
+        assertTrue(thread.isDaemon());
+    }
+
+    @Test
+    public void cancelledTasksDoNotRun() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+
+        ScheduledFuture<?> cancelled = schedulerManager.schedule(ran::countDown, 50);
+        cancelled.cancel(false);
+
+        assertFalse(ran.await(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void subscribeCyclesDoNotStartThreads() throws PubNubException {
+        pnConfiguration.setSubscribeKey("mySubscribeKey");
+        pnConfiguration.setOrigin("localhost:9");
+        pnConfiguration.setSecure(false);
+        pnConfiguration.setSuppressLeaveEvents(true);
+        pnConfiguration.setPresenceTimeoutWithCustomInterval(120, 60);
+        PubNub pubnub = new PubNub(pnConfiguration);
+        List<String> channels = Collections.singletonList("ch");
+
+        try {
+            // let the scheduler, consumer and dispatcher threads start once
+            for (int i = 0; i < 100; i++) {
+                pubnub.subscribe().channels(channels).execute();
+                pubnub.unsubscribe().channels(channels).execute();
+            }
+            long threadsBefore = subscriptionThreads();
+
+            for (int i = 0; i < 10_000; i++) {
+                pubnub.subscribe().channels(channels).execute();
+                pubnub.unsubscribe().channels(channels).execute();
+            }
+
+            assertTrue(subscriptionThreads() <= threadsBefore);
+        } finally {
+            pubnub.forceDestroy();
+        }
+    }
+
+    /**
+     * Counts the SDK's own scheduler and consumer threads only, as other tests may leave threads behind in this JVM.
+     */
+    private static long subscriptionThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("PubNub Scheduler")
+                        || thread.getName().startsWith("Subscription Manager"))
+                .count();
+    }
+}
@@ -0,0 +1,221 @@
+package com.pubnub.api.managers;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.reflect.TypeToken;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.models.consumer.access_manager.PNAccessManagerKeyData;
+import com.pubnub.api.models.consumer.history.PNFetchMessageItem;
+import com.pubnub.api.models.consumer.objects_api.channel.PNChannelMetadata;
+import com.pubnub.api.models.server.DeleteMessagesEnvelope;
+import com.pubnub.api.models.server.Envelope;
+import com.pubnub.api.models.server.FetchMessagesEnvelope;
+import com.pubnub.api.models.server.PresenceEnvelope;
+import com.pubnub.api.models.server.SubscribeEnvelope;
+import com.pubnub.api.models.server.SubscribeMessage;
+import com.pubnub.api.models.server.access_manager.AccessManagerGrantPayload;
+import com.pubnub.api.models.server.access_manager.v3.RevokeTokenResponse;
+import com.pubnub.api.models.server.files.FileUploadNotification;
+import com.pubnub.api.models.server.files.GeneratedUploadUrlResponse;
+import com.pubnub.api.models.server.files.ListFilesResult;
+import com.pubnub.api.models.server.objects_api.EntityArrayEnvelope;
+import com.pubnub.api.models.server.objects_api.EntityEnvelope;
+import com.pubnub.api.models.server.presence.WhereNowPayload;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerModelTypeAdapterFactoryTest {
+
+    private final MapperManager mapperManager = new MapperManager();
+    private final Gson gson = mapperManager.getObjectMapper();
+
+    @Test
+    void serverModelsAreNotReadReflectively() {
+        List<Class<?>> models = Arrays.asList(SubscribeEnvelope.class, SubscribeMessage.class,
+                PresenceEnvelope.class, FetchMessagesEnvelope.class, PNFetchMessageItem.class,
+                DeleteMessagesEnvelope.class, Envelope.class, EntityEnvelope.class, EntityArrayEnvelope.class,
+                WhereNowPayload.class, AccessManagerGrantPayload.class, PNAccessManagerKeyData.class,
+                RevokeTokenResponse.class, GeneratedUploadUrlResponse.class, ListFilesResult.class,
+                FileUploadNotification.class);
+        for (Class<?> model : models) {
+            String adapter = gson.getAdapter(model).getClass().getName();
+            assertFalse(adapter.contains("Reflective"), model + " uses " + adapter);
+        }
+    }
+
+    @Test
+    void subscribeEnvelope() throws PubNubException {
+        String json = "{\"t\":{\"t\":\"16000000000000000\",\"r\":\"12\"},\"m\":[{\"a\":\"4\",\"f\":0,"
+                + "\"i\":\"client\",\"p\":{\"t\":\"15999999999999999\",\"r\":2},\"k\":\"sub-c\",\"c\":\"ch\","
+                + "\"u\":{\"meta\":true},\"d\":{\"text\":\"hi\"},\"e\":1,\"b\":\"ch.*\",\"x\":[1,{\"y\":2}]}]}";
+
+        SubscribeEnvelope envelope = mapperManager.fromJson(json, SubscribeEnvelope.class);
+
+        assertEquals(Long.valueOf(16000000000000000L), envelope.getMetadata().getTimetoken());
+        assertEquals("12", envelope.getMetadata().getRegion());
+        assertEquals(1, envelope.getMessages().size());
+        SubscribeMessage message = envelope.getMessages().get(0);
+        assertEquals("4", message.getShard());
+        assertEquals("0", message.getFlags());
+        assertEquals("client", message.getIssuingClientId());
+        assertEquals("sub-c", message.getSubscribeKey());
+        assertEquals("ch", message.getChannel());
+        assertEquals("ch.*", message.getSubscriptionMatch());
+        assertEquals(Long.valueOf(15999999999999999L), message.getPublishMetaData().getPublishTimetoken());
+        assertEquals(Integer.valueOf(2), message.getPublishMetaData().getRegion());
+        assertEquals("hi", message.getPayload().getAsJsonObject().get("text").getAsString());
+        assertTrue(message.getUserMetadata().getAsJsonObject().get("meta").getAsBoolean());
+        assertEquals(Integer.valueOf(1), message.getType());
+        assertNull(message.getOriginationMetadata());
+    }
+
+    @Test
+    void presenceEventFromTree() {
+        JsonElement payload = gson.fromJson(
+                "{\"action\":\"join\",\"uuid\":\"u\",\"occupancy\":3,\"timestamp\":1600000000,\"data\":null}",
+                JsonElement.class);
+
+        PresenceEnvelope presence = mapperManager.convertValue(payload, PresenceEnvelope.class);
+
+        assertEquals("join", presence.getAction());
+        assertEquals("u", presence.getUuid());
+        assertEquals(Integer.valueOf(3), presence.getOccupancy());
+        assertEquals(Long.valueOf(1600000000L), presence.getTimestamp());
+        assertEquals(JsonNull.INSTANCE, presence.getData());
+    }
+
+    @Test
+    void fetchMessagesEnvelope() throws PubNubException {
+        String json = "{\"status\":200,\"error\":false,\"channels\":{\"ch\":[{\"message\":\"hi\",\"timetoken\":"
+                + "\"15000000000000000\",\"uuid\":\"u\",\"message_type\":null,\"meta\":\"\",\"actions\":{\"reaction\":"
+                + "{\"smiley\":[{\"uuid\":\"u2\",\"actionTimetoken\":\"15000000000000001\"}]}}}]},"
+                + "\"more\":{\"start\":15000000000000000,\"end\":14000000000000000,\"max\":25}}";
+
+        FetchMessagesEnvelope envelope = mapperManager.fromJson(json, FetchMessagesEnvelope.class);
+
+        PNFetchMessageItem item = envelope.getChannels().get("ch").get(0);
+        assertEquals("hi", item.getMessage().getAsString());
+        assertEquals(Long.valueOf(15000000000000000L), item.getTimetoken());
+        assertEquals("u", item.getUuid());
+        assertEquals("", item.getMeta().getAsString());
+        PNFetchMessageItem.Action action = item.getActions().get("reaction").get("smiley").get(0);
+        assertEquals("u2", action.getUuid());
+        assertEquals("15000000000000001", action.getActionTimetoken());
+        assertNull(item.getRawMessageType());
+        assertEquals(Long.valueOf(14000000000000000L), envelope.getMore().getEnd());
+        assertEquals(Integer.valueOf(25), envelope.getMore().getMax());
+    }
+
+    @Test
+    void genericEnvelope() {
+        String json = "{\"status\":200,\"message\":\"OK\",\"service\":\"Presence\",\"error\":0,"
+                + "\"payload\":{\"channels\":[\"a\",\"b\"]},\"occupancy\":null}";
+
+        Envelope<WhereNowPayload> envelope = gson.fromJson(json,
+                new TypeToken<Envelope<WhereNowPayload>>() { }.getType());
+
+        assertEquals(200, envelope.getStatus());
+        assertEquals("OK", envelope.getMessage());
+        assertEquals("Presence", envelope.getService());
+        assertFalse(envelope.isError());
+        assertEquals(0, envelope.getOccupancy());
+        assertEquals(Arrays.asList("a", "b"), envelope.getPayload().getChannels());
+    }
+
+    @Test
+    void deleteMessagesEnvelope() throws PubNubException {
+        DeleteMessagesEnvelope envelope = mapperManager.fromJson(
+                "{\"status\":403,\"error\":true,\"error_message\":\"Forbidden\"}", DeleteMessagesEnvelope.class);
+
+        assertEquals(Integer.valueOf(403), envelope.getStatus());
+        assertTrue(envelope.isError());
+        assertEquals("Forbidden", envelope.getErrorMessage());
+    }
+
+    @Test
+    void objectsEnvelopes() {
+        EntityEnvelope<PNChannelMetadata> envelope = gson.fromJson(
+                "{\"status\":200,\"data\":{\"id\":\"ch\",\"name\":\"Channel\",\"custom\":{\"a\":1}}}",
+                new TypeToken<EntityEnvelope<PNChannelMetadata>>() { }.getType());
+        EntityArrayEnvelope<PNChannelMetadata> page = gson.fromJson("{\"status\":200,\"totalCount\":2,"
+                        + "\"next\":\"MTA\",\"prev\":null,\"data\":[{\"id\":\"a\"},{\"id\":\"b\"}]}",
+                new TypeToken<EntityArrayEnvelope<PNChannelMetadata>>() { }.getType());
+
+        assertEquals(200, envelope.getStatus());
+        assertEquals("Channel", envelope.getData().getName());
+        assertEquals("{\"a\":1}", envelope.getData().getCustom().toString());
+        assertEquals(200, page.getStatus());
+        assertEquals(Integer.valueOf(2), page.getTotalCount());
+        assertEquals("MTA", page.getNext());
+        assertNull(page.getPrev());
+        assertEquals("b", page.getData().get(1).getId());
+    }
+
+    @Test
+    void accessManagerPayloads() throws PubNubException {
+        Envelope<AccessManagerGrantPayload> envelope = gson.fromJson("{\"status\":200,\"payload\":{"
+                        + "\"level\":\"channel\",\"ttl\":1440,\"subscribe_key\":\"sub-c\",\"channel-groups\":\"cg\","
+                        + "\"channels\":{\"ch\":{\"auths\":{\"key\":{\"r\":1,\"w\":0,\"m\":true,\"j\":null}}}}}}",
+                new TypeToken<Envelope<AccessManagerGrantPayload>>() { }.getType());
+        RevokeTokenResponse revoke = mapperManager.fromJson(
+                "{\"status\":200,\"data\":{\"message\":\"Success\",\"token\":\"t\"},\"service\":\"Access Manager\"}",
+                RevokeTokenResponse.class);
+
+        AccessManagerGrantPayload payload = envelope.getPayload();
+        assertEquals("channel", payload.getLevel());
+        assertEquals(1440, payload.getTtl());
+        assertEquals("sub-c", payload.getSubscribeKey());
+        assertEquals("cg", payload.getChannelGroups().getAsString());
+        PNAccessManagerKeyData key = payload.getChannels().get("ch").getAuthKeys().get("key");
+        assertTrue(key.isReadEnabled());
+        assertFalse(key.isWriteEnabled());
+        assertTrue(key.isManageEnabled());
+        assertFalse(key.isJoinEnabled());
+        assertEquals(new RevokeTokenResponse(200, new RevokeTokenResponse.RevokeTokenData("Success", "t"),
+                "Access Manager"), revoke);
+    }
+
+    @Test
+    void filesEnvelopes() throws PubNubException {
+        GeneratedUploadUrlResponse upload = mapperManager.fromJson("{\"status\":200,"
+                + "\"data\":{\"id\":\"f\",\"name\":\"a.txt\"},\"file_upload_request\":{\"url\":\"https://s3\","
+                + "\"method\":\"POST\",\"expiration_date\":\"2020-01-01\","
+                + "\"form_fields\":[{\"key\":\"k\",\"value\":\"v\"}]}}", GeneratedUploadUrlResponse.class);
+        ListFilesResult list = mapperManager.fromJson("{\"status\":200,\"count\":1,\"next\":\"n\","
+                + "\"data\":[{\"id\":\"f\",\"name\":\"a.txt\",\"size\":3,\"created\":\"now\"}]}",
+                ListFilesResult.class);
+        FileUploadNotification notification = mapperManager.convertValue(gson.fromJson(
+                "{\"message\":\"hi\",\"file\":{\"id\":\"f\",\"name\":\"a.txt\"}}", JsonElement.class),
+                FileUploadNotification.class);
+
+        assertEquals(Integer.valueOf(200), upload.getStatus());
+        assertEquals("f", upload.getData().getId());
+        assertEquals("https://s3", upload.getFileUploadRequest().getUrl());
+        assertEquals("POST", upload.getFileUploadRequest().getMethod());
+        assertEquals("2020-01-01", upload.getFileUploadRequest().getExpirationDate());
+        assertEquals("v", upload.getFileUploadRequest().getFormFields().get(0).getValue());
+        assertEquals(1, list.getCount());
+        assertEquals("n", list.getNext());
+        assertEquals(Integer.valueOf(3), list.getData().iterator().next().getSize());
+        assertEquals("hi", notification.getMessage());
+        assertEquals("a.txt", notification.getFile().getName());
+    }
+
+    @Test
+    void writesAreUnchanged() throws PubNubException {
+        SubscribeMessage message = SubscribeMessage.builder().channel("ch").type(1).build();
+
+        String json = mapperManager.toJson(message);
+
+        assertEquals("{\"c\":\"ch\",\"e\":1}", json);
+        assertEquals("ch", mapperManager.fromJson(json, SubscribeMessage.class).getChannel());
+    }
+}
@@ -0,0 +1,74 @@
+package com.pubnub.api.managers;
+
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ThreadManagerTest {
+
+    private static final boolean VIRTUAL_THREADS_SUPPORTED = isVirtualThreadsSupported();
+
+    private PNConfiguration pnConfiguration;
+
+    @Before
+    public void beforeEach() throws PubNubException {
+        pnConfiguration = new PNConfiguration(new UserId("myUUID"));
+    }
+
+    @Test
+    public void platformThreadsAreUsedByDefault() {
+        ThreadManager threadManager = new ThreadManager(pnConfiguration);
+
+        Thread thread = threadManager.newThread(() -> { }, "worker");
+
+        assertFalse(threadManager.isVirtual());
+        assertTrue(thread.isDaemon());
+        assertEquals("worker", thread.getName());
+        assertNull(threadManager.newDispatcherExecutor("dispatcher"));
+    }
+
+    @Test
+    public void virtualThreadsAreUsedWhenSupported() throws Exception {
+        pnConfiguration.setVirtualThreads(true);
+        ThreadManager threadManager = new ThreadManager(pnConfiguration);
+
+        assertEquals(VIRTUAL_THREADS_SUPPORTED, threadManager.isVirtual());
+        assertEquals(VIRTUAL_THREADS_SUPPORTED, isVirtual(threadManager.newThread(() -> { }, "worker")));
+
+        ExecutorService executor = threadManager.newDispatcherExecutor("dispatcher");
+        if (!VIRTUAL_THREADS_SUPPORTED) {
+            assertNull(executor);
+            return;
+        }
+        try {
+            Future<Boolean> ranOnVirtualThread = executor.submit(() -> isVirtual(Thread.currentThread()));
+            assertTrue(ranOnVirtualThread.get(3, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private static boolean isVirtualThreadsSupported() {
+        String version = System.getProperty("java.specification.version");
+        return !version.startsWith("1.") && Integer.parseInt(version) >= 21;
+    }
+}
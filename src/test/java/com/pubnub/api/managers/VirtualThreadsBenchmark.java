@@ -0,0 +1,145 @@
+package com.pubnub.api.managers;
+
+import com.pubnub.api.PNConfiguration;
+import com.pubnub.api.PubNub;
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.UserId;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Blocking {@code time().sync()} calls, each on its own caller thread from {@link ThreadManager}, against a local
+ * server answering after a fixed delay. Reports the throughput and the peak number of live platform threads, with
+ * platform and with virtual threads. The server runs in the same JVM, so its threads are reported apart.
+ * <p>
+ * Skipped unless the {@code PUBNUB_BENCHMARK} environment variable is set; {@code PUBNUB_BENCHMARK_CALLS} changes the
+ * number of concurrent calls, 10000 by default. Every concurrent call holds a connection, so the open file limit has
+ * to allow twice that many sockets. Virtual threads are measured on JDK 21 or newer only.
+ */
+public class VirtualThreadsBenchmark {
+
+    private static final long SERVER_DELAY_MILLIS = 100;
+
+    private final int calls = Integer.parseInt(System.getenv().getOrDefault("PUBNUB_BENCHMARK_CALLS", "10000"));
+
+    private final AtomicInteger serverThreads = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+
+    @Before
+    public void beforeEach() throws IOException {
+        Assume.assumeTrue(System.getenv("PUBNUB_BENCHMARK") != null);
+
+        serverExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "benchmark server " + serverThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), calls);
+        server.createContext("/time/0", exchange -> {
+            try {
+                Thread.sleep(SERVER_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "[16000000000000000]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @After
+    public void afterEach() {
+        if (server != null) {
+            server.stop(0);
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void platformThreads() throws Exception {
+        run(false);
+    }
+
+    @Test
+    public void virtualThreads() throws Exception {
+        PNConfiguration configuration = configuration(true);
+        Assume.assumeTrue("virtual threads need JDK 21 or newer", new ThreadManager(configuration).isVirtual());
+        run(true);
+    }
+
+    private void run(boolean virtualThreads) throws Exception {
+        PubNub pubnub = new PubNub(configuration(virtualThreads));
+        ThreadManager threadManager = new ThreadManager(pubnub.getConfiguration());
+        try {
+            // warms up the client and the connection pool
+            pubnub.time().sync();
+
+            CountDownLatch done = new CountDownLatch(calls);
+            AtomicInteger failures = new AtomicInteger();
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            int serverThreadsBefore = serverThreads.get();
+            threads.resetPeakThreadCount();
+
+            long startedAt = System.nanoTime();
+            for (int i = 0; i < calls; i++) {
+                threadManager.newThread(() -> {
+                    try {
+                        pubnub.time().sync();
+                    } catch (PubNubException e) {
+                        failures.incrementAndGet();
+                    } finally {
+                        done.countDown();
+                    }
+                }, "benchmark caller " + i).start();
+            }
+            boolean completed = done.await(10, TimeUnit.MINUTES);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            assertTrue("calls still pending after 10 minutes: " + done.getCount(), completed);
+
+            System.out.printf("%s threads: %d blocking calls in %d ms, %.0f calls/s, peak %d live platform threads "
+                            + "of which at most %d were the server's, %d failed%n",
+                    virtualThreads ? "virtual" : "platform", calls, elapsedMillis,
+                    calls * 1000.0 / Math.max(1, elapsedMillis), threads.getPeakThreadCount(),
+                    serverThreads.get() - serverThreadsBefore, failures.get());
+            assertEquals(0, failures.get());
+        } finally {
+            pubnub.forceDestroy();
+        }
+    }
+
+    private PNConfiguration configuration(boolean virtualThreads) throws PubNubException {
+        PNConfiguration configuration = new PNConfiguration(new UserId("benchmark"));
+        configuration.setSubscribeKey("mySubscribeKey");
+        configuration.setPublishKey("myPublishKey");
+        configuration.setOrigin("localhost:" + (server != null ? server.getAddress().getPort() : 0));
+        configuration.setSecure(false);
+        configuration.setNonSubscribeRequestTimeout(60);
+        configuration.setVirtualThreads(virtualThreads);
+        return configuration;
+    }
+}
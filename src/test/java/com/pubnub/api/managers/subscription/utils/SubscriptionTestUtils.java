@@ -4,7 +4,9 @@ import com.pubnub.api.PNConfiguration;
 import com.pubnub.api.PubNub;
 import com.pubnub.api.UserId;
 import com.pubnub.api.managers.RetrofitManager;
+import com.pubnub.api.managers.SchedulerManager;
 import com.pubnub.api.managers.TelemetryManager;
+import com.pubnub.api.managers.ThreadManager;
 import com.pubnub.api.models.server.SubscribeEnvelope;
 import com.pubnub.api.services.SubscribeService;
 import lombok.SneakyThrows;
@@ -39,6 +41,7 @@ public class SubscriptionTestUtils {
 
     @SuppressWarnings("unchecked")
     @NotNull
+    @SneakyThrows
     public static RetrofitManager retrofitManagerMock(final ResponseSupplier<SubscribeEnvelope> responseSupplier) {
         final SubscribeService subscribeServiceMock = mock(SubscribeService.class);
 
@@ -62,6 +65,9 @@ public class SubscriptionTestUtils {
 
         final RetrofitManager retrofitManagerMock = mock(RetrofitManager.class);
         when(retrofitManagerMock.getSubscribeService()).thenReturn(subscribeServiceMock);
+        final ThreadManager threadManager = new ThreadManager(new PNConfiguration(new UserId("scheduler")));
+        when(retrofitManagerMock.getThreadManager()).thenReturn(threadManager);
+        when(retrofitManagerMock.getSchedulerManager()).thenReturn(new SchedulerManager(threadManager));
         return retrofitManagerMock;
     }
 }
@@ -0,0 +1,76 @@
+package com.pubnub.api.models.consumer;
+
+import com.pubnub.api.enums.PNStatusCategory;
+import okhttp3.Request;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PNStatusTest {
+
+    private final Request request = new Request.Builder()
+            .url("https://ps.pndsn.com/publish/pub/sub/0/ch/0/%22hi%22?uuid=myUUID&auth=myAuth")
+            .build();
+
+    @Test
+    public void requestDetailsAreReadFromClientRequest() {
+        PNStatus status = PNStatus.builder()
+                .category(PNStatusCategory.PNAcknowledgmentCategory)
+                .clientRequest(request)
+                .requestDetailsPending(true)
+                .build();
+
+        assertFalse(status.isError());
+        assertSame(request, status.getClientRequest());
+        assertTrue(status.isTlsEnabled());
+        assertEquals("ps.pndsn.com", status.getOrigin());
+        assertEquals("myUUID", status.getUuid());
+        assertEquals("myAuth", status.getAuthKey());
+    }
+
+    @Test
+    public void copiedStatusKeepsRequestDetails() {
+        PNStatus status = PNStatus.builder()
+                .clientRequest(request)
+                .requestDetailsPending(true)
+                .build();
+
+        PNStatus copy = status.toBuilder().error(true).build();
+
+        assertTrue(copy.isError());
+        assertEquals("myUUID", copy.getUuid());
+        assertEquals("myUUID", status.getUuid());
+        assertEquals("myUUID", status.toBuilder().build().getUuid());
+    }
+
+    @Test
+    public void detailsSetOnCopyAreKept() {
+        PNStatus status = PNStatus.builder()
+                .clientRequest(request)
+                .requestDetailsPending(true)
+                .build();
+
+        PNStatus copy = status.toBuilder().uuid("x").origin("y").build();
+
+        assertEquals("x", copy.getUuid());
+        assertEquals("y", copy.getOrigin());
+        assertEquals("myAuth", copy.getAuthKey());
+        assertTrue(copy.isTlsEnabled());
+        assertEquals("myUUID", status.getUuid());
+    }
+
+    @Test
+    public void explicitDetailsAreKept() {
+        PNStatus status = PNStatus.builder()
+                .clientRequest(request)
+                .uuid("other")
+                .build();
+
+        assertEquals("other", status.getUuid());
+        assertNull(status.getOrigin());
+    }
+}
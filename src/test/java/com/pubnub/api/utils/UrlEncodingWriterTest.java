@@ -0,0 +1,69 @@
+package com.pubnub.api.utils;
+
+import com.pubnub.api.PubNubException;
+import com.pubnub.api.managers.MapperManager;
+import org.junit.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class UrlEncodingWriterTest {
+
+    @Test
+    public void encodesLikeUrlEncoder() throws UnsupportedEncodingException {
+        List<String> texts = Arrays.asList("", "plain", "with space+plus", "{\"a\":[1,2.5,\"x/y?z=&\"]}",
+                ".-*_~!'()", "za\u017C\u00F3\u0142\u0107 g\u0119\u015Bl\u0105 ja\u017A\u0144",
+                "\u65E5\u672C\u8A9E", "emoji \uD83D\uDE00 pair", "lone \uD83D high", "lone \uDE00 low",
+                "high at end \uD83D", "\u0000\u001F\u007F\u0080\u07FF\u0800\uFFFF");
+
+        for (String text : texts) {
+            assertEquals(text, expected(text), UrlEncodingWriter.encode(text));
+        }
+    }
+
+    @Test
+    public void encodesRandomTextLikeUrlEncoder() throws UnsupportedEncodingException {
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            char[] chars = new char[random.nextInt(50)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) (random.nextBoolean() ? random.nextInt(0x80) : random.nextInt(0x10000));
+            }
+            String text = new String(chars);
+
+            assertEquals(expected(text), UrlEncodingWriter.encode(text));
+        }
+    }
+
+    @Test
+    public void surrogatePairsSplitAcrossWrites() {
+        UrlEncodingWriter writer = UrlEncodingWriter.get();
+        writer.write("a\uD83D");
+        writer.write('\uDE00');
+        writer.write(new char[]{'b'}, 0, 1);
+
+        assertEquals("a%F0%9F%98%80b", writer.getEncoded());
+    }
+
+    @Test
+    public void jsonIsSerializedAndEncodedInOnePass() throws PubNubException, UnsupportedEncodingException {
+        MapperManager mapperManager = new MapperManager();
+        Map<String, Object> message = new HashMap<>();
+        message.put("text", "hello world & \uD83D\uDE00");
+        message.put("numbers", Arrays.asList(1, 2, 3));
+
+        assertEquals(expected(mapperManager.toJson(message)), mapperManager.toUrlEncodedJson(message));
+        assertEquals("%22hi%22", mapperManager.toUrlEncodedJson("hi"));
+    }
+
+    private static String expected(String text) throws UnsupportedEncodingException {
+        return URLEncoder.encode(text, "UTF-8").replace("+", "%20");
+    }
+}
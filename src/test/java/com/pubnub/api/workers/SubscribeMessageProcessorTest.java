@@ -13,9 +13,11 @@ import com.pubnub.api.PubNubUtil;
 import com.pubnub.api.UserId;
 import com.pubnub.api.builder.PubNubErrorBuilder;
 import com.pubnub.api.crypto.CryptoModule;
+import com.pubnub.api.enums.PNMessageType;
 import com.pubnub.api.managers.DuplicationManager;
 import com.pubnub.api.models.consumer.pubsub.PNEvent;
 import com.pubnub.api.models.consumer.pubsub.PNMessageResult;
+import com.pubnub.api.models.consumer.pubsub.PNSignalResult;
 import com.pubnub.api.models.consumer.pubsub.files.PNFileEventResult;
 import com.pubnub.api.models.server.SubscribeEnvelope;
 import com.pubnub.api.models.server.SubscribeMessage;
@@ -23,6 +25,8 @@ import okhttp3.HttpUrl;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -36,6 +40,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 
 public class SubscribeMessageProcessorTest {
@@ -241,6 +246,112 @@ public class SubscribeMessageProcessorTest {
         assertThat(((PNMessageResult) result).getMessage(), is(expectedObject));
     }
 
+    @Test
+    public void testProcessMessageDecodedWithRegisteredDecoder() throws PubNubException {
+        //given
+        PubNub pubnub = new PubNub(config());
+        pubnub.getPayloadDecoderManager().register("ch_*", PNMessageType.MESSAGE, Greeting.class);
+        SubscribeMessageProcessor subscribeMessageProcessor = subscribeMessageProcessor(pubnub);
+        JsonObject messageObject = new JsonObject();
+        messageObject.addProperty("text", "hi");
+
+        //when
+        PNEvent result = subscribeMessageProcessor.processIncomingPayload(new Gson().fromJson(message(messageObject), SubscribeMessage.class));
+
+        //then
+        assertThat(result, is(instanceOf(PNMessageResult.class)));
+        Greeting greeting = ((PNMessageResult) result).getDecodedMessage();
+        assertEquals("hi", greeting.text);
+        assertEquals(null, ((PNMessageResult) result).getError());
+    }
+
+    @Test
+    public void testProcessMessageDecoderFailureIsReported() throws PubNubException {
+        //given
+        PubNub pubnub = new PubNub(config());
+        pubnub.getPayloadDecoderManager().register("ch_cxnysctxlw", null, payload -> {
+            throw new IllegalArgumentException("not a greeting");
+        });
+        SubscribeMessageProcessor subscribeMessageProcessor = subscribeMessageProcessor(pubnub);
+
+        //when
+        PNEvent result = subscribeMessageProcessor.processIncomingPayload(new Gson().fromJson(message(new JsonPrimitive("hi")), SubscribeMessage.class));
+
+        //then
+        assertThat(result, is(instanceOf(PNMessageResult.class)));
+        assertEquals(new JsonPrimitive("hi"), ((PNMessageResult) result).getMessage());
+        assertEquals(null, ((PNMessageResult) result).getDecodedMessage());
+        assertEquals(PubNubErrorBuilder.PNERROBJ_PARSING_ERROR, ((PNMessageResult) result).getError());
+    }
+
+    @Test
+    public void testProcessSignalDecodedOnlyBySignalDecoder() throws PubNubException {
+        //given
+        PubNub pubnub = new PubNub(config());
+        pubnub.getPayloadDecoderManager().register("ch_*", PNMessageType.MESSAGE, payload -> "message");
+        pubnub.getPayloadDecoderManager().register("ch_*", PNMessageType.SIGNAL, payload -> "signal");
+        SubscribeMessageProcessor subscribeMessageProcessor = subscribeMessageProcessor(pubnub);
+        JsonObject signal = new Gson().fromJson(message(new JsonPrimitive("hi")), JsonObject.class);
+        signal.addProperty("e", 1);
+
+        //when
+        PNEvent result = subscribeMessageProcessor.processIncomingPayload(new Gson().fromJson(signal, SubscribeMessage.class));
+
+        //then
+        assertThat(result, is(instanceOf(PNSignalResult.class)));
+        assertEquals("signal", ((PNSignalResult) result).getDecodedMessage());
+    }
+
+    @Test
+    public void testProcessMessageCompressedIsInflated() throws PubNubException {
+        //given
+        PNConfiguration publisherConfig = config();
+        publisherConfig.setMessageCompression(true);
+        publisherConfig.setMessageCompressionThreshold(10);
+        PubNub publisher = new PubNub(publisherConfig);
+        JsonObject messageObject = new JsonObject();
+        messageObject.addProperty("text", String.join(" ", Collections.nCopies(50, "hello")));
+        String envelope = publisher.getMessageCompressionManager().compress(
+                ByteBuffer.wrap(messageObject.toString().getBytes(StandardCharsets.UTF_8)));
+        PNConfiguration subscriberConfig = config();
+        subscriberConfig.setMessageCompression(true);
+        PubNub pubnub = new PubNub(subscriberConfig);
+        pubnub.getPayloadDecoderManager().register("ch_*", PNMessageType.MESSAGE, Greeting.class);
+        SubscribeMessageProcessor subscribeMessageProcessor = subscribeMessageProcessor(pubnub);
+
+        //when
+        PNEvent result = subscribeMessageProcessor.processIncomingPayload(new Gson().fromJson(message(new Gson().fromJson(envelope, JsonObject.class)), SubscribeMessage.class));
+
+        //then
+        assertThat(result, is(instanceOf(PNMessageResult.class)));
+        assertEquals(messageObject, ((PNMessageResult) result).getMessage());
+        Greeting greeting = ((PNMessageResult) result).getDecodedMessage();
+        assertEquals(messageObject.get("text").getAsString(), greeting.text);
+        assertEquals(1, pubnub.getMessageCompressionStatistics().getInflatedMessages());
+    }
+
+    @Test
+    public void testProcessMessageLikeEnvelopeIsNotInflatedWithoutCompression() throws PubNubException {
+        //given
+        JsonObject messageObject = new JsonObject();
+        messageObject.addProperty("pn_deflate", "bm90IGRlZmxhdGVk");
+        PubNub pubnub = new PubNub(config());
+        SubscribeMessageProcessor subscribeMessageProcessor = subscribeMessageProcessor(pubnub);
+
+        //when
+        PNEvent result = subscribeMessageProcessor.processIncomingPayload(new Gson().fromJson(message(messageObject), SubscribeMessage.class));
+
+        //then
+        assertThat(result, is(instanceOf(PNMessageResult.class)));
+        assertEquals(messageObject, ((PNMessageResult) result).getMessage());
+        assertNull(((PNMessageResult) result).getError());
+        assertEquals(0, pubnub.getMessageCompressionStatistics().getInflatedMessages());
+    }
+
+    private static class Greeting {
+        private String text;
+    }
+
     private String fileMessage(String messageJson) {
         return "{\"a\":\"0\",\"f\":0,\"e\":4,\"i\":\"client-52774e6f-2f4e-4915-aefd-e8bb75cd2e7d\",\"p\":{\"t\":\"16632349939765880\",\"r\":43},\"k\":\"sub-c-4b1dbfef-2fa9-495f-a316-2b634063083d\",\"c\":\"ch_1663234993171_F4FC4F460F\",\"u\":\"This is meta\",\"d\":{\"message\":" + messageJson + ",\"file\":{\"id\":\"30ce0095-3c50-4cdc-a626-bf402d233731\",\"name\":\"fileNamech_1663234993171_F4FC4F460F.txt\"}}}";
     }
@@ -255,7 +366,11 @@ public class SubscribeMessageProcessorTest {
 
 
     private SubscribeMessageProcessor subscribeMessageProcessor(PNConfiguration conf) throws PubNubException {
-        return new SubscribeMessageProcessor(new PubNub(conf), new DuplicationManager(conf));
+        return subscribeMessageProcessor(new PubNub(conf));
+    }
+
+    private SubscribeMessageProcessor subscribeMessageProcessor(PubNub pubnub) {
+        return new SubscribeMessageProcessor(pubnub, new DuplicationManager(pubnub.getConfiguration()));
     }
 
     private PNConfiguration config() throws PubNubException {